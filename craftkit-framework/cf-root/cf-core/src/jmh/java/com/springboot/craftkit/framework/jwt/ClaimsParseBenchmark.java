@@ -0,0 +1,63 @@
+package com.springboot.craftkit.framework.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Claims.parse of a typical access token: previous split + ObjectMapper + HashMap decoding (legacy),
+ * streaming parse with the claims cache disabled (cacheSize=0) and a repeated token served from the cache.
+ * <pre>
+ * mvn -Pjmh -pl cf-root/cf-core test-compile exec:exec -Djmh.args="ClaimsParseBenchmark -f 1 -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ClaimsParseBenchmark {
+
+    // 0 disables the cache
+    @Param({"0", "10000"})
+    public long cacheSize;
+
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ClaimsCache.configure(cacheSize, ClaimsCache.DEFAULT_MAX_TTL);
+        long iat = Instant.now().getEpochSecond();
+        String payload = "{\"jti\":\"A7f3k2q9z\",\"iss\":\"auth.example.com\",\"sub\":\"user-1\",\"aud\":\"web\""
+                + ",\"iat\":" + iat + ",\"exp\":" + (iat + Duration.ofHours(1).toSeconds())
+                + ",\"user-id\":\"user-1\",\"client-ip\":\"203.0.113.10\",\"authenticated-ip\":\"203.0.113.10\""
+                + ",\"tenant\":\"acme\",\"roles\":[\"admin\",\"user\"],\"locale\":\"ko-KR\"}";
+        token = "eyJhbGciOiJSUzI1NiIsInR5cCI6IkpXVCJ9."
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+                + ".c2lnbmF0dXJlLXBsYWNlaG9sZGVyLXNpZ25hdHVyZS1wbGFjZWhvbGRlci1zaWduYXR1cmU";
+    }
+
+    @Benchmark
+    public Object legacy() throws Exception {
+        String[] parts = token.split("\\.");
+        byte[] bytes = Base64.getDecoder().decode(parts[1].replace('-', '+').replace('_', '/'));
+        return new ObjectMapper().readValue(bytes, HashMap.class);
+    }
+
+    @Benchmark
+    public Claims parse() {
+        return Claims.parse(token);
+    }
+}
@@ -0,0 +1,136 @@
+package com.springboot.craftkit.framework.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.craftkit.framework.application.setting.JwtVerifierProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token verification: a per-call Signature.getInstance + initVerify + ObjectMapper baseline (naive),
+ * JwtVerifier without the verified-token cache (cacheMaxSize=0) and a hot token served from the cache.
+ * <pre>
+ * mvn -Pjmh -pl cf-root/cf-core test-compile exec:exec -Djmh.args="JwtVerifierBenchmark -f 1 -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtVerifierBenchmark {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    @Param({"RS256", "ES256"})
+    public String algorithm;
+
+    // 0 disables the cache
+    @Param({"0", "10000"})
+    public long cacheSize;
+
+    private String token;
+    private PublicKey publicKey;
+    private JwtVerifier verifier;
+    private Path jwks;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        boolean rsa = "RS256".equals(algorithm);
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(rsa ? "RSA" : "EC");
+        if (rsa) {
+            generator.initialize(2048);
+        } else {
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+        }
+        KeyPair pair = generator.generateKeyPair();
+        publicKey = pair.getPublic();
+
+        long iat = Instant.now().getEpochSecond();
+        String payload = "{\"jti\":\"A7f3k2q9z\",\"iss\":\"auth.example.com\",\"sub\":\"user-1\",\"aud\":\"web\""
+                + ",\"iat\":" + iat + ",\"exp\":" + (iat + Duration.ofHours(1).toSeconds())
+                + ",\"user-id\":\"user-1\",\"client-ip\":\"203.0.113.10\",\"tenant\":\"acme\",\"roles\":[\"admin\",\"user\"]}";
+        String input = ENCODER.encodeToString(("{\"alg\":\"" + algorithm + "\",\"kid\":\"k1\"}").getBytes(StandardCharsets.UTF_8))
+                + "." + ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        Signature signer = Signature.getInstance(jcaName());
+        signer.initSign(pair.getPrivate());
+        signer.update(input.getBytes(StandardCharsets.US_ASCII));
+        token = input + "." + ENCODER.encodeToString(signer.sign());
+
+        String jwk;
+        if (rsa) {
+            RSAPublicKey key = (RSAPublicKey) publicKey;
+            jwk = "{\"kty\":\"RSA\",\"kid\":\"k1\",\"n\":\"" + unsigned(key.getModulus()) + "\",\"e\":\"" + unsigned(key.getPublicExponent()) + "\"}";
+        } else {
+            ECPublicKey key = (ECPublicKey) publicKey;
+            jwk = "{\"kty\":\"EC\",\"kid\":\"k1\",\"crv\":\"P-256\",\"x\":\"" + unsigned(key.getW().getAffineX())
+                    + "\",\"y\":\"" + unsigned(key.getW().getAffineY()) + "\"}";
+        }
+        jwks = Files.createTempFile("jwks", ".json");
+        Files.writeString(jwks, "{\"keys\":[" + jwk + "]}");
+
+        JwtVerifierProperties properties = new JwtVerifierProperties();
+        properties.setJwksUri(jwks.toUri().toString());
+        properties.setCacheMaxSize(cacheSize);
+        verifier = new JwtVerifier(properties);
+        // 처음 JWKS 읽기는 background 에서 실행된다
+        while (verifier.getKeys() == null) {
+            Thread.sleep(1L);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        verifier.close();
+        Files.deleteIfExists(jwks);
+    }
+
+    @Benchmark
+    public Object naive() throws Exception {
+        String[] parts = token.split("\\.");
+        Signature signature = Signature.getInstance(jcaName());
+        signature.initVerify(publicKey);
+        signature.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+        if (!signature.verify(Base64.getUrlDecoder().decode(parts[2]))) {
+            throw new IllegalStateException();
+        }
+        return new ObjectMapper().readValue(Base64.getUrlDecoder().decode(parts[1]), HashMap.class);
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return verifier.verify(token);
+    }
+
+    private String jcaName() {
+        return "RS256".equals(algorithm) ? "SHA256withRSA" : "SHA256withECDSAinP1363Format";
+    }
+
+    private static String unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        return ENCODER.encodeToString(bytes.length > 1 && bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes);
+    }
+}
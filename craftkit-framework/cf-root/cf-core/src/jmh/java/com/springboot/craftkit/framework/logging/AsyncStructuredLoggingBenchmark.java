@@ -0,0 +1,84 @@
+package com.springboot.craftkit.framework.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caller-thread cost of an INFO log call written as JSON to a discarding sink, either synchronously
+ * (OutputStreamAppender + StructuredJsonEncoder) or through AsyncStructuredAppender, with 4 logging threads.
+ * <pre>
+ * mvn -Pjmh -pl cf-root/cf-core test-compile exec:exec -Djmh.args="AsyncStructuredLoggingBenchmark -f 1 -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class AsyncStructuredLoggingBenchmark {
+
+    @Param({"sync", "async"})
+    public String mode;
+
+    private Logger logger;
+    private Appender<ILoggingEvent> appender;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        logger = context.getLogger("bench.async-structured");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        if ("async".equals(mode)) {
+            AsyncStructuredAppender async = new AsyncStructuredAppender();
+            async.setContext(context);
+            async.setOutputStream(OutputStream.nullOutputStream());
+            async.setIncludeScope(false);
+            async.start();
+            appender = async;
+        } else {
+            OutputStreamAppender<ILoggingEvent> sync = new OutputStreamAppender<>();
+            StructuredJsonEncoder encoder = new StructuredJsonEncoder();
+            encoder.setContext(context);
+            encoder.start();
+            sync.setContext(context);
+            sync.setEncoder(encoder);
+            sync.setOutputStream(OutputStream.nullOutputStream());
+            sync.start();
+            appender = sync;
+        }
+        logger.addAppender(appender);
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        logger.detachAppender(appender);
+        appender.stop();
+        if (appender instanceof AsyncStructuredAppender async) {
+            System.out.println("discarded=" + async.getDiscardedCount() + ", overflow=" + async.getOverflowCount()
+                    + ", written=" + async.getWrittenCount());
+        }
+    }
+
+    @Benchmark
+    public void info() {
+        logger.info("order {} state {} amount {}", "o-1", "PAID", 1200);
+    }
+}
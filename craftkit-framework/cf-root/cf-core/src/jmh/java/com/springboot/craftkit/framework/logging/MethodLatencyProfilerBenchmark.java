@@ -0,0 +1,82 @@
+package com.springboot.craftkit.framework.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.helpers.NOPAppender;
+import com.springboot.craftkit.framework.application.annotation.AutoLogging;
+import com.springboot.craftkit.framework.application.setting.LoggingProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of an {@code @AutoLogging} method through ExceptionLoggingAspect:
+ * {@code off} (INFO, plain proceed), {@code debug} (the debug tracing path with a no-op appender)
+ * and {@code profile} (latency histogram, 0.1% sampled call trees, INFO).
+ * <pre>
+ * mvn -Pjmh -pl cf-root/cf-core test-compile exec:exec -Djmh.args="MethodLatencyProfilerBenchmark -f 1 -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MethodLatencyProfilerBenchmark {
+
+    @Param({"off", "debug", "profile"})
+    public String mode;
+
+    private Logger aspectLogger;
+    private Level previousLevel;
+    private NOPAppender<ch.qos.logback.classic.spi.ILoggingEvent> appender;
+    private Target target;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        aspectLogger = context.getLogger(ExceptionLoggingAspect.class);
+        previousLevel = aspectLogger.getLevel();
+        aspectLogger.setAdditive(false);
+        appender = new NOPAppender<>();
+        appender.setContext(context);
+        appender.start();
+        aspectLogger.addAppender(appender);
+        aspectLogger.setLevel("debug".equals(mode) ? Level.DEBUG : Level.INFO);
+
+        MethodLatencyProfiler profiler = "profile".equals(mode) ? new MethodLatencyProfiler(2, 0.001d, 2000, 20, 200) : null;
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Target());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ExceptionLoggingAspect(new LoggingProperties(), profiler, null));
+        target = factory.getProxy();
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        aspectLogger.detachAppender(appender);
+        aspectLogger.setAdditive(true);
+        aspectLogger.setLevel(previousLevel);
+    }
+
+    @Benchmark
+    public int call() {
+        return target.compute(42);
+    }
+
+    @AutoLogging
+    public static class Target {
+
+        public int compute(int value) {
+            return value * 31;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.springboot.craftkit.framework.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a disabled debug call (INFO logger, no request override) with and without the request log level filter.
+ * <pre>
+ * mvn -Pjmh -pl cf-root/cf-core test-compile exec:exec -Djmh.args="RequestLogLevelBenchmark -f 1 -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestLogLevelBenchmark {
+
+    @Param({"false", "true"})
+    public boolean filter;
+
+    private Logger logger;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        logger = context.getLogger("bench.request-level");
+        logger.setLevel(Level.INFO);
+        if (filter) {
+            RequestLogLevel.configure(true, List.of(RequestLogLevel.ANY_CALLER), List.of());
+            RequestLogLevelTurboFilter.installIfAbsent();
+        }
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        RequestLogLevel.configure(false, List.of(), List.of());
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getTurboFilterList().clear();
+    }
+
+    @Benchmark
+    public void disabledDebug() {
+        logger.debug("order {} state {}", "o-1", "PAID");
+    }
+
+    @Benchmark
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+}
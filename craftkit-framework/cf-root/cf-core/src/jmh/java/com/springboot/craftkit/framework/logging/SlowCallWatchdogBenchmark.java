@@ -0,0 +1,58 @@
+package com.springboot.craftkit.framework.logging;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fast-call overhead of the slow-call watchdog (enter + exit of a call below the threshold, sampler running)
+ * against a bare {@code System.nanoTime()}.
+ * <pre>
+ * mvn -Pjmh -pl cf-root/cf-core test-compile exec:exec -Djmh.args="SlowCallWatchdogBenchmark -f 1 -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SlowCallWatchdogBenchmark {
+
+    private static final String LABEL = "OrderService.find(String)";
+
+    private SlowCallWatchdog watchdog;
+
+    @Setup
+    public void setUp() {
+        watchdog = new SlowCallWatchdog(Duration.ofSeconds(1), Duration.ofMillis(100), 5, 64, 50);
+        watchdog.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        watchdog.close();
+    }
+
+    @Benchmark
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Benchmark
+    public void enterExit() {
+        watchdog.exit(watchdog.enter(LABEL), false);
+    }
+
+    @Benchmark
+    public void nestedEnterExit() {
+        SlowCallWatchdog.Frames outer = watchdog.enter(LABEL);
+        watchdog.exit(watchdog.enter(LABEL), false);
+        watchdog.exit(outer, false);
+    }
+}
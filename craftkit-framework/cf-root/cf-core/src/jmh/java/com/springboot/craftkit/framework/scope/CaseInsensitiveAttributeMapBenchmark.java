@@ -0,0 +1,91 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Typical scope map usage (build from headers, mixed-case lookups, copy) against the previous LinkedCaseInsensitiveMap.
+ * <pre>
+ * mvn -Pjmh -pl cf-root/cf-core test-compile exec:exec -Djmh.args="CaseInsensitiveAttributeMapBenchmark -f 1 -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CaseInsensitiveAttributeMapBenchmark {
+
+    @Param({"linked", "compact"})
+    public String implementation;
+
+    private Supplier<Map<String, Object>> factory;
+    private String[] names;
+    private String[] lookups;
+    private Map<String, Object> populated;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        factory = "compact".equals(implementation) ? CaseInsensitiveAttributeMap::new : LinkedCaseInsensitiveMap::new;
+        names = new String[]{
+                RequestScopeAttribute.GLOBAL_TRANSACTION_ID, RequestScopeAttribute.USER_ID,
+                RequestScopeAttribute.APPLICATION_NAME, RequestScopeAttribute.PROGRAM_ID,
+                RequestScopeAttribute.PRIVATE_CLAIMS, RequestScopeAttribute.CUSTOM_ATTRIBUTES,
+                "channel", "X-Market-Id", "tenant", "region"
+        };
+        lookups = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            // header 는 보통 다른 대소문자로 들어온다
+            lookups[i] = (i % 2 == 0) ? names[i].toLowerCase() : names[i].toUpperCase();
+        }
+        populated = build();
+    }
+
+    private Map<String, Object> build() {
+        Map<String, Object> map = factory.get();
+        for (String name : names) {
+            map.put(name, name);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Map<String, Object> populate() {
+        return build();
+    }
+
+    @Benchmark
+    public void lookupMixedCase(Blackhole blackhole) {
+        for (String lookup : lookups) {
+            blackhole.consume(populated.get(lookup));
+        }
+    }
+
+    @Benchmark
+    public void lookupConstantNames(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(populated.get(name));
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> copy() {
+        if ("compact".equals(implementation)) {
+            return new CaseInsensitiveAttributeMap<>(populated);
+        }
+        Map<String, Object> copy = new LinkedCaseInsensitiveMap<>(populated.size());
+        copy.putAll(populated);
+        return copy;
+    }
+}
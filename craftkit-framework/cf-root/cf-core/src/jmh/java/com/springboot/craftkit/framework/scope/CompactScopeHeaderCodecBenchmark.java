@@ -0,0 +1,85 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka scope headers as individual headers ({@code compact=false}) and as one compact header ({@code compact=true}).
+ * {@code firstMessage} serializes a fresh scope (no header cache), {@code nextMessage} a scope already serialized once.
+ * <pre>
+ * mvn -Pjmh -pl cf-root/cf-core test-compile exec:exec -Djmh.args="CompactScopeHeaderCodecBenchmark -f 1 -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompactScopeHeaderCodecBenchmark {
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    private final ScopeStore store = new ScopeStore();
+    private ScopeAttribute attribute;
+    private Map<String, String> received;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CompactScopeHeaderCodec.setEnabled(compact);
+        attribute = new ScopeAttribute();
+        attribute.setUserId("user-1");
+        attribute.setGtid("gtid-0001");
+        attribute.setProgramId("bff::POST::/orders");
+        attribute.setForwardedService(List.of("gateway", "bff"), "order");
+        attribute.setPrivateClaims(Map.of("tenant", "acme", "roles", List.of("admin", "user")));
+        attribute.setCustomAttribute("channel", "web");
+        attribute.setCustomAttribute("market", "kr");
+
+        store.setAttributeIntoThreadLocal(attribute);
+        received = produce();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        CompactScopeHeaderCodec.setEnabled(false);
+        store.removeAttributeFromThreadLocal();
+    }
+
+    @Benchmark
+    public Map<String, String> firstMessage() {
+        // 복사본이 thread local 에 저장되므로 header cache 가 없다
+        store.setAttributeIntoThreadLocal(attribute);
+        return produce();
+    }
+
+    @Benchmark
+    public Map<String, String> nextMessage() {
+        return produce();
+    }
+
+    private Map<String, String> produce() {
+        Map<String, String> headers = new HashMap<>();
+        new ScopeAttributeSerializer().setKafkaHeader(headers);
+        return headers;
+    }
+
+    @Benchmark
+    public ScopeAttribute consume() {
+        store.setAttributeIntoThreadLocal(new ScopeAttribute());
+        ScopeAttributeDeserializer deserializer = new ScopeAttributeDeserializer();
+        deserializer.setScopeAttributeByKafkaHeader(received);
+        return deserializer.getScopeAttribute();
+    }
+}
@@ -0,0 +1,69 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.apache.commons.collections.SetUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposed header lookups under contention (8 threads): previous synchronized TreeSet pair vs the volatile snapshot.
+ * <pre>
+ * mvn -Pjmh -pl cf-root/cf-core test-compile exec:exec -Djmh.args="ExposedCustomAttributeNamesBenchmark -f 1 -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class ExposedCustomAttributeNamesBenchmark {
+
+    private static final List<String> NAMES = List.of("X-Mrkt-Id", "X-Req-Header", "X-Channel", "X-Tenant", "X-Trace-Id");
+
+    @SuppressWarnings("unchecked")
+    private final Set<String> legacyAttributes = SetUtils.synchronizedSet(new TreeSet<>(String.CASE_INSENSITIVE_ORDER));
+    @SuppressWarnings("unchecked")
+    private final Set<String> legacyAdditional = SetUtils.synchronizedSet(new TreeSet<>(String.CASE_INSENSITIVE_ORDER));
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        legacyAttributes.addAll(NAMES.subList(0, 3));
+        legacyAdditional.addAll(NAMES.subList(3, 5));
+        ExposedCustomAttributeNames.setAttributes(NAMES.subList(0, 3));
+        ExposedCustomAttributeNames.setAdditionalAttributes(NAMES.subList(3, 5));
+    }
+
+    @Benchmark
+    public boolean legacyContains() {
+        return legacyAttributes.contains("x-tenant") || legacyAdditional.contains("x-tenant");
+    }
+
+    @Benchmark
+    public boolean snapshotContains() {
+        return ExposedCustomAttributeNames.isContains("x-tenant");
+    }
+
+    @Benchmark
+    public int legacyGetAttributes() {
+        Set<String> all = new HashSet<>();
+        all.addAll(legacyAttributes);
+        all.addAll(legacyAdditional);
+        return all.size();
+    }
+
+    @Benchmark
+    public int snapshotGetAttributes() {
+        return ExposedCustomAttributeNames.getAttributes().size();
+    }
+}
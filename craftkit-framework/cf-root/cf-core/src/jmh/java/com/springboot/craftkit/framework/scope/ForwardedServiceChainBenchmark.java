@@ -0,0 +1,65 @@
+package com.springboot.craftkit.framework.scope;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One hop of the Forwarded-Service header (parse, append self, encode): previous Splitter/ArrayList/Joiner path
+ * vs the bounded chain. {@code hops} is the length of the incoming chain.
+ * <pre>
+ * mvn -Pjmh -pl cf-root/cf-core test-compile exec:exec -Djmh.args="ForwardedServiceChainBenchmark -f 1 -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ForwardedServiceChainBenchmark {
+
+    private static final Splitter SPLITTER = Splitter.on(',').trimResults().omitEmptyStrings();
+    private static final Joiner JOINER = Joiner.on(',');
+
+    @Param({"4", "64"})
+    public int hops;
+
+    private String legacyHeader;
+    private String chainHeader;
+
+    @Setup
+    public void setUp() {
+        List<String> services = new ArrayList<>();
+        for (int i = 0; i < hops; i++) {
+            services.add("service-" + i);
+        }
+        legacyHeader = String.join(",", services);
+        ForwardedServiceChain chain = new ForwardedServiceChain();
+        services.forEach(chain::append);
+        chainHeader = chain.encode();
+    }
+
+    @Benchmark
+    public String legacyHop() {
+        List<String> services = new ArrayList<>(SPLITTER.splitToList(legacyHeader));
+        services.add("order-service");
+        return JOINER.join(services);
+    }
+
+    @Benchmark
+    public String chainHop() {
+        ForwardedServiceChain chain = new ForwardedServiceChain();
+        chain.appendEncoded(chainHeader);
+        chain.append("order-service");
+        return chain.encode();
+    }
+}
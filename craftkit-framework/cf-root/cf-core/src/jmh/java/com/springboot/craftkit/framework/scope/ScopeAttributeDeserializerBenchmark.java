@@ -0,0 +1,58 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inbound header deserialization of the request scope for a request carrying private claims and custom attributes.
+ * <pre>
+ * mvn -Pjmh -pl cf-root/cf-core test-compile exec:exec -Djmh.args="ScopeAttributeDeserializerBenchmark -f 1 -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScopeAttributeDeserializerBenchmark {
+
+    private final ScopeStore store = new ScopeStore();
+    private MockHttpServletRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        request = new MockHttpServletRequest();
+        request.addHeader(RequestScopeAttribute.GLOBAL_TRANSACTION_ID, "gtid-0001");
+        request.addHeader(RequestScopeAttribute.USER_ID, "user-1");
+        request.addHeader(RequestScopeAttribute.APPLICATION_NAME, "bff");
+        request.addHeader(RequestScopeAttribute.PROGRAM_ID, "bff::GET::/orders");
+        request.addHeader(RequestScopeAttribute.FORWARDED_SERVICE, "gateway");
+        request.addHeader(RequestScopeAttribute.FORWARDED_SERVICE, "bff");
+        request.addHeader(RequestScopeAttribute.PRIVATE_CLAIMS, "{\"tenant\":\"acme\",\"roles\":[\"admin\",\"user\"]}");
+        request.addHeader(RequestScopeAttribute.CUSTOM_ATTRIBUTES, "{\"channel\":\"web\",\"region\":\"kr\"}");
+        for (int i = 0; i < 10; i++) {
+            request.addHeader("x-other-" + i, "value-" + i);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        store.removeAttributeFromThreadLocal();
+    }
+
+    @Benchmark
+    public ScopeAttribute httpHeaders() {
+        store.setAttributeIntoThreadLocal(new ScopeAttribute());
+        ScopeAttributeDeserializer deserializer = new ScopeAttributeDeserializer();
+        deserializer.setScopeAttributeByHttpHeader(request);
+        return deserializer.getScopeAttribute();
+    }
+}
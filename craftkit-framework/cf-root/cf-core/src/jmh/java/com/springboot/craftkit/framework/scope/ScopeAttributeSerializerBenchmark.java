@@ -0,0 +1,66 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.HttpHeaders;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbound header serialization of the request scope, repeated as for the calls of one BFF request.
+ * <pre>
+ * mvn -Pjmh -pl cf-root/cf-core test-compile exec:exec -Djmh.args="ScopeAttributeSerializerBenchmark -f 1 -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScopeAttributeSerializerBenchmark {
+
+    private final ScopeStore store = new ScopeStore();
+    private ScopeAttributeSerializer serializer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setUserId("user-1");
+        attribute.setGtid("gtid-0001");
+        attribute.setProgramId("bff::GET::/orders");
+        attribute.setForwardedService(List.of("gateway", "bff"), "order");
+        attribute.setPrivateClaims(Map.of("tenant", "acme", "roles", List.of("admin", "user")));
+        for (int i = 0; i < 6; i++) {
+            attribute.setCustomAttribute("custom-" + i, "value with spaces " + i);
+        }
+        store.setAttributeIntoThreadLocal(attribute);
+        serializer = new ScopeAttributeSerializer();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        store.removeAttributeFromThreadLocal();
+    }
+
+    @Benchmark
+    public HttpHeaders httpHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        serializer.setHttpHeaders(headers);
+        return headers;
+    }
+
+    @Benchmark
+    public Map<String, String> kafkaHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        serializer.setKafkaHeader(headers);
+        return headers;
+    }
+}
@@ -0,0 +1,71 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full scope round trip of one request: inbound headers -> ScopeAttribute -> {@code calls} outbound headers,
+ * with a thread hop (snapshot) before the last call. HTTP and Kafka variants over the same header set.
+ * <pre>
+ * mvn -Pjmh -pl cf-root/cf-core test-compile exec:exec -Djmh.args="ScopeRoundTripBenchmark -f 1 -prof gc"
+ * </pre>
+ * headers: "minimal" is gtid / user / program / one forwarded service, "full" adds private claims,
+ * custom attributes, a 6 hop forwarded chain and unrelated headers as seen behind a gateway.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScopeRoundTripBenchmark {
+
+    @Param({"minimal", "full"})
+    public String headers;
+
+    @Param({"1", "4"})
+    public int calls;
+
+    private final ScopeStore store = new ScopeStore();
+    private MockHttpServletRequest request;
+    private Map<String, String> message;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        request = new MockHttpServletRequest();
+        ScopeRoundTripFixture.inboundHeaders("full".equals(headers), true).forEach(request::addHeader);
+        message = new HashMap<>(ScopeRoundTripFixture.inboundHeaders("full".equals(headers), false));
+    }
+
+    @Benchmark
+    public Object http() {
+        ScopeAttribute previous = store.bind(new ScopeAttribute());
+        try {
+            new ScopeAttributeDeserializer().setScopeAttributeByHttpHeader(request);
+            return ScopeRoundTripFixture.httpCalls(store, calls);
+        } finally {
+            store.restore(previous);
+        }
+    }
+
+    @Benchmark
+    public Object kafka() {
+        ScopeAttribute previous = store.bind(new ScopeAttribute());
+        try {
+            new ScopeAttributeDeserializer().setScopeAttributeByKafkaHeader(message);
+            return ScopeRoundTripFixture.kafkaCalls(store, calls);
+        } finally {
+            store.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread hop of the request scope as done by Hystrix / fan-out workers: hand over, read, clean up.
+ * <pre>
+ * mvn -Pjmh -pl cf-root/cf-core test-compile exec:exec -Djmh.args="ScopeStoreBenchmark -f 1 -prof gc"
+ * </pre>
+ * threadHop copies the attribute (ScopeAttribute.of), snapshotHop hands over a shared copy-on-write snapshot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScopeStoreBenchmark {
+
+    private final ScopeStore store = new ScopeStore();
+    private ScopeAttribute attribute;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        attribute = new ScopeAttribute();
+        attribute.setUserId("user-1");
+        attribute.setGtid("gtid-0001");
+        attribute.setProgramId("bff::GET::/orders");
+        attribute.setForwardedService(List.of("gateway", "bff"), "order");
+        for (int i = 0; i < 6; i++) {
+            attribute.setCustomAttribute("custom-" + i, "value-" + i);
+        }
+        attribute.setLocalAttribute("list", new ArrayList<>(List.of("a", "b", "c")));
+        attribute.setLocalAttribute("number", 42);
+    }
+
+    @Benchmark
+    public Object threadHop() {
+        store.setAttributeIntoThreadLocal(attribute);
+        RequestScopeAttribute current = store.getAttribute();
+        store.removeAttributeFromThreadLocal();
+        return current;
+    }
+
+    @Benchmark
+    public Object snapshotHop() {
+        store.setAttributeIntoThreadLocal(attribute.snapshot());
+        RequestScopeAttribute current = store.getAttribute();
+        store.removeAttributeFromThreadLocal();
+        return current;
+    }
+
+    @Benchmark
+    public Object snapshotHandOver() {
+        ScopeAttribute snapshot = attribute.snapshot();
+        store.setAttributeIntoThreadLocal(snapshot);
+        store.removeAttributeFromThreadLocal();
+        return snapshot;
+    }
+}
@@ -0,0 +1,27 @@
+package com.springboot.craftkit.config;
+
+import com.springboot.craftkit.framework.application.setting.JwtVerifierProperties;
+import com.springboot.craftkit.framework.jwt.JwtVerifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JWKS 기반 JWT 서명 검증기를 등록한다.
+ * <pre>
+ * sf.jwt.verifier.jwks-uri 를 설정한 경우에만 등록하며, 시작 후 refresh-interval 마다 JWKS 를 다시 읽는다.
+ * </pre>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = JwtVerifierProperties.PREFIX, name = "jwks-uri")
+@EnableConfigurationProperties(JwtVerifierProperties.class)
+public class JwtVerifierConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public JwtVerifier jwtVerifier(JwtVerifierProperties properties) {
+        return new JwtVerifier(properties);
+    }
+}
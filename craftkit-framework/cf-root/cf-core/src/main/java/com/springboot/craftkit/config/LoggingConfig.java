@@ -1,11 +1,18 @@
 package com.springboot.craftkit.config;
 
 import com.springboot.craftkit.framework.application.setting.LoggingProperties;
+import com.springboot.craftkit.framework.logging.AsyncStructuredLogMetrics;
 import com.springboot.craftkit.framework.logging.ExceptionLoggingAspect;
+import com.springboot.craftkit.framework.logging.MethodLatencyEndpoint;
+import com.springboot.craftkit.framework.logging.MethodLatencyProfiler;
+import com.springboot.craftkit.framework.logging.SlowCallWatchdog;
 import com.springboot.craftkit.framework.util.MessageUtil;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -33,7 +40,46 @@ public class LoggingConfig {
 
     @Bean
     @ConditionalOnProperty(name = "sample.log.auto-logging-enabled", havingValue = "true", matchIfMissing = false)
-    public ExceptionLoggingAspect exceptionLoggingAspect(LoggingProperties properties) {
-        return new ExceptionLoggingAspect(properties);
+    public ExceptionLoggingAspect exceptionLoggingAspect(LoggingProperties properties,
+                                                         ObjectProvider<MethodLatencyProfiler> profiler,
+                                                         ObjectProvider<SlowCallWatchdog> watchdog) {
+        return new ExceptionLoggingAspect(properties, profiler.getIfAvailable(), watchdog.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "sample.log.profiling.enabled", havingValue = "true", matchIfMissing = false)
+    public MethodLatencyProfiler methodLatencyProfiler(LoggingProperties properties) {
+        LoggingProperties.Profiling profiling = properties.getProfiling();
+        log.info("method latency profiling enabled : {}", profiling);
+        return new MethodLatencyProfiler(profiling.getSignificantDigits(), profiling.getSampleRate(),
+                profiling.getMaxMethods(), profiling.getMaxSampledTrees(), profiling.getMaxTreeNodes());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "sample.log.slow-call.enabled", havingValue = "true", matchIfMissing = false)
+    public SlowCallWatchdog slowCallWatchdog(LoggingProperties properties) {
+        LoggingProperties.SlowCall slowCall = properties.getSlowCall();
+        log.info("slow call watchdog enabled : {}", slowCall);
+        SlowCallWatchdog watchdog = new SlowCallWatchdog(slowCall.getThreshold(), slowCall.getSampleInterval(),
+                slowCall.getMaxSamples(), slowCall.getMaxStackDepth(), slowCall.getMaxReports());
+        watchdog.start();
+        return watchdog;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "sample.log.profiling.enabled", havingValue = "true", matchIfMissing = false)
+    @ConditionalOnAvailableEndpoint(endpoint = MethodLatencyEndpoint.class)
+    public MethodLatencyEndpoint methodLatencyEndpoint(MethodLatencyProfiler profiler) {
+        return new MethodLatencyEndpoint(profiler);
+    }
+
+    /**
+     * 비동기 JSON logging 의 버린 event 수 (appender 는 SampleFrameworkCoreApplicationContextInitializer 에서 등록)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "sf.log.async.enabled", havingValue = "true", matchIfMissing = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    public AsyncStructuredLogMetrics asyncStructuredLogMetrics() {
+        return new AsyncStructuredLogMetrics();
     }
 }
@@ -0,0 +1,28 @@
+package com.springboot.craftkit.config;
+
+import com.springboot.craftkit.framework.scope.ScopeTaskDecorator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * {@code @Async} 와 자동 설정 TaskExecutor(applicationTaskExecutor) 로 요청 context 를 전달한다.
+ * <pre>
+ * 1. spring boot 는 단일 TaskDecorator bean 을 TaskExecutor 에 적용하므로, 별도 TaskDecorator 가 있으면 등록하지 않는다.
+ * 2. TaskScheduler 는 spring 6.1 기준 제출 시점에 decorator 를 적용할 수 없으므로 ScopeContextExecutors 로 감싼
+ *    ScheduledExecutorService 또는 ScopeTaskContext.capture().wrap(task) 를 사용한다.
+ * 비활성화 : sf.scope.task-propagation.enabled=false
+ * </pre>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "sf.scope.task-propagation.enabled", havingValue = "true", matchIfMissing = true)
+public class ScopeTaskExecutionConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(TaskDecorator.class)
+    public ScopeTaskDecorator scopeTaskDecorator() {
+        return new ScopeTaskDecorator();
+    }
+}
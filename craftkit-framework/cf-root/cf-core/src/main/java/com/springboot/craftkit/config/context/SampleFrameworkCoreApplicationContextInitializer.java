@@ -1,8 +1,17 @@
 package com.springboot.craftkit.config.context;
 
 import com.springboot.craftkit.framework.application.SampleFrameworkAnnotationBeanNameGenerator;
+import com.springboot.craftkit.framework.id.IdGenerators;
+import com.springboot.craftkit.framework.jwt.ClaimsCache;
+import com.springboot.craftkit.framework.logging.AsyncStructuredLogging;
+import com.springboot.craftkit.framework.logging.RequestLogLevel;
 import com.springboot.craftkit.framework.resource.RetryableUrlResource;
+import com.springboot.craftkit.framework.scope.CompactScopeHeaderCodec;
 import com.springboot.craftkit.framework.scope.ExposedCustomAttributeNames;
+import com.springboot.craftkit.framework.scope.ForwardedServiceChain;
+import com.springboot.craftkit.framework.scope.RequestDeadline;
+import com.springboot.craftkit.framework.scope.RequestScopeUtil;
+import com.springboot.craftkit.framework.util.ClientIpResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContextInitializer;
@@ -45,6 +54,35 @@ public class SampleFrameworkCoreApplicationContextInitializer
 
         // Initialize exposed headers from ConfigData-backed Environment (no manual PropertySource injection)
         ExposedCustomAttributeNames.initializeFromEnvironment(applicationContext.getEnvironment());
+        // 설정 refresh 시 다시 구성 (EnvironmentChangeEvent)
+        applicationContext.addApplicationListener(ExposedCustomAttributeNames.refreshListener(applicationContext.getEnvironment()));
+
+        // 요청 처리 서버 budget (sf.deadline.server-budget)
+        RequestDeadline.initializeFromEnvironment(applicationContext.getEnvironment());
+
+        // 요청 scope 저장소 (sf.scope.store)
+        RequestScopeUtil.initializeFromEnvironment(applicationContext.getEnvironment());
+
+        // kafka compact scope header (sf.scope.kafka-header.compact)
+        CompactScopeHeaderCodec.initializeFromEnvironment(applicationContext.getEnvironment());
+
+        // Forwarded-Service 경로 크기 제한 / compact id (sf.scope.forwarded-service.*)
+        ForwardedServiceChain.initializeFromEnvironment(applicationContext.getEnvironment());
+
+        // gtid / correlation id 생성기 (sf.id.generator)
+        IdGenerators.initializeFromEnvironment(applicationContext.getEnvironment());
+
+        // client IP 의 신뢰하는 proxy (sf.client-ip.trusted-proxies)
+        ClientIpResolver.initializeFromEnvironment(applicationContext.getEnvironment());
+
+        // access token claims cache (sf.jwt.claims-cache.*)
+        ClaimsCache.initializeFromEnvironment(applicationContext.getEnvironment());
+
+        // 요청 단위 log level (sf.log.request-level.*)
+        RequestLogLevel.initializeFromEnvironment(applicationContext.getEnvironment());
+
+        // 비동기 JSON logging (sf.log.async.*)
+        AsyncStructuredLogging.initializeFromEnvironment(applicationContext.getEnvironment());
 
         setRetryableUrlResourcePolicy(applicationContext);
     }
@@ -20,6 +20,9 @@ public final class HeaderConstant {
     public static final String HEADER_GLOBAL_TRANSACTION_ID = "Global-Transaction-ID";
     public static final String HEADER_LOGLEVEL_KEY = "LogLevel";
 
+    // 요청 처리에 남은 시간(ms). 호출하는 쪽의 deadline 을 다음 서비스로 전달한다.
+    public static final String HEADER_REMAINING_TIME = "Remaining-Time-Ms";
+
     // 게이트웨이 서명 관련 헤더(전송 채널과 무관)
     public static final String HEADER_APPLICATION_NAME = "APPLICATION-NAME";
     public static final String HEADER_SIGNATURE = "Header-Authorization";
@@ -0,0 +1,34 @@
+package com.springboot.craftkit.framework.application.setting;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * JWT 서명 검증 설정
+ * Keys:
+ * - sf.jwt.verifier.jwks-uri : JWKS 위치 (file:, classpath:, http(s):)
+ * - sf.jwt.verifier.refresh-interval : JWKS 주기적 재조회 간격
+ * - sf.jwt.verifier.min-refresh-interval : 알 수 없는 kid 로 인한 재조회의 최소 간격
+ * - sf.jwt.verifier.clock-skew : exp / nbf 허용 오차
+ * - sf.jwt.verifier.issuer : 기대하는 iss (미설정시 확인하지 않음)
+ * - sf.jwt.verifier.cache-max-size : 검증된 token cache 크기 (0 이면 사용하지 않음)
+ */
+@Data
+@ToString
+@NoArgsConstructor
+@ConfigurationProperties(prefix = JwtVerifierProperties.PREFIX, ignoreUnknownFields = true)
+public class JwtVerifierProperties {
+
+    public static final String PREFIX = "sf.jwt.verifier";
+
+    private String jwksUri;
+    private Duration refreshInterval = Duration.ofMinutes(5);
+    private Duration minRefreshInterval = Duration.ofSeconds(30);
+    private Duration clockSkew = Duration.ofSeconds(60);
+    private String issuer;
+    private long cacheMaxSize = 10_000L;
+}
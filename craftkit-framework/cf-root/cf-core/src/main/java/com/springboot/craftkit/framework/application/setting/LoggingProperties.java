@@ -5,6 +5,8 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * Logging properties for sample-framework.
  * Keys:
@@ -12,6 +14,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * - sample.log.include-arguments
  * - sample.log.include-returns
  * - sample.log.use-abbreviated-package-name
+ * - sample.log.profiling.* (auto-logging-enabled 필요)
+ * - sample.log.slow-call.* (aspect 대상은 auto-logging-enabled 필요, cf-rest 호출은 무관)
  */
 @Data
 @ToString
@@ -23,4 +27,37 @@ public class LoggingProperties {
     private boolean includeArguments = false;
     private boolean includeReturns = false;
     private boolean useAbbreviatedPackageName = false;
+    private Profiling profiling = new Profiling();
+    private SlowCall slowCall = new SlowCall();
+
+    /**
+     * 메서드별 응답 시간 profiling (actuator endpoint: methodlatency)
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Profiling {
+        private boolean enabled = false;
+        // call tree 로 기록할 최상위 호출 비율
+        private double sampleRate = 0.001d;
+        // histogram 정밀도 (유효 자리수)
+        private int significantDigits = 2;
+        private int maxMethods = 2000;
+        private int maxSampledTrees = 20;
+        private int maxTreeNodes = 200;
+    }
+
+    /**
+     * 느린 호출 감지 (stack sample 포함 WARN report)
+     */
+    @Data
+    @NoArgsConstructor
+    public static class SlowCall {
+        private boolean enabled = false;
+        private Duration threshold = Duration.ofSeconds(1);
+        private Duration sampleInterval = Duration.ofMillis(100);
+        // 호출 하나의 최대 stack sample 수
+        private int maxSamples = 5;
+        private int maxStackDepth = 64;
+        private int maxReports = 50;
+    }
 }
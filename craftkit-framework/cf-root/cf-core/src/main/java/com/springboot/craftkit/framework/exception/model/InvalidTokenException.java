@@ -0,0 +1,20 @@
+package com.springboot.craftkit.framework.exception.model;
+
+/**
+ * 401 Unauthorized 수준의 토큰 검증 실패(형식 오류, 서명 불일치, 만료 등)를 표현하는 예외입니다.
+ * 실패 사유는 {@link AuthErrorCode} 로 구분합니다.
+ */
+public class InvalidTokenException extends CraftkitSystemException {
+
+    public InvalidTokenException(AuthErrorCode errorCode) {
+        super(errorCode);
+    }
+
+    public InvalidTokenException(AuthErrorCode errorCode, Object args) {
+        super(errorCode, args);
+    }
+
+    public InvalidTokenException(AuthErrorCode errorCode, Throwable cause) {
+        super(errorCode, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package com.springboot.craftkit.framework.id;
+
+/**
+ * gtid, correlation id 등 추적용 id 생성 SPI
+ *
+ * <pre>
+ *  - 구현체는 thread-safe 해야 하며, 요청 처리 thread 에서 호출되므로 lock 을 사용하지 않아야 한다.
+ *  - sf.id.generator 설정으로 선택한다. ({@link IdGenerators})
+ * </pre>
+ */
+public interface IdGenerator {
+
+    String generate();
+}
@@ -0,0 +1,67 @@
+package com.springboot.craftkit.framework.id;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.util.ClassUtils;
+
+import java.util.UUID;
+
+/**
+ * 설정된 {@link IdGenerator}. gtid({@code HttpUtil.generateNewGtid}) 와 outbound correlation id 가 사용한다.
+ *
+ * <pre>
+ *  sf.id.generator : time-ordered(기본) | uuid | IdGenerator 구현 class 이름
+ * </pre>
+ */
+public final class IdGenerators {
+
+    private static final Logger log = LoggerFactory.getLogger(IdGenerators.class);
+
+    private static final String PROPERTY_NAME = "sf.id.generator";
+
+    public static final String TIME_ORDERED = "time-ordered";
+    public static final String UUID_GENERATOR = "uuid";
+
+    private static volatile IdGenerator generator = new TimeOrderedIdGenerator();
+
+    private IdGenerators() {
+        super();
+    }
+
+    public static void initializeFromEnvironment(ConfigurableEnvironment environment) {
+        String type = Binder.get(environment).bind(PROPERTY_NAME, String.class).orElse(TIME_ORDERED);
+        setGenerator(createGenerator(type, ClassUtils.getDefaultClassLoader()));
+        log.debug("IdGenerators initialized: generator={}", generator.getClass().getName());
+    }
+
+    private static IdGenerator createGenerator(String type, ClassLoader classLoader) {
+        if (StringUtils.isBlank(type) || TIME_ORDERED.equalsIgnoreCase(type)) {
+            return new TimeOrderedIdGenerator();
+        }
+        if (UUID_GENERATOR.equalsIgnoreCase(type)) {
+            return () -> UUID.randomUUID().toString();
+        }
+        try {
+            Class<?> generatorClass = ClassUtils.forName(type.trim(), classLoader);
+            return (IdGenerator) BeanUtils.instantiateClass(generatorClass);
+        } catch (ClassNotFoundException | LinkageError | RuntimeException e) {
+            throw new IllegalStateException(PROPERTY_NAME + " 설정 오류 : " + type, e);
+        }
+    }
+
+    public static void setGenerator(IdGenerator idGenerator) {
+        generator = idGenerator;
+    }
+
+    public static IdGenerator getGenerator() {
+        return generator;
+    }
+
+    public static String nextId() {
+        return generator.generate();
+    }
+}
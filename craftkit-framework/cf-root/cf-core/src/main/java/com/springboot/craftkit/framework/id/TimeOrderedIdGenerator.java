@@ -0,0 +1,90 @@
+package com.springboot.craftkit.framework.id;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 시간 순서의 id 생성기 (ULID 형식)
+ *
+ * <pre>
+ *  - 48bit epoch millis + 80bit random, Crockford base32 26자리. 문자열 정렬 순서 = 생성 시각 순서 (ms 단위)
+ *  - thread 마다 SplittableRandom 과 마지막 값을 가지며 lock / CAS 를 사용하지 않는다.
+ *    (SplittableRandom 의 seed 는 thread 최초 사용시 ThreadLocalRandom 으로 생성하므로 공유 lock 이 없다)
+ *  - 같은 thread 에서 같은 ms 에 생성하면 random 부분을 1 증가시켜 thread 안에서 단조 증가한다.
+ *    시계가 뒤로 가면 마지막 시각을 계속 사용한다.
+ *  - thread 간의 유일성은 80bit random 으로 보장한다.
+ * </pre>
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+
+    public static final int LENGTH = 26;
+
+    private static final byte[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".getBytes(StandardCharsets.US_ASCII);
+
+    private static final long MAX_TIME = (1L << 48) - 1;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    @Override
+    public String generate() {
+        return STATE.get().next(System.currentTimeMillis());
+    }
+
+    /**
+     * 지정한 시각으로 생성한다 (test 용)
+     */
+    String generate(long millis) {
+        return STATE.get().next(millis);
+    }
+
+    private static final class State {
+
+        private final SplittableRandom random;
+        private long lastMillis = -1L;
+        // 80bit random : 상위 16bit + 하위 64bit
+        private int high;
+        private long low;
+
+        private State() {
+            this.random = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+        }
+
+        private String next(long millis) {
+            if (millis > lastMillis) {
+                lastMillis = Math.min(millis, MAX_TIME);
+                high = random.nextInt() & 0xFFFF;
+                low = random.nextLong();
+            } else if (++low == 0L) {
+                high = (high + 1) & 0xFFFF;
+                if (high == 0) {
+                    // 같은 ms 안에서 80bit 를 모두 소진하면 다음 ms 로 넘어간다
+                    lastMillis++;
+                }
+            }
+            return encode(lastMillis, high, low);
+        }
+    }
+
+    static String encode(long millis, int high, long low) {
+        byte[] chars = new byte[LENGTH];
+
+        // 시각 48bit -> 10자리 (첫 자리는 상위 3bit 만 사용)
+        for (int i = 9; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (millis & 31)];
+            millis >>>= 5;
+        }
+
+        // random 80bit -> 16자리 : 하위 64bit 에서 12자리(60bit), 나머지 4bit + 상위 16bit 에서 4자리
+        for (int i = 25; i >= 14; i--) {
+            chars[i] = ALPHABET[(int) (low & 31)];
+            low >>>= 5;
+        }
+        int rest = (high << 4) | (int) low;
+        for (int i = 13; i >= 10; i--) {
+            chars[i] = ALPHABET[rest & 31];
+            rest >>>= 5;
+        }
+        return new String(chars, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,52 @@
+package com.springboot.craftkit.framework.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * kafka message header 로 scope 를 설정 (ScopeAttributeDeserializer.setScopeAttributeByKafkaHeader)
+ *
+ * <pre>
+ *  duration event 이므로 begin / end 사이의 header 해석 시간을 기록한다. 사용 순서
+ *      KafkaHeaderInspectionEvent event = new KafkaHeaderInspectionEvent();
+ *      event.begin();
+ *      ...
+ *      event.end();
+ *      if (event.shouldCommit()) { 값 설정; event.commit(); }
+ * </pre>
+ */
+@Name(KafkaHeaderInspectionEvent.NAME)
+@Label("Kafka Scope Header Inspection")
+@Category({"Craftkit", "Kafka"})
+@Description("Request scope resolved from the headers of a consumed Kafka message")
+@Enabled(false)
+public class KafkaHeaderInspectionEvent extends Event {
+
+    public static final String NAME = "craftkit.KafkaHeaderInspection";
+
+    @Label("Destination")
+    @Description("DESTINATION header (topic / program id of the message)")
+    public String destination;
+
+    @Label("GTID")
+    public String gtid;
+
+    @Label("Header Count")
+    public int headerCount;
+
+    @Label("Compact Header")
+    @Description("Scope-Context compact header was present")
+    public boolean compact;
+
+    @Label("Compact Header Rejected")
+    @Description("Scope-Context compact header could not be decoded and was ignored")
+    public boolean compactRejected;
+
+    @Label("GTID Generated")
+    @Description("No GTID in the headers, a new one was generated")
+    public boolean gtidGenerated;
+}
@@ -0,0 +1,50 @@
+package com.springboot.craftkit.framework.jfr;
+
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * thread 의 scope binding 을 이전 상태로 되돌림 (ScopeStore / StructuredScopeStore 의 restore, callWith 종료)
+ */
+@Name(ScopeRestoreEvent.NAME)
+@Label("Scope Restore")
+@Category({"Craftkit", "Scope"})
+@Description("Scope binding of the current thread restored to its previous state")
+@Enabled(false)
+@StackTrace(false)
+public class ScopeRestoreEvent extends Event {
+
+    public static final String NAME = "craftkit.ScopeRestore";
+
+    @Label("Store")
+    String store;
+
+    @Label("Restored GTID")
+    String gtid;
+
+    @Label("Cleared")
+    @Description("No previous scope, the binding was removed from the thread")
+    boolean cleared;
+
+    /**
+     * event 가 활성화된 경우에만 기록한다.
+     *
+     * @param store    저장소 이름
+     * @param restored 되돌린 scope (없으면 null)
+     */
+    public static void emit(String store, ScopeAttribute restored) {
+        ScopeRestoreEvent event = new ScopeRestoreEvent();
+        if (event.isEnabled()) {
+            event.store = store;
+            event.gtid = restored == null ? null : restored.getGtid();
+            event.cleared = restored == null;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.springboot.craftkit.framework.jfr;
+
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 다른 thread 로 넘기기 위한 scope snapshot ({@link ScopeAttribute#snapshot()})
+ */
+@Name(ScopeSnapshotEvent.NAME)
+@Label("Scope Snapshot")
+@Category({"Craftkit", "Scope"})
+@Description("Immutable scope snapshot taken to hand the request scope to another thread")
+@Enabled(false)
+@StackTrace(false)
+public class ScopeSnapshotEvent extends Event {
+
+    public static final String NAME = "craftkit.ScopeSnapshot";
+
+    @Label("GTID")
+    String gtid;
+
+    @Label("Reused")
+    @Description("The previous snapshot was reused because the scope has not changed since")
+    boolean reused;
+
+    /**
+     * event 가 활성화된 경우에만 기록한다.
+     */
+    public static void emit(String gtid, boolean reused) {
+        ScopeSnapshotEvent event = new ScopeSnapshotEvent();
+        if (event.isEnabled()) {
+            event.gtid = gtid;
+            event.reused = reused;
+            event.commit();
+        }
+    }
+}
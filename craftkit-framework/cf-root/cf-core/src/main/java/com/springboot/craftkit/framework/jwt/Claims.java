@@ -1,10 +1,13 @@
 package com.springboot.craftkit.framework.jwt;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang.StringUtils;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.ZoneId;
@@ -49,6 +52,9 @@ public class Claims {
 
     private static final Set<String> NOT_ALLOWED_PRIVATE_CLAIM_NAMES;
 
+    private static final ObjectReader PAYLOAD_READER = new ObjectMapper().reader();
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+
     /**
      * Initialize the registered claim name set.
      */
@@ -77,6 +83,9 @@ public class Claims {
     @Getter
     private ZonedDateTime expireAt; // exp
 
+    @Getter
+    private ZonedDateTime notBefore; // nbf (parse 시에만 설정)
+
     @Getter
     private String clientIp;
 
@@ -100,6 +109,27 @@ public class Claims {
         return expireAt;
     }
 
+    // parse 용 (jti 는 payload 에서 설정)
+    private Claims() {
+        super();
+    }
+
+    // cache 된 claims 의 복사본 (groups, privateClaims 는 새 collection)
+    Claims(Claims source) {
+        super();
+        this.tokenType = source.tokenType;
+        this.jti = source.jti;
+        this.issuer = source.issuer;
+        this.groups = new ArrayList<>(source.groups);
+        this.issueAt = source.issueAt;
+        this.expireAt = source.expireAt;
+        this.notBefore = source.notBefore;
+        this.clientIp = source.clientIp;
+        this.authenticatedIp = source.authenticatedIp;
+        this.userId = source.userId;
+        this.privateClaims = new LinkedHashMap<>(source.privateClaims);
+    }
+
     public Claims(JwtType tokenType) {
         super();
         this.jti = makeShortUUID(tokenType.getPrefix());
@@ -113,44 +143,130 @@ public class Claims {
         this.userId = userId;
     }
 
-    @SuppressWarnings({"rawtypes", "unchecked"})
+    /**
+     * token 의 payload 를 claims 로 변환한다. (서명은 확인하지 않음)
+     * <pre>
+     *  - 같은 token 은 {@link ClaimsCache} 에서 가져오며, 호출마다 새 Claims 를 반환한다. (privateClaims 의 값은 공유)
+     *  - payload 는 base64url(표준 base64 문자 포함)로 decode 하고, 공유 ObjectReader 로 필드를 순서대로 읽는다.
+     * </pre>
+     */
     public static Claims parse(String token) {
 
-        String[] parts = token.split("\\.");
-        if (parts.length < 2)
+        if (token == null)
             return null;
 
-        try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            byte[] bytes = Base64.getDecoder().decode(urlSafeCharToStandardChar(parts[1]));
-            HashMap payload = objectMapper.readValue(bytes, HashMap.class);
-
-            JwtType jwtType = JwtType.valueOfJti((String) payload.get(JWT_ID_CLAIM));
-            return new Claims(jwtType, (String) payload.get(USER_ID))
-                            .addGroup(payload.get(AUDIENCE_CLAIM))
-                            .setJti((String) payload.get(JWT_ID_CLAIM))
-                            .setIssuer((String) payload.get(ISSUER_CLAIM))
-                            .setIssueAt(ZonedDateTime.ofInstant(
-                                    Instant.ofEpochMilli(((int) payload.get(ISSUED_AT_CLAIM)) * 1000L),
-                                    ZoneId.systemDefault()))
-                            .setExpireAt(ZonedDateTime.ofInstant(
-                                    Instant.ofEpochMilli(((int) payload.get(EXPIRATION_TIME_CLAIM)) * 1000L),
-                                    ZoneId.systemDefault()))
-                            .setClientIp((String) payload.get(CLIENT_IP))
-                            .setAuthenticatedIp((String) payload.get(AUTHENTICATED_IP))
-                            .setPrivateClaims(payload);
+        long now = System.currentTimeMillis();
+        Claims cached = ClaimsCache.get(token, now);
+        if (cached != null)
+            return new Claims(cached);
+
+        Claims parsed = parsePayload(token);
+        if (parsed == null)
+            return null;
+
+        ClaimsCache.put(token, parsed, now);
+        return new Claims(parsed);
+    }
+
+    private static Claims parsePayload(String token) {
 
+        int first = token.indexOf('.');
+        if (first < 0 || first == token.length() - 1)
+            return null;
+        int second = token.indexOf('.', first + 1);
+        int end = second < 0 ? token.length() : second;
+
+        try {
+            byte[] payload = decodeBase64Url(token, first + 1, end);
+            return readClaims(payload);
         } catch (Exception e) {
             log.error("Claims.parse() exception : {}", e.getMessage());
             return null;
         }
     }
 
-    private static String urlSafeCharToStandardChar(String base64UrlSafeString) {
-        // Supports '+' and '/' for standard base 64, but also '-' and '_' for
-        return StringUtils.replaceEach(base64UrlSafeString, new String[] {"-","_"}, new String[] {"+","/"});
+    /**
+     * '+', '/' 는 '-', '_' 로 바꾸어 base64url 로 decode 한다. (두 형식 모두 지원)
+     */
+    static byte[] decodeBase64Url(String token, int start, int end) {
+        byte[] source = new byte[end - start];
+        for (int i = start; i < end; i++) {
+            char c = token.charAt(i);
+            if (c == '+') {
+                c = '-';
+            } else if (c == '/') {
+                c = '_';
+            } else if (c > 0x7F) {
+                throw new IllegalArgumentException("Illegal base64 character " + Integer.toHexString(c));
+            }
+            source[i - start] = (byte) c;
+        }
+        return BASE64_URL_DECODER.decode(source);
+    }
+
+    static Claims readClaims(byte[] payload) throws IOException {
+
+        Claims claims = new Claims();
+        Long issuedAt = null;
+        Long expiration = null;
+        Long notBefore = null;
+        Object audience = null;
+
+        try (JsonParser parser = PAYLOAD_READER.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+                throw new IOException("JWT payload is not a JSON object");
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case JWT_ID_CLAIM -> claims.setJti(textOf(parser, value, name));
+                    case ISSUER_CLAIM -> claims.setIssuer(textOf(parser, value, name));
+                    case USER_ID -> claims.userId = textOf(parser, value, name);
+                    case CLIENT_IP -> claims.setClientIp(textOf(parser, value, name));
+                    case AUTHENTICATED_IP -> claims.setAuthenticatedIp(textOf(parser, value, name));
+                    case ISSUED_AT_CLAIM -> issuedAt = numberOf(parser, value, name);
+                    case EXPIRATION_TIME_CLAIM -> expiration = numberOf(parser, value, name);
+                    case NOT_BEFORE_CLAIM -> notBefore = numberOf(parser, value, name);
+                    case AUDIENCE_CLAIM -> audience = PAYLOAD_READER.readValue(parser, Object.class);
+                    default -> {
+                        if (NOT_ALLOWED_PRIVATE_CLAIM_NAMES.contains(name)) {
+                            parser.skipChildren();
+                        } else {
+                            claims.privateClaims.put(name, PAYLOAD_READER.readValue(parser, Object.class));
+                        }
+                    }
+                }
+            }
+        }
+
+        if (issuedAt == null || expiration == null)
+            throw new IOException("JWT payload has no " + (issuedAt == null ? ISSUED_AT_CLAIM : EXPIRATION_TIME_CLAIM));
+
+        claims.tokenType = JwtType.valueOfJti(claims.jti);
+        if (claims.jti == null)
+            claims.jti = claims.makeShortUUID(claims.tokenType.getPrefix());
+        if (notBefore != null)
+            claims.notBefore = ZonedDateTime.ofInstant(Instant.ofEpochSecond(notBefore), ZoneId.systemDefault());
+
+        return claims.addGroup(audience)
+                .setIssueAt(ZonedDateTime.ofInstant(Instant.ofEpochSecond(issuedAt), ZoneId.systemDefault()))
+                .setExpireAt(ZonedDateTime.ofInstant(Instant.ofEpochSecond(expiration), ZoneId.systemDefault()));
     }
 
+    private static String textOf(JsonParser parser, JsonToken token, String name) throws IOException {
+        if (token == JsonToken.VALUE_NULL)
+            return null;
+        if (token != JsonToken.VALUE_STRING)
+            throw new IOException("JWT claim " + name + " is not a string");
+        return parser.getText();
+    }
+
+    private static Long numberOf(JsonParser parser, JsonToken token, String name) throws IOException {
+        if (token != JsonToken.VALUE_NUMBER_INT)
+            throw new IOException("JWT claim " + name + " is not a NumericDate");
+        return parser.getLongValue();
+    }
 
     /**
      * group 을 추가한다.
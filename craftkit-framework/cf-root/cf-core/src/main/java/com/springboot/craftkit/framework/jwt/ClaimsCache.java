@@ -0,0 +1,128 @@
+package com.springboot.craftkit.framework.jwt;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+
+/**
+ * {@link Claims#parse(String)} 결과 cache
+ *
+ * <pre>
+ *  - 같은 access token 으로 반복되는 요청은 parsing 을 생략한다.
+ *  - key 는 token 의 SHA-256 digest 이며 token 원문은 보관하지 않는다. (항목의 digest 전체를 비교하므로 다른 token 의 claims 를 반환하지 않음)
+ *  - token 의 exp 가 지나면 사용하지 않으며, exp 가 없는 token 은 cache 하지 않는다.
+ *
+ *  sf.jwt.claims-cache.max-size : 최대 항목 수 (기본 10000, 0 이면 사용하지 않음)
+ *  sf.jwt.claims-cache.max-ttl  : exp 와 관계없이 보관하는 최대 시간 (기본 1h)
+ * </pre>
+ */
+public final class ClaimsCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ClaimsCache.class);
+
+    private static final String PROPERTY_PREFIX = "sf.jwt.claims-cache";
+
+    public static final long DEFAULT_MAX_SIZE = 10_000L;
+    public static final Duration DEFAULT_MAX_TTL = Duration.ofHours(1);
+
+    private record Entry(byte[] digest, long expiresAt, Claims claims) {
+    }
+
+    private static volatile Cache<Long, Entry> cache = build(DEFAULT_MAX_SIZE, DEFAULT_MAX_TTL);
+
+    private ClaimsCache() {
+        super();
+    }
+
+    public static void initializeFromEnvironment(ConfigurableEnvironment environment) {
+        Binder binder = Binder.get(environment);
+        long maxSize = binder.bind(PROPERTY_PREFIX + ".max-size", Long.class).orElse(DEFAULT_MAX_SIZE);
+        Duration maxTtl = binder.bind(PROPERTY_PREFIX + ".max-ttl", Duration.class).orElse(DEFAULT_MAX_TTL);
+        configure(maxSize, maxTtl);
+        log.debug("ClaimsCache initialized: max-size={}, max-ttl={}", maxSize, maxTtl);
+    }
+
+    public static void configure(long maxSize, Duration maxTtl) {
+        cache = build(maxSize, maxTtl);
+    }
+
+    private static Cache<Long, Entry> build(long maxSize, Duration maxTtl) {
+        if (maxSize <= 0L) {
+            return null;
+        }
+        return CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(maxTtl)
+                .build();
+    }
+
+    public static void invalidateAll() {
+        Cache<Long, Entry> current = cache;
+        if (current != null) {
+            current.invalidateAll();
+        }
+    }
+
+    static long size() {
+        Cache<Long, Entry> current = cache;
+        return current == null ? 0L : current.size();
+    }
+
+    static Claims get(String token, long now) {
+        Cache<Long, Entry> current = cache;
+        if (current == null) {
+            return null;
+        }
+        byte[] digest = sha256(token);
+        long key = key(digest);
+        Entry entry = current.getIfPresent(key);
+        if (entry == null || !MessageDigest.isEqual(entry.digest(), digest)) {
+            return null;
+        }
+        if (entry.expiresAt() <= now) {
+            current.invalidate(key);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    static void put(String token, Claims claims, long now) {
+        Cache<Long, Entry> current = cache;
+        if (current == null || claims.getExpireAt() == null) {
+            return;
+        }
+        long expiresAt = claims.getExpireAt().toInstant().toEpochMilli();
+        if (expiresAt <= now) {
+            return;
+        }
+        byte[] digest = sha256(token);
+        current.put(key(digest), new Entry(digest, expiresAt, claims));
+    }
+
+    private static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * cache key : digest 의 앞 64bit
+     */
+    private static long key(byte[] digest) {
+        long key = 0L;
+        for (int i = 0; i < Long.BYTES; i++) {
+            key = (key << 8) | (digest[i] & 0xffL);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,83 @@
+package com.springboot.craftkit.framework.jwt;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.security.SignatureException;
+import javax.crypto.Mac;
+
+/**
+ * JWKS 의 서명 검증 key 1개
+ *
+ * <pre>
+ *  - Mac / Signature 는 thread 별로 key 를 초기화한 instance 를 재사용한다. (getInstance, init 비용 제거)
+ *  - Mac.doFinal, Signature.verify 는 초기화 직후 상태로 되돌아가므로 다시 init 하지 않는다.
+ *  - jwk 에 alg 가 있으면 그 알고리즘만, 없으면 key type 이 같은 알고리즘을 허용한다.
+ * </pre>
+ */
+final class JwkKey {
+
+    private final String kid;
+    private final String keyType;
+    private final JwsAlgorithm algorithm;
+    private final Key key;
+
+    // JwsAlgorithm.ordinal() 별 thread 의 Mac 또는 Signature
+    @SuppressWarnings("unchecked")
+    private final ThreadLocal<Object>[] verifiers = new ThreadLocal[JwsAlgorithm.values().length];
+
+    JwkKey(String kid, String keyType, JwsAlgorithm algorithm, Key key) {
+        this.kid = kid;
+        this.keyType = keyType;
+        this.algorithm = algorithm;
+        this.key = key;
+        for (JwsAlgorithm candidate : JwsAlgorithm.values()) {
+            if (supports(candidate)) {
+                verifiers[candidate.ordinal()] = new ThreadLocal<>();
+            }
+        }
+    }
+
+    String kid() {
+        return kid;
+    }
+
+    boolean supports(JwsAlgorithm candidate) {
+        return candidate != null && (algorithm == null ? keyType.equals(candidate.keyType()) : algorithm == candidate);
+    }
+
+    /**
+     * @param input  signing input (header.payload 의 ASCII)
+     * @param length input 의 길이
+     */
+    boolean verify(JwsAlgorithm candidate, byte[] input, int length, byte[] signature) throws GeneralSecurityException {
+        if (!supports(candidate)) {
+            return false;
+        }
+        ThreadLocal<Object> local = verifiers[candidate.ordinal()];
+        Object verifier = local.get();
+        if (verifier == null) {
+            verifier = candidate.newVerifier(key);
+            local.set(verifier);
+        }
+        try {
+            if (verifier instanceof Mac mac) {
+                mac.update(input, 0, length);
+                return MessageDigest.isEqual(mac.doFinal(), signature);
+            }
+            Signature verifying = (Signature) verifier;
+            verifying.update(input, 0, length);
+            return verifying.verify(signature);
+        } catch (SignatureException e) {
+            // 서명 형식 오류 : instance 상태를 보장할 수 없으므로 다음 호출에서 새로 만든다
+            local.remove();
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JwkKey[kid=" + kid + ", kty=" + keyType + ", alg=" + algorithm + "]";
+    }
+}
@@ -0,0 +1,171 @@
+package com.springboot.craftkit.framework.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * JSON Web Key Set (RFC 7517) 의 서명 검증 key 목록. 생성 후에는 변경하지 않는다.
+ *
+ * <pre>
+ *  - kty : oct(HMAC), RSA, EC(P-256, P-384, P-521)
+ *  - use 가 sig 가 아니거나, 형식 오류 또는 지원하지 않는 key 는 제외한다. (로그 경고)
+ * </pre>
+ */
+@Slf4j
+public final class JwkSet {
+
+    private static final ObjectReader READER = new ObjectMapper().reader();
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+
+    private static final Map<String, String> CURVES = Map.of(
+            "P-256", "secp256r1",
+            "P-384", "secp384r1",
+            "P-521", "secp521r1");
+
+    private final List<JwkKey> keys;
+    private final Map<String, JwkKey> byKid;
+
+    private JwkSet(List<JwkKey> keys) {
+        this.keys = Collections.unmodifiableList(keys);
+        Map<String, JwkKey> map = new HashMap<>();
+        for (JwkKey key : keys) {
+            if (key.kid() != null) {
+                map.putIfAbsent(key.kid(), key);
+            }
+        }
+        this.byKid = map;
+    }
+
+    /**
+     * @throws IllegalArgumentException JSON 형식 오류 또는 사용할 수 있는 key 가 없음
+     */
+    public static JwkSet parse(byte[] json) {
+        JsonNode root;
+        try {
+            root = READER.readTree(json);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid JWKS : " + e.getMessage(), e);
+        }
+        JsonNode nodes = root == null ? null : root.get("keys");
+        if (nodes == null || !nodes.isArray()) {
+            throw new IllegalArgumentException("Invalid JWKS : no keys");
+        }
+
+        List<JwkKey> keys = new ArrayList<>(nodes.size());
+        for (JsonNode node : nodes) {
+            try {
+                JwkKey key = toKey(node);
+                if (key != null) {
+                    keys.add(key);
+                }
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                log.warn("JWKS key ignored : kid={}, {}", text(node, "kid"), e.getMessage());
+            }
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("Invalid JWKS : no usable signing keys");
+        }
+        return new JwkSet(keys);
+    }
+
+    private static JwkKey toKey(JsonNode node) throws GeneralSecurityException {
+        String use = text(node, "use");
+        if (use != null && !"sig".equals(use)) {
+            return null;
+        }
+        String kid = text(node, "kid");
+        String keyType = text(node, "kty");
+        String alg = text(node, "alg");
+        JwsAlgorithm algorithm = JwsAlgorithm.of(alg);
+        if (alg != null && (algorithm == null || !algorithm.keyType().equals(keyType))) {
+            throw new IllegalArgumentException("unsupported alg " + alg + " for kty " + keyType);
+        }
+
+        Key key;
+        if ("oct".equals(keyType)) {
+            key = new SecretKeySpec(decode(node, "k"), "HMAC");
+        } else if ("RSA".equals(keyType)) {
+            key = KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(integer(node, "n"), integer(node, "e")));
+        } else if ("EC".equals(keyType)) {
+            String curve = CURVES.get(text(node, "crv"));
+            if (curve == null) {
+                throw new IllegalArgumentException("unsupported crv " + text(node, "crv"));
+            }
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec(curve));
+            ECPoint point = new ECPoint(integer(node, "x"), integer(node, "y"));
+            key = KeyFactory.getInstance("EC").generatePublic(
+                    new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class)));
+        } else {
+            throw new IllegalArgumentException("unsupported kty " + keyType);
+        }
+        return new JwkKey(kid, keyType, algorithm, key);
+    }
+
+    private static String text(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        return value == null || !value.isTextual() ? null : value.asText();
+    }
+
+    private static byte[] decode(JsonNode node, String name) {
+        String value = text(node, name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("missing " + name);
+        }
+        return BASE64_URL_DECODER.decode(value);
+    }
+
+    private static BigInteger integer(JsonNode node, String name) {
+        return new BigInteger(1, decode(node, name));
+    }
+
+    /**
+     * token header 의 kid / alg 로 key 를 찾는다. kid 가 없으면 alg 를 지원하는 key 가 하나일 때만 사용한다.
+     */
+    JwkKey select(String kid, JwsAlgorithm algorithm) {
+        if (kid != null) {
+            JwkKey key = byKid.get(kid);
+            return key != null && key.supports(algorithm) ? key : null;
+        }
+        JwkKey found = null;
+        for (JwkKey key : keys) {
+            if (key.supports(algorithm)) {
+                if (found != null) {
+                    return null;
+                }
+                found = key;
+            }
+        }
+        return found;
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    @Override
+    public String toString() {
+        return "JwkSet" + keys;
+    }
+}
@@ -0,0 +1,78 @@
+package com.springboot.craftkit.framework.jwt;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PSSParameterSpec;
+import java.util.HashMap;
+import java.util.Map;
+import javax.crypto.Mac;
+
+/**
+ * JWS 서명 알고리즘 (RFC 7518). "none" 은 지원하지 않는다.
+ */
+enum JwsAlgorithm {
+
+    HS256("oct", "HmacSHA256", null),
+    HS384("oct", "HmacSHA384", null),
+    HS512("oct", "HmacSHA512", null),
+    RS256("RSA", "SHA256withRSA", null),
+    RS384("RSA", "SHA384withRSA", null),
+    RS512("RSA", "SHA512withRSA", null),
+    PS256("RSA", "RSASSA-PSS", new PSSParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256, 32, 1)),
+    PS384("RSA", "RSASSA-PSS", new PSSParameterSpec("SHA-384", "MGF1", MGF1ParameterSpec.SHA384, 48, 1)),
+    PS512("RSA", "RSASSA-PSS", new PSSParameterSpec("SHA-512", "MGF1", MGF1ParameterSpec.SHA512, 64, 1)),
+    // JWS 의 EC 서명은 DER 이 아닌 R || S 형식
+    ES256("EC", "SHA256withECDSAinP1363Format", null),
+    ES384("EC", "SHA384withECDSAinP1363Format", null),
+    ES512("EC", "SHA512withECDSAinP1363Format", null);
+
+    private static final Map<String, JwsAlgorithm> BY_NAME = new HashMap<>();
+
+    static {
+        for (JwsAlgorithm algorithm : values()) {
+            BY_NAME.put(algorithm.name(), algorithm);
+        }
+    }
+
+    private final String keyType;
+    private final String jcaName;
+    private final PSSParameterSpec pssParameter;
+
+    JwsAlgorithm(String keyType, String jcaName, PSSParameterSpec pssParameter) {
+        this.keyType = keyType;
+        this.jcaName = jcaName;
+        this.pssParameter = pssParameter;
+    }
+
+    static JwsAlgorithm of(String name) {
+        return name == null ? null : BY_NAME.get(name);
+    }
+
+    String keyType() {
+        return keyType;
+    }
+
+    boolean isHmac() {
+        return "oct".equals(keyType);
+    }
+
+    /**
+     * key 로 초기화된 Mac 또는 검증용 Signature. (thread-safe 하지 않으므로 thread 별로 생성)
+     */
+    Object newVerifier(Key key) throws GeneralSecurityException {
+        if (isHmac()) {
+            Mac mac = Mac.getInstance(jcaName);
+            mac.init(key);
+            return mac;
+        }
+        Signature signature = Signature.getInstance(jcaName);
+        if (pssParameter != null) {
+            signature.setParameter(pssParameter);
+        }
+        signature.initVerify((PublicKey) key);
+        return signature;
+    }
+}
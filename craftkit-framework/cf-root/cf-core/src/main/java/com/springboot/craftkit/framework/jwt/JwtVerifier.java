@@ -0,0 +1,321 @@
+package com.springboot.craftkit.framework.jwt;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.springboot.craftkit.framework.application.setting.JwtVerifierProperties;
+import com.springboot.craftkit.framework.exception.model.AuthErrorCode;
+import com.springboot.craftkit.framework.exception.model.InvalidTokenException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * JWS(compact) 서명을 검증하고 claims 를 반환한다.
+ *
+ * <pre>
+ *  - 서명 key 는 JWKS(sf.jwt.verifier.jwks-uri : file:, classpath:, http(s):) 에서 읽으며,
+ *    처음 읽기와 refresh-interval 마다의 재조회 모두 background 에서 실행한다. (기동을 막지 않으며, 처음 읽기 전의 token 은 거부)
+ *    알 수 없는 kid 의 token 은 거부하고, min-refresh-interval 간격으로 background 에서 다시 읽도록 요청한다. (요청 thread 는 JWKS 조회를 기다리지 않음)
+ *    다시 읽기에 실패하면 기존 key 를 유지한다.
+ *  - 검증된 token 은 token 의 SHA-256 digest 로 cache 하여(exp 까지) 같은 token 은 서명 검증과 parsing 을 생략한다.
+ *    cache 항목의 digest 전체를 비교하므로 다른 token 이 검증을 건너뛸 수 없다.
+ *    key 목록이 바뀌면 cache 를 비운다.
+ *  - 검증 : 서명, exp / nbf(clock-skew 허용), iss(설정시). 헤더의 crit 는 지원하지 않으므로 거부한다.
+ *  - 실패시 {@link InvalidTokenException} (TOKEN_MALFORMED, TOKEN_SIGNATURE_FAILED, EXPIRED_AUTH_TOKEN, INVALID_AUTH_TOKEN)
+ *  - 반환하는 Claims 는 호출마다 새 instance 이다.
+ * </pre>
+ */
+@Slf4j
+public class JwtVerifier implements AutoCloseable {
+
+    private static final ObjectReader HEADER_READER = new ObjectMapper().reader();
+
+    private static final int LOAD_TIMEOUT_MILLIS = 5_000;
+
+    private record Verified(byte[] digest, long expiresAt, Claims claims) {
+    }
+
+    private record Header(JwsAlgorithm algorithm, String kid) {
+    }
+
+    private final String location;
+    private final Duration refreshInterval;
+    private final long minRefreshMillis;
+    private final long clockSkewMillis;
+    private final String issuer;
+    private final Cache<Long, Verified> cache;
+
+    private volatile JwkSet keys;
+    private byte[] content;
+    private volatile long lastLoaded = Long.MIN_VALUE;
+
+    // 주기적 재조회와 알 수 없는 kid 로 인한 재조회를 실행한다. (thread 는 첫 작업 제출시 생성)
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean refreshRequested = new AtomicBoolean();
+    private boolean started;
+
+    public JwtVerifier(JwtVerifierProperties properties) {
+        if (StringUtils.isBlank(properties.getJwksUri())) {
+            throw new IllegalArgumentException(JwtVerifierProperties.PREFIX + ".jwks-uri is required");
+        }
+        this.location = properties.getJwksUri().trim();
+        this.refreshInterval = properties.getRefreshInterval();
+        this.minRefreshMillis = properties.getMinRefreshInterval().toMillis();
+        this.clockSkewMillis = properties.getClockSkew().toMillis();
+        this.issuer = StringUtils.trimToNull(properties.getIssuer());
+        this.cache = properties.getCacheMaxSize() <= 0L ? null : CacheBuilder.newBuilder()
+                .maximumSize(properties.getCacheMaxSize())
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 처음 읽기도 background 에서 실행하여 JWKS 조회(최대 LOAD_TIMEOUT_MILLIS)가 기동을 막지 않도록 한다
+        requestRefresh();
+    }
+
+    /**
+     * refresh-interval 마다 JWKS 를 다시 읽는다.
+     */
+    public synchronized void start() {
+        if (started || scheduler.isShutdown()
+                || refreshInterval == null || refreshInterval.isZero() || refreshInterval.isNegative()) {
+            return;
+        }
+        started = true;
+        long interval = refreshInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * JWKS 를 다시 읽는다. 내용이 바뀐 경우에만 key 를 교체하고 검증 cache 를 비운다.
+     *
+     * @return key 를 교체했는지 여부
+     */
+    public synchronized boolean refresh() {
+        lastLoaded = System.currentTimeMillis();
+        try {
+            byte[] loaded = load();
+            if (Arrays.equals(loaded, content)) {
+                return false;
+            }
+            JwkSet parsed = JwkSet.parse(loaded);
+            keys = parsed;
+            content = loaded;
+            invalidateAll();
+            log.info("JWKS loaded from {} : {}", location, parsed);
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("JWKS load failed from {} : {}", location, e.getMessage());
+            return false;
+        }
+    }
+
+    private byte[] load() throws IOException {
+        Resource resource = new DefaultResourceLoader().getResource(location);
+        if (location.startsWith("http:") || location.startsWith("https:")) {
+            URLConnection connection = resource.getURL().openConnection();
+            connection.setConnectTimeout(LOAD_TIMEOUT_MILLIS);
+            connection.setReadTimeout(LOAD_TIMEOUT_MILLIS);
+            connection.setRequestProperty("Accept", "application/json");
+            try (InputStream in = connection.getInputStream()) {
+                return in.readAllBytes();
+            }
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    // 알 수 없는 kid : key rotation 일 수 있으므로 최소 간격을 두고 background 에서 다시 읽는다
+    private void refreshForUnknownKey(long now) {
+        if (now - lastLoaded < minRefreshMillis) {
+            return;
+        }
+        requestRefresh();
+    }
+
+    // background 에서 다시 읽는다 (이미 요청된 경우 생략)
+    private void requestRefresh() {
+        if (!refreshRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scheduler.execute(() -> {
+                try {
+                    refresh();
+                } finally {
+                    refreshRequested.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // close 이후
+            refreshRequested.set(false);
+        }
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    JwkSet getKeys() {
+        return keys;
+    }
+
+    /**
+     * @throws InvalidTokenException 검증 실패
+     */
+    public Claims verify(String token) {
+        if (StringUtils.isEmpty(token)) {
+            throw new InvalidTokenException(AuthErrorCode.TOKEN_MALFORMED);
+        }
+        long now = System.currentTimeMillis();
+
+        byte[] digest = null;
+        long key = 0L;
+        if (cache != null) {
+            digest = sha256(token);
+            key = key(digest);
+            Verified verified = cache.getIfPresent(key);
+            // key 는 digest 의 앞 64bit 이므로 digest 전체가 같은 경우에만 검증을 생략한다
+            if (verified != null && MessageDigest.isEqual(verified.digest(), digest)) {
+                if (now <= verified.expiresAt()) {
+                    return new Claims(verified.claims());
+                }
+                cache.invalidate(key);
+                throw new InvalidTokenException(AuthErrorCode.EXPIRED_AUTH_TOKEN);
+            }
+        }
+
+        Claims claims = verifyToken(token, now);
+        if (cache != null) {
+            long expiresAt = claims.getExpireAt().toInstant().toEpochMilli() + clockSkewMillis;
+            cache.put(key, new Verified(digest, expiresAt, claims));
+        }
+        return new Claims(claims);
+    }
+
+    private static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static long key(byte[] digest) {
+        long key = 0L;
+        for (int i = 0; i < Long.BYTES; i++) {
+            key = (key << 8) | (digest[i] & 0xffL);
+        }
+        return key;
+    }
+
+    private Claims verifyToken(String token, long now) {
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (first <= 0 || second < 0 || token.indexOf('.', second + 1) >= 0) {
+            throw new InvalidTokenException(AuthErrorCode.TOKEN_MALFORMED);
+        }
+
+        Header header;
+        byte[] signature;
+        byte[] payload;
+        try {
+            header = readHeader(Claims.decodeBase64Url(token, 0, first));
+            payload = Claims.decodeBase64Url(token, first + 1, second);
+            signature = Claims.decodeBase64Url(token, second + 1, token.length());
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidTokenException(AuthErrorCode.TOKEN_MALFORMED, e);
+        }
+        if (header.algorithm() == null) {
+            throw new InvalidTokenException(AuthErrorCode.INVALID_AUTH_TOKEN, "unsupported alg");
+        }
+
+        JwkSet current = keys;
+        JwkKey key = current == null ? null : current.select(header.kid(), header.algorithm());
+        if (key == null) {
+            refreshForUnknownKey(now);
+            throw new InvalidTokenException(AuthErrorCode.INVALID_AUTH_TOKEN, "unknown key " + header.kid());
+        }
+
+        // signing input 은 base64url 문자이므로 ASCII 로 복사한다
+        byte[] input = new byte[second];
+        for (int i = 0; i < second; i++) {
+            input[i] = (byte) token.charAt(i);
+        }
+        try {
+            if (!key.verify(header.algorithm(), input, second, signature)) {
+                throw new InvalidTokenException(AuthErrorCode.TOKEN_SIGNATURE_FAILED);
+            }
+        } catch (GeneralSecurityException e) {
+            throw new InvalidTokenException(AuthErrorCode.TOKEN_SIGNATURE_FAILED, e);
+        }
+
+        Claims claims;
+        try {
+            claims = Claims.readClaims(payload);
+        } catch (IOException e) {
+            throw new InvalidTokenException(AuthErrorCode.TOKEN_MALFORMED, e);
+        }
+        if (claims.getExpireAt().toInstant().toEpochMilli() + clockSkewMillis < now) {
+            throw new InvalidTokenException(AuthErrorCode.EXPIRED_AUTH_TOKEN);
+        }
+        if (claims.getNotBefore() != null && claims.getNotBefore().toInstant().toEpochMilli() - clockSkewMillis > now) {
+            throw new InvalidTokenException(AuthErrorCode.INVALID_AUTH_TOKEN, "not before");
+        }
+        if (issuer != null && !issuer.equals(claims.getIssuer())) {
+            throw new InvalidTokenException(AuthErrorCode.INVALID_AUTH_TOKEN, "issuer");
+        }
+        return claims;
+    }
+
+    private static Header readHeader(byte[] json) throws IOException {
+        String alg = null;
+        String kid = null;
+        try (JsonParser parser = HEADER_READER.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("JWS header is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case "alg" -> alg = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "kid" -> kid = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "crit" -> throw new IOException("JWS header crit is not supported");
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return new Header(JwsAlgorithm.of(alg), kid);
+    }
+}
@@ -0,0 +1,244 @@
+package com.springboot.craftkit.framework.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import com.springboot.craftkit.framework.scope.RequestScopeUtil;
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 요청 thread 를 막지 않는 비동기 JSON appender ({@link AsyncStructuredLogging})
+ *
+ * <pre>
+ *  요청 thread : 고정 크기 ring buffer 에 event 와 scope 값(gtid, userId, applicationName, programId, clientIp)을 넣고
+ *    바로 반환한다. (lock / 대기 / scope snapshot 없음)
+ *    - 남은 공간이 discarding-threshold 미만이면 DEBUG / TRACE 는 버린다. (discarded)
+ *    - 가득 차면 level 과 관계없이 버린다. (overflow)
+ *  worker thread : 하나의 daemon thread 가 event 를 꺼내 {@link StructuredJsonEncoder} 로 재사용 buffer 에 JSON 을 만들고
+ *    buffer 가 빌 때 flush 한다.
+ *  stop : 남은 event 를 max-flush-time 동안 기록한다.
+ *
+ *  logback 설정에 직접 등록할 수도 있다.
+ *      &lt;appender name="ASYNC_JSON" class="com.springboot.craftkit.framework.logging.AsyncStructuredAppender"&gt;
+ *          &lt;capacity&gt;8192&lt;/capacity&gt;
+ *      &lt;/appender&gt;
+ * </pre>
+ */
+public class AsyncStructuredAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    public static final String NAME = "asyncStructured";
+
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private int capacity = DEFAULT_CAPACITY;
+    // -1 : capacity 의 1/5
+    private int discardingThreshold = -1;
+    private long maxFlushTimeMillis = 1000L;
+    private boolean includeScope = true;
+    private OutputStream outputStream;
+
+    private LogEventRingBuffer buffer;
+    private int discardBelow;
+    private Thread worker;
+    private volatile boolean sleeping;
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder overflow = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    public AsyncStructuredAppender() {
+        setName(NAME);
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        buffer = new LogEventRingBuffer(capacity);
+        discardBelow = discardingThreshold < 0 ? buffer.capacity() / 5 : Math.min(discardingThreshold, buffer.capacity());
+        OutputStream out = outputStream != null ? outputStream : new FileOutputStream(FileDescriptor.out);
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        worker = new Thread(new Worker(writer), "craftkit-async-log");
+        worker.setDaemon(true);
+        super.start();
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        LockSupport.unpark(worker);
+        try {
+            worker.join(Math.max(1L, maxFlushTimeMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            addWarn("Max flush time(" + maxFlushTimeMillis + "ms) exceeded. " + buffer.size() + " queued events may be lost.");
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        LogEventRingBuffer ring = buffer;
+        int remaining = ring.remainingCapacity();
+        if (event.getLevel().levelInt <= Level.DEBUG_INT && remaining < discardBelow) {
+            discarded.increment();
+            return;
+        }
+        if (remaining == 0) {
+            // 가득 찬 상태에서는 message 형식화 등을 하지 않고 바로 버린다
+            overflow.increment();
+            return;
+        }
+        // layout 에 필요한 값만 slot 에 복사한다 (snapshot 을 만들면 이후 scope 변경시 컬렉션까지 복사하게 된다)
+        ScopeAttribute scope = includeScope ? RequestScopeUtil.peekAttribute() : null;
+        // message 형식화, thread 이름, MDC 를 요청 thread 에서 확정한다
+        event.prepareForDeferredProcessing();
+        if (!ring.offer(event, scope)) {
+            overflow.increment();
+            return;
+        }
+        if (sleeping) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private final class Worker implements Runnable {
+
+        private final Writer writer;
+        private final StructuredJsonEncoder encoder = new StructuredJsonEncoder();
+        private final StringBuilder line = new StringBuilder(512);
+        private char[] chars = new char[1024];
+
+        private Worker(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                boolean stopping = !isStarted();
+                if (drain() > 0) {
+                    continue;
+                }
+                flush();
+                if (stopping) {
+                    return;
+                }
+                sleeping = true;
+                if (buffer.isEmpty() && isStarted()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                sleeping = false;
+            }
+        }
+
+        private int drain() {
+            int count = 0;
+            ILoggingEvent event;
+            while ((event = buffer.poll()) != null) {
+                write(event, buffer.polledScope());
+                count++;
+            }
+            return count;
+        }
+
+        private void write(ILoggingEvent event, StructuredJsonEncoder.ScopeFields scope) {
+            line.setLength(0);
+            try {
+                encoder.format(event, scope, line);
+                int length = line.length();
+                if (chars.length < length) {
+                    chars = new char[Math.max(length, chars.length << 1)];
+                }
+                line.getChars(0, length, chars, 0);
+                writer.write(chars, 0, length);
+                written.increment();
+            } catch (IOException | RuntimeException e) {
+                addError("Failed to write log event", e);
+            }
+        }
+
+        private void flush() {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                addError("Failed to flush log events", e);
+            }
+        }
+    }
+
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    public long getOverflowCount() {
+        return overflow.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public int getQueueSize() {
+        LogEventRingBuffer ring = buffer;
+        return ring == null ? 0 : ring.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getDiscardingThreshold() {
+        return discardingThreshold;
+    }
+
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    public long getMaxFlushTimeMillis() {
+        return maxFlushTimeMillis;
+    }
+
+    public void setMaxFlushTimeMillis(long maxFlushTimeMillis) {
+        this.maxFlushTimeMillis = maxFlushTimeMillis;
+    }
+
+    public boolean isIncludeScope() {
+        return includeScope;
+    }
+
+    public void setIncludeScope(boolean includeScope) {
+        this.includeScope = includeScope;
+    }
+
+    /**
+     * 기록 대상 (기본 stdout). start 전에 설정한다.
+     */
+    public void setOutputStream(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+}
@@ -0,0 +1,45 @@
+package com.springboot.craftkit.framework.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link AsyncStructuredAppender} metrics
+ *
+ * <pre>
+ *  craftkit.log.async.dropped{reason=discarded} : buffer 여유가 부족하여 버린 DEBUG / TRACE event 수
+ *  craftkit.log.async.dropped{reason=overflow}  : buffer 가 가득 차서 버린 event 수
+ *  craftkit.log.async.written                   : 기록한 event 수
+ *  craftkit.log.async.queue.size                : buffer 에 대기 중인 event 수
+ * </pre>
+ * logback 재설정으로 appender 가 바뀌어도 조회 시점의 appender 를 사용한다.
+ */
+public class AsyncStructuredLogMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("craftkit.log.async.dropped", this, metrics -> count(AsyncStructuredAppender::getDiscardedCount))
+                .tag("reason", "discarded")
+                .description("DEBUG/TRACE log events discarded while the async buffer was nearly full")
+                .register(registry);
+        FunctionCounter.builder("craftkit.log.async.dropped", this, metrics -> count(AsyncStructuredAppender::getOverflowCount))
+                .tag("reason", "overflow")
+                .description("Log events dropped because the async buffer was full")
+                .register(registry);
+        FunctionCounter.builder("craftkit.log.async.written", this, metrics -> count(AsyncStructuredAppender::getWrittenCount))
+                .description("Log events written by the async appender")
+                .register(registry);
+        Gauge.builder("craftkit.log.async.queue.size", this, metrics -> count(AsyncStructuredAppender::getQueueSize))
+                .description("Log events waiting in the async buffer")
+                .register(registry);
+    }
+
+    private static double count(ToLongFunction<AsyncStructuredAppender> value) {
+        AsyncStructuredAppender appender = AsyncStructuredLogging.appender();
+        return appender == null ? 0d : value.applyAsLong(appender);
+    }
+}
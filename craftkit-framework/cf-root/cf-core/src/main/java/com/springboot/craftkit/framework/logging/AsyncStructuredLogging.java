@@ -0,0 +1,121 @@
+package com.springboot.craftkit.framework.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.ConsoleAppender;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 비동기 JSON logging 설정 ({@link AsyncStructuredAppender})
+ *
+ * <pre>
+ *  sf.log.async.enabled               : 사용 여부 (기본 false)
+ *  sf.log.async.capacity              : ring buffer 크기 (2 의 거듭제곱으로 올림, 기본 8192)
+ *  sf.log.async.discarding-threshold  : 남은 공간이 이 값 미만이면 DEBUG / TRACE 를 버린다 (기본 capacity 의 1/5)
+ *  sf.log.async.max-flush-time        : 종료시 남은 event 를 기록하는 최대 시간 (기본 1s)
+ *  sf.log.async.include-scope         : scope 필드(userId, applicationName, programId, clientIp) 포함 여부 (기본 true)
+ *  sf.log.async.replace-console       : root logger 의 ConsoleAppender 를 제거한다 (기본 true, 같은 log 의 동기 출력 방지)
+ *
+ *  사용시 root logger 에 등록되며, 버린 event 수는 micrometer 로 노출된다. (craftkit.log.async.*)
+ * </pre>
+ */
+public final class AsyncStructuredLogging {
+
+    private static final org.slf4j.Logger log = LoggerFactory.getLogger(AsyncStructuredLogging.class);
+
+    private static final String PROPERTY_PREFIX = "sf.log.async";
+
+    private static final boolean LOGBACK_PRESENT =
+            ClassUtils.isPresent("ch.qos.logback.classic.LoggerContext", AsyncStructuredLogging.class.getClassLoader());
+
+    private AsyncStructuredLogging() {
+        super();
+    }
+
+    public static void initializeFromEnvironment(ConfigurableEnvironment environment) {
+        Binder binder = Binder.get(environment);
+        boolean enabled = binder.bind(PROPERTY_PREFIX + ".enabled", Boolean.class).orElse(false);
+        if (!enabled || !LOGBACK_PRESENT) {
+            return;
+        }
+        AsyncStructuredAppender appender = new AsyncStructuredAppender();
+        appender.setCapacity(binder.bind(PROPERTY_PREFIX + ".capacity", Integer.class).orElse(AsyncStructuredAppender.DEFAULT_CAPACITY));
+        appender.setDiscardingThreshold(binder.bind(PROPERTY_PREFIX + ".discarding-threshold", Integer.class).orElse(-1));
+        appender.setMaxFlushTimeMillis(binder.bind(PROPERTY_PREFIX + ".max-flush-time", Duration.class)
+                .orElse(Duration.ofSeconds(1)).toMillis());
+        appender.setIncludeScope(binder.bind(PROPERTY_PREFIX + ".include-scope", Boolean.class).orElse(true));
+        boolean replaceConsole = binder.bind(PROPERTY_PREFIX + ".replace-console", Boolean.class).orElse(true);
+
+        if (install(appender, replaceConsole)) {
+            log.info("AsyncStructuredLogging installed: capacity={}, discarding-threshold={}, replace-console={}",
+                    appender.getCapacity(), appender.getDiscardingThreshold(), replaceConsole);
+        }
+    }
+
+    /**
+     * root logger 에 등록한다. 이미 등록되어 있으면 무시하고 false
+     */
+    static boolean install(AsyncStructuredAppender appender, boolean replaceConsole) {
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        if (!(factory instanceof LoggerContext context)) {
+            return false;
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        synchronized (context) {
+            if (find(root) != null) {
+                return false;
+            }
+            appender.setContext(context);
+            appender.start();
+            root.addAppender(appender);
+            if (replaceConsole) {
+                for (Appender<ILoggingEvent> console : consoleAppenders(root)) {
+                    root.detachAppender(console);
+                    console.stop();
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * root logger 에 등록된 appender (logback 설정으로 등록한 경우 포함). 없으면 null
+     */
+    public static AsyncStructuredAppender appender() {
+        if (!LOGBACK_PRESENT || !(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return null;
+        }
+        return find(context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME));
+    }
+
+    private static AsyncStructuredAppender find(Logger root) {
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            if (it.next() instanceof AsyncStructuredAppender appender) {
+                return appender;
+            }
+        }
+        return null;
+    }
+
+    private static List<Appender<ILoggingEvent>> consoleAppenders(Logger root) {
+        List<Appender<ILoggingEvent>> result = new ArrayList<>();
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            Appender<ILoggingEvent> appender = it.next();
+            if (appender instanceof ConsoleAppender) {
+                result.add(appender);
+            }
+        }
+        return result;
+    }
+}
@@ -2,8 +2,10 @@ package com.springboot.craftkit.framework.logging;
 
 import com.springboot.craftkit.framework.application.setting.LoggingProperties;
 import com.springboot.craftkit.framework.exception.model.CraftkitBaseException;
+import org.apache.commons.lang3.StringUtils;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -13,7 +15,9 @@ import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Method;
 import java.time.LocalTime;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 예외 및 진입/반환 로깅 AOP Aspect (SRP 분리)
@@ -21,6 +25,9 @@ import java.time.LocalTime;
  * - 인자/반환값 로깅은 프로퍼티로 제어합니다. 기본은 비활성화입니다.
  * - @Service / @Repository 경계에서 래핑되지 않은 예외 누수를 경고합니다.
  * - CraftkitBaseException 으로 이미 변환(wrap)된 예외는 별도로 로깅하지 않습니다.
+ * - profiling mode(sample.log.profiling.enabled)에서는 debug 로깅과 관계없이 메서드별 응답 시간을 기록합니다. ({@link MethodLatencyProfiler})
+ * - sample.log.slow-call.enabled 이면 진행 중인 호출을 느린 호출 감지에 등록합니다. ({@link SlowCallWatchdog})
+ * - 메서드 signature 문자열은 메서드별로 한번만 생성합니다.
  */
 @Aspect
 public class ExceptionLoggingAspect {
@@ -28,10 +35,24 @@ public class ExceptionLoggingAspect {
     private static final Logger log = LoggerFactory.getLogger(ExceptionLoggingAspect.class);
 
     private final LoggingProperties properties;
+    private final MethodLatencyProfiler profiler;
+    private final SlowCallWatchdog watchdog;
     private final ThreadLocal<Integer> callDepth = new ThreadLocal<>();
+    private final ConcurrentHashMap<Method, String> signatures = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Method, String> labels = new ConcurrentHashMap<>();
 
     public ExceptionLoggingAspect(LoggingProperties properties) {
+        this(properties, null, null);
+    }
+
+    /**
+     * @param profiler null 이면 profiling 하지 않는다
+     * @param watchdog null 이면 느린 호출을 감지하지 않는다
+     */
+    public ExceptionLoggingAspect(LoggingProperties properties, MethodLatencyProfiler profiler, SlowCallWatchdog watchdog) {
         this.properties = properties;
+        this.profiler = profiler;
+        this.watchdog = watchdog;
     }
 
     // Pointcuts
@@ -61,14 +82,41 @@ public class ExceptionLoggingAspect {
     // Around advice for normalized method logging
     @Around("loggingTargets()")
     public Object logAround(ProceedingJoinPoint pjp) throws Throwable {
-        if (!log.isDebugEnabled()) {
-            return pjp.proceed();
+        if (profiler == null && watchdog == null) {
+            return invoke(pjp);
         }
 
+        Signature signature = pjp.getSignature();
+        if (!(signature instanceof MethodSignature methodSignature)) {
+            return invoke(pjp);
+        }
+        Method method = methodSignature.getMethod();
+        MethodLatencyProfiler.Frames frames = profiler == null ? null : profiler.enter(method);
+        SlowCallWatchdog.Frames inFlight = watchdog == null ? null : watchdog.enter(label(method));
+        boolean failed = true;
+        try {
+            Object result = invoke(pjp);
+            failed = false;
+            return result;
+        } finally {
+            if (inFlight != null) {
+                watchdog.exit(inFlight, failed);
+            }
+            if (frames != null) {
+                profiler.exit(frames, failed);
+            }
+        }
+    }
+
+    private Object invoke(ProceedingJoinPoint pjp) throws Throwable {
+        return log.isDebugEnabled() ? trace(pjp) : pjp.proceed();
+    }
+
+    private Object trace(ProceedingJoinPoint pjp) throws Throwable {
         stepIn();
         long start = System.currentTimeMillis();
 
-        String signature = pjp.getSignature().toLongString();
+        String signature = longSignature(pjp.getSignature());
 
         if (properties.isIncludeArguments()) {
             tryLogArguments(pjp);
@@ -80,7 +128,7 @@ public class ExceptionLoggingAspect {
             result = pjp.proceed();
         } finally {
             long took = System.currentTimeMillis() - start;
-            log.debug("{}<- {} {}ms }} @{}", footprint(), LocalTime.now(), String.format("%6d", took), signature);
+            log.debug("{}<- {} {}ms }} @{}", footprint(), LocalTime.now(), StringUtils.leftPad(Long.toString(took), 6), signature);
             stepOut();
         }
 
@@ -110,6 +158,17 @@ public class ExceptionLoggingAspect {
     }
 
     // ===== helpers =====
+    private String longSignature(Signature signature) {
+        if (signature instanceof MethodSignature methodSignature) {
+            return signatures.computeIfAbsent(methodSignature.getMethod(), method -> signature.toLongString());
+        }
+        return signature.toLongString();
+    }
+
+    private String label(Method method) {
+        return labels.computeIfAbsent(method, MethodLatencyProfiler::describe);
+    }
+
     private void stepIn() {
         Integer depth = callDepth.get();
         callDepth.set(depth == null ? 1 : depth + 1);
@@ -0,0 +1,139 @@
+package com.springboot.craftkit.framework.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@link AsyncStructuredAppender} 의 고정 크기 ring buffer (다수 producer, 단일 consumer)
+ *
+ * <pre>
+ *  - slot 별 sequence 로 소유권을 넘긴다. offer 는 CAS 1회로 slot 을 예약하며, 가득 차면 기다리지 않고 false 를 반환한다.
+ *  - event 와 scope 값(gtid, userId, applicationName, programId, clientIp)은 병렬 배열에 복사해 보관한다.
+ *    (event 마다 holder 객체나 scope snapshot 을 만들지 않음)
+ *  - poll 은 worker thread 하나만 호출한다.
+ * </pre>
+ */
+final class LogEventRingBuffer {
+
+    private static final int SCOPE_FIELDS = 5;
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final ILoggingEvent[] events;
+    // slot 마다 SCOPE_FIELDS 개
+    private final String[] scopes;
+
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    // poll 결과 (worker thread 전용)
+    private final StructuredJsonEncoder.ScopeFields polledScope = new StructuredJsonEncoder.ScopeFields();
+
+    LogEventRingBuffer(int requestedCapacity) {
+        int capacity = capacityFor(requestedCapacity);
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.events = new ILoggingEvent[capacity];
+        this.scopes = new String[capacity * SCOPE_FIELDS];
+    }
+
+    /**
+     * 2 의 거듭제곱으로 올림
+     */
+    static int capacityFor(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            return 2;
+        }
+        if (requestedCapacity > (1 << 30)) {
+            return 1 << 30;
+        }
+        return Integer.highestOneBit(requestedCapacity - 1) << 1;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0L, Math.min(size, capacity()));
+    }
+
+    int remainingCapacity() {
+        return capacity() - size();
+    }
+
+    boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+    boolean offer(ILoggingEvent event, ScopeAttribute scope) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    events[index] = event;
+                    copyScope(scope, index * SCOPE_FIELDS);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                // consumer 가 아직 비우지 않은 slot : 가득 참
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 요청 thread 에서 scope 값만 slot 에 복사한다.
+     */
+    private void copyScope(ScopeAttribute scope, int offset) {
+        if (scope == null) {
+            Arrays.fill(scopes, offset, offset + SCOPE_FIELDS, null);
+            return;
+        }
+        scopes[offset] = scope.getGtid();
+        scopes[offset + 1] = scope.getUserId();
+        scopes[offset + 2] = scope.getApplicationName();
+        scopes[offset + 3] = scope.getProgramId();
+        scopes[offset + 4] = scope.getClientIp();
+    }
+
+    /**
+     * 다음 event. 없으면 null. 함께 보관한 scope 는 {@link #polledScope()} 로 조회한다.
+     */
+    ILoggingEvent poll() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        ILoggingEvent event = events[index];
+        int offset = index * SCOPE_FIELDS;
+        polledScope.set(scopes[offset], scopes[offset + 1], scopes[offset + 2], scopes[offset + 3], scopes[offset + 4]);
+        events[index] = null;
+        Arrays.fill(scopes, offset, offset + SCOPE_FIELDS, null);
+        sequences.lazySet(index, position + mask + 1);
+        head = position + 1;
+        return event;
+    }
+
+    /**
+     * 직전 poll 한 event 의 scope 값 (다음 poll 에서 덮어쓴다)
+     */
+    StructuredJsonEncoder.ScopeFields polledScope() {
+        return polledScope;
+    }
+}
@@ -0,0 +1,39 @@
+package com.springboot.craftkit.framework.logging;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * 메서드별 응답 시간 actuator endpoint (/actuator/methodlatency)
+ *
+ * <pre>
+ *  GET    : 메서드별 count / errors / mean / p50 / p99 / max (ms, p99 내림차순) 와 최근 sample call tree
+ *  DELETE : 누적 통계와 sample 초기화
+ * </pre>
+ */
+@Endpoint(id = "methodlatency")
+public class MethodLatencyEndpoint {
+
+    private final MethodLatencyProfiler profiler;
+
+    public MethodLatencyEndpoint(MethodLatencyProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @ReadOperation
+    public MethodLatencyReport latencies() {
+        return new MethodLatencyReport(profiler.latencies(), profiler.sampledTrees());
+    }
+
+    @DeleteOperation
+    public void reset() {
+        profiler.reset();
+    }
+
+    public record MethodLatencyReport(List<MethodLatencyProfiler.MethodLatency> methods,
+                                      List<MethodLatencyProfiler.SampledCallTree> sampledTrees) {
+    }
+}
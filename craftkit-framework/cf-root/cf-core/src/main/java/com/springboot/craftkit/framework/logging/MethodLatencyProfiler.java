@@ -0,0 +1,343 @@
+package com.springboot.craftkit.framework.logging;
+
+import com.springboot.craftkit.framework.application.constant.CommonConstant;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.PackedHistogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.MDC;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 메서드별 응답 시간 profiler ({@link ExceptionLoggingAspect} 의 profiling mode, sample.log.profiling.*)
+ *
+ * <pre>
+ *  - 메서드(Method)별로 signature 문자열과 id 를 한번만 만들고, 호출 시간(ns)은 HdrHistogram Recorder 에 기록한다.
+ *    Recorder 의 기록은 lock 없이(wait-free) 수행되며, 조회({@link #latencies()})시에만 누적 histogram 으로 합친다.
+ *  - 호출 깊이와 시작 시각은 thread 별 배열(stack)에 보관한다. (호출마다 객체를 생성하지 않음)
+ *  - 최상위 호출의 일부(sample-rate)는 하위 호출을 포함한 call tree 로 기록하여 최근 max-sampled-trees 개를 보관한다.
+ *  - 추적하는 메서드가 max-methods 를 넘으면 이후 메서드는 "(other)" 로 합산한다.
+ * </pre>
+ */
+public class MethodLatencyProfiler {
+
+    static final String OTHER = "(other)";
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final int significantDigits;
+    private final long samplePeriod;
+    private final int maxMethods;
+    private final int maxTreeNodes;
+
+    private final ConcurrentHashMap<Method, MethodStats> methods = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final MethodStats other;
+
+    private final AtomicReferenceArray<SampledCallTree> sampledTrees;
+    private final AtomicLong sampledCount = new AtomicLong();
+
+    private final ThreadLocal<Frames> frames;
+
+    /**
+     * @param significantDigits histogram 정밀도 (1 ~ 5)
+     * @param sampleRate        call tree 로 기록할 최상위 호출의 비율 (0 이면 기록하지 않음)
+     * @param maxMethods        추적할 최대 메서드 수
+     * @param maxSampledTrees   보관할 최근 call tree 수
+     * @param maxTreeNodes      call tree 하나의 최대 node 수
+     */
+    public MethodLatencyProfiler(int significantDigits, double sampleRate, int maxMethods, int maxSampledTrees, int maxTreeNodes) {
+        if (significantDigits < 1 || significantDigits > 5 || sampleRate < 0d || sampleRate > 1d
+                || maxMethods < 1 || maxSampledTrees < 1 || maxTreeNodes < 1) {
+            throw new IllegalArgumentException("Invalid profiling settings : digits=" + significantDigits
+                    + ", sample-rate=" + sampleRate + ", max-methods=" + maxMethods
+                    + ", max-sampled-trees=" + maxSampledTrees + ", max-tree-nodes=" + maxTreeNodes);
+        }
+        this.significantDigits = significantDigits;
+        this.samplePeriod = sampleRate == 0d ? Long.MAX_VALUE : Math.max(1L, Math.round(1d / sampleRate));
+        this.maxMethods = maxMethods;
+        this.maxTreeNodes = maxTreeNodes;
+        this.other = new MethodStats(-1, OTHER, significantDigits);
+        this.sampledTrees = new AtomicReferenceArray<>(maxSampledTrees);
+        this.frames = ThreadLocal.withInitial(() -> new Frames(samplePeriod));
+    }
+
+    /**
+     * 호출 시작. 반환된 Frames 로 {@link #exit} 를 호출해야 한다.
+     */
+    public Frames enter(Method method) {
+        MethodStats stats = methods.get(method);
+        if (stats == null) {
+            stats = register(method);
+        }
+        Frames current = frames.get();
+        current.push(stats, System.nanoTime(), maxTreeNodes);
+        return current;
+    }
+
+    public void exit(Frames current, boolean failed) {
+        long end = System.nanoTime();
+        CallTreeBuilder finished = current.pop(end, failed);
+        if (finished != null) {
+            publish(finished);
+        }
+    }
+
+    private MethodStats register(Method method) {
+        if (methods.size() >= maxMethods) {
+            return other;
+        }
+        return methods.computeIfAbsent(method, key -> new MethodStats(nextId.getAndIncrement(), describe(key), significantDigits));
+    }
+
+    /**
+     * 예: OrderService.find(String,int)
+     */
+    static String describe(Method method) {
+        StringBuilder builder = new StringBuilder(64)
+                .append(method.getDeclaringClass().getSimpleName()).append('.').append(method.getName()).append('(');
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(parameterTypes[i].getSimpleName());
+        }
+        return builder.append(')').toString();
+    }
+
+    private void publish(CallTreeBuilder builder) {
+        SampledCallTree tree = builder.build(MDC.get(CommonConstant.LOG_MDC_GTID));
+        long index = sampledCount.getAndIncrement();
+        sampledTrees.set((int) (index % sampledTrees.length()), tree);
+    }
+
+    /**
+     * 메서드별 누적 통계 (p99 내림차순)
+     */
+    public List<MethodLatency> latencies() {
+        List<MethodLatency> result = new ArrayList<>(methods.size() + 1);
+        for (MethodStats stats : methods.values()) {
+            result.add(stats.snapshot());
+        }
+        MethodLatency overflow = other.snapshot();
+        if (overflow.count() > 0) {
+            result.add(overflow);
+        }
+        result.sort(Comparator.comparingDouble(MethodLatency::p99Millis).reversed());
+        return result;
+    }
+
+    /**
+     * 최근 call tree (최신순)
+     */
+    public List<SampledCallTree> sampledTrees() {
+        long count = sampledCount.get();
+        int capacity = sampledTrees.length();
+        List<SampledCallTree> result = new ArrayList<>(capacity);
+        for (long i = count - 1; i >= 0 && i >= count - capacity; i--) {
+            SampledCallTree tree = sampledTrees.get((int) (i % capacity));
+            if (tree != null) {
+                result.add(tree);
+            }
+        }
+        return result;
+    }
+
+    public void reset() {
+        methods.values().forEach(MethodStats::reset);
+        other.reset();
+        for (int i = 0; i < sampledTrees.length(); i++) {
+            sampledTrees.set(i, null);
+        }
+    }
+
+    public record MethodLatency(int id, String signature, long count, long errors,
+                                double meanMillis, double p50Millis, double p99Millis, double maxMillis) {
+    }
+
+    public record SampledCallTree(String gtid, long startedAt, double totalMillis, boolean truncated, List<Node> nodes) {
+
+        /**
+         * @param offsetMillis 최상위 호출 시작으로부터의 시작 시각
+         */
+        public record Node(int depth, String signature, double offsetMillis, double durationMillis, boolean failed) {
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    private static final class MethodStats {
+
+        private final int id;
+        private final String signature;
+        private final Recorder recorder;
+        private final LongAdder errors = new LongAdder();
+
+        // 조회시에만 사용 (this 로 동기화)
+        private final PackedHistogram cumulative;
+        private Histogram interval;
+
+        private MethodStats(int id, String signature, int significantDigits) {
+            this.id = id;
+            this.signature = signature;
+            this.recorder = new Recorder(significantDigits, true);
+            this.cumulative = new PackedHistogram(significantDigits);
+        }
+
+        private void record(long nanos, boolean failed) {
+            recorder.recordValue(Math.max(0L, nanos));
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        private synchronized MethodLatency snapshot() {
+            interval = recorder.getIntervalHistogram(interval);
+            cumulative.add(interval);
+            long count = cumulative.getTotalCount();
+            if (count == 0) {
+                return new MethodLatency(id, signature, 0, errors.sum(), 0d, 0d, 0d, 0d);
+            }
+            return new MethodLatency(id, signature, count, errors.sum(),
+                    millis((long) cumulative.getMean()),
+                    millis(cumulative.getValueAtPercentile(50d)),
+                    millis(cumulative.getValueAtPercentile(99d)),
+                    millis(cumulative.getMaxValue()));
+        }
+
+        private synchronized void reset() {
+            interval = recorder.getIntervalHistogram(interval);
+            cumulative.reset();
+            errors.reset();
+        }
+    }
+
+    /**
+     * thread 별 호출 stack
+     */
+    public static final class Frames {
+
+        private MethodStats[] stats = new MethodStats[16];
+        private long[] starts = new long[16];
+        private int[] nodes = new int[16];
+        private int depth;
+
+        private final long samplePeriod;
+        private long countdown;
+        private CallTreeBuilder tree;
+
+        private Frames(long samplePeriod) {
+            this.samplePeriod = samplePeriod;
+            // thread 간 sample 시점이 겹치지 않도록 임의의 위치에서 시작한다
+            this.countdown = samplePeriod == Long.MAX_VALUE ? Long.MAX_VALUE : 1 + ThreadLocalRandom.current().nextLong(samplePeriod);
+        }
+
+        int depth() {
+            return depth;
+        }
+
+        private void push(MethodStats method, long start, int maxTreeNodes) {
+            if (depth == stats.length) {
+                stats = Arrays.copyOf(stats, depth << 1);
+                starts = Arrays.copyOf(starts, depth << 1);
+                nodes = Arrays.copyOf(nodes, depth << 1);
+            }
+            if (depth == 0 && --countdown == 0) {
+                countdown = samplePeriod;
+                tree = new CallTreeBuilder(start, maxTreeNodes);
+            }
+            stats[depth] = method;
+            starts[depth] = start;
+            nodes[depth] = tree == null ? -1 : tree.add(depth, method.signature, start);
+            depth++;
+        }
+
+        private CallTreeBuilder pop(long end, boolean failed) {
+            if (depth == 0) {
+                return null;
+            }
+            depth--;
+            MethodStats method = stats[depth];
+            long took = end - starts[depth];
+            method.record(took, failed);
+            stats[depth] = null;
+            if (tree == null) {
+                return null;
+            }
+            tree.finish(nodes[depth], took, failed);
+            if (depth > 0) {
+                return null;
+            }
+            CallTreeBuilder finished = tree;
+            tree = null;
+            return finished;
+        }
+    }
+
+    private static final class CallTreeBuilder {
+
+        private final long start;
+        private final long startedAt = System.currentTimeMillis();
+        private final int maxNodes;
+
+        private int[] depths = new int[16];
+        private String[] signatures = new String[16];
+        private long[] offsets = new long[16];
+        private long[] durations = new long[16];
+        private boolean[] failures = new boolean[16];
+        private int size;
+        private boolean truncated;
+
+        private CallTreeBuilder(long start, int maxNodes) {
+            this.start = start;
+            this.maxNodes = maxNodes;
+        }
+
+        private int add(int depth, String signature, long nodeStart) {
+            if (size == maxNodes) {
+                truncated = true;
+                return -1;
+            }
+            if (size == depths.length) {
+                int capacity = Math.min(size << 1, maxNodes);
+                depths = Arrays.copyOf(depths, capacity);
+                signatures = Arrays.copyOf(signatures, capacity);
+                offsets = Arrays.copyOf(offsets, capacity);
+                durations = Arrays.copyOf(durations, capacity);
+                failures = Arrays.copyOf(failures, capacity);
+            }
+            depths[size] = depth;
+            signatures[size] = signature;
+            offsets[size] = nodeStart - start;
+            return size++;
+        }
+
+        private void finish(int node, long took, boolean failed) {
+            if (node >= 0) {
+                durations[node] = took;
+                failures[node] = failed;
+            }
+        }
+
+        private SampledCallTree build(String gtid) {
+            List<SampledCallTree.Node> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(new SampledCallTree.Node(depths[i], signatures[i], millis(offsets[i]), millis(durations[i]), failures[i]));
+            }
+            return new SampledCallTree(gtid, startedAt, millis(durations[0]), truncated, List.copyOf(result));
+        }
+    }
+}
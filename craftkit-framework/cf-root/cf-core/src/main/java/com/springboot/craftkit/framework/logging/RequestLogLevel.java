@@ -0,0 +1,174 @@
+package com.springboot.craftkit.framework.logging;
+
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 요청 단위 log level (scope 의 logLevel header)
+ *
+ * <pre>
+ *  - scope 가 thread 에 설정될 때(ScopeStore bind / callWith / restore, inbound header 해석) 한번 판단하여
+ *    thread 별 threshold 로 보관한다. log 호출시 {@link RequestLogLevelTurboFilter} 는 threshold 의 null 여부만 확인한다.
+ *  - DEBUG / TRACE 만 적용한다. (logger 의 level 을 낮추기만 하고 INFO 이상의 동작은 바꾸지 않는다)
+ *  - 전파: logLevel 은 scope header 로 다음 hop 에 전달되고, snapshot 으로 넘긴 async thread 에도 같이 적용된다.
+ *  - http(servlet) 요청은 요청 종료시(request attribute 소멸) threshold 를 제거한다.
+ *
+ *  sf.log.request-level.enabled         : 사용 여부 (기본 false)
+ *  sf.log.request-level.allowed-callers : logLevel 을 허용하는 직전 호출 서비스(Application-Name) 목록. "*" 는 모두 허용
+ *  sf.log.request-level.loggers         : 적용할 logger 이름 prefix 목록 (기본 전체)
+ *
+ *  Application-Name / logLevel header 는 위조할 수 있으므로 외부 요청을 받는 edge(gateway)에서 제거해야 한다.
+ * </pre>
+ */
+public final class RequestLogLevel {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestLogLevel.class);
+
+    private static final String PROPERTY_PREFIX = "sf.log.request-level";
+
+    static final String ANY_CALLER = "*";
+
+    private static final String DESTRUCTION_CALLBACK_NAME = RequestLogLevel.class.getName();
+
+    private static final boolean LOGBACK_PRESENT =
+            ClassUtils.isPresent("ch.qos.logback.classic.LoggerContext", RequestLogLevel.class.getClassLoader());
+
+    /**
+     * thread 에 적용 중인 threshold (불변)
+     */
+    static final class Threshold {
+
+        private final boolean trace;
+        private final String[] loggers;
+
+        private Threshold(boolean trace, String[] loggers) {
+            this.trace = trace;
+            this.loggers = loggers;
+        }
+
+        boolean isTrace() {
+            return trace;
+        }
+
+        boolean appliesTo(String loggerName) {
+            if (loggers.length == 0) {
+                return true;
+            }
+            for (String prefix : loggers) {
+                if (loggerName.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Settings {
+        private final boolean enabled;
+        private final Set<String> allowedCallers;
+        private final Threshold debug;
+        private final Threshold trace;
+
+        private Settings(boolean enabled, List<String> allowedCallers, List<String> loggers) {
+            this.enabled = enabled;
+            this.allowedCallers = Set.copyOf(allowedCallers);
+            String[] prefixes = loggers.toArray(new String[0]);
+            this.debug = new Threshold(false, prefixes);
+            this.trace = new Threshold(true, prefixes);
+        }
+    }
+
+    private static final ThreadLocal<Threshold> current = new ThreadLocal<>();
+
+    private static volatile Settings settings = new Settings(false, List.of(), List.of());
+
+    private RequestLogLevel() {
+        super();
+    }
+
+    public static void initializeFromEnvironment(ConfigurableEnvironment environment) {
+        Binder binder = Binder.get(environment);
+        boolean enabled = binder.bind(PROPERTY_PREFIX + ".enabled", Boolean.class).orElse(false);
+        List<String> callers = binder.bind(PROPERTY_PREFIX + ".allowed-callers", Bindable.listOf(String.class)).orElse(List.of());
+        List<String> loggers = binder.bind(PROPERTY_PREFIX + ".loggers", Bindable.listOf(String.class)).orElse(List.of());
+        configure(enabled, callers, loggers);
+        if (enabled && LOGBACK_PRESENT) {
+            RequestLogLevelTurboFilter.installIfAbsent();
+        }
+        log.debug("RequestLogLevel initialized: enabled={}, allowed-callers={}, loggers={}", enabled, callers, loggers);
+    }
+
+    static void configure(boolean enabled, List<String> allowedCallers, List<String> loggers) {
+        settings = new Settings(enabled, allowedCallers, loggers);
+        if (!enabled) {
+            current.remove();
+        }
+    }
+
+    public static boolean isEnabled() {
+        return settings.enabled;
+    }
+
+    /**
+     * 현재 thread 의 threshold. 없으면 null
+     */
+    static Threshold current() {
+        return current.get();
+    }
+
+    /**
+     * attribute 가 현재 thread 의 scope 가 될 때 호출한다. (null 이면 제거)
+     */
+    public static void apply(ScopeAttribute attribute) {
+        Settings config = settings;
+        if (!config.enabled) {
+            return;
+        }
+        Threshold threshold = resolve(config, attribute);
+        if (threshold == null) {
+            clear();
+            return;
+        }
+        current.set(threshold);
+        registerRequestCompletion();
+    }
+
+    public static void clear() {
+        if (current.get() != null) {
+            current.remove();
+        }
+    }
+
+    private static Threshold resolve(Settings config, ScopeAttribute attribute) {
+        Level level = attribute == null ? null : attribute.getLogLevel();
+        if (level != Level.DEBUG && level != Level.TRACE) {
+            return null;
+        }
+        String caller = attribute.getApplicationName();
+        if (!config.allowedCallers.contains(ANY_CALLER) && (caller == null || !config.allowedCallers.contains(caller))) {
+            log.trace("request log level ignored : caller={}, level={}", caller, level);
+            return null;
+        }
+        return level == Level.TRACE ? config.trace : config.debug;
+    }
+
+    // servlet 요청 thread 는 재사용되므로 요청 종료시 제거한다 (async thread 는 ScopeStore 의 restore 로 제거)
+    private static void registerRequestCompletion() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.registerDestructionCallback(DESTRUCTION_CALLBACK_NAME, RequestLogLevel::clear,
+                    RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
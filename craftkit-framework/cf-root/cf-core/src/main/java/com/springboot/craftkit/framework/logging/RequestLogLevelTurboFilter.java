@@ -0,0 +1,65 @@
+package com.springboot.craftkit.framework.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+/**
+ * 요청 단위 log level 을 적용하는 logback TurboFilter ({@link RequestLogLevel})
+ *
+ * <pre>
+ *  - override 가 없으면 ThreadLocal 조회 1회 + null 비교 후 NEUTRAL (기존 level 판단)
+ *  - override 가 있으면 DEBUG / TRACE event 를 logger 의 level 과 관계없이 ACCEPT 한다.
+ *  - sf.log.request-level.enabled=true 이면 기동시 자동으로 등록된다. logback-spring.xml 에 직접 등록해도 된다.
+ *      &lt;turboFilter class="com.springboot.craftkit.framework.logging.RequestLogLevelTurboFilter"/&gt;
+ * </pre>
+ */
+public class RequestLogLevelTurboFilter extends TurboFilter {
+
+    public static final String NAME = "requestLogLevel";
+
+    public RequestLogLevelTurboFilter() {
+        setName(NAME);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        RequestLogLevel.Threshold threshold = RequestLogLevel.current();
+        if (threshold == null) {
+            return FilterReply.NEUTRAL;
+        }
+        if (level == null || level.levelInt >= Level.INFO_INT) {
+            return FilterReply.NEUTRAL;
+        }
+        if (level.levelInt < Level.DEBUG_INT && !threshold.isTrace()) {
+            return FilterReply.NEUTRAL;
+        }
+        return threshold.appliesTo(logger.getName()) ? FilterReply.ACCEPT : FilterReply.NEUTRAL;
+    }
+
+    /**
+     * 현재 logback LoggerContext 에 등록한다. (이미 등록되어 있으면 무시)
+     */
+    static void installIfAbsent() {
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        if (!(factory instanceof LoggerContext context)) {
+            return;
+        }
+        synchronized (context) {
+            for (TurboFilter filter : context.getTurboFilterList()) {
+                if (filter instanceof RequestLogLevelTurboFilter) {
+                    return;
+                }
+            }
+            RequestLogLevelTurboFilter filter = new RequestLogLevelTurboFilter();
+            filter.setContext(context);
+            filter.start();
+            context.addTurboFilter(filter);
+        }
+    }
+}
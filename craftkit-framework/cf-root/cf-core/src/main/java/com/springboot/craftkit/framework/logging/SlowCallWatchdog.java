@@ -0,0 +1,299 @@
+package com.springboot.craftkit.framework.logging;
+
+import com.springboot.craftkit.framework.application.constant.CommonConstant;
+import com.springboot.craftkit.framework.scope.RequestScopeUtil;
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 느린 호출 감지 (sample.log.slow-call.*)
+ *
+ * <pre>
+ *  - 호출 thread : thread 별 frame 배열(registry slot)에 시작 시각과 label 만 기록한다. (lock / 객체 생성 없음)
+ *    종료시 감시 thread 가 느린 호출로 표시한 경우에만 report 를 만든다.
+ *  - 감시 thread : sample-interval 마다 진행 중인 최상위 호출을 확인하고, threshold 를 넘은 호출은 thread 의 stack 을
+ *    max-samples 회까지 sample 한다.
+ *  - report : 호출 종료시 호출 thread 에서 gtid(ScopeAttribute.getGtid)와 함께 WARN 으로 기록하고 최근 max-reports 개를 보관한다.
+ *  - thread 별 frame 은 최대 {@value #MAX_FRAMES} 단계까지 기록한다. (그 이상은 깊이만 센다)
+ * </pre>
+ */
+public class SlowCallWatchdog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowCallWatchdog.class);
+
+    static final int MAX_FRAMES = 8;
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final long thresholdNanos;
+    private final long sampleIntervalNanos;
+    private final int maxSamples;
+    private final int maxStackDepth;
+
+    private final ConcurrentLinkedQueue<Frames> registry = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Frames> frames = ThreadLocal.withInitial(this::register);
+
+    private final AtomicReferenceArray<SlowCallReport> reports;
+    private final AtomicLong reportCount = new AtomicLong();
+
+    private final Thread sampler;
+    private volatile boolean running;
+
+    /**
+     * @param threshold      느린 호출 기준
+     * @param sampleInterval 감시 / stack sample 주기
+     * @param maxSamples     호출 하나의 최대 stack sample 수
+     * @param maxStackDepth  stack sample 의 최대 frame 수
+     * @param maxReports     보관할 최근 report 수
+     */
+    public SlowCallWatchdog(Duration threshold, Duration sampleInterval, int maxSamples, int maxStackDepth, int maxReports) {
+        if (threshold.isNegative() || threshold.isZero() || sampleInterval.isNegative() || sampleInterval.isZero()
+                || maxSamples < 1 || maxStackDepth < 1 || maxReports < 1) {
+            throw new IllegalArgumentException("Invalid slow-call settings : threshold=" + threshold
+                    + ", sample-interval=" + sampleInterval + ", max-samples=" + maxSamples
+                    + ", max-stack-depth=" + maxStackDepth + ", max-reports=" + maxReports);
+        }
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleIntervalNanos = sampleInterval.toNanos();
+        this.maxSamples = maxSamples;
+        this.maxStackDepth = maxStackDepth;
+        this.reports = new AtomicReferenceArray<>(maxReports);
+        this.sampler = new Thread(this::runSampler, "craftkit-slow-call-watchdog");
+        this.sampler.setDaemon(true);
+    }
+
+    public void start() {
+        if (!running) {
+            running = true;
+            sampler.start();
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(sampler);
+    }
+
+    private Frames register() {
+        Frames created = new Frames(Thread.currentThread());
+        registry.add(created);
+        return created;
+    }
+
+    /**
+     * 호출 시작. label 은 느린 호출일 때만 문자열로 변환한다. 반환된 Frames 로 {@link #exit} 를 호출해야 한다.
+     */
+    public Frames enter(Object label) {
+        Frames current = frames.get();
+        int depth = current.actualDepth++;
+        if (depth < MAX_FRAMES) {
+            current.labels[depth] = label;
+            current.starts.lazySet(depth, System.nanoTime());
+            current.depth = depth + 1;
+        }
+        return current;
+    }
+
+    public void exit(Frames current, boolean failed) {
+        int depth = --current.actualDepth;
+        if (depth >= MAX_FRAMES) {
+            return;
+        }
+        current.depth = depth;
+        current.labels[depth] = null;
+        if (depth == 0) {
+            SlowCall slow = current.slow;
+            if (slow != null) {
+                current.slow = null;
+                if (slow.start == current.starts.get(0)) {
+                    report(slow, System.nanoTime(), failed);
+                }
+            }
+        }
+    }
+
+    private void runSampler() {
+        while (running) {
+            LockSupport.parkNanos(this, sampleIntervalNanos);
+            try {
+                sample(System.nanoTime());
+            } catch (RuntimeException e) {
+                log.warn("slow call sampling failed", e);
+            }
+        }
+    }
+
+    /**
+     * 감시 1회 (감시 thread)
+     */
+    void sample(long now) {
+        for (Iterator<Frames> it = registry.iterator(); it.hasNext(); ) {
+            Frames current = it.next();
+            if (!current.thread.isAlive()) {
+                it.remove();
+                continue;
+            }
+            int depth = current.depth;
+            if (depth == 0) {
+                continue;
+            }
+            long start = current.starts.get(0);
+            long elapsed = now - start;
+            if (elapsed < thresholdNanos) {
+                continue;
+            }
+            Object label = current.labels[0];
+            List<String> calls = new ArrayList<>(depth);
+            for (int i = 0; i < depth; i++) {
+                calls.add(String.valueOf(current.labels[i]) + " " + format(now - current.starts.get(i)) + "ms");
+            }
+            // 읽는 동안 호출이 끝났거나 바뀐 경우 무시
+            if (!current.isRunning(start)) {
+                continue;
+            }
+            SlowCall slow = current.slow;
+            if (slow == null || slow.start != start) {
+                slow = new SlowCall(start, String.valueOf(label), current.thread.getName());
+                current.slow = slow;
+            }
+            if (slow.sampleCount() >= maxSamples) {
+                continue;
+            }
+            StackTraceElement[] stack = current.thread.getStackTrace();
+            if (!current.isRunning(start)) {
+                continue;
+            }
+            List<String> frames = new ArrayList<>(Math.min(stack.length, maxStackDepth));
+            for (int i = 0; i < stack.length && i < maxStackDepth; i++) {
+                frames.add(stack[i].toString());
+            }
+            slow.add(new SlowCallReport.Sample(elapsed / NANOS_PER_MILLI, List.copyOf(calls), List.copyOf(frames)));
+        }
+    }
+
+    private void report(SlowCall slow, long end, boolean failed) {
+        ScopeAttribute attribute = RequestScopeUtil.peekAttribute();
+        String gtid = attribute == null ? null : attribute.getGtid();
+        if (gtid == null || gtid.isEmpty()) {
+            gtid = MDC.get(CommonConstant.LOG_MDC_GTID);
+        }
+        SlowCallReport report = new SlowCallReport(gtid, slow.thread, slow.label, (end - slow.start) / NANOS_PER_MILLI,
+                failed, slow.samples());
+        long index = reportCount.getAndIncrement();
+        reports.set((int) (index % reports.length()), report);
+        if (log.isWarnEnabled()) {
+            log.warn("{}", report.describe());
+        }
+    }
+
+    /**
+     * 최근 report (최신순)
+     */
+    public List<SlowCallReport> recentReports() {
+        long count = reportCount.get();
+        int capacity = reports.length();
+        List<SlowCallReport> result = new ArrayList<>(capacity);
+        for (long i = count - 1; i >= 0 && i >= count - capacity; i--) {
+            SlowCallReport report = reports.get((int) (i % capacity));
+            if (report != null) {
+                result.add(report);
+            }
+        }
+        return result;
+    }
+
+    private static String format(long nanos) {
+        return String.format("%.1f", nanos / NANOS_PER_MILLI);
+    }
+
+    public record SlowCallReport(String gtid, String thread, String method, double elapsedMillis, boolean failed,
+                                 List<Sample> samples) {
+
+        /**
+         * @param elapsedMillis sample 시점의 경과 시간
+         * @param calls         sample 시점에 진행 중인 호출 (바깥쪽부터, 경과 시간 포함)
+         * @param stack         thread stack (안쪽부터)
+         */
+        public record Sample(double elapsedMillis, List<String> calls, List<String> stack) {
+        }
+
+        String describe() {
+            StringBuilder builder = new StringBuilder(256 + samples.size() * 1024)
+                    .append("[Slow Call] ").append(method).append(' ').append(format((long) (elapsedMillis * NANOS_PER_MILLI)))
+                    .append("ms gtid=").append(gtid).append(" thread=").append(thread);
+            if (failed) {
+                builder.append(" (failed)");
+            }
+            for (Sample sample : samples) {
+                builder.append("\n  sample @").append(format((long) (sample.elapsedMillis() * NANOS_PER_MILLI)))
+                        .append("ms calls=").append(sample.calls());
+                for (String frame : sample.stack()) {
+                    builder.append("\n    at ").append(frame);
+                }
+            }
+            return builder.toString();
+        }
+    }
+
+    /**
+     * thread 별 진행 중인 호출 (registry slot). 기록은 소유 thread 만, 조회는 감시 thread 가 한다.
+     */
+    public static final class Frames {
+
+        private final Thread thread;
+        private final Object[] labels = new Object[MAX_FRAMES];
+        private final AtomicLongArray starts = new AtomicLongArray(MAX_FRAMES);
+        // 감시 thread 에 공개하는 깊이 (최대 MAX_FRAMES)
+        private volatile int depth;
+        // 소유 thread 전용 실제 깊이
+        private int actualDepth;
+        private volatile SlowCall slow;
+
+        private Frames(Thread thread) {
+            this.thread = thread;
+        }
+
+        private boolean isRunning(long start) {
+            return depth > 0 && starts.get(0) == start;
+        }
+    }
+
+    private static final class SlowCall {
+
+        private final long start;
+        private final String label;
+        private final String thread;
+        private final List<SlowCallReport.Sample> samples = new ArrayList<>();
+
+        private SlowCall(long start, String label, String thread) {
+            this.start = start;
+            this.label = label;
+            this.thread = thread;
+        }
+
+        private synchronized int sampleCount() {
+            return samples.size();
+        }
+
+        private synchronized void add(SlowCallReport.Sample sample) {
+            samples.add(sample);
+        }
+
+        private synchronized List<SlowCallReport.Sample> samples() {
+            return List.copyOf(samples);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.springboot.craftkit.framework.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+import com.springboot.craftkit.framework.application.constant.CommonConstant;
+import com.springboot.craftkit.framework.scope.RequestScopeUtil;
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * 한 줄 JSON log encoder
+ *
+ * <pre>
+ *  {"@timestamp":"2026-01-01T09:00:00.000+09:00","level":"INFO","thread":"http-nio-1","logger":"...","message":"...",
+ *   "gtid":"...","scope":{"userId":"...","applicationName":"...","programId":"...","clientIp":"..."},"mdc":{...},"exception":"..."}
+ *
+ *  - StringBuilder 와 timestamp(초 단위) 문자열을 재사용한다. thread-safe 하지 않으므로 appender(worker) 별로 사용한다.
+ *  - logback 설정에 encoder 로 직접 지정할 수도 있다. (이 경우 scope 는 log 를 호출한 thread 의 scope 를 사용)
+ *      &lt;encoder class="com.springboot.craftkit.framework.logging.StructuredJsonEncoder"/&gt;
+ * </pre>
+ */
+public class StructuredJsonEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final DateTimeFormatter SECOND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final DateTimeFormatter OFFSET_FORMAT = DateTimeFormatter.ofPattern("xxx");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final ZoneId zone;
+    private final StringBuilder buffer = new StringBuilder(512);
+    private final ScopeFields scopeFields = new ScopeFields();
+
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedSecondText;
+    private String cachedOffsetText;
+
+    public StructuredJsonEncoder() {
+        this(ZoneId.systemDefault());
+    }
+
+    public StructuredJsonEncoder(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        buffer.setLength(0);
+        format(event, RequestScopeUtil.peekAttribute(), buffer);
+        return buffer.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    /**
+     * event 한 건을 줄바꿈을 포함하여 out 에 추가한다.
+     */
+    public void format(ILoggingEvent event, ScopeAttribute scope, StringBuilder out) {
+        scopeFields.copyFrom(scope);
+        format(event, scopeFields, out);
+    }
+
+    void format(ILoggingEvent event, ScopeFields scope, StringBuilder out) {
+        out.append("{\"@timestamp\":\"");
+        appendTimestamp(event.getTimeStamp(), out);
+        out.append("\",\"level\":\"").append(event.getLevel().levelStr).append('"');
+        appendField(out, "thread", event.getThreadName());
+        appendField(out, "logger", event.getLoggerName());
+        appendField(out, "message", event.getFormattedMessage());
+
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        String gtid = mdc == null ? null : mdc.get(CommonConstant.LOG_MDC_GTID);
+        if (gtid == null) {
+            gtid = scope.gtid;
+        }
+        if (gtid != null && !gtid.isEmpty()) {
+            appendField(out, "gtid", gtid);
+        }
+        appendScope(scope, out);
+        if (mdc != null && mdc.size() > (mdc.containsKey(CommonConstant.LOG_MDC_GTID) ? 1 : 0)) {
+            out.append(",\"mdc\":{");
+            boolean first = true;
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                if (CommonConstant.LOG_MDC_GTID.equals(entry.getKey())) {
+                    continue;
+                }
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                appendString(out, entry.getKey());
+                out.append(':');
+                appendString(out, entry.getValue());
+            }
+            out.append('}');
+        }
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            appendField(out, "exception", ThrowableProxyUtil.asString(throwable));
+        }
+        out.append("}\n");
+    }
+
+    private void appendScope(ScopeFields scope, StringBuilder out) {
+        int start = out.length();
+        out.append(",\"scope\":{");
+        int empty = out.length();
+        appendScopeField(out, "userId", scope.userId, empty);
+        appendScopeField(out, "applicationName", scope.applicationName, empty);
+        appendScopeField(out, "programId", scope.programId, empty);
+        appendScopeField(out, "clientIp", scope.clientIp, empty);
+        if (out.length() == empty) {
+            out.setLength(start);
+        } else {
+            out.append('}');
+        }
+    }
+
+    private static void appendScopeField(StringBuilder out, String name, String value, int empty) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if (out.length() != empty) {
+            out.append(',');
+        }
+        appendString(out, name);
+        out.append(':');
+        appendString(out, value);
+    }
+
+    private static void appendField(StringBuilder out, String name, String value) {
+        out.append(',');
+        appendString(out, name);
+        out.append(':');
+        if (value == null) {
+            out.append("null");
+        } else {
+            appendString(out, value);
+        }
+    }
+
+    static void appendString(StringBuilder out, String value) {
+        out.append('"');
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            out.append(value, start, i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+            start = i + 1;
+        }
+        out.append(value, start, length).append('"');
+    }
+
+    private void appendTimestamp(long epochMillis, StringBuilder out) {
+        long second = Math.floorDiv(epochMillis, 1000L);
+        if (second != cachedSecond) {
+            ZonedDateTime time = Instant.ofEpochSecond(second).atZone(zone);
+            cachedSecondText = SECOND_FORMAT.format(time);
+            cachedOffsetText = OFFSET_FORMAT.format(time);
+            cachedSecond = second;
+        }
+        int millis = (int) Math.floorMod(epochMillis, 1000L);
+        out.append(cachedSecondText).append('.');
+        if (millis < 100) {
+            out.append('0');
+        }
+        if (millis < 10) {
+            out.append('0');
+        }
+        out.append(millis).append(cachedOffsetText);
+    }
+
+    /**
+     * log 에 기록하는 scope 값. (String 이므로 복사 후 다른 thread 에서 읽어도 된다)
+     */
+    static final class ScopeFields {
+
+        String gtid;
+        String userId;
+        String applicationName;
+        String programId;
+        String clientIp;
+
+        void copyFrom(ScopeAttribute scope) {
+            if (scope == null) {
+                set(null, null, null, null, null);
+            } else {
+                set(scope.getGtid(), scope.getUserId(), scope.getApplicationName(), scope.getProgramId(), scope.getClientIp());
+            }
+        }
+
+        void set(String gtid, String userId, String applicationName, String programId, String clientIp) {
+            this.gtid = gtid;
+            this.userId = userId;
+            this.applicationName = applicationName;
+            this.programId = programId;
+            this.clientIp = clientIp;
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package com.springboot.craftkit.framework.scope;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import static com.springboot.craftkit.framework.scope.RequestScopeAttribute.*;
+
+/**
+ * scope 속성용 대소문자 구분 없는 소형 map (항목 16개 미만에 최적화)
+ *
+ * <pre>
+ *  - LinkedCaseInsensitiveMap 을 대체한다. (LinkedHashMap + HashMap 2개, 접근마다 toLowerCase 로 문자열 생성)
+ *  - 입력 순서의 key / value / folded hash 배열 + open addressing index 배열로 구성하며, 조회시 문자열을 생성하지 않는다.
+ *  - 16개 이하의 조회는 hash 계산 없이 길이가 같은 key 만 비교한다. (상수 header 이름은 참조 비교로 끝남)
+ *  - 잘 알려진 header 이름(상수 instance)은 미리 계산한 folded hash 를 사용한다.
+ *  - key 비교는 String.equalsIgnoreCase 와 같다. key 의 대소문자는 마지막으로 put 한 값을 유지한다.
+ *  - null key 는 허용하지 않는다. (조회는 null 반환)
+ * </pre>
+ */
+final class CaseInsensitiveAttributeMap<V> extends AbstractMap<String, V> {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    // 이 크기 이하는 index 대신 순차 비교로 조회한다
+    private static final int LINEAR_SCAN_SIZE = 16;
+
+    private static final String[] WELL_KNOWN_NAMES = {
+            GLOBAL_TRANSACTION_ID, USER_ID, APPLICATION_NAME, PROGRAM_ID, FORWARDED_SERVICE,
+            LOG_LEVEL, PRIVATE_CLAIMS, CUSTOM_ATTRIBUTES, REMAINING_TIME, SCOPE_CONTEXT
+    };
+    private static final int[] WELL_KNOWN_HASHES = new int[WELL_KNOWN_NAMES.length];
+    static {
+        for (int i = 0; i < WELL_KNOWN_NAMES.length; i++) {
+            WELL_KNOWN_HASHES[i] = computeFoldedHash(WELL_KNOWN_NAMES[i]);
+        }
+    }
+
+    // 입력 순서의 항목 (0 ~ size-1)
+    private String[] keys;
+    private Object[] values;
+    private int[] hashes;
+    private int size;
+
+    // open addressing (linear probing). 항목 위치 + 1, 0 은 빈 칸. 길이는 keys 의 2배 (2의 제곱수)
+    private int[] index;
+
+    private int modCount;
+    private EntrySet entrySet;
+
+    CaseInsensitiveAttributeMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    CaseInsensitiveAttributeMap(int expectedSize) {
+        allocate(Math.max(Integer.highestOneBit(Math.max(expectedSize, 1) - 1) << 1, 2));
+    }
+
+    CaseInsensitiveAttributeMap(Map<String, ? extends V> source) {
+        if (source instanceof CaseInsensitiveAttributeMap<?> other) {
+            // hash 재계산 없이 배열을 복사한다
+            keys = other.keys.clone();
+            values = other.values.clone();
+            hashes = other.hashes.clone();
+            index = other.index.clone();
+            size = other.size;
+            return;
+        }
+        allocate(Math.max(Integer.highestOneBit(Math.max(source.size(), 1) - 1) << 1, DEFAULT_CAPACITY));
+        putAll(source);
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        index = new int[capacity << 1];
+    }
+
+    /**
+     * 대소문자를 무시한 hash (String.equalsIgnoreCase 와 일치)
+     */
+    static int foldedHash(String key) {
+        for (int i = 0; i < WELL_KNOWN_NAMES.length; i++) {
+            if (WELL_KNOWN_NAMES[i] == key) {
+                return WELL_KNOWN_HASHES[i];
+            }
+        }
+        return computeFoldedHash(key);
+    }
+
+    private static int computeFoldedHash(String key) {
+        int h = 0;
+        for (int i = 0, length = key.length(); i < length; i++) {
+            char c = key.charAt(i);
+            if (c < 0x80) {
+                if ((char) (c - 'A') <= 'Z' - 'A') {
+                    c |= 0x20;
+                }
+            } else if (Character.isSurrogate(c)) {
+                // 보조 문자는 code point 단위로 비교되므로 hash 에 반영하지 않는다 (길이만 반영)
+                c = 0;
+            } else {
+                c = Character.toLowerCase(Character.toUpperCase(c));
+            }
+            h = 31 * h + c;
+        }
+        // index 분산용
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * ASCII 는 직접 비교하고, 그 외 문자가 있으면 String.equalsIgnoreCase 로 비교한다
+     */
+    private static boolean foldedEquals(String a, String b) {
+        int length = a.length();
+        if (length != b.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char x = a.charAt(i);
+            char y = b.charAt(i);
+            if (x == y) {
+                continue;
+            }
+            if ((x | y) >= 0x80) {
+                return a.equalsIgnoreCase(b);
+            }
+            // 영문자의 대소문자 차이(0x20)만 허용
+            if ((x ^ y) != 0x20 || (char) ((x | 0x20) - 'a') > 'z' - 'a') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof String name)) {
+            return -1;
+        }
+        if (size <= LINEAR_SCAN_SIZE) {
+            // 항목이 적으면 hash 계산 없이 길이가 같은 key 만 비교한다
+            int length = name.length();
+            for (int i = 0; i < size; i++) {
+                String candidate = keys[i];
+                if (candidate == name || (candidate.length() == length && foldedEquals(candidate, name))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int hash = foldedHash(name);
+        int mask = index.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = index[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            int i = entry - 1;
+            String candidate = keys[i];
+            if (candidate == name || (hashes[i] == hash && foldedEquals(candidate, name))) {
+                return i;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int i = indexOf(key);
+        return i < 0 ? null : (V) values[i];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(Object key, V defaultValue) {
+        int i = indexOf(key);
+        return i < 0 ? defaultValue : (V) values[i];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(String key, V value) {
+        Objects.requireNonNull(key, "key");
+        int hash = foldedHash(key);
+        int mask = index.length - 1;
+        int slot = hash & mask;
+        for (; ; slot = (slot + 1) & mask) {
+            int entry = index[slot];
+            if (entry == 0) {
+                break;
+            }
+            int i = entry - 1;
+            String candidate = keys[i];
+            if (candidate == key || (hashes[i] == hash && foldedEquals(candidate, key))) {
+                V previous = (V) values[i];
+                keys[i] = key;
+                values[i] = value;
+                return previous;
+            }
+        }
+
+        if (size == keys.length) {
+            resize(keys.length << 1);
+            mask = index.length - 1;
+            slot = hash & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+        }
+        keys[size] = key;
+        values[size] = value;
+        hashes[size] = hash;
+        index[slot] = ++size;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends V> map) {
+        if (size + map.size() > keys.length) {
+            resize(Integer.highestOneBit(size + map.size() - 1) << 1);
+        }
+        map.forEach(this::put);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        int i = indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+        V previous = (V) values[i];
+        removeAt(i);
+        return previous;
+    }
+
+    /**
+     * 항목을 앞으로 당기고 index 를 다시 만든다 (항목이 적으므로 tombstone 보다 단순하고 빠름)
+     */
+    private void removeAt(int i) {
+        int moved = size - i - 1;
+        if (moved > 0) {
+            System.arraycopy(keys, i + 1, keys, i, moved);
+            System.arraycopy(values, i + 1, values, i, moved);
+            System.arraycopy(hashes, i + 1, hashes, i, moved);
+        }
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        modCount++;
+        rebuildIndex();
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        Arrays.fill(index, 0);
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super String, ? super V> action) {
+        int expected = modCount;
+        for (int i = 0; i < size; i++) {
+            action.accept(keys[i], (V) values[i]);
+            if (expected != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+        index = new int[capacity << 1];
+        rebuildIndex();
+    }
+
+    private void rebuildIndex() {
+        Arrays.fill(index, 0);
+        int mask = index.length - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = hashes[i] & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = i + 1;
+        }
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        EntrySet set = entrySet;
+        if (set == null) {
+            set = new EntrySet();
+            entrySet = set;
+        }
+        return set;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, V>> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            CaseInsensitiveAttributeMap.this.clear();
+        }
+
+        @Override
+        public Iterator<Entry<String, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, V>> {
+
+        private int next;
+        private int last = -1;
+        private int expected = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Entry<String, V> next() {
+            if (expected != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new AttributeEntry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (expected != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+            expected = modCount;
+        }
+    }
+
+    private final class AttributeEntry implements Entry<String, V> {
+
+        private final int i;
+        private final String key;
+
+        private AttributeEntry(int i) {
+            this.i = i;
+            this.key = keys[i];
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            return (V) values[i];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V setValue(V value) {
+            V previous = (V) values[i];
+            values[i] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry<?, ?> e && key.equals(e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
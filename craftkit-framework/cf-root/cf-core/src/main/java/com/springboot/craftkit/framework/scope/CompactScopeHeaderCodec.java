@@ -0,0 +1,215 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import static com.springboot.craftkit.framework.scope.RequestScopeAttribute.*;
+
+/**
+ * kafka 용 compact scope header codec. opt-in (sf.scope.kafka-header.compact=true)
+ * <pre>
+ * 개별 header 로 전달하던 scope 값을 하나의 binary header({@link RequestScopeAttribute#SCOPE_CONTEXT})로 묶는다.
+ * 자주 쓰는 header 이름은 dictionary 번호로 기록하므로 작은 event 에서 header 크기가 payload 보다 커지는 것을 줄인다.
+ * string header 만 지원하는 경로(Map&lt;String, String&gt;)에는 base64 로 전달한다.
+ *
+ * format (version 1)
+ *   byte             version
+ *   반복(끝까지)     varint key   : 0 = 이름 직접 기록(varint 길이 + UTF-8), n = DICTIONARY[n - 1]
+ *                    varint 길이 + UTF-8 값
+ *
+ * 1. DICTIONARY 를 변경하면 VERSION 을 올려야 한다. 지원하지 않는 version 은 무시한다.
+ * 2. 수신측은 개별 header 와 compact header 를 모두 읽으므로, consumer 를 먼저 배포한 후 producer 에서 활성화 한다.
+ * 3. gtid 는 message 마다 보정(생성)되고 추적 도구에서 직접 읽으므로 개별 header 로 유지한다.
+ * </pre>
+ */
+public final class CompactScopeHeaderCodec {
+
+    private static final Logger log = LoggerFactory.getLogger(CompactScopeHeaderCodec.class);
+
+    private static final String PROPERTY_PREFIX = "sf.scope.kafka-header";
+
+    public static final int VERSION = 1;
+
+    private static final String[] DICTIONARY = {
+            GLOBAL_TRANSACTION_ID, USER_ID, APPLICATION_NAME, PROGRAM_ID, FORWARDED_SERVICE,
+            LOG_LEVEL, PRIVATE_CLAIMS, CUSTOM_ATTRIBUTES, REMAINING_TIME
+    };
+
+    private static final Map<String, Integer> DICTIONARY_KEYS = new CaseInsensitiveAttributeMap<>(DICTIONARY.length);
+    static {
+        for (int i = 0; i < DICTIONARY.length; i++) {
+            DICTIONARY_KEYS.put(DICTIONARY[i], i + 1);
+        }
+    }
+
+    private static volatile boolean enabled = false;
+
+    private CompactScopeHeaderCodec() {
+        super();
+    }
+
+    public static void initializeFromEnvironment(ConfigurableEnvironment environment) {
+        Binder binder = Binder.get(environment);
+        setEnabled(binder.bind(PROPERTY_PREFIX + ".compact", Boolean.class).orElse(false));
+        log.debug("CompactScopeHeaderCodec initialized: enabled={}", enabled);
+    }
+
+    protected static void setEnabled(boolean compact) {
+        enabled = compact;
+    }
+
+    /**
+     * producer 에서 compact header 로 전달할지 여부. 수신은 설정과 무관하게 두 형식을 모두 읽는다.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * header 목록을 compact binary 로 변환한다. 빈 값은 기록하지 않는다.
+     */
+    public static byte[] encode(Map<String, String> headers) {
+        Writer writer = new Writer();
+        headers.forEach(writer);
+        return writer.toByteArray();
+    }
+
+    static String encodeToString(EncodedScopeHeaders headers) {
+        Writer writer = new Writer();
+        headers.forEach(writer);
+        return Base64.getEncoder().withoutPadding().encodeToString(writer.toByteArray());
+    }
+
+    /**
+     * compact binary 를 header 이름, 값으로 풀어 전달한다.
+     *
+     * @throws IllegalArgumentException 지원하지 않는 version 이거나 형식이 맞지 않는 경우
+     */
+    public static void decode(byte[] bytes, BiConsumer<String, String> consumer) {
+        if (bytes.length == 0 || bytes[0] != VERSION) {
+            throw new IllegalArgumentException("unsupported " + SCOPE_CONTEXT + " version : "
+                    + (bytes.length == 0 ? "empty" : bytes[0]));
+        }
+        Reader reader = new Reader(bytes);
+        while (reader.hasRemaining()) {
+            int key = reader.readVarint();
+            String name;
+            if (key == 0) {
+                name = reader.readString();
+            } else if (key <= DICTIONARY.length) {
+                name = DICTIONARY[key - 1];
+            } else {
+                throw new IllegalArgumentException("unknown " + SCOPE_CONTEXT + " dictionary key : " + key);
+            }
+            consumer.accept(name, reader.readString());
+        }
+    }
+
+    /**
+     * base64 로 전달된 compact header 를 풀어 전달한다.
+     *
+     * @throws IllegalArgumentException base64 가 아니거나, 지원하지 않는 version 이거나 형식이 맞지 않는 경우
+     */
+    public static void decode(String value, BiConsumer<String, String> consumer) {
+        decode(Base64.getDecoder().decode(value), consumer);
+    }
+
+    private static final class Writer implements BiConsumer<String, String> {
+
+        private byte[] buffer = new byte[256];
+        private int position;
+
+        Writer() {
+            buffer[position++] = VERSION;
+        }
+
+        @Override
+        public void accept(String name, String value) {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            Integer key = DICTIONARY_KEYS.get(name);
+            if (key != null) {
+                writeVarint(key);
+            } else {
+                writeVarint(0);
+                writeString(name);
+            }
+            writeString(value);
+        }
+
+        private void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void writeVarint(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void ensureCapacity(int length) {
+            if (position + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position = 1;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        boolean hasRemaining() {
+            return position < bytes.length;
+        }
+
+        int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                if (position >= bytes.length) {
+                    throw new IllegalArgumentException("truncated " + SCOPE_CONTEXT);
+                }
+                byte b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("malformed varint in " + SCOPE_CONTEXT);
+        }
+
+        String readString() {
+            int length = readVarint();
+            if (length < 0 || length > bytes.length - position) {
+                throw new IllegalArgumentException("truncated " + SCOPE_CONTEXT);
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.springboot.craftkit.framework.scope;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * ScopeAttribute 를 직렬화(json, url encoding)한 header 목록. 변경 불가
+ * <pre>
+ * ScopeAttribute 에 version(stamp) 과 함께 보관하며, 같은 요청의 이후 호출은 다시 직렬화하지 않고 재사용한다.
+ * ScopeAttribute 의 setter 로 변경하면 무효화 되며, map 에 담긴 값 객체를 직접 변경한 경우는 감지하지 못한다.
+ * </pre>
+ */
+final class EncodedScopeHeaders {
+
+    private final long stamp;
+    private final String[] names;
+    private final String[] values;
+
+    /** kafka compact header (base64), 최초 사용시 생성 */
+    private volatile String compact;
+
+    private EncodedScopeHeaders(long stamp, List<String> names, List<String> values) {
+        this.stamp = stamp;
+        this.names = names.toArray(new String[0]);
+        this.values = values.toArray(new String[0]);
+    }
+
+    long getStamp() {
+        return stamp;
+    }
+
+    void forEach(BiConsumer<String, String> consumer) {
+        for (int i = 0; i < names.length; i++) {
+            consumer.accept(names[i], values[i]);
+        }
+    }
+
+    /**
+     * {@link CompactScopeHeaderCodec} 로 묶은 단일 header 값
+     */
+    String compact() {
+        String value = compact;
+        if (value == null) {
+            value = CompactScopeHeaderCodec.encodeToString(this);
+            compact = value;
+        }
+        return value;
+    }
+
+    static Builder builder(long stamp) {
+        return new Builder(stamp);
+    }
+
+    static final class Builder implements BiConsumer<String, String> {
+        private final long stamp;
+        private final List<String> names = new ArrayList<>(12);
+        private final List<String> values = new ArrayList<>(12);
+
+        private Builder(long stamp) {
+            this.stamp = stamp;
+        }
+
+        @Override
+        public void accept(String name, String value) {
+            names.add(name);
+            values.add(value);
+        }
+
+        EncodedScopeHeaders build() {
+            return new EncodedScopeHeaders(stamp, names, values);
+        }
+    }
+}
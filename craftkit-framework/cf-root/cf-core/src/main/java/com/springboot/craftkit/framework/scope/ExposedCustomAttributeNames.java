@@ -1,14 +1,26 @@
 package com.springboot.craftkit.framework.scope;
 
-import org.apache.commons.collections.SetUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.properties.bind.Bindable;
 import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.core.env.ConfigurableEnvironment;
 
 import java.util.*;
 
+/**
+ * X-Custom-Attributes 에 넣지 않고 header 로 직접 전달하는 custom attribute 이름
+ *
+ * <pre>
+ *  - 설정은 불변 snapshot 으로 만들어 volatile 참조로 교체한다. 조회는 lock 없이 snapshot 하나만 읽는다.
+ *  - 이름은 대소문자 구분 없는 folded hash 로 조회하며 문자열을 생성하지 않는다. (CaseInsensitiveAttributeMap)
+ *  - getAttributes() 는 snapshot 의 읽기 전용 Set 을 반환한다. (호출마다 생성하지 않음)
+ *  - 설정 변경(EnvironmentChangeEvent)시 Environment 에서 다시 구성한다. ({@link #refreshListener})
+ *  - 변경할 때마다 generation 이 증가한다. (직렬화된 scope header cache 의 무효화에 사용)
+ * </pre>
+ */
 public class ExposedCustomAttributeNames {
 
     private static final Logger log = LoggerFactory.getLogger(ExposedCustomAttributeNames.class);
@@ -17,12 +29,34 @@ public class ExposedCustomAttributeNames {
     private static final String PROPERTY_PREFIX = "sf.custom-attributes";
     private static final String PROPERTY_NAME = PROPERTY_PREFIX + ".exposed-headers";
 
-    private static Set<String> attributes = SetUtils.synchronizedSet(new TreeSet<>(String.CASE_INSENSITIVE_ORDER));
-    static {
-        attributes.addAll(List.of());
+    /**
+     * 불변 설정. attributes(set) 와 additionalAttributes(add) 는 재구성용으로 보관한다.
+     */
+    private static final class Snapshot {
+
+        private final List<String> attributes;
+        private final List<String> additionalAttributes;
+        private final CaseInsensitiveAttributeMap<Boolean> names;
+        private final Set<String> view;
+        private final int generation;
+
+        private Snapshot(List<String> attributes, List<String> additionalAttributes, int generation) {
+            this.attributes = List.copyOf(attributes);
+            this.additionalAttributes = List.copyOf(additionalAttributes);
+            CaseInsensitiveAttributeMap<Boolean> map = new CaseInsensitiveAttributeMap<>(attributes.size() + additionalAttributes.size());
+            for (String name : this.attributes) {
+                map.putIfAbsent(name, Boolean.TRUE);
+            }
+            for (String name : this.additionalAttributes) {
+                map.putIfAbsent(name, Boolean.TRUE);
+            }
+            this.names = map;
+            this.view = Collections.unmodifiableSet(map.keySet());
+            this.generation = generation;
+        }
     }
 
-    private static final Set<String> additionalAttributes = SetUtils.synchronizedSet(new TreeSet<>(String.CASE_INSENSITIVE_ORDER));
+    private static volatile Snapshot snapshot = new Snapshot(List.of(), List.of(), 0);
 
     /**
      * Initialize exposed custom attributes from the current Environment using Spring's Binder.
@@ -31,7 +65,20 @@ public class ExposedCustomAttributeNames {
     public static void initializeFromEnvironment(ConfigurableEnvironment environment) {
         Binder binder = Binder.get(environment);
         setAttributeByEnv(binder);
-        log.debug("ExposedCustomAttributeNames initialized: size={} (+{})", attributes.size(), additionalAttributes.size());
+        Snapshot current = snapshot;
+        log.debug("ExposedCustomAttributeNames initialized: size={} (+{})", current.attributes.size(), current.additionalAttributes.size());
+    }
+
+    /**
+     * sf.custom-attributes.* 가 변경되면 Environment 에서 다시 구성하는 listener
+     */
+    public static ApplicationListener<EnvironmentChangeEvent> refreshListener(ConfigurableEnvironment environment) {
+        return event -> {
+            if (event.getKeys().stream().anyMatch(key -> key.startsWith(PROPERTY_PREFIX))) {
+                initializeFromEnvironment(environment);
+                log.info("ExposedCustomAttributeNames refreshed: {}", getAttributes());
+            }
+        };
     }
 
     private static void setAttributeByEnv(Binder binder) {
@@ -45,39 +92,44 @@ public class ExposedCustomAttributeNames {
         }
         adds.addAll(adds1);
 
-        if (!sets.isEmpty()) {
-            setAttributes(sets);
-        }
-        if (!adds.isEmpty()) {
-            setAdditionalAttributes(adds);
-        }
+        // 설정 전체로 다시 구성한다 (refresh 시 제거된 이름이 남지 않도록)
+        publish(sets, adds);
     }
 
-    protected static void setAttributes(List<String> newAttributes) {
-        if (newAttributes == null) {
-            newAttributes = new ArrayList<>();
-        }
-        Set<String> newSets = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
-        newSets.addAll(newAttributes);
-        attributes = SetUtils.synchronizedSet(newSets);
+    protected static synchronized void setAttributes(List<String> newAttributes) {
+        publish(newAttributes == null ? List.of() : newAttributes, snapshot.additionalAttributes);
     }
 
-    protected static void setAdditionalAttributes(List<String> newAdditionalAttributes) {
+    protected static synchronized void setAdditionalAttributes(List<String> newAdditionalAttributes) {
         if (newAdditionalAttributes == null) {
             return;
         }
-        additionalAttributes.addAll(newAdditionalAttributes);
+        List<String> additional = new ArrayList<>(snapshot.additionalAttributes);
+        additional.addAll(newAdditionalAttributes);
+        publish(snapshot.attributes, additional);
+    }
+
+    private static synchronized void publish(List<String> attributes, List<String> additionalAttributes) {
+        snapshot = new Snapshot(withoutNull(attributes), withoutNull(additionalAttributes), snapshot.generation + 1);
+    }
+
+    private static List<String> withoutNull(List<String> names) {
+        return names.stream().filter(Objects::nonNull).toList();
     }
 
+    static int generation() {
+        return snapshot.generation;
+    }
+
+    /**
+     * @return 읽기 전용 Set (대소문자가 다른 같은 이름은 처음 설정한 이름 하나)
+     */
     public static Set<String> getAttributes() {
-        Set<String> allAttributes = new HashSet<>();
-        allAttributes.addAll(attributes);
-        allAttributes.addAll(additionalAttributes);
-        return allAttributes;
+        return snapshot.view;
     }
 
     public static boolean isContains(String name) {
-        return attributes.contains(name) || additionalAttributes.contains(name);
+        return snapshot.names.containsKey(name);
     }
 
     public static boolean isNotContains(String name) {
@@ -0,0 +1,287 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Forwarded-Service 의 서비스 경로 (크기 제한)
+ *
+ * <pre>
+ *  - 처음 head 개와 마지막 tail 개만 보관하고, 그 사이에 생략된 개수를 "~N" 으로 표시한다. (예: gw,bff,~7,order,pay)
+ *    다음 hop 에서 "~N" 을 읽으면 생략 개수를 이어서 더한다.
+ *  - 바로 앞과 같은 서비스는 다시 추가하지 않는다.
+ *  - compact-ids 가 설정되면 header 에는 서비스 이름 대신 짧은 id 를 쓰고, 읽을 때 이름으로 되돌린다.
+ *  - header 값은 한번 만든 후 추가시 뒤에 이어 붙인다. (생략이 발생한 경우만 다시 만든다)
+ *  - header 는 정규식 / Splitter 없이 index 로 분리한다.
+ *
+ *  sf.scope.forwarded-service.head        : 앞에서 보관하는 개수 (기본 4)
+ *  sf.scope.forwarded-service.tail        : 뒤에서 보관하는 개수 (기본 12)
+ *  sf.scope.forwarded-service.compact-ids : 서비스 이름 -> id (예: order-service: os)
+ *
+ *  thread-safe 하지 않다. (ScopeAttribute 의 copy-on-write 로 공유)
+ * </pre>
+ */
+public final class ForwardedServiceChain {
+
+    private static final Logger log = LoggerFactory.getLogger(ForwardedServiceChain.class);
+
+    private static final String PROPERTY_PREFIX = "sf.scope.forwarded-service";
+
+    static final int DEFAULT_HEAD = 4;
+    static final int DEFAULT_TAIL = 12;
+
+    static final char SKIPPED_MARKER = '~';
+
+    private static final class Settings {
+        private final int head;
+        private final int tail;
+        private final Map<String, String> toId;
+        private final Map<String, String> toName;
+
+        private Settings(int head, int tail, Map<String, String> compactIds) {
+            this.head = head;
+            this.tail = tail;
+            this.toId = Map.copyOf(compactIds);
+            Map<String, String> reverse = new HashMap<>();
+            compactIds.forEach((name, id) -> reverse.put(id, name));
+            this.toName = Map.copyOf(reverse);
+        }
+    }
+
+    private static volatile Settings settings = new Settings(DEFAULT_HEAD, DEFAULT_TAIL, Map.of());
+
+    private final Settings config;
+
+    // 보관 중인 서비스 (size <= head + tail)
+    private String[] entries;
+    private int size;
+
+    // 생략된 개수와 표시 위치 (생략이 없으면 -1)
+    private int skipped;
+    private int markerIndex = -1;
+
+    // header 값 cache (null : 다시 만들어야 함)
+    private String encoded;
+
+    private final List<String> view = new View();
+
+    ForwardedServiceChain() {
+        this.config = settings;
+        this.entries = new String[Math.min(8, config.head + config.tail)];
+    }
+
+    ForwardedServiceChain(ForwardedServiceChain source) {
+        this.config = source.config;
+        this.entries = source.entries.clone();
+        this.size = source.size;
+        this.skipped = source.skipped;
+        this.markerIndex = source.markerIndex;
+        this.encoded = source.encoded;
+    }
+
+    public static void initializeFromEnvironment(ConfigurableEnvironment environment) {
+        Binder binder = Binder.get(environment);
+        int head = binder.bind(PROPERTY_PREFIX + ".head", Integer.class).orElse(DEFAULT_HEAD);
+        int tail = binder.bind(PROPERTY_PREFIX + ".tail", Integer.class).orElse(DEFAULT_TAIL);
+        Map<String, String> compactIds = binder.bind(PROPERTY_PREFIX + ".compact-ids",
+                Bindable.mapOf(String.class, String.class)).orElse(Map.of());
+        configure(head, tail, compactIds);
+        log.debug("ForwardedServiceChain initialized: head={}, tail={}, compact-ids={}", head, tail, compactIds.size());
+    }
+
+    static void configure(int head, int tail, Map<String, String> compactIds) {
+        if (head < 1 || tail < 1) {
+            throw new IllegalStateException(PROPERTY_PREFIX + " 설정 오류 : head=" + head + ", tail=" + tail);
+        }
+        settings = new Settings(head, tail, compactIds);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int skipped() {
+        return skipped;
+    }
+
+    void clear() {
+        Arrays.fill(entries, 0, size, null);
+        size = 0;
+        skipped = 0;
+        markerIndex = -1;
+        encoded = null;
+    }
+
+    /**
+     * 서비스 1개를 추가한다. (null, 공백, 바로 앞과 같은 서비스는 무시)
+     */
+    void append(String service) {
+        if (service == null || service.isBlank()) {
+            return;
+        }
+        if (size > 0 && entries[size - 1].equals(service) && !(skipped > 0 && markerIndex == size)) {
+            return;
+        }
+        if (size == config.head + config.tail) {
+            evict();
+        } else if (size == entries.length) {
+            entries = Arrays.copyOf(entries, Math.min(entries.length << 1, config.head + config.tail));
+        }
+        entries[size++] = service;
+        if (encoded != null) {
+            encoded = size == 1 ? toId(service) : encoded + ',' + toId(service);
+        }
+    }
+
+    /**
+     * header 값(콤마 구분, "~N" 포함)을 이어서 추가한다.
+     */
+    void appendEncoded(String header) {
+        if (header == null) {
+            return;
+        }
+        int length = header.length();
+        int start = 0;
+        while (start <= length) {
+            int comma = header.indexOf(',', start);
+            int end = comma < 0 ? length : comma;
+            int from = start;
+            int to = end;
+            while (from < to && header.charAt(from) <= ' ') {
+                from++;
+            }
+            while (to > from && header.charAt(to - 1) <= ' ') {
+                to--;
+            }
+            if (from < to) {
+                int count = skippedCount(header, from, to);
+                if (count > 0) {
+                    skip(count);
+                } else {
+                    append(toName(header.substring(from, to)));
+                }
+            }
+            if (comma < 0) {
+                break;
+            }
+            start = comma + 1;
+        }
+    }
+
+    // "~N" 이면 N, 아니면 0
+    private static int skippedCount(String value, int from, int to) {
+        if (value.charAt(from) != SKIPPED_MARKER || to - from < 2 || to - from > 10) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = from + 1; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            count = count * 10 + (c - '0');
+        }
+        return count;
+    }
+
+    private void skip(int count) {
+        if (markerIndex < 0) {
+            markerIndex = size;
+        }
+        skipped = (int) Math.min((long) skipped + count, Integer.MAX_VALUE);
+        encoded = null;
+    }
+
+    // 생략 표시 위치의 항목(생략 구간 다음의 가장 오래된 항목)을 제거한다
+    private void evict() {
+        if (markerIndex < 0) {
+            markerIndex = config.head;
+        }
+        // 앞 hop 의 head 가 더 커서 표시가 끝에 있으면 표시 바로 앞의 항목을 생략한다
+        markerIndex = Math.min(markerIndex, size - 1);
+        System.arraycopy(entries, markerIndex + 1, entries, markerIndex, size - markerIndex - 1);
+        entries[--size] = null;
+        skipped = skipped == Integer.MAX_VALUE ? skipped : skipped + 1;
+        encoded = null;
+    }
+
+    private String toId(String service) {
+        return config.toId.isEmpty() ? service : config.toId.getOrDefault(service, service);
+    }
+
+    private String toName(String id) {
+        return config.toName.isEmpty() ? id : config.toName.getOrDefault(id, id);
+    }
+
+    /**
+     * header 값. 변경이 없으면 이전 값을 그대로 반환한다.
+     */
+    String encode() {
+        String value = encoded;
+        if (value != null) {
+            return value;
+        }
+        StringBuilder builder = new StringBuilder(size * 12 + 8);
+        for (int i = 0; i < size; i++) {
+            if (i == markerIndex && skipped > 0) {
+                builder.append(SKIPPED_MARKER).append(skipped).append(',');
+            }
+            builder.append(toId(entries[i])).append(',');
+        }
+        if (markerIndex == size && skipped > 0) {
+            builder.append(SKIPPED_MARKER).append(skipped).append(',');
+        }
+        if (builder.length() > 0) {
+            builder.setLength(builder.length() - 1);
+        }
+        value = builder.toString();
+        encoded = value;
+        return value;
+    }
+
+    /**
+     * 읽기 전용 목록 (생략 표시 "~N" 포함, 복사하지 않음)
+     */
+    List<String> view() {
+        return view;
+    }
+
+    @Override
+    public String toString() {
+        return isEmpty() ? "[]" : "[" + encode() + "]";
+    }
+
+    private final class View extends AbstractList<String> implements RandomAccess {
+
+        @Override
+        public String get(int index) {
+            int marker = skipped > 0 ? markerIndex : -1;
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            if (marker < 0 || index < marker) {
+                return entries[index];
+            }
+            return index == marker ? SKIPPED_MARKER + String.valueOf(skipped) : entries[index - 1];
+        }
+
+        @Override
+        public int size() {
+            return skipped > 0 ? size + 1 : size;
+        }
+    }
+}
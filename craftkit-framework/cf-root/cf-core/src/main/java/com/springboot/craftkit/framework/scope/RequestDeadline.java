@@ -0,0 +1,88 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.time.Duration;
+
+/**
+ * 요청 처리 deadline(절대시각, epoch millis) 계산 및 조회.
+ * <pre>
+ * 1. inbound 헤더(Remaining-Time-Ms)로 전달된 남은 시간
+ * 2. 서버 설정 budget (sf.deadline.server-budget)
+ * 둘 다 있으면 더 짧은 쪽을 사용하고, 둘 다 없으면 deadline 을 설정하지 않는다.
+ * </pre>
+ */
+public class RequestDeadline {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestDeadline.class);
+
+    private static final String PROPERTY_PREFIX = "sf.deadline";
+
+    /**
+     * deadline 이 없는 경우의 남은 시간
+     */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private static volatile long serverBudgetMillis = 0L;
+
+    private RequestDeadline() {
+        super();
+    }
+
+    public static void initializeFromEnvironment(ConfigurableEnvironment environment) {
+        Binder binder = Binder.get(environment);
+        Duration budget = binder.bind(PROPERTY_PREFIX + ".server-budget", Duration.class).orElse(null);
+        setServerBudget(budget);
+        log.debug("RequestDeadline initialized: serverBudget={}ms", serverBudgetMillis);
+    }
+
+    protected static void setServerBudget(Duration budget) {
+        serverBudgetMillis = (budget == null || budget.isNegative()) ? 0L : budget.toMillis();
+    }
+
+    public static long getServerBudgetMillis() {
+        return serverBudgetMillis;
+    }
+
+    /**
+     * inbound 남은 시간 헤더값과 서버 budget 으로 deadline 을 계산한다.
+     *
+     * @param remainingTime 남은 시간(ms) 헤더값, 없거나 형식이 맞지 않으면 무시한다.
+     * @param now           기준 시각(epoch millis)
+     * @return deadline(epoch millis), 설정할 deadline 이 없으면 0
+     */
+    public static long resolve(String remainingTime, long now) {
+
+        long remaining = NO_DEADLINE;
+
+        if (StringUtils.isNotBlank(remainingTime)) {
+            try {
+                remaining = Math.max(0L, Long.parseLong(remainingTime.trim()));
+            } catch (NumberFormatException e) {
+                log.debug("invalid {} header ignored : {}", RequestScopeAttribute.REMAINING_TIME, remainingTime);
+            }
+        }
+
+        if (serverBudgetMillis > 0) {
+            remaining = Math.min(remaining, serverBudgetMillis);
+        }
+
+        if (remaining == NO_DEADLINE) {
+            return 0L;
+        }
+        // 매우 큰 헤더값은 overflow 하지 않도록 최대 시각으로 제한한다
+        return remaining > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + remaining;
+    }
+
+    /**
+     * 현재 요청 scope 의 남은 시간(ms). scope 나 deadline 이 없으면 {@link #NO_DEADLINE} (scope 를 생성하지 않음)
+     */
+    public static long remainingMillis() {
+        ScopeAttribute attribute = RequestScopeUtil.peekAttribute();
+        return attribute == null ? NO_DEADLINE : attribute.getRemainingMillis();
+    }
+}
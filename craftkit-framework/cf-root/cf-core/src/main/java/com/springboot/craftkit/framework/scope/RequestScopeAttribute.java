@@ -17,12 +17,16 @@ public interface RequestScopeAttribute {
     String PROGRAM_ID = HeaderConstant.HEADER_PROGRAM_ID;
     String FORWARDED_SERVICE = HeaderConstant.HEADER_FORWARDED_SERVICE;
     String LOG_LEVEL = "logLevel";
+    String REMAINING_TIME = HeaderConstant.HEADER_REMAINING_TIME;
 
     // 인증인가서버에서 발행한 Access token의 사용자 정의 클레임
     String PRIVATE_CLAIMS = "Private-Claims";
 
     String CUSTOM_ATTRIBUTES = "Custom-Attributes";
 
+    // kafka compact scope header (CompactScopeHeaderCodec)
+    String SCOPE_CONTEXT = "Scope-Context";
+
     String KEY = "RequestScopeStore.key";
 
     String getUserId();
@@ -43,6 +47,9 @@ public interface RequestScopeAttribute {
 
     Object getPrivateClaim(String key);
 
+    /**
+     * 읽기 전용 view. 변경하면 {@link UnsupportedOperationException}, 변경은 {@link #setLocalAttribute} 로 한다.
+     */
     Map<String, Object> getLocalAttributes();
 
     void setLocalAttribute(String key, Object value);
@@ -1,6 +1,54 @@
 package com.springboot.craftkit.framework.scope;
 
+import java.util.concurrent.Callable;
+
+/**
+ * 요청 scope attribute 저장소 SPI. sf.scope.store 로 구현을 선택한다 ({@link RequestScopeUtil})
+ * <pre>
+ * thread-local : {@link ScopeStore} (기본), http 요청은 request attribute, 그 외는 static ThreadLocal
+ * structured   : {@link StructuredScopeStore}, {@link #callWith} 실행 동안만 binding 하고 종료시 원복 (thread 에 남지 않음)
+ * 그 외        : RequestScopeStore 구현 class 이름 (기본 생성자 필요)
+ * </pre>
+ */
 public interface RequestScopeStore {
 
     RequestScopeAttribute getAttribute();
+
+    /**
+     * attribute 를 현재 thread 의 scope 로 설정한 상태로 task 를 실행하고, 종료시 이전 상태로 되돌린다.
+     * <pre>
+     * async 실행(executor, hystrix, fan-out 등)에서 사용하며, 다른 thread 로 전달할 때는 {@link ScopeAttribute#snapshot()} 을 넘긴다.
+     * </pre>
+     */
+    <V> V callWith(ScopeAttribute attribute, Callable<V> task) throws Exception;
+
+    /**
+     * 현재 thread 에 설정된 attribute. 없으면 생성하지 않고 null (context propagation 의 capture 용)
+     */
+    ScopeAttribute peekAttribute();
+
+    /**
+     * attribute 를 복제 없이 현재 thread 에 설정하고 이전 값을 반환한다. {@link #restore} 로 되돌린다.
+     * (reactor 등 실행 단위를 저장소가 제어하지 않는 context propagation 용)
+     */
+    ScopeAttribute bind(ScopeAttribute attribute);
+
+    /**
+     * {@link #bind} 이전 상태로 되돌린다. previous 가 null 이면 binding 을 제거한다.
+     */
+    void restore(ScopeAttribute previous);
+
+    default void runWith(ScopeAttribute attribute, Runnable task) {
+        try {
+            callWith(attribute, () -> {
+                task.run();
+                return null;
+            });
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            // Runnable 은 checked exception 을 던지지 않는다
+            throw new IllegalStateException(e);
+        }
+    }
 }
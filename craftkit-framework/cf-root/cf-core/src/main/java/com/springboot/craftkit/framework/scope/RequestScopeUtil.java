@@ -1,12 +1,29 @@
 package com.springboot.craftkit.framework.scope;
 
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
 public class RequestScopeUtil {
 
+    private static final Logger log = LoggerFactory.getLogger(RequestScopeUtil.class);
+
+    private static final String PROPERTY_NAME = "sf.scope.store";
+
+    public static final String THREAD_LOCAL_STORE = "thread-local";
+    public static final String STRUCTURED_STORE = "structured";
+
     private RequestScopeUtil() {
         super();
     }
 
-    private static RequestScopeStore scopeStore = null;
+    private static volatile RequestScopeStore scopeStore = null;
 
     private static synchronized void defineScope() {
         if (scopeStore != null) {
@@ -15,6 +32,34 @@ public class RequestScopeUtil {
         scopeStore = new ScopeStore();
     }
 
+    /**
+     * sf.scope.store 설정으로 저장소를 선택한다. (thread-local(기본), structured, 또는 RequestScopeStore 구현 class 이름)
+     */
+    public static void initializeFromEnvironment(ConfigurableEnvironment environment) {
+        String type = Binder.get(environment).bind(PROPERTY_NAME, String.class).orElse(THREAD_LOCAL_STORE);
+        setScopeStore(createStore(type, ClassUtils.getDefaultClassLoader()));
+        log.debug("RequestScopeUtil initialized: store={}", scopeStore.getClass().getName());
+    }
+
+    private static RequestScopeStore createStore(String type, ClassLoader classLoader) {
+        if (StringUtils.isBlank(type) || THREAD_LOCAL_STORE.equalsIgnoreCase(type)) {
+            return new ScopeStore();
+        }
+        if (STRUCTURED_STORE.equalsIgnoreCase(type)) {
+            return new StructuredScopeStore();
+        }
+        try {
+            Class<?> storeClass = ClassUtils.forName(type.trim(), classLoader);
+            return (RequestScopeStore) BeanUtils.instantiateClass(storeClass);
+        } catch (ClassNotFoundException | LinkageError | RuntimeException e) {
+            throw new IllegalStateException(PROPERTY_NAME + " 설정 오류 : " + type, e);
+        }
+    }
+
+    public static synchronized void setScopeStore(RequestScopeStore store) {
+        scopeStore = store;
+    }
+
     public static RequestScopeAttribute getAttribute() {
         if (scopeStore == null) {
             defineScope();
@@ -22,13 +67,48 @@ public class RequestScopeUtil {
         return scopeStore.getAttribute();
     }
 
-    public static ScopeStore getScopeStore() {
+    /**
+     * 현재 thread 의 scope. 없으면 생성하지 않고 null (logging 등 조회만 하는 용도)
+     * <pre>
+     * 저장소에 설정된 attribute 를 먼저 사용하고, 없으면 http 요청의 attribute 를 사용한다.
+     * </pre>
+     */
+    public static ScopeAttribute peekAttribute() {
+        ScopeAttribute attribute = getStore().peekAttribute();
+        if (attribute != null) {
+            return attribute;
+        }
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(ScopeAttribute.KEY, RequestAttributes.SCOPE_REQUEST) instanceof ScopeAttribute scope) {
+            return scope;
+        }
+        return null;
+    }
+
+    /**
+     * 설정된 저장소 (SPI)
+     */
+    public static RequestScopeStore getStore() {
         if (scopeStore == null) {
             defineScope();
         }
+        return scopeStore;
+    }
 
-        if (scopeStore instanceof ScopeStore) {
-            return (ScopeStore) scopeStore;
+    /**
+     * thread local 저장소. structured 저장소는 binding 이 없을 때 사용하는 저장소를 반환한다.
+     * @deprecated async 실행은 {@link #getStore()} 의 {@link RequestScopeStore#callWith} 를 사용한다.
+     */
+    @Deprecated
+    public static ScopeStore getScopeStore() {
+        RequestScopeStore store = getStore();
+
+        if (store instanceof ScopeStore scope) {
+            return scope;
+        }
+        if (store instanceof StructuredScopeStore structured) {
+            return structured.getUnboundStore();
         }
         return null;
     }
@@ -5,11 +5,11 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.base.Splitter;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.springboot.craftkit.framework.jfr.ScopeSnapshotEvent;
 import com.springboot.craftkit.framework.util.PropertyUtil;
-import lombok.Getter;
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.ArrayUtils;
@@ -17,8 +17,6 @@ import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.event.Level;
-import org.springframework.util.CollectionUtils;
-import org.springframework.util.LinkedCaseInsensitiveMap;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -46,39 +44,104 @@ public class ScopeAttribute implements RequestScopeAttribute {
     /**
      * 개인정보 로깅용 클라이언트 IP
      */
-    @Setter
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
     private String clientIp = UNDEFINED_IP;
 
     @JsonProperty
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
-    private Map<String, Object> privateClaims = new LinkedCaseInsensitiveMap<>();
+    private Map<String, Object> privateClaims;
 
-    @Getter
     @JsonProperty
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
-    private Map<String, Object> customAttributes = new LinkedCaseInsensitiveMap<>();
+    private Map<String, Object> customAttributes;
 
     @JsonIgnore
-    private Map<String, Object> localAttributes = new LinkedCaseInsensitiveMap<>();
+    private Map<String, Object> localAttributes;
+
+    /**
+     * inbound header 로 전달된 json 원문. 대부분의 요청은 읽지 않으므로 최초 접근시 decode 한다(lazy deserialization).
+     * <pre>
+     * null 이 아니면 privateClaims / customAttributes map 은 아직 decode 전(빈 map)이다.
+     * snapshot 은 여러 thread 가 읽으므로 volatile 이며, decode 는 synchronized 로 한 번만 수행한다.
+     * </pre>
+     */
+    @JsonIgnore
+    private volatile String privateClaimsJson;
+
+    @JsonIgnore
+    private volatile String customAttributesJson;
 
-    @Setter
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
     private String gtid = "";
 
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
     private Level logLevel;
 
-    @JsonInclude(JsonInclude.Include.NON_EMPTY)
-    private List<String> forwardedService = new ArrayList<>();
+    private ForwardedServiceChain forwardedService;
+
+    /**
+     * 요청 처리 deadline (epoch millis), 0 이면 deadline 없음
+     * <pre>
+     * inbound 의 Remaining-Time-Ms 헤더 또는 서버 budget 으로 설정되며, outbound 호출시 남은 시간으로 전달 된다.
+     * </pre>
+     */
+    @JsonIgnore
+    private long deadline = 0L;
+
+    /*
+     * copy-on-write : snapshot 과 공유 중인 컬렉션은 직접 변경하지 않고 최초 변경시 복사한다.
+     */
+    private static final int PRIVATE_CLAIMS_BIT = 1;
+    private static final int CUSTOM_ATTRIBUTES_BIT = 1 << 1;
+    private static final int LOCAL_ATTRIBUTES_BIT = 1 << 2;
+    private static final int FORWARDED_SERVICE_BIT = 1 << 3;
+    private static final int ALL_BITS = PRIVATE_CLAIMS_BIT | CUSTOM_ATTRIBUTES_BIT | LOCAL_ATTRIBUTES_BIT | FORWARDED_SERVICE_BIT;
+    /** header 로 전달하지 않는 값의 변경 (직렬화 cache 유지) */
+    private static final int HEADER_NEUTRAL = 1 << 4;
+
+    /** 공유 reader (ObjectMapper 생성 및 deserializer 탐색 비용 제거) */
+    private static final ObjectReader MAP_READER = new ObjectMapper().readerFor(new TypeReference<Map<String, Object>>() {});
+
+    /** 다른 attribute 와 공유 중인 컬렉션 bit */
+    @JsonIgnore
+    private int sharedMask;
+
+    /** 변경 불가 snapshot 여부 */
+    @JsonIgnore
+    private boolean frozen;
+
+    /** 마지막 snapshot, 변경이 없으면 재사용 한다 */
+    @JsonIgnore
+    private ScopeAttribute lastSnapshot;
 
+    /** header 로 전달되는 값이 변경될 때마다 증가 */
+    @JsonIgnore
+    private int headerVersion;
+
+    /** 직렬화된 http / kafka header cache (snapshot 은 여러 thread 가 공유하므로 volatile) */
+    @JsonIgnore
+    private volatile EncodedScopeHeaders encodedHttpHeaders;
+
+    @JsonIgnore
+    private volatile EncodedScopeHeaders encodedKafkaHeaders;
+
+    // 컬렉션은 생성자에서 초기화한다 (snapshot, fork 는 공유하므로 생성하지 않음)
     public ScopeAttribute() {
+        this.privateClaims = new CaseInsensitiveAttributeMap<>();
+        this.customAttributes = new CaseInsensitiveAttributeMap<>();
+        this.localAttributes = new CaseInsensitiveAttributeMap<>();
+        this.forwardedService = new ForwardedServiceChain();
     }
 
     // 복사 생성자 (기존 clone() 동작 이전)
     public ScopeAttribute(ScopeAttribute source) {
-        // read only
+        // decode 전 json 은 그대로 넘긴다 (json 을 먼저 읽어야 decode 중인 source 와 경합하지 않는다)
+        this.privateClaimsJson = source.privateClaimsJson;
+        this.customAttributesJson = source.customAttributesJson;
+
+        // read only, 변경시 복사
         this.privateClaims = source.privateClaims;
+        this.sharedMask = PRIVATE_CLAIMS_BIT;
 
         try {
             this.customAttributes = cloneMap(source.customAttributes, "customAttributes");
@@ -100,13 +163,7 @@ public class ScopeAttribute implements RequestScopeAttribute {
         } catch (Exception e) {
             log.warn("ScopeAttribute LogLevel 복제 오류 무시");
         }
-        try {
-            this.forwardedService = new ArrayList<>();
-            source.forwardedService.forEach(this::addForwardedService);
-        } catch (Exception e) {
-            log.warn("ScopeAttribute forwardedService 복제 오류 무시");
-            this.forwardedService = source.forwardedService;
-        }
+        this.forwardedService = new ForwardedServiceChain(source.forwardedService);
 
         // 나머지 단순 필드 복사
         this.userId = source.userId;
@@ -114,13 +171,135 @@ public class ScopeAttribute implements RequestScopeAttribute {
         this.programId = source.programId;
         this.clientIp = source.clientIp;
         this.gtid = source.gtid;
+        this.deadline = source.deadline;
+    }
+
+    // 컬렉션을 복사하지 않고 공유하는 생성자 (snapshot, fork)
+    private ScopeAttribute(ScopeAttribute source, boolean frozen) {
+        this.privateClaimsJson = source.privateClaimsJson;
+        this.customAttributesJson = source.customAttributesJson;
+        this.privateClaims = source.privateClaims;
+        this.customAttributes = source.customAttributes;
+        this.localAttributes = source.localAttributes;
+        this.forwardedService = source.forwardedService;
+        this.sharedMask = ALL_BITS;
+        this.frozen = frozen;
+
+        this.userId = source.userId;
+        this.applicationName = source.applicationName;
+        this.programId = source.programId;
+        this.clientIp = source.clientIp;
+        this.gtid = source.gtid;
+        this.logLevel = source.logLevel;
+        this.deadline = source.deadline;
+
+        // 같은 값이므로 직렬화 cache 도 공유한다
+        this.headerVersion = source.headerVersion;
+        this.encodedHttpHeaders = source.encodedHttpHeaders;
+        this.encodedKafkaHeaders = source.encodedKafkaHeaders;
     }
 
-    // 정적 팩토리
+    // 정적 팩토리 (값 객체까지 복제)
     public static ScopeAttribute of(ScopeAttribute source) {
         return new ScopeAttribute(source);
     }
 
+    /**
+     * 다른 thread 로 전달할 변경 불가 snapshot 을 반환한다.
+     * <pre>
+     * 1. 컬렉션과 값 객체는 복제하지 않고 참조로 공유하며, 이후 이 attribute 가 변경될 때 해당 컬렉션만 복사한다(copy-on-write).
+     * 2. 직전 snapshot 이후 변경이 없으면 같은 snapshot 을 재사용하므로 반복 전달시 할당이 없다.
+     * 3. attribute 를 사용하는 thread(요청 thread)에서 호출해야 한다.
+     * </pre>
+     */
+    public ScopeAttribute snapshot() {
+        if (frozen) {
+            return this;
+        }
+        ScopeAttribute snapshot = lastSnapshot;
+        boolean reused = snapshot != null;
+        if (!reused) {
+            snapshot = new ScopeAttribute(this, true);
+            this.sharedMask = ALL_BITS;
+            this.lastSnapshot = snapshot;
+        }
+        ScopeSnapshotEvent.emit(getGtid(), reused);
+        return snapshot;
+    }
+
+    @JsonIgnore
+    public boolean isSnapshot() {
+        return frozen;
+    }
+
+    /**
+     * snapshot 을 전달받은 thread 전용 attribute. 컬렉션은 최초 변경시 복사한다.
+     */
+    ScopeAttribute fork() {
+        return new ScopeAttribute(this, false);
+    }
+
+    /**
+     * 변경 전 호출 : snapshot 은 변경할 수 없고, 공유 중인 컬렉션은 복사 후 변경한다.
+     */
+    private void beforeWrite(int bits) {
+        if (frozen) {
+            throw new UnsupportedOperationException("ScopeAttribute snapshot 은 변경할 수 없습니다.");
+        }
+        lastSnapshot = null;
+        if ((bits & (LOCAL_ATTRIBUTES_BIT | HEADER_NEUTRAL)) == 0) {
+            headerVersion++;
+        }
+
+        int shared = sharedMask & bits;
+        if (shared == 0) {
+            return;
+        }
+        if ((shared & PRIVATE_CLAIMS_BIT) != 0) {
+            privateClaims = copyOf(privateClaims);
+        }
+        if ((shared & CUSTOM_ATTRIBUTES_BIT) != 0) {
+            customAttributes = copyOf(customAttributes);
+        }
+        if ((shared & LOCAL_ATTRIBUTES_BIT) != 0) {
+            localAttributes = copyOf(localAttributes);
+        }
+        if ((shared & FORWARDED_SERVICE_BIT) != 0) {
+            forwardedService = new ForwardedServiceChain(forwardedService);
+        }
+        sharedMask &= ~shared;
+    }
+
+    /**
+     * 직렬화 cache 의 유효성 stamp : attribute 의 header 관련 변경 version 과 노출 custom attribute 설정 generation
+     */
+    long headerStamp() {
+        return ((long) headerVersion << 32) | (ExposedCustomAttributeNames.generation() & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return stamp 가 일치하는 직렬화 cache, 없으면 null
+     */
+    EncodedScopeHeaders getEncodedHeaders(boolean http, long stamp) {
+        EncodedScopeHeaders headers = http ? encodedHttpHeaders : encodedKafkaHeaders;
+        return headers != null && headers.getStamp() == stamp ? headers : null;
+    }
+
+    /**
+     * snapshot 에도 설정 가능하다 (값의 변경이 아님)
+     */
+    void setEncodedHeaders(boolean http, EncodedScopeHeaders headers) {
+        if (http) {
+            encodedHttpHeaders = headers;
+        } else {
+            encodedKafkaHeaders = headers;
+        }
+    }
+
+    private static Map<String, Object> copyOf(Map<String, Object> source) {
+        return new CaseInsensitiveAttributeMap<>(source);
+    }
+
     @Override
     public String getUserId() {
         return userId;
@@ -128,6 +307,7 @@ public class ScopeAttribute implements RequestScopeAttribute {
 
     @Override
     public void setUserId(String userId) {
+        beforeWrite(0);
         this.userId = userId;
     }
 
@@ -138,6 +318,7 @@ public class ScopeAttribute implements RequestScopeAttribute {
 
     @Override
     public void setApplicationName(String applicationName) {
+        beforeWrite(0);
         this.applicationName = applicationName;
     }
 
@@ -148,6 +329,7 @@ public class ScopeAttribute implements RequestScopeAttribute {
 
     @Override
     public void setProgramId(String programId) {
+        beforeWrite(0);
         this.programId = programId;
     }
 
@@ -156,84 +338,198 @@ public class ScopeAttribute implements RequestScopeAttribute {
         return clientIp;
     }
 
+    public void setClientIp(String clientIp) {
+        beforeWrite(HEADER_NEUTRAL);
+        this.clientIp = clientIp;
+    }
+
     @Override
     public Map<String, Object> getPrivateClaims() {
-        return Collections.unmodifiableMap(privateClaims);
+        return Collections.unmodifiableMap(privateClaims());
     }
 
     @Override
     @JsonIgnore
     public Object getPrivateClaim(String key) {
-        return privateClaims.get(key);
+        return privateClaims().get(key);
     }
 
     public void setPrivateClaims(Map<String, Object> privateClaims) {
         if (MapUtils.isNotEmpty(privateClaims)) {
+            beforeWrite(PRIVATE_CLAIMS_BIT);
+            this.privateClaimsJson = null;
             this.privateClaims.clear();
             this.privateClaims.putAll(privateClaims);
         }
     }
 
+    /**
+     * json 은 최초 접근시 decode 한다. 이미 값이 있으면 기존 동작대로 즉시 병합한다.
+     */
     @JsonIgnore
     public void setPrivateClaims(String privateClaimsString) {
 
         if (StringUtils.isBlank(privateClaimsString))
             return;
 
+        beforeWrite(PRIVATE_CLAIMS_BIT);
+        if (privateClaimsJson == null && privateClaims.isEmpty()) {
+            privateClaimsJson = privateClaimsString;
+            return;
+        }
         try {
-            new ObjectMapper().readerForUpdating(privateClaims).readValue(privateClaimsString);
+            MAP_READER.withValueToUpdate(privateClaims()).readValue(privateClaimsString);
         } catch (JsonProcessingException e) {
             log.error("ScopeAttribute setPrivatClaims(String) descrialize error {}", privateClaimsString, e);
         }
     }
 
+    /** decode 하지 않은 값 (pending json 또는 map), 값 유무 확인용 */
+    Object rawPrivateClaims() {
+        String json = privateClaimsJson;
+        return json != null ? json : privateClaims;
+    }
+
+    private Map<String, Object> privateClaims() {
+        if (privateClaimsJson != null) {
+            decodePrivateClaims();
+        }
+        return privateClaims;
+    }
+
+    private synchronized void decodePrivateClaims() {
+        String json = privateClaimsJson;
+        if (json != null) {
+            privateClaims = decode(json, "privateClaims");
+            if (!frozen) {
+                sharedMask &= ~PRIVATE_CLAIMS_BIT;
+            }
+            privateClaimsJson = null;
+        }
+    }
+
+    /**
+     * 새 map 으로 decode 한다 (snapshot 과 공유 중인 map 은 변경하지 않음). 오류시 빈 map
+     */
+    private static Map<String, Object> decode(String json, String propertyName) {
+        Map<String, Object> decoded = new CaseInsensitiveAttributeMap<>();
+        try {
+            MAP_READER.withValueToUpdate(decoded).readValue(json);
+        } catch (JsonProcessingException e) {
+            log.error("ScopeAttribute {} deserialize error {}", propertyName, json, e);
+            decoded.clear();
+        }
+        return decoded;
+    }
+
     @Override
     public Object getCustomAttribute(String key) {
-        return customAttributes.get(key);
+        return customAttributes().get(key);
     }
 
     @Override
     public String[] getCustomAttributeKeys() {
-        return customAttributes.keySet().toArray(new String[0]);
+        return customAttributes().keySet().toArray(new String[0]);
+    }
+
+    /**
+     * 읽기 전용 customAttributes. 변경은 {@link #setCustomAttribute} / {@link #removeCustomAttribute} 로 한다. (header cache version 갱신)
+     */
+    public Map<String, Object> getCustomAttributes() {
+        return Collections.unmodifiableMap(customAttributes());
+    }
+
+    /** 읽기 전용 접근(serializer 등), 공유 중이어도 복사하지 않는다 */
+    Map<String, Object> customAttributesForRead() {
+        return customAttributes();
+    }
+
+    /** decode 하지 않은 값 (pending json 또는 map), 값 유무 확인용 */
+    Object rawCustomAttributes() {
+        String json = customAttributesJson;
+        return json != null ? json : customAttributes;
     }
 
     public void setCustomAttribute(String key, Object value) {
+        customAttributes();
+        beforeWrite(CUSTOM_ATTRIBUTES_BIT);
         customAttributes.put(key, value);
     }
 
+    public void removeCustomAttribute(String key) {
+        if (!customAttributes().containsKey(key)) {
+            return;
+        }
+        beforeWrite(CUSTOM_ATTRIBUTES_BIT);
+        customAttributes.remove(key);
+    }
+
     public final void setCustomAttributes(Map<String, Object> customAttributes) {
         if (MapUtils.isNotEmpty(customAttributes)) {
+            beforeWrite(CUSTOM_ATTRIBUTES_BIT);
+            this.customAttributesJson = null;
             this.customAttributes.clear();
             this.customAttributes.putAll(customAttributes);
         }
     }
 
+    /**
+     * 기존 값을 대체하며, json 은 최초 접근시 decode 한다.
+     */
     @JsonIgnore
     public void setCustomAttributes(String customAttributesJson) {
 
         if (StringUtils.isBlank(customAttributesJson))
             return;
 
-        try {
-            customAttributes.clear();
-            new ObjectMapper().readerForUpdating(customAttributes).readValue(customAttributesJson);
-        } catch (JsonProcessingException e) {
-            log.error("ScopeAttribute setCustomAttributes(String) deserialize error {}", customAttributesJson, e);
+        beforeWrite(CUSTOM_ATTRIBUTES_BIT);
+        this.customAttributes.clear();
+        this.customAttributesJson = customAttributesJson;
+    }
+
+    private Map<String, Object> customAttributes() {
+        if (customAttributesJson != null) {
+            decodeCustomAttributes();
         }
+        return customAttributes;
     }
 
+    private synchronized void decodeCustomAttributes() {
+        String json = customAttributesJson;
+        if (json != null) {
+            customAttributes = decode(json, "customAttributes");
+            if (!frozen) {
+                sharedMask &= ~CUSTOM_ATTRIBUTES_BIT;
+            }
+            customAttributesJson = null;
+        }
+    }
+
+    /**
+     * 읽기 전용 localAttributes. snapshot 과 공유 중일 수 있으므로 변경은 {@link #setLocalAttribute} / {@link #removeLocalAttribute} 로 한다.
+     */
     @Override
     @JsonIgnore
     public Map<String, Object> getLocalAttributes() {
-        return localAttributes;
+        return Collections.unmodifiableMap(localAttributes);
     }
 
     @Override
     @JsonIgnore
     public void setLocalAttribute(String key, Object value) {
+        beforeWrite(LOCAL_ATTRIBUTES_BIT);
         localAttributes.put(key, value);
     }
 
+    @JsonIgnore
+    public void removeLocalAttribute(String key) {
+        if (!localAttributes.containsKey(key)) {
+            return;
+        }
+        beforeWrite(LOCAL_ATTRIBUTES_BIT);
+        localAttributes.remove(key);
+    }
+
     @Override
     @JsonIgnore
     public Object getLocalAttribute(String key) {
@@ -245,74 +541,86 @@ public class ScopeAttribute implements RequestScopeAttribute {
         return gtid;
     }
 
+    public void setGtid(String gtid) {
+        beforeWrite(0);
+        this.gtid = gtid;
+    }
+
+    /**
+     * @return 읽기 전용 서비스 경로 (생략 표시 "~N" 포함), 없으면 application name
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
     public List<String> getForwardedService() {
-        if (CollectionUtils.isEmpty(forwardedService)) {
-            ArrayList<String> list = new ArrayList<>();
-            list.add(PropertyUtil.getApplicationName());
-            return list;
+        return forwardedServiceForRead();
+    }
+
+    /** 읽기 전용 접근(serializer 등), 공유 중이어도 복사하지 않는다 */
+    List<String> forwardedServiceForRead() {
+        if (forwardedService.isEmpty()) {
+            return Collections.singletonList(PropertyUtil.getApplicationName());
         }
+        return forwardedService.view();
+    }
 
-        return forwardedService;
+    /**
+     * @return Forwarded-Service header 값 (변경이 없으면 이전에 만든 값을 재사용)
+     */
+    @JsonIgnore
+    public String getForwardedServiceHeader() {
+        if (forwardedService.isEmpty()) {
+            return PropertyUtil.getApplicationName();
+        }
+        return forwardedService.encode();
     }
 
     public void setForwardedService(List<String> xForwardedService) {
-        this.forwardedService.clear();
-        try {
-            this.forwardedService.addAll(xForwardedService);
-            this.forwardedService.add(PropertyUtil.getApplicationName());
-        } catch (Exception e) {
-            log.error("ScopeAttribute.setForwardedUrl(List<String> forwardedUrl) error : {}", e.getMessage());
+        beforeWrite(FORWARDED_SERVICE_BIT);
+        forwardedService.clear();
+        if (xForwardedService != null) {
+            xForwardedService.forEach(forwardedService::appendEncoded);
         }
+        forwardedService.append(PropertyUtil.getApplicationName());
     }
 
     public void setForwardedService(List<String> xForwardedService, String... services) {
-        this.forwardedService.clear();
-        try {
-            this.forwardedService.addAll(xForwardedService);
-            if (ArrayUtils.isNotEmpty(services)) {
-                this.forwardedService.addAll(Arrays.asList(services));
-            }
-        } catch (Exception e) {
-            log.error("ScopeAttribute.setForwardedUrl(List<String> forwardedUrl) error : {}", e.getMessage());
+        beforeWrite(FORWARDED_SERVICE_BIT);
+        forwardedService.clear();
+        if (xForwardedService != null) {
+            xForwardedService.forEach(forwardedService::appendEncoded);
         }
+        appendServices(services);
     }
 
     @JsonIgnore
     public void setForwardedService(Enumeration<String> serviceEnumeration, String... services) {
-        this.forwardedService.clear();
-        try {
-            while (serviceEnumeration.hasMoreElements()) {
-                this.forwardedService.add(serviceEnumeration.nextElement());
-            }
-            if (ArrayUtils.isNotEmpty(services)) {
-                this.forwardedService.addAll(Arrays.asList(services));
-            }
-        } catch (Exception e) {
-            log.error("ScopeAttribute.setForwardedUrl(Enumeration<String> serviceEnumeration) error : {}",
-                    e.getMessage());
+        beforeWrite(FORWARDED_SERVICE_BIT);
+        forwardedService.clear();
+        while (serviceEnumeration != null && serviceEnumeration.hasMoreElements()) {
+            forwardedService.appendEncoded(serviceEnumeration.nextElement());
         }
+        appendServices(services);
     }
 
     @JsonIgnore
     public void setForwardedService(String servicesListString, String... services) {
-        this.forwardedService.clear();
-        try {
+        beforeWrite(FORWARDED_SERVICE_BIT);
+        forwardedService.clear();
+        forwardedService.appendEncoded(servicesListString);
+        appendServices(services);
+    }
 
-            if (StringUtils.isNotBlank(servicesListString)) {
-                List<String> in = Splitter.on(",").trimResults().splitToList(servicesListString);
-                this.forwardedService.addAll(in);
-            }
-            if (ArrayUtils.isNotEmpty(services)) {
-                this.forwardedService.addAll(Arrays.asList(services));
+    private void appendServices(String... services) {
+        if (ArrayUtils.isNotEmpty(services)) {
+            for (String service : services) {
+                forwardedService.append(service);
             }
-        } catch (Exception e) {
-            log.error("setForwardedUrl(String servicesListString) error : {}", e.getMessage());
         }
     }
 
     @JsonIgnore
     public void addForwardedService(String service) {
-        this.forwardedService.add(service);
+        beforeWrite(FORWARDED_SERVICE_BIT);
+        forwardedService.append(service);
     }
 
     public final Level getLogLevel() {
@@ -323,6 +631,7 @@ public class ScopeAttribute implements RequestScopeAttribute {
         if (StringUtils.isBlank(logLevel)) {
             return;
         }
+        beforeWrite(0);
         Level level = null;
         char value = logLevel.charAt(0);
         switch (value) {
@@ -346,6 +655,30 @@ public class ScopeAttribute implements RequestScopeAttribute {
         this.logLevel = level;
     }
 
+    @JsonIgnore
+    public long getDeadline() {
+        return deadline;
+    }
+
+    @JsonIgnore
+    public void setDeadline(long deadline) {
+        beforeWrite(HEADER_NEUTRAL);
+        this.deadline = Math.max(0L, deadline);
+    }
+
+    @JsonIgnore
+    public boolean hasDeadline() {
+        return deadline > 0L;
+    }
+
+    /**
+     * deadline 까지 남은 시간(ms), 초과시 0 이하. deadline 이 없으면 {@link RequestDeadline#NO_DEADLINE}
+     */
+    @JsonIgnore
+    public long getRemainingMillis() {
+        return hasDeadline() ? deadline - System.currentTimeMillis() : RequestDeadline.NO_DEADLINE;
+    }
+
     public String toConnectedDetailString() {
         return String.format("{\"Application\":\"%s\", \"userId\":\"%s\", \"Time\":\"%s\"}",
                 PropertyUtil.getApplicationName(),
@@ -356,7 +689,7 @@ public class ScopeAttribute implements RequestScopeAttribute {
     // 기존 clone() 제거 (S2975 준수)
 
     private Map<String, Object> cloneMap(Map<String, Object> source, String propertyName) {
-        Map<String, Object> cloned = new LinkedCaseInsensitiveMap<>();
+        Map<String, Object> cloned = new CaseInsensitiveAttributeMap<>(Math.max(source.size(), 1));
         source.forEach((k, v) -> {
             try {
                 cloned.put(k, nvl(ObjectUtils.clone(v), v, propertyName, k));
@@ -386,7 +719,7 @@ public class ScopeAttribute implements RequestScopeAttribute {
         builder.append("ScopeAttribute [userId=").append(userId)
                 .append(", forwardedService=").append(forwardedService)
                 .append(", gtid=").append(gtid)
-                .append(", customAttributes=").append(customAttributes)
+                .append(", customAttributes=").append(customAttributes())
                 .append(", localAttributes=").append(localAttributes)
                 .append(", logLevel=").append(logLevel)
                 .append("]");
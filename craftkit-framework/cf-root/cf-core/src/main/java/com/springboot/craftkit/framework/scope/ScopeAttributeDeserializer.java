@@ -1,8 +1,10 @@
 package com.springboot.craftkit.framework.scope;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.craftkit.framework.jfr.KafkaHeaderInspectionEvent;
 import com.springboot.craftkit.framework.jwt.Claims;
 import com.springboot.craftkit.framework.jwt.JwtType;
+import com.springboot.craftkit.framework.logging.RequestLogLevel;
 import com.springboot.craftkit.framework.util.HttpUtil;
 import com.springboot.craftkit.framework.util.PropertyUtil;
 import com.springboot.craftkit.framework.util.StringUtil;
@@ -11,10 +13,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.util.LinkedCaseInsensitiveMap;
 
 import java.util.Arrays;
-import java.util.Enumeration;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -30,36 +31,100 @@ public class ScopeAttributeDeserializer {
     public ScopeAttribute scopeAttribute;
     protected static final ObjectMapper objectMapper = new ObjectMapper();
 
+    // thread 의 scope 를 설정하는지 여부 (요청 log level 적용 대상)
+    private final boolean threadScope;
+
     public ScopeAttributeDeserializer() {
         this.scopeAttribute = (ScopeAttribute) RequestScopeUtil.getAttribute();
+        this.threadScope = true;
+    }
+
+    /**
+     * thread 의 scope 가 아닌 attribute 에 설정한다 (webflux 등)
+     */
+    public ScopeAttributeDeserializer(ScopeAttribute scopeAttribute) {
+        this.scopeAttribute = scopeAttribute;
+        this.threadScope = false;
     }
 
 
     public void setScopeAttributeByHttpHeader(HttpServletRequest request) {
 
-        // 헤더 유무와 헤더 값유무를 체크하기 위해 map 으로 추출한다.
-        Map<String, String> headers = new LinkedCaseInsensitiveMap<>();
-        Enumeration<String> enumeration = request.getHeaderNames();
-        while (enumeration.hasMoreElements()) {
-            String name = enumeration.nextElement();
-            headers.put(name, request.getHeader(name));
+        // 헤더를 map 으로 복사하지 않고 request 에서 직접 조회한다. (getHeader 는 대소문자 구분 없음)
+        // http header 값은 송신측에서 encodeURIComponent 하므로 decode 한다.
+        setHeaderByHttpAndKafka(name -> request.getHeader(name) != null,
+                name -> StringUtil.decodeURIComponent(request.getHeader(name)));
+        scopeAttribute.setForwardedService(request.getHeaders(FORWARDED_SERVICE), PropertyUtil.getApplicationName());
+        setDeadlineByHttpHeader(request.getHeader(REMAINING_TIME));
+        applyLogLevel();
+    }
+
+    private void applyLogLevel() {
+        if (threadScope) {
+            RequestLogLevel.apply(scopeAttribute);
         }
+    }
 
-        setHeaderByHttpAndKafka(headers::containsKey, headers::get);
-        scopeAttribute.setForwardedService(request.getHeaders(FORWARDED_SERVICE), PropertyUtil.getApplicationName());
+    /**
+     * servlet 이 아닌 http 요청(webflux 등)의 header 로 설정한다.
+     *
+     * @param headerGetter      header 조회 (대소문자 구분 없음)
+     * @param forwardedServices Forwarded-Service header 값 목록
+     */
+    public void setScopeAttributeByHttpHeader(UnaryOperator<String> headerGetter, List<String> forwardedServices) {
+
+        setHeaderByHttpAndKafka(name -> headerGetter.apply(name) != null,
+                name -> StringUtil.decodeURIComponent(headerGetter.apply(name)));
+        scopeAttribute.setForwardedService(forwardedServices == null ? List.of() : forwardedServices,
+                PropertyUtil.getApplicationName());
+        setDeadlineByHttpHeader(headerGetter.apply(REMAINING_TIME));
+    }
+
+    /**
+     * inbound 남은 시간 헤더 또는 서버 budget 으로 deadline 을 설정한다. 이미 설정되어 있으면 skip
+     */
+    private void setDeadlineByHttpHeader(String remainingTime) {
+
+        if (scopeAttribute.hasDeadline())
+            return;
+
+        long deadline = RequestDeadline.resolve(remainingTime, System.currentTimeMillis());
+        if (deadline > 0L) {
+            scopeAttribute.setDeadline(deadline);
+            log.trace("RequestScopeAttribute deadline updated : {}", deadline);
+        }
     }
 
 
     public void setScopeAttributeByKafkaHeader(Map<String, String> maps) {
 
+        // JFR event 가 활성화된 경우에만 기록한다
+        KafkaHeaderInspectionEvent event = new KafkaHeaderInspectionEvent();
+        boolean recording = event.isEnabled();
+        if (recording) {
+            event.begin();
+        }
+
         // case insensitive
-        Map<String, String> headers = new LinkedCaseInsensitiveMap<>();
-        headers.putAll(maps);
+        Map<String, String> headers = new CaseInsensitiveAttributeMap<>(maps);
+        int headerCount = headers.size();
+
+        // compact header 는 개별 header 로 풀어서 처리한다. 개별 header 가 함께 있으면 개별 header 를 우선한다.
+        String scopeContext = headers.remove(SCOPE_CONTEXT);
+        boolean compactRejected = false;
+        if (StringUtils.isNotBlank(scopeContext)) {
+            try {
+                CompactScopeHeaderCodec.decode(scopeContext, headers::putIfAbsent);
+            } catch (IllegalArgumentException e) {
+                compactRejected = true;
+                log.warn("{} header ignored : {}", SCOPE_CONTEXT, e.getMessage());
+            }
+        }
 
         setHeaderByHttpAndKafka(headers::containsKey, headers::get);
 
         // gtid 보정
-        generateGtidIfNull(headers);
+        boolean gtidGenerated = generateGtidIfNull(headers);
 
         // program_id 보정
         setScopeAttribute(scopeAttribute::setProgramId, scopeAttribute::getProgramId, "DESTINATION", headers::get);
@@ -70,23 +135,41 @@ public class ScopeAttributeDeserializer {
                 StringUtils.defaultString(headers.get(APPLICATION_NAME)));
 
         scopeAttribute.setForwardedService(forwardedService, "message", PropertyUtil.getApplicationName());
+        applyLogLevel();
 
         log.debug("RequestScopeAttribute deserialized by message {}", scopeAttribute);
+
+        if (recording) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.destination = headers.get("DESTINATION");
+                event.gtid = scopeAttribute.getGtid();
+                event.headerCount = headerCount;
+                event.compact = scopeContext != null;
+                event.compactRejected = compactRejected;
+                event.gtidGenerated = gtidGenerated;
+                event.commit();
+            }
+        }
     }
 
-    private void generateGtidIfNull(Map<String, String> headers) {
+    /**
+     * @return gtid 를 새로 생성한 경우 true
+     */
+    private boolean generateGtidIfNull(Map<String, String> headers) {
         String gtid = scopeAttribute.getGtid();
         if (StringUtils.isNotBlank(gtid))
-            return;
+            return false;
 
         gtid = headers.get("ID");
         if (StringUtils.isNotBlank(gtid)) {
             scopeAttribute.setGtid(gtid);
-            return;
+            return false;
         }
 
         // MessageAttributeUTIL 에도 있음.
         scopeAttribute.setGtid(HttpUtil.generateNewGtid());
+        return true;
     }
 
     private void checkPgmIdLength() {
@@ -158,8 +241,9 @@ public class ScopeAttributeDeserializer {
         setScopeAttribute(scopeAttribute::setUserId, scopeAttribute::getUserId, USER_ID, headerGetter);
         setScopeAttribute(scopeAttribute::setApplicationName, scopeAttribute::getApplicationName, APPLICATION_NAME, headerGetter);
         setScopeAttribute(scopeAttribute::setProgramId, scopeAttribute::getProgramId, PROGRAM_ID, headerGetter);
-        setScopeAttribute(scopeAttribute::setPrivateClaims, scopeAttribute::getPrivateClaims, PRIVATE_CLAIMS, headerGetter);
-        setScopeAttribute(scopeAttribute::setCustomAttributes, scopeAttribute::getCustomAttributes, CUSTOM_ATTRIBUTES, headerGetter);
+        // json 은 decode 하지 않고 원문을 보관한다 (최초 접근시 decode)
+        setScopeAttribute(scopeAttribute::setPrivateClaims, scopeAttribute::rawPrivateClaims, PRIVATE_CLAIMS, headerGetter);
+        setScopeAttribute(scopeAttribute::setCustomAttributes, scopeAttribute::rawCustomAttributes, CUSTOM_ATTRIBUTES, headerGetter);
         setScopeAttribute(scopeAttribute::setLogLevel, scopeAttribute::getLogLevel, LOG_LEVEL, headerGetter);
 
         /*
@@ -195,8 +279,8 @@ public class ScopeAttributeDeserializer {
             return false;
         }
 
-        // 설정할 값이 없으면 skip
-        String value = StringUtil.encodeURIComponent(headerGetter.apply(headerName));
+        // 설정할 값이 없으면 skip (kafka header 는 encode 하지 않으므로 받은 값 그대로 사용한다)
+        String value = headerGetter.apply(headerName);
         if (StringUtils.isBlank(value))
             return false;
 
@@ -6,7 +6,6 @@ import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.ser.FilterProvider;
 import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
-import com.google.common.base.Joiner;
 import com.springboot.craftkit.framework.util.HttpUtil;
 import com.springboot.craftkit.framework.util.PropertyUtil;
 import com.springboot.craftkit.framework.util.StringUtil;
@@ -15,7 +14,6 @@ import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpHeaders;
-import org.springframework.util.LinkedCaseInsensitiveMap;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -36,6 +34,13 @@ public class ScopeAttributeSerializer {
         this.scopeAttribute = (ScopeAttribute) RequestScopeUtil.getAttribute();
     }
 
+    /**
+     * thread 의 scope 가 아닌 attribute 를 직렬화한다 (webflux 등)
+     */
+    public ScopeAttributeSerializer(ScopeAttribute scopeAttribute) {
+        this.scopeAttribute = scopeAttribute;
+    }
+
     protected static final ObjectMapper objectMapper = new ObjectMapper();
     protected static ObjectWriter httpWriter;
     protected static ObjectWriter kafkaWriter;
@@ -54,8 +59,14 @@ public class ScopeAttributeSerializer {
     public void setKafkaHeader(Map<String, String> maps) {
 
         addHeader(maps::putIfAbsent, null, GLOBAL_TRANSACTION_ID, getGtidForKafka(maps));
-        addHeader(maps::putIfAbsent, null, FORWARDED_SERVICE, Joiner.on(',').join(scopeAttribute.getForwardedService()));
-        setHeadersOfHttpOrKafka(maps::putIfAbsent, null);
+
+        EncodedScopeHeaders headers = encodedHeaders(false);
+        if (CompactScopeHeaderCodec.isEnabled()) {
+            // 하나의 binary header 로 묶어서 전달 (opt-in)
+            maps.putIfAbsent(SCOPE_CONTEXT, headers.compact());
+        } else {
+            headers.forEach(maps::putIfAbsent);
+        }
         log.debug("RequestScopeAttribute is serialized for kafka Request {}", maps);
     }
 
@@ -81,7 +92,34 @@ public class ScopeAttributeSerializer {
     }
 
     public void setHttpHeaders(HttpHeaders httpHeaders) {
-        setHeadersOfHttpOrKafka(httpHeaders::addIfAbsent, StringUtil::encodeURIComponent);
+        encodedHeaders(true).forEach(httpHeaders::addIfAbsent);
+
+        // deadline 은 동기 호출(http)에만 남은 시간으로 전달한다. kafka 는 소비 시점을 알 수 없으므로 전달하지 않는다.
+        if (scopeAttribute.hasDeadline()) {
+            addHeader(httpHeaders::addIfAbsent, null, REMAINING_TIME, String.valueOf(Math.max(0L, scopeAttribute.getRemainingMillis())));
+        }
+    }
+
+    /**
+     * 직렬화된 header 목록. scopeAttribute 가 변경되지 않았으면 이전 결과를 재사용한다.
+     */
+    private EncodedScopeHeaders encodedHeaders(boolean http) {
+        long stamp = scopeAttribute.headerStamp();
+        EncodedScopeHeaders headers = scopeAttribute.getEncodedHeaders(http, stamp);
+        if (headers != null) {
+            return headers;
+        }
+
+        EncodedScopeHeaders.Builder builder = EncodedScopeHeaders.builder(stamp);
+        if (http) {
+            setHeadersOfHttpOrKafka(builder, StringUtil::encodeURIComponent);
+        } else {
+            addHeader(builder, null, FORWARDED_SERVICE, scopeAttribute.getForwardedServiceHeader());
+            setHeadersOfHttpOrKafka(builder, null);
+        }
+        headers = builder.build();
+        scopeAttribute.setEncodedHeaders(http, headers);
+        return headers;
     }
 
     private void setHeadersOfHttpOrKafka(BiConsumer<String, String> consumer, UnaryOperator<String> valueConverter) {
@@ -97,7 +135,7 @@ public class ScopeAttributeSerializer {
          * - X-MRKT-ID, X-REQ-HEADER 포함
          */
         Map<String, Object> newCustomAttribute = new HashMap<>();
-        scopeAttribute.getCustomAttributes().forEach((name, value) -> {
+        scopeAttribute.customAttributesForRead().forEach((name, value) -> {
             if (ExposedCustomAttributeNames.isNotContains(name)) {
                 newCustomAttribute.put(name, value);
             } else {
@@ -135,8 +173,8 @@ public class ScopeAttributeSerializer {
      */
     public String getModifiedCustomAttributeJson(String name, Object value) {
 
-        Map<String, Object> origin = scopeAttribute.getCustomAttributes();
-        Map<String, Object> copy = new LinkedCaseInsensitiveMap<>();
+        Map<String, Object> origin = scopeAttribute.customAttributesForRead();
+        Map<String, Object> copy = new CaseInsensitiveAttributeMap<>();
 
         if (!MapUtils.isEmpty(origin)) {
             for (Map.Entry<String, Object> entry : origin.entrySet()) {
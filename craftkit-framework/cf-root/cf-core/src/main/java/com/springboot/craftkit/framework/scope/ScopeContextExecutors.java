@@ -0,0 +1,182 @@
+package com.springboot.craftkit.framework.scope;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 제출 시점의 요청 context 를 작업 thread 로 전달하는 executor wrapper.
+ * <pre>
+ * CompletableFuture.supplyAsync(supplier, ScopeContextExecutors.wrap(executor)) 와 같이 사용한다.
+ * (executor 를 지정하지 않으면 common pool 에서 실행되어 context 가 전달되지 않는다)
+ * 주기 실행(scheduleAtFixedRate 등)은 등록 시점의 context 로 매번 실행한다.
+ * </pre>
+ *
+ * @see ScopeTaskContext
+ */
+public final class ScopeContextExecutors {
+
+    private ScopeContextExecutors() {
+        super();
+    }
+
+    public static Executor wrap(Executor executor) {
+        if (executor instanceof ExecutorService service) {
+            return wrap(service);
+        }
+        if (executor instanceof ContextExecutor) {
+            return executor;
+        }
+        return new ContextExecutor(executor);
+    }
+
+    public static ExecutorService wrap(ExecutorService executor) {
+        if (executor instanceof ScheduledExecutorService scheduled) {
+            return wrap(scheduled);
+        }
+        if (executor instanceof ContextExecutorService) {
+            return executor;
+        }
+        return new ContextExecutorService(executor);
+    }
+
+    public static ScheduledExecutorService wrap(ScheduledExecutorService executor) {
+        if (executor instanceof ContextScheduledExecutorService) {
+            return executor;
+        }
+        return new ContextScheduledExecutorService(executor);
+    }
+
+    private static <V> List<Callable<V>> wrapAll(Collection<? extends Callable<V>> tasks) {
+        ScopeTaskContext context = ScopeTaskContext.capture();
+        return tasks.stream().map(context::wrap).toList();
+    }
+
+    private static final class ContextExecutor implements Executor {
+
+        private final Executor delegate;
+
+        ContextExecutor(Executor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(ScopeTaskContext.capture().wrap(command));
+        }
+    }
+
+    private static class ContextExecutorService implements ExecutorService {
+
+        private final ExecutorService delegate;
+
+        ContextExecutorService(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(ScopeTaskContext.capture().wrap(command));
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            return delegate.submit(ScopeTaskContext.capture().wrap(task));
+        }
+
+        @Override
+        public <T> Future<T> submit(Runnable task, T result) {
+            return delegate.submit(ScopeTaskContext.capture().wrap(task), result);
+        }
+
+        @Override
+        public Future<?> submit(Runnable task) {
+            return delegate.submit(ScopeTaskContext.capture().wrap(task));
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+            return delegate.invokeAll(wrapAll(tasks));
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+                throws InterruptedException {
+            return delegate.invokeAll(wrapAll(tasks), timeout, unit);
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+            return delegate.invokeAny(wrapAll(tasks));
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return delegate.invokeAny(wrapAll(tasks), timeout, unit);
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+
+    private static final class ContextScheduledExecutorService extends ContextExecutorService implements ScheduledExecutorService {
+
+        private final ScheduledExecutorService delegate;
+
+        ContextScheduledExecutorService(ScheduledExecutorService delegate) {
+            super(delegate);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            return delegate.schedule(ScopeTaskContext.capture().wrap(command), delay, unit);
+        }
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+            return delegate.schedule(ScopeTaskContext.capture().wrap(callable), delay, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+            return delegate.scheduleAtFixedRate(ScopeTaskContext.capture().wrap(command), initialDelay, period, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+            return delegate.scheduleWithFixedDelay(ScopeTaskContext.capture().wrap(command), initialDelay, delay, unit);
+        }
+    }
+}
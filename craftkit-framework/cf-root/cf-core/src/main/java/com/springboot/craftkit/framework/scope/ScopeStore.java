@@ -1,13 +1,20 @@
 package com.springboot.craftkit.framework.scope;
 
+import com.springboot.craftkit.framework.jfr.ScopeRestoreEvent;
+import com.springboot.craftkit.framework.logging.RequestLogLevel;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 
+import java.util.concurrent.Callable;
+
 
 @Slf4j
 public class ScopeStore implements RequestScopeStore {
 
+    // JFR event 의 store 이름
+    static final String STORE_NAME = "thread-local";
+
     private static final ThreadLocal<RequestScopeAttribute> attributeThreadLocal = new ThreadLocal<>();
 
     /*==================================================================================================================
@@ -28,6 +35,12 @@ public class ScopeStore implements RequestScopeStore {
                 attribute = emptyAttribute();
                 return setAndGetThreadLocal((ScopeAttribute) attribute);
             }
+            // 전달받은 snapshot 은 여러 thread 가 공유하므로 최초 조회시 이 thread 전용 attribute 로 전환한다(컬렉션은 복사하지 않음)
+            if (attribute instanceof ScopeAttribute scopeAttribute && scopeAttribute.isSnapshot()) {
+                ScopeAttribute own = scopeAttribute.fork();
+                attributeThreadLocal.set(own);
+                return own;
+            }
             return attribute;
         }
 
@@ -44,6 +57,11 @@ public class ScopeStore implements RequestScopeStore {
         return attribute;
     }
 
+    @Override
+    public ScopeAttribute peekAttribute() {
+        return (ScopeAttribute) attributeThreadLocal.get();
+    }
+
     /*==================================================================================================================
      *
      * async 설정용(asyns task, hystrix, kafka)
@@ -53,15 +71,81 @@ public class ScopeStore implements RequestScopeStore {
         setAndGetThreadLocal(attribute);
     }
 
+    /**
+     * {@link ScopeAttribute#snapshot()} 은 복제 없이 참조만 설정하고(O(1)), 그 외의 attribute 는 기존처럼 복제하여 설정한다.
+     */
     private ScopeAttribute setAndGetThreadLocal(ScopeAttribute attribute) {
+        if (attribute.isSnapshot()) {
+            attributeThreadLocal.set(attribute);
+            RequestLogLevel.apply(attribute);
+            return attribute;
+        }
         // 기존: (ScopeAttribute) attribute.clone();  -> S2975 위반
         ScopeAttribute cloned = ScopeAttribute.of(attribute); // 복사 생성자 기반 복제
         attributeThreadLocal.set(cloned);
+        RequestLogLevel.apply(cloned);
         return cloned;
     }
 
+    /**
+     * thread local 에 설정하고 실행 후 이전 값으로 되돌린다 (호출 thread 에서 바로 실행되는 경우에도 호출자의 scope 를 지우지 않음)
+     */
+    @Override
+    public <V> V callWith(ScopeAttribute attribute, Callable<V> task) throws Exception {
+        RequestScopeAttribute previous = attributeThreadLocal.get();
+        setAndGetThreadLocal(attribute);
+        try {
+            return task.call();
+        } finally {
+            if (previous == null) {
+                attributeThreadLocal.remove();
+            } else {
+                attributeThreadLocal.set(previous);
+            }
+            restoreLogLevel(previous);
+            ScopeRestoreEvent.emit(STORE_NAME, (ScopeAttribute) previous);
+        }
+    }
+
+    @Override
+    public ScopeAttribute bind(ScopeAttribute attribute) {
+        ScopeAttribute previous = (ScopeAttribute) attributeThreadLocal.get();
+        attributeThreadLocal.set(attribute);
+        RequestLogLevel.apply(attribute);
+        return previous;
+    }
+
+    @Override
+    public void restore(ScopeAttribute previous) {
+        if (previous == null) {
+            attributeThreadLocal.remove();
+        } else {
+            attributeThreadLocal.set(previous);
+        }
+        restoreLogLevel(previous);
+        ScopeRestoreEvent.emit(STORE_NAME, previous);
+    }
+
+    /**
+     * 이전 scope 의 log level 로 되돌린다. thread local 이 없으면 http 요청의 scope 를 사용한다.
+     */
+    private static void restoreLogLevel(RequestScopeAttribute previous) {
+        if (!RequestLogLevel.isEnabled()) {
+            return;
+        }
+        RequestScopeAttribute attribute = previous;
+        if (attribute == null) {
+            RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+            if (requestAttributes != null) {
+                attribute = (RequestScopeAttribute) requestAttributes.getAttribute(ScopeAttribute.KEY, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+        RequestLogLevel.apply(attribute instanceof ScopeAttribute scopeAttribute ? scopeAttribute : null);
+    }
+
     public void removeAttributeFromThreadLocal() {
         attributeThreadLocal.remove();
+        restoreLogLevel(null);
     }
 
     private RequestScopeAttribute emptyAttribute() {
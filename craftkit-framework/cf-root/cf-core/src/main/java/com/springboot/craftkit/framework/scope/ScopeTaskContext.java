@@ -0,0 +1,124 @@
+package com.springboot.craftkit.framework.scope;
+
+import com.springboot.craftkit.framework.application.constant.CommonConstant;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * 다른 thread 에서 실행할 작업에 전달하는 요청 context (scope snapshot, MDC, micrometer ContextSnapshot)
+ * <pre>
+ * 1. 작업 제출 시점(요청 thread)에 한 번 capture 한다. scope 는 복제 없이 {@link ScopeAttribute#snapshot()} 으로 전달한다.
+ *    제출 thread 에 scope 가 없으면(scheduler, 기동 중, binding 전의 consumer 등) scope 를 만들지 않고 "scope 없음" 으로 capture 하며,
+ *    작업은 빈 scope 로 실행한다.
+ * 2. 작업 thread 에서는 실행 동안만 설정하고, 종료 후 이전 상태로 되돌린다 (pool thread 에 남지 않으며, 호출 thread 에서
+ *    바로 실행되는 경우(CallerRunsPolicy 등)에도 호출자의 context 를 지우지 않는다).
+ * 3. ContextSnapshotFactory 는 작업마다 생성하지 않고 공유한다.
+ * </pre>
+ */
+public final class ScopeTaskContext {
+
+    private static final ContextSnapshotFactory SNAPSHOT_FACTORY = ContextSnapshotFactory.builder().build();
+
+    // null : 제출 thread 에 scope 없음
+    private final ScopeAttribute attribute;
+    private final Map<String, String> mdc;
+    private final ContextSnapshot contextSnapshot;
+
+    private ScopeTaskContext(ScopeAttribute attribute, Map<String, String> mdc, ContextSnapshot contextSnapshot) {
+        this.attribute = attribute;
+        this.mdc = mdc;
+        this.contextSnapshot = contextSnapshot;
+    }
+
+    /**
+     * 현재 thread 의 요청 context 를 capture 한다. 작업을 제출하는 thread 에서 호출한다.
+     */
+    public static ScopeTaskContext capture() {
+        // getAttribute 는 scope 가 없으면 생성하여 제출 thread 에 남기므로 조회만 한다
+        ScopeAttribute current = RequestScopeUtil.peekAttribute();
+        return new ScopeTaskContext(current == null ? null : current.snapshot(), MDC.getCopyOfContextMap(),
+                SNAPSHOT_FACTORY.captureAll());
+    }
+
+    /**
+     * 공유 ContextSnapshotFactory
+     */
+    public static ContextSnapshotFactory snapshotFactory() {
+        return SNAPSHOT_FACTORY;
+    }
+
+    public <V> V call(Callable<V> task) throws Exception {
+        Map<String, String> previousMdc = applyMdc();
+        try (ContextSnapshot.Scope ignored = contextSnapshot.setThreadLocals()) {
+            return RequestScopeUtil.getStore().callWith(attribute(), task);
+        } finally {
+            restoreMdc(previousMdc);
+        }
+    }
+
+    public void run(Runnable task) {
+        Map<String, String> previousMdc = applyMdc();
+        try (ContextSnapshot.Scope ignored = contextSnapshot.setThreadLocals()) {
+            RequestScopeUtil.getStore().runWith(attribute(), task);
+        } finally {
+            restoreMdc(previousMdc);
+        }
+    }
+
+    /**
+     * scope 가 없었으면 빈 scope 로 실행하여 실행 중 생성된 scope 가 작업 thread 에 남지 않도록 한다
+     */
+    private ScopeAttribute attribute() {
+        return attribute != null ? attribute : new ScopeAttribute();
+    }
+
+    public Runnable wrap(Runnable task) {
+        return () -> run(task);
+    }
+
+    public <V> Callable<V> wrap(Callable<V> task) {
+        return () -> call(task);
+    }
+
+    public <V> Supplier<V> wrap(Supplier<V> task) {
+        return () -> {
+            try {
+                return call(task::get);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                // Supplier 는 checked exception 을 던지지 않는다
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private Map<String, String> applyMdc() {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        if (mdc == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(mdc);
+        }
+        // 로그 추적용 gtid
+        String gtid = attribute == null ? null : attribute.getGtid();
+        if (StringUtils.isNotBlank(gtid)) {
+            MDC.put(CommonConstant.LOG_MDC_GTID, gtid);
+        }
+        return previous;
+    }
+
+    private static void restoreMdc(Map<String, String> previous) {
+        if (previous == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(previous);
+        }
+    }
+}
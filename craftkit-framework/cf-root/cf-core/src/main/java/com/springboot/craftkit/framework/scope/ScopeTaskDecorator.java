@@ -0,0 +1,18 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * 요청 context (scope, MDC, ContextSnapshot) 를 작업 thread 로 전달하는 TaskDecorator.
+ * {@code @Async} 와 ThreadPoolTaskExecutor 에 적용한다. TaskScheduler 에는 자동 적용되지 않으므로
+ * {@link ScopeContextExecutors#wrap} 으로 감싼 ScheduledExecutorService 또는 {@code ScopeTaskContext.capture().wrap(task)} 를 사용한다.
+ *
+ * @see ScopeTaskContext
+ */
+public class ScopeTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return ScopeTaskContext.capture().wrap(runnable);
+    }
+}
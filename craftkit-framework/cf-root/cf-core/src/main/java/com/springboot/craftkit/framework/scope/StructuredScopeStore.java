@@ -0,0 +1,102 @@
+package com.springboot.craftkit.framework.scope;
+
+import com.springboot.craftkit.framework.jfr.ScopeRestoreEvent;
+import com.springboot.craftkit.framework.logging.RequestLogLevel;
+import java.util.concurrent.Callable;
+
+/**
+ * 구조적 binding 저장소 (sf.scope.store=structured). virtual thread 등 수명이 짧은 thread 가 많은 경우에 사용한다.
+ * <pre>
+ * 1. {@link #callWith} 실행 동안만 attribute 를 binding 하고 종료시 이전 binding 으로 되돌린다.
+ *    중첩 실행을 지원하며, 최외곽 실행이 끝나면 thread 에 아무것도 남지 않는다 (ScopedValue.where(..).call(..) 과 같은 모델).
+ * 2. binding 된 snapshot 은 복제하지 않고 참조로 사용하며, 최초 조회시 이 실행 전용 attribute 로 전환한다(컬렉션은 복사하지 않음).
+ * 3. binding 이 없으면 http 요청은 request attribute, 그 외는 {@link ScopeStore} 와 같은 thread local 을 사용한다(기존 호출 호환).
+ *
+ * JDK 17 기반이므로 binding 은 callWith 범위로 관리되는 ThreadLocal 로 구현한다. JDK 21+ 에서는 같은 계약으로
+ * java.lang.ScopedValue 구현으로 교체할 수 있다.
+ * </pre>
+ */
+public class StructuredScopeStore implements RequestScopeStore {
+
+    // JFR event 의 store 이름
+    static final String STORE_NAME = "structured";
+
+    private static final ThreadLocal<ScopeAttribute> binding = new ThreadLocal<>();
+
+    private final ScopeStore unbound;
+
+    public StructuredScopeStore() {
+        this(new ScopeStore());
+    }
+
+    public StructuredScopeStore(ScopeStore unbound) {
+        this.unbound = unbound;
+    }
+
+    @Override
+    public RequestScopeAttribute getAttribute() {
+        ScopeAttribute attribute = binding.get();
+        if (attribute == null) {
+            return unbound.getAttribute();
+        }
+        if (attribute.isSnapshot()) {
+            // binding 은 callWith 종료시 원복되므로 이 실행 전용 attribute 로 교체해도 된다
+            attribute = attribute.fork();
+            binding.set(attribute);
+        }
+        return attribute;
+    }
+
+    @Override
+    public <V> V callWith(ScopeAttribute attribute, Callable<V> task) throws Exception {
+        ScopeAttribute previous = binding.get();
+        ScopeAttribute bound = attribute.isSnapshot() ? attribute : ScopeAttribute.of(attribute);
+        binding.set(bound);
+        RequestLogLevel.apply(bound);
+        try {
+            return task.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    @Override
+    public ScopeAttribute peekAttribute() {
+        return binding.get();
+    }
+
+    @Override
+    public ScopeAttribute bind(ScopeAttribute attribute) {
+        ScopeAttribute previous = binding.get();
+        binding.set(attribute);
+        RequestLogLevel.apply(attribute);
+        return previous;
+    }
+
+    @Override
+    public void restore(ScopeAttribute previous) {
+        if (previous == null) {
+            binding.remove();
+            // binding 이 없으면 thread local scope 의 log level 로 되돌린다
+            RequestLogLevel.apply(unbound.peekAttribute());
+        } else {
+            binding.set(previous);
+            RequestLogLevel.apply(previous);
+        }
+        ScopeRestoreEvent.emit(STORE_NAME, previous);
+    }
+
+    /**
+     * 현재 thread 에 binding 된 실행이 있는지 여부
+     */
+    public static boolean isBound() {
+        return binding.get() != null;
+    }
+
+    /**
+     * binding 이 없고 http 요청도 아닌 경우 사용하는 저장소
+     */
+    public ScopeStore getUnboundStore() {
+        return unbound;
+    }
+}
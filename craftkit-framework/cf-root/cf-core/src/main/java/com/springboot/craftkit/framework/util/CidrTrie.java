@@ -0,0 +1,268 @@
+package com.springboot.craftkit.framework.util;
+
+/**
+ * IPv4 / IPv6 CIDR 집합 (bit 단위 prefix trie)
+ *
+ * <pre>
+ *  - 주소 문자열을 직접 parsing 하여(InetAddress 미사용, DNS 조회 없음) bit 순서대로 trie 를 탐색한다.
+ *  - IPv4-mapped IPv6 주소(::ffff:a.b.c.d)는 IPv4 로 취급한다.
+ *  - 생성 후에는 읽기 전용이므로 thread-safe 하다. (add 는 초기화 시점에만 호출)
+ * </pre>
+ */
+final class CidrTrie {
+
+    private static final class Node {
+        private Node zero;
+        private Node one;
+        private boolean terminal;
+    }
+
+    // contains 에서 재사용하는 IPv6 parsing 결과 (호출마다 배열을 생성하지 않음)
+    private static final ThreadLocal<long[]> IPV6 = ThreadLocal.withInitial(() -> new long[2]);
+
+    private final Node ipv4 = new Node();
+    private final Node ipv6 = new Node();
+    private boolean empty = true;
+
+    /**
+     * CIDR (예: 10.0.0.0/8, 2001:db8::/32) 또는 단일 주소를 추가한다.
+     *
+     * @throws IllegalArgumentException 형식 오류
+     */
+    void add(String cidr) {
+        String value = cidr.trim();
+        int slash = value.indexOf('/');
+        int end = slash < 0 ? value.length() : slash;
+
+        long v4 = parseIpv4(value, 0, end);
+        long[] v6 = new long[2];
+        boolean isV4 = v4 >= 0;
+        if (!isV4 && !parseIpv6(value, 0, end, v6)) {
+            throw new IllegalArgumentException("Invalid CIDR : " + cidr);
+        }
+
+        int maxBits = isV4 ? 32 : 128;
+        int prefix = maxBits;
+        if (slash >= 0) {
+            try {
+                prefix = Integer.parseInt(value.substring(slash + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid CIDR prefix : " + cidr, e);
+            }
+            if (prefix < 0 || prefix > maxBits) {
+                throw new IllegalArgumentException("Invalid CIDR prefix : " + cidr);
+            }
+        }
+
+        Node node = isV4 ? ipv4 : ipv6;
+        for (int bit = 0; bit < prefix; bit++) {
+            boolean one = isV4 ? bitOf(v4, 32, bit) : bitOf(v6, bit);
+            if (one) {
+                node = node.one == null ? (node.one = new Node()) : node.one;
+            } else {
+                node = node.zero == null ? (node.zero = new Node()) : node.zero;
+            }
+        }
+        node.terminal = true;
+        empty = false;
+    }
+
+    boolean isEmpty() {
+        return empty;
+    }
+
+    boolean contains(String address) {
+        return contains(address, 0, address.length());
+    }
+
+    /**
+     * address[start, end) 가 포함되는지 여부. 주소 형식이 아니면 false
+     */
+    boolean contains(String address, int start, int end) {
+        long v4 = parseIpv4(address, start, end);
+        if (v4 >= 0) {
+            return matches(ipv4, v4);
+        }
+        long[] v6 = IPV6.get();
+        if (!parseIpv6(address, start, end, v6)) {
+            return false;
+        }
+        if (v6[0] == 0L && (v6[1] >>> 32) == 0xFFFFL) {
+            return matches(ipv4, v6[1] & 0xFFFFFFFFL);
+        }
+        Node node = ipv6;
+        for (int bit = 0; node != null; bit++) {
+            if (node.terminal) {
+                return true;
+            }
+            if (bit == 128) {
+                return false;
+            }
+            node = bitOf(v6, bit) ? node.one : node.zero;
+        }
+        return false;
+    }
+
+    private static boolean matches(Node root, long v4) {
+        Node node = root;
+        for (int bit = 0; node != null; bit++) {
+            if (node.terminal) {
+                return true;
+            }
+            if (bit == 32) {
+                return false;
+            }
+            node = bitOf(v4, 32, bit) ? node.one : node.zero;
+        }
+        return false;
+    }
+
+    private static boolean bitOf(long value, int width, int bit) {
+        return ((value >>> (width - 1 - bit)) & 1L) != 0L;
+    }
+
+    private static boolean bitOf(long[] v6, int bit) {
+        return bit < 64 ? bitOf(v6[0], 64, bit) : bitOf(v6[1], 64, bit - 64);
+    }
+
+    /**
+     * 10진수 점 표기 IPv4. 형식 오류시 -1
+     */
+    static long parseIpv4(CharSequence s, int start, int end) {
+        long result = 0L;
+        int octets = 0;
+        int i = start;
+        while (i < end) {
+            int value = 0;
+            int digits = 0;
+            while (i < end) {
+                char c = s.charAt(i);
+                if (c == '.') {
+                    break;
+                }
+                if (c < '0' || c > '9' || ++digits > 3) {
+                    return -1L;
+                }
+                value = value * 10 + (c - '0');
+                i++;
+            }
+            if (digits == 0 || value > 255 || ++octets > 4) {
+                return -1L;
+            }
+            result = (result << 8) | value;
+            if (i < end) {
+                // '.'
+                i++;
+                if (i == end) {
+                    return -1L;
+                }
+            }
+        }
+        return octets == 4 ? result : -1L;
+    }
+
+    /**
+     * IPv6 (:: 축약, IPv4 표기 포함, zone id 무시). 결과는 out[0] 상위 64bit, out[1] 하위 64bit (null 이면 형식만 확인)
+     */
+    static boolean parseIpv6(CharSequence s, int start, int end, long[] out) {
+        for (int i = start; i < end; i++) {
+            if (s.charAt(i) == '%') {
+                end = i;
+                break;
+            }
+        }
+        if (end - start < 2) {
+            return false;
+        }
+
+        int count = 0;
+        int compressAt = -1;
+        // :: 앞의 group 은 왼쪽부터 제자리에, 뒤의 group 은 tail 에 오른쪽 정렬로 누적한다
+        long high = 0L;
+        long low = 0L;
+        long tailHigh = 0L;
+        long tailLow = 0L;
+        int i = start;
+        if (s.charAt(i) == ':') {
+            if (s.charAt(i + 1) != ':') {
+                return false;
+            }
+            compressAt = 0;
+            i += 2;
+        }
+
+        while (i < end) {
+            int j = i;
+            int value = 0;
+            while (j < end) {
+                char c = s.charAt(j);
+                if (c == ':' || c == '.') {
+                    break;
+                }
+                int digit = Character.digit(c, 16);
+                if (digit < 0 || j - i >= 4) {
+                    return false;
+                }
+                value = (value << 4) | digit;
+                j++;
+            }
+            long bits;
+            int groups;
+            if (j < end && s.charAt(j) == '.') {
+                // 마지막 32bit 의 IPv4 표기
+                bits = parseIpv4(s, i, end);
+                if (bits < 0 || count > 6) {
+                    return false;
+                }
+                groups = 2;
+            } else {
+                if (j == i || count == 8) {
+                    return false;
+                }
+                bits = value;
+                groups = 1;
+            }
+            if (compressAt < 0) {
+                int shift = (8 - count - groups) * 16;
+                if (shift >= 64) {
+                    high |= bits << (shift - 64);
+                } else {
+                    low |= bits << shift;
+                    if (shift + groups * 16 > 64) {
+                        high |= bits >>> (64 - shift);
+                    }
+                }
+            } else {
+                int width = groups * 16;
+                tailHigh = (tailHigh << width) | (tailLow >>> (64 - width));
+                tailLow = (tailLow << width) | bits;
+            }
+            count += groups;
+            if (groups == 2 || j == end) {
+                break;
+            }
+            // ':'
+            j++;
+            if (j < end && s.charAt(j) == ':') {
+                if (compressAt >= 0) {
+                    return false;
+                }
+                compressAt = count;
+                j++;
+            } else if (j == end) {
+                return false;
+            }
+            i = j;
+        }
+
+        if (compressAt < 0 ? count != 8 : count > 7) {
+            return false;
+        }
+        if (out == null) {
+            return true;
+        }
+        out[0] = high | tailHigh;
+        out[1] = low | tailLow;
+        return true;
+    }
+}
@@ -0,0 +1,294 @@
+package com.springboot.craftkit.framework.util;
+
+import com.springboot.craftkit.framework.application.constant.HttpHeaderConstant;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 요청의 client IP 를 구한다.
+ *
+ * <pre>
+ *  sf.client-ip.trusted-proxies : 신뢰하는 proxy 의 CIDR 목록 (예: 10.0.0.0/8, 2001:db8::/32)
+ *
+ *  1. trusted-proxies 미설정 (기존 동작)
+ *     - Authenticated-IP, Forwarded-For 의 첫번째 값, Proxy-Client-IP, ... 순으로 처음 값이 있는 header, 없으면 remote address
+ *  2. trusted-proxies 설정
+ *     - remote address 가 신뢰하는 proxy 가 아니면 header 를 무시하고 remote address 를 사용한다.
+ *     - Forwarded(RFC 7239) 의 for=, 없으면 X-Forwarded-For, Forwarded-For 의 목록을 오른쪽부터 확인하여
+ *       신뢰하는 proxy 가 아닌 첫 주소를 client 로 사용한다. (client 가 보낸 왼쪽 값은 위조될 수 있음)
+ *     - 주소가 아닌 값(unknown, _hidden 등)을 만나면 그 값을 전달한 proxy 주소를 사용한다.
+ *     - 단일 값 header(Authenticated-IP, Proxy-Client-IP 등)는 사용하지 않는다.
+ *
+ *  header 는 정규식 없이 index 로 탐색하며, 한 줄의 header 는 결과 문자열 외에는 생성하지 않는다.
+ *  (여러 줄의 header 는 ',' 로 합친 문자열을 만든다)
+ * </pre>
+ */
+public final class ClientIpResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientIpResolver.class);
+
+    private static final String PROPERTY_NAME = "sf.client-ip.trusted-proxies";
+
+    public static final String FORWARDED = "Forwarded";
+    public static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    private static final String[] LEGACY_HEADERS = {
+            HttpHeaderConstant.HTTP_HEADER_XFF,
+            HttpHeaderConstant.HTTP_HEADER_FORWARDED_FOR,
+            HttpHeaderConstant.HTTP_HEADER_PROXY_CLIENT_IP,
+            HttpHeaderConstant.HTTP_HEADER_WL_PROXY_CLIENT_IP,
+            HttpHeaderConstant.HTTP_HEADER_HTTP_CLIENT_IP,
+            HttpHeaderConstant.HTTP_HEADER_HTTP_FORWARDED_FOR,
+            // An alternative form of the header (X-ProxyUser-Ip) is used by Google clients talking to Google servers.
+            HttpHeaderConstant.HTTP_HEADER_HTTP_PROXYUSER_IP
+    };
+
+    // 처음 두 header 는 목록 형식이므로 첫번째 값만 사용한다
+    private static final int LEGACY_LIST_HEADERS = 2;
+
+    private static final long NONE = -1L;
+
+    private static volatile CidrTrie trustedProxies = new CidrTrie();
+
+    private ClientIpResolver() {
+        super();
+    }
+
+    public static void initializeFromEnvironment(ConfigurableEnvironment environment) {
+        List<String> cidrs = Binder.get(environment).bind(PROPERTY_NAME, Bindable.listOf(String.class)).orElse(List.of());
+        try {
+            setTrustedProxies(cidrs);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(PROPERTY_NAME + " 설정 오류 : " + cidrs, e);
+        }
+        log.debug("ClientIpResolver initialized: trusted-proxies={}", cidrs);
+    }
+
+    /**
+     * @throws IllegalArgumentException CIDR 형식 오류
+     */
+    public static void setTrustedProxies(Collection<String> cidrs) {
+        CidrTrie trie = new CidrTrie();
+        for (String cidr : cidrs) {
+            if (StringUtils.isNotBlank(cidr)) {
+                trie.add(cidr);
+            }
+        }
+        trustedProxies = trie;
+    }
+
+    public static boolean isTrustedProxy(String address) {
+        return address != null && trustedProxies.contains(address);
+    }
+
+    public static String resolve(HttpServletRequest request) {
+        return resolve(name -> {
+            Enumeration<String> values = request.getHeaders(name);
+            return values == null ? Collections.emptyIterator() : values.asIterator();
+        }, request.getRemoteAddr());
+    }
+
+    /**
+     * @param headerValues  header 이름 -> 값 목록 (여러 줄이면 받은 순서)
+     * @param remoteAddress 직접 연결한 peer 주소
+     */
+    public static String resolve(Function<String, Iterator<String>> headerValues, String remoteAddress) {
+        CidrTrie trusted = trustedProxies;
+        if (trusted.isEmpty()) {
+            return resolveLegacy(headerValues, remoteAddress);
+        }
+        if (remoteAddress == null || !trusted.contains(remoteAddress)) {
+            return remoteAddress;
+        }
+
+        String forwarded = joined(headerValues.apply(FORWARDED));
+        if (forwarded != null) {
+            return walk(trusted, forwarded, true, remoteAddress);
+        }
+        String forwardedFor = joined(headerValues.apply(X_FORWARDED_FOR));
+        if (forwardedFor == null) {
+            forwardedFor = joined(headerValues.apply(HttpHeaderConstant.HTTP_HEADER_FORWARDED_FOR));
+        }
+        return forwardedFor == null ? remoteAddress : walk(trusted, forwardedFor, false, remoteAddress);
+    }
+
+    /**
+     * 목록을 오른쪽부터 확인하여 신뢰하지 않는 첫 주소를 반환한다.
+     */
+    private static String walk(CidrTrie trusted, String chain, boolean rfc7239, String remoteAddress) {
+        // 마지막으로 확인한 신뢰하는 proxy 주소의 범위 (-1 : remote address)
+        int hopFrom = -1;
+        int hopTo = -1;
+        int end = chain.length();
+        while (end > 0) {
+            int start = previousComma(chain, end) + 1;
+            long node = rfc7239 ? forNode(chain, start, end) : trimmed(chain, start, end);
+            long address = node == NONE ? NONE : address(chain, (int) (node >>> 32), (int) node);
+            if (address == NONE) {
+                // unknown, obfuscated 또는 형식 오류 : 이 값을 전달한 proxy 가 확인 가능한 마지막 주소
+                break;
+            }
+            int from = (int) (address >>> 32);
+            int to = (int) address;
+            if (!trusted.contains(chain, from, to)) {
+                return chain.substring(from, to);
+            }
+            hopFrom = from;
+            hopTo = to;
+            end = start - 1;
+        }
+        // 모두 신뢰하는 proxy 이면 가장 왼쪽 주소
+        return hopFrom < 0 ? remoteAddress : chain.substring(hopFrom, hopTo);
+    }
+
+    private static int previousComma(String chain, int end) {
+        boolean quoted = false;
+        for (int i = end - 1; i >= 0; i--) {
+            char c = chain.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * RFC 7239 forwarded-element 에서 for= 값의 범위
+     */
+    private static long forNode(String chain, int start, int end) {
+        int pairStart = start;
+        while (pairStart < end) {
+            int pairEnd = pairStart;
+            boolean quoted = false;
+            while (pairEnd < end) {
+                char c = chain.charAt(pairEnd);
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (c == ';' && !quoted) {
+                    break;
+                }
+                pairEnd++;
+            }
+            long pair = trimmed(chain, pairStart, pairEnd);
+            if (pair != NONE) {
+                int from = (int) (pair >>> 32);
+                int to = (int) pair;
+                if (to - from > 4 && chain.regionMatches(true, from, "for=", 0, 4)) {
+                    return trimmed(chain, from + 4, to);
+                }
+            }
+            pairStart = pairEnd + 1;
+        }
+        return NONE;
+    }
+
+    /**
+     * 따옴표, [ ], port 를 제외한 주소 범위. 주소 형식이 아니면 NONE
+     */
+    private static long address(String chain, int from, int to) {
+        if (to - from >= 2 && chain.charAt(from) == '"' && chain.charAt(to - 1) == '"') {
+            from++;
+            to--;
+        }
+        if (from < to && chain.charAt(from) == '[') {
+            // [IPv6]:port
+            int close = chain.indexOf(']', from);
+            if (close < 0 || close >= to) {
+                return NONE;
+            }
+            from++;
+            to = close;
+        } else {
+            // IPv4:port (IPv6 는 ':' 가 2개 이상)
+            int colon = indexOf(chain, ':', from, to);
+            if (colon >= 0 && indexOf(chain, ':', colon + 1, to) < 0) {
+                to = colon;
+            }
+        }
+        if (from >= to) {
+            return NONE;
+        }
+        if (CidrTrie.parseIpv4(chain, from, to) < 0 && !CidrTrie.parseIpv6(chain, from, to, null)) {
+            return NONE;
+        }
+        return range(from, to);
+    }
+
+    private static int indexOf(String chain, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (chain.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long trimmed(String chain, int from, int to) {
+        while (from < to && Character.isWhitespace(chain.charAt(from))) {
+            from++;
+        }
+        while (to > from && Character.isWhitespace(chain.charAt(to - 1))) {
+            to--;
+        }
+        return from < to ? range(from, to) : NONE;
+    }
+
+    private static long range(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    private static String joined(Iterator<String> values) {
+        if (values == null || !values.hasNext()) {
+            return null;
+        }
+        String first = values.next();
+        if (!values.hasNext()) {
+            return StringUtils.isBlank(first) ? null : first;
+        }
+        List<String> lines = new ArrayList<>(4);
+        lines.add(first);
+        values.forEachRemaining(lines::add);
+        return String.join(",", lines);
+    }
+
+    private static String resolveLegacy(Function<String, Iterator<String>> headerValues, String remoteAddress) {
+        for (int i = 0; i < LEGACY_HEADERS.length; i++) {
+            Iterator<String> values = headerValues.apply(LEGACY_HEADERS[i]);
+            String ip = values != null && values.hasNext() ? values.next() : null;
+            if (ip != null && i < LEGACY_LIST_HEADERS) {
+                ip = firstListValue(ip);
+            }
+            if (!isUnknownIp(ip)) {
+                return ip;
+            }
+        }
+        return remoteAddress;
+    }
+
+    private static String firstListValue(String value) {
+        int comma = value.indexOf(',');
+        String first = comma < 0 ? value : value.substring(0, comma);
+        return first.trim();
+    }
+
+    private static boolean isUnknownIp(String ip) {
+        return StringUtils.isBlank(ip)
+                || "unknown".equalsIgnoreCase(ip)
+                || HttpHeaderConstant.UNDEFINED_IP.equalsIgnoreCase(ip);
+    }
+}
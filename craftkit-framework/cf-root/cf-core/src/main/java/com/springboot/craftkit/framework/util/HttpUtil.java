@@ -1,15 +1,13 @@
 package com.springboot.craftkit.framework.util;
 
 import com.springboot.craftkit.framework.application.constant.HttpHeaderConstant;
+import com.springboot.craftkit.framework.id.IdGenerators;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.time.Instant;
-
 
 @Slf4j
 public class HttpUtil {
@@ -18,13 +16,11 @@ public class HttpUtil {
         super();
     }
 
+    /**
+     * application 이름 + '-' + {@link IdGenerators} 의 id (기본: 시간 순서의 ULID 26자리)
+     */
     public static String generateNewGtid() {
-        return new StringBuilder()
-                .append(PropertyUtil.getApplicationName())
-                .append('-')
-                .append(Long.toUnsignedString(Instant.now().toEpochMilli(), 36))
-                .append(RandomStringUtils.randomAlphanumeric(9))
-                .toString();
+        return PropertyUtil.getApplicationName() + '-' + IdGenerators.nextId();
     }
 
     /**
@@ -42,51 +38,11 @@ public class HttpUtil {
         return StringUtils.defaultString(request.getHeader(headerName));
     }
 
+    /**
+     * 요청의 client IP. sf.client-ip.trusted-proxies 설정시 신뢰하는 proxy 가 전달한 값만 사용한다. ({@link ClientIpResolver})
+     */
     public static String getClientIp(HttpServletRequest request) {
-
-        String ip = extractClientIpByForwardedFor(request.getHeader(HttpHeaderConstant.HTTP_HEADER_XFF));
-
-        if (isUnknownIp(ip)) {
-            ip = extractClientIpByForwardedFor(request.getHeader(HttpHeaderConstant.HTTP_HEADER_FORWARDED_FOR));
-        }
-        if (isUnknownIp(ip)) {
-            ip = request.getHeader(HttpHeaderConstant.HTTP_HEADER_PROXY_CLIENT_IP);
-        }
-        if (isUnknownIp(ip)) {
-            ip = request.getHeader(HttpHeaderConstant.HTTP_HEADER_WL_PROXY_CLIENT_IP);
-        }
-        if (isUnknownIp(ip)) {
-            ip = request.getHeader(HttpHeaderConstant.HTTP_HEADER_HTTP_CLIENT_IP);
-        }
-        if (isUnknownIp(ip)) {
-            ip = request.getHeader(HttpHeaderConstant.HTTP_HEADER_HTTP_FORWARDED_FOR);
-        }
-        if (isUnknownIp(ip)) {
-            // An alternative form of the header (X-ProxyUser-Ip) is used by Google clients talking to Google servers.
-            ip = request.getHeader(HttpHeaderConstant.HTTP_HEADER_HTTP_PROXYUSER_IP);
-        }
-        if (isUnknownIp(ip)) {
-            ip = request.getRemoteAddr();
-        }
-        return ip;
-    }
-
-    private static boolean isUnknownIp(String ip) {
-        return StringUtils.isBlank(ip)
-                || "unknown".equalsIgnoreCase(ip)
-                || HttpHeaderConstant.UNDEFINED_IP.equalsIgnoreCase(ip);
-    }
-
-    private static String extractClientIpByForwardedFor(String headerValue) {
-        if (StringUtils.isBlank(headerValue))
-            return null;
-
-        try {
-            return headerValue.replaceAll("\\s*,.*$", "");
-        } catch (Exception e) {
-            log.warn("extractClientIpByForwardedFor error {}", e.getMessage());
-        }
-        return null;
+        return ClientIpResolver.resolve(request);
     }
 
     public static HttpServletRequest getHttpRequest() {
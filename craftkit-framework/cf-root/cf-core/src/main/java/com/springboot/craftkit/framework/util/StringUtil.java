@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
 import java.net.URLEncoder;
 
 @Slf4j
@@ -19,7 +20,25 @@ public class StringUtil {
         try {
             return URLEncoder.encode(content, CommonConstant.DEFAULT_ENCODING).replace("+", "%20");
         } catch (UnsupportedEncodingException e) {
-            log.error("StringUtil.decodeURIComponent error {} .. ignored : {}", e.getMessage(), content);
+            log.error("StringUtil.encodeURIComponent error {} .. ignored : {}", e.getMessage(), content);
+            return content;
+        }
+    }
+
+    /**
+     * encodeURIComponent 의 반대. '+' 는 공백으로 바꾸지 않는다. (javascript decodeURIComponent 와 같음)
+     * escape 형식이 아닌 값(인코딩하지 않은 json 등)은 그대로 반환한다.
+     */
+    public static String decodeURIComponent(String content) {
+        if (StringUtils.isBlank(content))
+            return "";
+        if (content.indexOf('%') < 0)
+            return content;
+
+        try {
+            return URLDecoder.decode(content.replace("+", "%2B"), CommonConstant.DEFAULT_ENCODING);
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            log.debug("StringUtil.decodeURIComponent error {} .. ignored : {}", e.getMessage(), content);
             return content;
         }
     }
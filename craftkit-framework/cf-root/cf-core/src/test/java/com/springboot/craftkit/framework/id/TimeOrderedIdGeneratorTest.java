@@ -0,0 +1,94 @@
+package com.springboot.craftkit.framework.id;
+
+import com.springboot.craftkit.framework.util.HttpUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeOrderedIdGeneratorTest {
+
+    private final TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+
+    @AfterEach
+    void cleanup() {
+        IdGenerators.setGenerator(new TimeOrderedIdGenerator());
+    }
+
+    @Test
+    void idIsCrockfordBase32AndSortsByTime() {
+        // 상태는 thread 별이므로 다른 test 보다 늦은 시각을 사용한다
+        String earlier = generator.generate(5_000_000_000_000L);
+        String later = generator.generate(5_000_000_000_001L);
+
+        assertThat(earlier).hasSize(TimeOrderedIdGenerator.LENGTH).matches("[0-9A-HJKMNP-TV-Z]{26}");
+        assertThat(later).isGreaterThan(earlier);
+        // 시각 부분 (10자리) 은 시각에 대해서만 결정된다
+        assertThat(TimeOrderedIdGenerator.encode(5_000_000_000_000L, 0, 0L)).startsWith(earlier.substring(0, 10))
+                .endsWith("0000000000000000");
+        assertThat(TimeOrderedIdGenerator.encode((1L << 48) - 1, 0xFFFF, -1L)).isEqualTo("7ZZZZZZZZZZZZZZZZZZZZZZZZZ");
+    }
+
+    @Test
+    void idsAreMonotonicWithinThreadEvenInSameMillisOrClockSkew() {
+        String previous = generator.generate(4_000_000_000_000L);
+        for (int i = 0; i < 10_000; i++) {
+            // 같은 ms, 시계 역행
+            String next = generator.generate(4_000_000_000_000L - (i % 3));
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void noCollisionsAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 50_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Callable<List<String>> task = () -> {
+                    List<String> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(generator.generate());
+                    }
+                    return ids;
+                };
+                futures.add(pool.submit(task));
+            }
+            Set<String> unique = new HashSet<>();
+            for (Future<List<String>> future : futures) {
+                unique.addAll(future.get());
+            }
+            assertThat(unique).hasSize(threads * perThread);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void generatorIsSelectedByProperty() {
+        IdGenerators.initializeFromEnvironment(new MockEnvironment().withProperty("sf.id.generator", "uuid"));
+        assertThat(IdGenerators.nextId()).hasSize(36);
+
+        IdGenerators.initializeFromEnvironment(new MockEnvironment());
+        assertThat(IdGenerators.getGenerator()).isInstanceOf(TimeOrderedIdGenerator.class);
+        String gtid = HttpUtil.generateNewGtid();
+        assertThat(gtid.substring(gtid.lastIndexOf('-') + 1)).hasSize(TimeOrderedIdGenerator.LENGTH);
+
+        MockEnvironment invalid = new MockEnvironment().withProperty("sf.id.generator", "com.example.Missing");
+        assertThatThrownBy(() -> IdGenerators.initializeFromEnvironment(invalid)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,124 @@
+package com.springboot.craftkit.framework.jfr;
+
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+import com.springboot.craftkit.framework.scope.ScopeAttributeDeserializer;
+import com.springboot.craftkit.framework.scope.ScopeStore;
+import com.springboot.craftkit.framework.scope.StructuredScopeStore;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScopeJfrEventTest {
+
+    private final ScopeStore store = new ScopeStore();
+
+    @AfterEach
+    void cleanup() {
+        store.removeAttributeFromThreadLocal();
+    }
+
+    @Test
+    void snapshotAndRestoreAreRecorded() throws Exception {
+        ScopeAttribute outer = new ScopeAttribute();
+        outer.setGtid("gtid-outer");
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setGtid("gtid-jfr");
+
+        List<RecordedEvent> events = record(() -> {
+            ScopeAttribute snapshot = attribute.snapshot();
+            // 변경이 없으면 재사용
+            attribute.snapshot();
+            store.callWith(snapshot, () -> null);
+            store.bind(outer);
+            store.callWith(snapshot, () -> null);
+            return null;
+        }, ScopeSnapshotEvent.NAME, ScopeRestoreEvent.NAME);
+
+        assertThat(events).extracting(event -> event.getEventType().getName()).containsExactly(
+                ScopeSnapshotEvent.NAME, ScopeSnapshotEvent.NAME, ScopeRestoreEvent.NAME, ScopeRestoreEvent.NAME);
+        assertThat(events.get(0).getString("gtid")).isEqualTo("gtid-jfr");
+        assertThat(events.get(0).getBoolean("reused")).isFalse();
+        assertThat(events.get(1).getBoolean("reused")).isTrue();
+
+        assertThat(events.get(2).getString("store")).isEqualTo("thread-local");
+        assertThat(events.get(2).getBoolean("cleared")).isTrue();
+        assertThat(events.get(3).getString("gtid")).isEqualTo("gtid-outer");
+        assertThat(events.get(3).getBoolean("cleared")).isFalse();
+    }
+
+    @Test
+    void structuredStoreRestoreIsRecorded() throws Exception {
+        StructuredScopeStore structured = new StructuredScopeStore(store);
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setGtid("gtid-structured");
+
+        List<RecordedEvent> events = record(() -> structured.callWith(attribute, () -> null), ScopeRestoreEvent.NAME);
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getString("store")).isEqualTo("structured");
+            assertThat(event.getBoolean("cleared")).isTrue();
+        });
+    }
+
+    @Test
+    void kafkaHeaderInspectionIsRecorded() throws Exception {
+        ScopeAttribute attribute = new ScopeAttribute();
+        ScopeAttributeDeserializer deserializer = new ScopeAttributeDeserializer(attribute);
+
+        List<RecordedEvent> events = record(() -> {
+            deserializer.setScopeAttributeByKafkaHeader(Map.of("DESTINATION", "order-created", "Scope-Context", "!broken"));
+            return null;
+        }, KafkaHeaderInspectionEvent.NAME);
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getString("destination")).isEqualTo("order-created");
+            assertThat(event.getString("gtid")).isEqualTo(attribute.getGtid()).isNotBlank();
+            assertThat(event.getInt("headerCount")).isEqualTo(2);
+            assertThat(event.getBoolean("compact")).isTrue();
+            assertThat(event.getBoolean("compactRejected")).isTrue();
+            assertThat(event.getBoolean("gtidGenerated")).isTrue();
+        });
+    }
+
+    @Test
+    void disabledEventsAreNotRecorded() throws Exception {
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setGtid("gtid-disabled");
+
+        List<RecordedEvent> events = record(() -> store.callWith(attribute.snapshot(), () -> null),
+                KafkaHeaderInspectionEvent.NAME);
+
+        assertThat(events).isEmpty();
+    }
+
+    /**
+     * 지정한 event 만 활성화한 recording 에서 action 을 실행하고 craftkit event 를 기록 순서대로 반환한다.
+     */
+    private static List<RecordedEvent> record(Callable<?> action, String... enabled) throws Exception {
+        Path file = Files.createTempFile("craftkit-scope", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : enabled) {
+                recording.enable(name).withoutThreshold();
+            }
+            recording.start();
+            action.call();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("craftkit."))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
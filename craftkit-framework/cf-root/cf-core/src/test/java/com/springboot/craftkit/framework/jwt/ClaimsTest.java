@@ -0,0 +1,104 @@
+package com.springboot.craftkit.framework.jwt;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClaimsTest {
+
+    private static final long EXP = Instant.now().plus(Duration.ofHours(1)).getEpochSecond();
+
+    @AfterEach
+    void cleanup() {
+        ClaimsCache.configure(ClaimsCache.DEFAULT_MAX_SIZE, ClaimsCache.DEFAULT_MAX_TTL);
+    }
+
+    @Test
+    void parsesRegisteredAndPrivateClaims() {
+        String payload = "{\"jti\":\"A123\",\"iss\":\"auth\",\"sub\":\"s\",\"aud\":\"web\",\"iat\":1700000000,\"exp\":" + EXP
+                + ",\"user-id\":\"user-1\",\"client-ip\":\"10.0.0.1\",\"authenticated-ip\":\"10.0.0.2\""
+                + ",\"tenant\":\"acme\",\"roles\":[\"admin\"]}";
+
+        Claims claims = Claims.parse(token(payload, Base64.getUrlEncoder().withoutPadding()));
+
+        assertThat(claims.getJti()).isEqualTo("A123");
+        assertThat(claims.getIssuer()).isEqualTo("auth");
+        assertThat(claims.getUserId()).isEqualTo("user-1");
+        assertThat(claims.getGroups()).containsExactly("web");
+        assertThat(claims.getClientIp()).isEqualTo("10.0.0.1");
+        assertThat(claims.getAuthenticatedIp()).isEqualTo("10.0.0.2");
+        assertThat(claims.getIssueAt().toEpochSecond()).isEqualTo(1700000000L);
+        assertThat(claims.getExpireAt().toEpochSecond()).isEqualTo(EXP);
+        assertThat(claims.getPrivateClaims()).containsOnlyKeys("tenant", "roles");
+    }
+
+    @Test
+    void acceptsStandardBase64AndRejectsInvalidTokens() {
+        // '?' 가 포함되어 표준 base64 로는 '/' 가 생기는 payload
+        String payload = "{\"iat\":1700000000,\"exp\":" + EXP + ",\"q\":\"???>>>\"}";
+        String standard = token(payload, Base64.getEncoder());
+        assertThat(standard).containsAnyOf("+", "/");
+
+        assertThat(Claims.parse(standard).getPrivateClaims()).containsEntry("q", "???>>>");
+        assertThat(Claims.parse(token("{\"iat\":1700000000}", Base64.getUrlEncoder()))).isNull();
+        assertThat(Claims.parse("no-dot")).isNull();
+        assertThat(Claims.parse("header.%%%.sig")).isNull();
+        assertThat(Claims.parse(null)).isNull();
+    }
+
+    @Test
+    void cachedTokenReturnsIndependentCopy() {
+        ClaimsCache.invalidateAll();
+        String token = token("{\"jti\":\"A1\",\"iat\":1700000000,\"exp\":" + EXP + ",\"tenant\":\"acme\"}", Base64.getUrlEncoder());
+
+        Claims first = Claims.parse(token);
+        first.addPrivateClaim("changed", true);
+        first.addGroup("g");
+        Claims second = Claims.parse(token);
+
+        assertThat(ClaimsCache.size()).isEqualTo(1L);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getPrivateClaims()).containsOnlyKeys("tenant");
+        assertThat(second.getGroups()).isEmpty();
+        assertThat(second.getJti()).isEqualTo("A1");
+    }
+
+    @Test
+    void expiredTokensAreNotCachedAndCacheIsBounded() {
+        ClaimsCache.configure(2, Duration.ofMinutes(1));
+        long past = Instant.now().minusSeconds(10).getEpochSecond();
+
+        Claims expired = Claims.parse(token("{\"iat\":1700000000,\"exp\":" + past + "}", Base64.getUrlEncoder()));
+        assertThat(expired).isNotNull();
+        assertThat(ClaimsCache.size()).isZero();
+
+        for (int i = 0; i < 10; i++) {
+            Claims.parse(token("{\"jti\":\"A" + i + "\",\"iat\":1700000000,\"exp\":" + EXP + "}", Base64.getUrlEncoder()));
+        }
+        assertThat(ClaimsCache.size()).isLessThanOrEqualTo(2L);
+
+        String token = token("{\"iat\":1700000000,\"exp\":" + EXP + "}", Base64.getUrlEncoder());
+        Claims.parse(token);
+        assertThat(ClaimsCache.get(token, EXP * 1000L)).isNull();
+    }
+
+    @Test
+    void cacheCanBeDisabledByProperty() {
+        ClaimsCache.initializeFromEnvironment(new MockEnvironment().withProperty("sf.jwt.claims-cache.max-size", "0"));
+
+        Claims.parse(token("{\"iat\":1700000000,\"exp\":" + EXP + "}", Base64.getUrlEncoder()));
+
+        assertThat(ClaimsCache.size()).isZero();
+    }
+
+    private static String token(String payload, Base64.Encoder encoder) {
+        return "eyJhbGciOiJIUzI1NiJ9." + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + ".c2ln";
+    }
+}
@@ -0,0 +1,275 @@
+package com.springboot.craftkit.framework.jwt;
+
+import com.springboot.craftkit.config.JwtVerifierConfig;
+import com.springboot.craftkit.framework.application.setting.JwtVerifierProperties;
+import com.springboot.craftkit.framework.exception.model.AuthErrorCode;
+import com.springboot.craftkit.framework.exception.model.InvalidTokenException;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PSSParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtVerifierTest {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+    private static final long EXP = Instant.now().plus(Duration.ofHours(1)).getEpochSecond();
+
+    private static KeyPair rsa;
+    private static KeyPair ec;
+
+    @TempDir
+    Path dir;
+
+    @BeforeAll
+    static void keys() throws Exception {
+        KeyPairGenerator rsaGenerator = KeyPairGenerator.getInstance("RSA");
+        rsaGenerator.initialize(2048);
+        rsa = rsaGenerator.generateKeyPair();
+        KeyPairGenerator ecGenerator = KeyPairGenerator.getInstance("EC");
+        ecGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        ec = ecGenerator.generateKeyPair();
+    }
+
+    @Test
+    void verifiesHmacRsaAndEcTokens() throws Exception {
+        try (JwtVerifier verifier = verifier(jwks(rsaJwk("rsa-1"), ecJwk("ec-1"), octJwk("hs-1")))) {
+            assertThat(verifier.verify(sign("RS256", "rsa-1", payload("A1"))).getJti()).isEqualTo("A1");
+            assertThat(verifier.verify(sign("PS256", "rsa-1", payload("A2"))).getJti()).isEqualTo("A2");
+            assertThat(verifier.verify(sign("ES256", "ec-1", payload("A3"))).getJti()).isEqualTo("A3");
+            assertThat(verifier.verify(sign("HS256", "hs-1", payload("A4"))).getJti()).isEqualTo("A4");
+        }
+    }
+
+    @Test
+    void rejectsTamperedExpiredAndMismatchedTokens() throws Exception {
+        try (JwtVerifier verifier = verifier(jwks(rsaJwk("rsa-1"), octJwk("hs-1")))) {
+            String token = sign("RS256", "rsa-1", payload("A1"));
+            String tampered = token.substring(0, token.indexOf('.') + 1)
+                    + ENCODER.encodeToString(payload("A9").getBytes(StandardCharsets.UTF_8))
+                    + token.substring(token.lastIndexOf('.'));
+            assertCode(() -> verifier.verify(tampered), AuthErrorCode.TOKEN_SIGNATURE_FAILED);
+
+            long past = Instant.now().minus(Duration.ofHours(1)).getEpochSecond();
+            String expired = sign("RS256", "rsa-1", "{\"jti\":\"A1\",\"iat\":1700000000,\"exp\":" + past + "}");
+            assertCode(() -> verifier.verify(expired), AuthErrorCode.EXPIRED_AUTH_TOKEN);
+
+            // RSA key 로 HMAC 서명을 요구하는 token (알고리즘 혼동)
+            String confused = sign("HS256", "rsa-1", payload("A1"));
+            assertCode(() -> verifier.verify(confused), AuthErrorCode.INVALID_AUTH_TOKEN);
+            String unsigned = sign("none", "rsa-1", payload("A1"));
+            assertCode(() -> verifier.verify(unsigned), AuthErrorCode.INVALID_AUTH_TOKEN);
+            assertCode(() -> verifier.verify("a.b"), AuthErrorCode.TOKEN_MALFORMED);
+            assertCode(() -> verifier.verify(null), AuthErrorCode.TOKEN_MALFORMED);
+        }
+    }
+
+    @Test
+    void verifiedTokenIsCachedAndReturnedAsCopy() throws Exception {
+        try (JwtVerifier verifier = verifier(jwks(rsaJwk("rsa-1")))) {
+            String token = sign("RS256", "rsa-1", payload("A1"));
+
+            Claims first = verifier.verify(token);
+            first.addPrivateClaim("changed", true);
+            Claims second = verifier.verify(token);
+
+            assertThat(second).isNotSameAs(first);
+            assertThat(second.getPrivateClaims()).containsOnlyKeys("tenant");
+
+            // 같은 hash 의 다른 token 은 cache 를 사용하지 않는다
+            String other = token.substring(0, token.length() - 2) + "AA";
+            assertCode(() -> verifier.verify(other), AuthErrorCode.TOKEN_SIGNATURE_FAILED);
+        }
+    }
+
+    @Test
+    void unknownKidReloadsRotatedKeys() throws Exception {
+        Path file = dir.resolve("jwks.json");
+        Files.writeString(file, jwks(octJwk("hs-1")));
+        JwtVerifierProperties properties = properties(file);
+        properties.setMinRefreshInterval(Duration.ZERO);
+
+        try (JwtVerifier verifier = awaitKeys(new JwtVerifier(properties))) {
+            String token = sign("RS256", "rsa-2", payload("A1"));
+            verifier.invalidateAll();
+
+            Files.writeString(file, jwks(rsaJwk("rsa-2")));
+            // 요청 thread 는 JWKS 를 기다리지 않고 거부하며, background 에서 다시 읽는다
+            assertCode(() -> verifier.verify(token), AuthErrorCode.INVALID_AUTH_TOKEN);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (verifier.getKeys().select("rsa-2", JwsAlgorithm.of("RS256")) == null && System.nanoTime() < deadline) {
+                Thread.sleep(10L);
+            }
+            assertThat(verifier.verify(token).getJti()).isEqualTo("A1");
+
+            // 다시 읽기에 실패하면 기존 key 를 유지한다
+            Files.writeString(file, "{broken");
+            assertThat(verifier.refresh()).isFalse();
+            assertThat(verifier.getKeys().size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void initialLoadDoesNotBlockStartup() throws Exception {
+        String jwks = jwks(octJwk("hs-1"));
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/jwks", exchange -> {
+            try {
+                Thread.sleep(1_000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = jwks.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        JwtVerifierProperties properties = new JwtVerifierProperties();
+        properties.setJwksUri("http://127.0.0.1:" + server.getAddress().getPort() + "/jwks");
+
+        long start = System.nanoTime();
+        try (JwtVerifier verifier = new JwtVerifier(properties)) {
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500));
+            String token = sign("HS256", "hs-1", payload("A1"));
+            // key 를 읽기 전에는 거부한다
+            assertCode(() -> verifier.verify(token), AuthErrorCode.INVALID_AUTH_TOKEN);
+
+            assertThat(awaitKeys(verifier).verify(token).getJti()).isEqualTo("A1");
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void verifierIsRegisteredWhenJwksUriIsSet() throws Exception {
+        Path file = dir.resolve("jwks.json");
+        Files.writeString(file, jwks(octJwk("hs-1")));
+
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JwtVerifierConfig.class))
+                .withPropertyValues("sf.jwt.verifier.jwks-uri=" + file.toUri())
+                .run(context -> assertThat(context).hasSingleBean(JwtVerifier.class));
+
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JwtVerifierConfig.class))
+                .run(context -> assertThat(context).doesNotHaveBean(JwtVerifier.class));
+    }
+
+    private JwtVerifier verifier(String jwks) throws Exception {
+        Path file = dir.resolve("jwks.json");
+        Files.writeString(file, jwks);
+        return awaitKeys(new JwtVerifier(properties(file)));
+    }
+
+    // 처음 JWKS 읽기는 background 에서 실행된다
+    static JwtVerifier awaitKeys(JwtVerifier verifier) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (verifier.getKeys() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10L);
+        }
+        return verifier;
+    }
+
+    private static JwtVerifierProperties properties(Path file) {
+        JwtVerifierProperties properties = new JwtVerifierProperties();
+        properties.setJwksUri(file.toUri().toString());
+        return properties;
+    }
+
+    private static void assertCode(Runnable call, AuthErrorCode code) {
+        assertThatThrownBy(call::run)
+                .isInstanceOf(InvalidTokenException.class)
+                .extracting(e -> ((InvalidTokenException) e).getErrorCode())
+                .isEqualTo(code);
+    }
+
+    private static String payload(String jti) {
+        return "{\"jti\":\"" + jti + "\",\"iat\":1700000000,\"exp\":" + EXP + ",\"tenant\":\"acme\"}";
+    }
+
+    static String sign(String alg, String kid, String payload) throws Exception {
+        String input = ENCODER.encodeToString(("{\"alg\":\"" + alg + "\",\"kid\":\"" + kid + "\"}").getBytes(StandardCharsets.UTF_8))
+                + "." + ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        byte[] data = input.getBytes(StandardCharsets.US_ASCII);
+        byte[] signature;
+        switch (alg) {
+            case "HS256" -> {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(new SecretKeySpec(SECRET, "HmacSHA256"));
+                signature = mac.doFinal(data);
+            }
+            case "RS256", "PS256" -> {
+                Signature signer = Signature.getInstance("RS256".equals(alg) ? "SHA256withRSA" : "RSASSA-PSS");
+                if ("PS256".equals(alg)) {
+                    signer.setParameter(new PSSParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256, 32, 1));
+                }
+                signer.initSign(rsa.getPrivate());
+                signer.update(data);
+                signature = signer.sign();
+            }
+            case "ES256" -> {
+                Signature signer = Signature.getInstance("SHA256withECDSAinP1363Format");
+                signer.initSign(ec.getPrivate());
+                signer.update(data);
+                signature = signer.sign();
+            }
+            default -> signature = new byte[0];
+        }
+        return input + "." + ENCODER.encodeToString(signature);
+    }
+
+    static String jwks(String... keys) {
+        return "{\"keys\":[" + String.join(",", keys) + "]}";
+    }
+
+    static String rsaJwk(String kid) {
+        RSAPublicKey key = (RSAPublicKey) rsa.getPublic();
+        return "{\"kty\":\"RSA\",\"kid\":\"" + kid + "\",\"use\":\"sig\",\"n\":\"" + unsigned(key.getModulus())
+                + "\",\"e\":\"" + unsigned(key.getPublicExponent()) + "\"}";
+    }
+
+    static String ecJwk(String kid) {
+        ECPublicKey key = (ECPublicKey) ec.getPublic();
+        return "{\"kty\":\"EC\",\"kid\":\"" + kid + "\",\"crv\":\"P-256\",\"x\":\"" + unsigned(key.getW().getAffineX())
+                + "\",\"y\":\"" + unsigned(key.getW().getAffineY()) + "\"}";
+    }
+
+    static String octJwk(String kid) {
+        return "{\"kty\":\"oct\",\"kid\":\"" + kid + "\",\"alg\":\"HS256\",\"k\":\"" + ENCODER.encodeToString(SECRET) + "\"}";
+    }
+
+    private static String unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return ENCODER.encodeToString(bytes);
+    }
+}
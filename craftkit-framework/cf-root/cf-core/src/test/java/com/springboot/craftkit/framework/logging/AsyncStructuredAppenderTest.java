@@ -0,0 +1,283 @@
+package com.springboot.craftkit.framework.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.craftkit.framework.application.constant.CommonConstant;
+import com.springboot.craftkit.framework.jfr.ScopeSnapshotEvent;
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+import com.springboot.craftkit.framework.scope.ScopeStore;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class AsyncStructuredAppenderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ScopeStore store = new ScopeStore();
+    private Logger logger;
+    private AsyncStructuredAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        logger = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger("test.async-structured");
+        logger.setLevel(Level.TRACE);
+        logger.setAdditive(false);
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (appender != null) {
+            appender.stop();
+            logger.detachAppender(appender);
+        }
+        MDC.clear();
+        store.removeAttributeFromThreadLocal();
+    }
+
+    @Test
+    void writesJsonLinesWithMdcAndScope() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        start(out, 64, -1);
+
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setUserId("user-1");
+        attribute.setApplicationName("order-api");
+        attribute.setProgramId("ORD001");
+        store.bind(attribute);
+        MDC.put(CommonConstant.LOG_MDC_GTID, "gtid-1");
+        MDC.put("orderId", "o-1");
+
+        logger.info("order {} \"paid\"\nnext", "o-1");
+        attribute.setUserId("user-2");
+        logger.error("failed", new IllegalStateException("boom"));
+        appender.stop();
+
+        List<JsonNode> lines = lines(out);
+        assertThat(lines).hasSize(2);
+        JsonNode info = lines.get(0);
+        assertThat(info.get("@timestamp").asText()).matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}.+");
+        assertThat(info.get("level").asText()).isEqualTo("INFO");
+        assertThat(info.get("logger").asText()).isEqualTo("test.async-structured");
+        assertThat(info.get("thread").asText()).isEqualTo(Thread.currentThread().getName());
+        assertThat(info.get("message").asText()).isEqualTo("order o-1 \"paid\"\nnext");
+        assertThat(info.get("gtid").asText()).isEqualTo("gtid-1");
+        assertThat(info.at("/mdc/orderId").asText()).isEqualTo("o-1");
+        assertThat(info.at("/mdc/gtid").isMissingNode()).isTrue();
+        assertThat(info.at("/scope/userId").asText()).isEqualTo("user-1");
+        assertThat(info.at("/scope/applicationName").asText()).isEqualTo("order-api");
+        assertThat(info.at("/scope/programId").asText()).isEqualTo("ORD001");
+
+        // scope 는 log 호출 시점의 값으로 기록된다
+        JsonNode error = lines.get(1);
+        assertThat(error.at("/scope/userId").asText()).isEqualTo("user-2");
+        assertThat(error.get("exception").asText()).contains("IllegalStateException: boom");
+        assertThat(appender.getWrittenCount()).isEqualTo(2);
+    }
+
+    @Test
+    void scopeValuesAreCopiedAtLogTime() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        start(out, 64, -1);
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setGtid("gtid-copy");
+        attribute.setClientIp("10.0.0.1");
+        store.bind(attribute);
+
+        for (int i = 0; i < 3; i++) {
+            attribute.setUserId("user-" + i);
+            logger.info("line-{}", i);
+        }
+        appender.stop();
+
+        List<JsonNode> lines = lines(out);
+        assertThat(lines).hasSize(3);
+        for (int i = 0; i < 3; i++) {
+            assertThat(lines.get(i).get("gtid").asText()).isEqualTo("gtid-copy");
+            assertThat(lines.get(i).at("/scope/clientIp").asText()).isEqualTo("10.0.0.1");
+            assertThat(lines.get(i).at("/scope/userId").asText()).isEqualTo("user-" + i);
+        }
+    }
+
+    @Test
+    void scopeIsCopiedWithoutSnapshot() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        start(out, 64, -1);
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setGtid("gtid-copy");
+        attribute.setClientIp("10.0.0.1");
+        store.bind(attribute);
+
+        Path file = Files.createTempFile("craftkit-log", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ScopeSnapshotEvent.NAME);
+            recording.start();
+            for (int i = 0; i < 3; i++) {
+                logger.info("line-{}", i);
+                // log 이후 scope 변경이 snapshot 공유 컬렉션 복사를 일으키지 않아야 한다
+                attribute.setCustomAttribute("step", i);
+            }
+            appender.stop();
+            recording.stop();
+            recording.dump(file);
+            assertThat(RecordingFile.readAllEvents(file))
+                    .noneMatch(event -> event.getEventType().getName().equals(ScopeSnapshotEvent.NAME));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        List<JsonNode> lines = lines(out);
+        assertThat(lines).hasSize(3).allSatisfy(line -> {
+            assertThat(line.get("gtid").asText()).isEqualTo("gtid-copy");
+            assertThat(line.at("/scope/clientIp").asText()).isEqualTo("10.0.0.1");
+        });
+    }
+
+    @Test
+    void logCallsNeverBlockWhenWriterIsStuck() throws Exception {
+        BlockingOutputStream out = new BlockingOutputStream();
+        start(out, 16, 8);
+        try {
+            logger.info("first");
+            assertThat(out.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // worker 가 write 에서 멈춘 상태 : buffer 16, 남은 공간 8 미만이면 DEBUG 를 버린다
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                for (int i = 0; i < 8; i++) {
+                    logger.info("info-{}", i);
+                }
+                logger.debug("kept");
+                logger.debug("discarded");
+                logger.trace("discarded");
+                for (int i = 0; i < 10_000; i++) {
+                    logger.info("burst-{}", i);
+                }
+            });
+
+            assertThat(appender.getDiscardedCount()).isEqualTo(2);
+            assertThat(appender.getOverflowCount()).isEqualTo(10_000 - 7);
+            assertThat(appender.getQueueSize()).isEqualTo(16);
+        } finally {
+            out.release.countDown();
+        }
+        appender.stop();
+
+        List<JsonNode> lines = lines(out.delegate);
+        assertThat(lines).hasSize(1 + 16);
+        assertThat(lines).extracting(line -> line.get("message").asText())
+                .contains("first", "info-7", "kept", "burst-6")
+                .doesNotContain("discarded", "burst-7");
+    }
+
+    @Test
+    void ringBufferDeliversEveryEventOnceAcrossProducers() throws Exception {
+        LogEventRingBuffer ring = new LogEventRingBuffer(1000);
+        assertThat(ring.capacity()).isEqualTo(1024);
+        int producers = 4;
+        int perProducer = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        LoggingEvent event = new LoggingEvent();
+                        event.setMessage(producer + ":" + i);
+                        while (!ring.offer(event, null)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }));
+            }
+            Set<String> received = new HashSet<>();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (received.size() < producers * perProducer && System.nanoTime() < deadline) {
+                ILoggingEvent event = ring.poll();
+                if (event != null) {
+                    assertThat(received.add(event.getMessage())).isTrue();
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.SECONDS);
+            }
+            assertThat(received).hasSize(producers * perProducer);
+            assertThat(ring.isEmpty()).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void start(OutputStream out, int capacity, int discardingThreshold) {
+        appender = new AsyncStructuredAppender();
+        appender.setContext(logger.getLoggerContext());
+        appender.setOutputStream(out);
+        appender.setCapacity(capacity);
+        appender.setDiscardingThreshold(discardingThreshold);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    private List<JsonNode> lines(ByteArrayOutputStream out) throws Exception {
+        List<JsonNode> result = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                result.add(objectMapper.readTree(line));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * release 전까지 write 에서 멈추는 stream
+     */
+    private static final class BlockingOutputStream extends OutputStream {
+
+        private final ByteArrayOutputStream delegate = new ByteArrayOutputStream();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delegate.write(b, off, len);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.springboot.craftkit.framework.logging;
+
+import com.springboot.craftkit.framework.application.annotation.AutoLogging;
+import com.springboot.craftkit.framework.application.setting.LoggingProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class MethodLatencyProfilerTest {
+
+    @Test
+    void recordsCountAndPercentilesPerMethod() throws Exception {
+        MethodLatencyProfiler profiler = new MethodLatencyProfiler(2, 0d, 10, 4, 16);
+        Method find = OrderService.class.getMethod("find", String.class);
+
+        for (int i = 0; i < 100; i++) {
+            MethodLatencyProfiler.Frames frames = profiler.enter(find);
+            profiler.exit(frames, false);
+        }
+
+        List<MethodLatencyProfiler.MethodLatency> latencies = profiler.latencies();
+        assertThat(latencies).hasSize(1);
+        MethodLatencyProfiler.MethodLatency latency = latencies.get(0);
+        assertThat(latency.signature()).isEqualTo("OrderService.find(String)");
+        assertThat(latency.count()).isEqualTo(100);
+        assertThat(latency.errors()).isZero();
+        assertThat(latency.p50Millis()).isLessThanOrEqualTo(latency.p99Millis());
+        assertThat(latency.p99Millis()).isLessThanOrEqualTo(latency.maxMillis());
+        assertThat(profiler.sampledTrees()).isEmpty();
+    }
+
+    @Test
+    void samplesNestedCallTree() throws Exception {
+        MethodLatencyProfiler profiler = new MethodLatencyProfiler(2, 1d, 10, 2, 16);
+        Method find = OrderService.class.getMethod("find", String.class);
+        Method fail = OrderService.class.getMethod("fail");
+
+        MethodLatencyProfiler.Frames outer = profiler.enter(find);
+        MethodLatencyProfiler.Frames inner = profiler.enter(fail);
+        assertThat(inner.depth()).isEqualTo(2);
+        profiler.exit(inner, true);
+        profiler.exit(outer, false);
+
+        List<MethodLatencyProfiler.SampledCallTree> trees = profiler.sampledTrees();
+        assertThat(trees).hasSize(1);
+        assertThat(trees.get(0).truncated()).isFalse();
+        assertThat(trees.get(0).nodes())
+                .extracting(MethodLatencyProfiler.SampledCallTree.Node::depth,
+                        MethodLatencyProfiler.SampledCallTree.Node::signature,
+                        MethodLatencyProfiler.SampledCallTree.Node::failed)
+                .containsExactly(
+                        tuple(0, "OrderService.find(String)", false),
+                        tuple(1, "OrderService.fail()", true));
+
+        // 최근 max-sampled-trees 개만 최신순으로 보관한다
+        for (int i = 0; i < 3; i++) {
+            profiler.exit(profiler.enter(fail), false);
+        }
+        assertThat(profiler.sampledTrees()).hasSize(2)
+                .allSatisfy(tree -> assertThat(tree.nodes()).hasSize(1));
+    }
+
+    @Test
+    void overflowMethodsAreMergedIntoOther() throws Exception {
+        MethodLatencyProfiler profiler = new MethodLatencyProfiler(2, 0d, 1, 1, 1);
+
+        profiler.exit(profiler.enter(OrderService.class.getMethod("find", String.class)), false);
+        profiler.exit(profiler.enter(OrderService.class.getMethod("fail")), true);
+
+        assertThat(profiler.latencies())
+                .extracting(MethodLatencyProfiler.MethodLatency::signature, MethodLatencyProfiler.MethodLatency::errors)
+                .containsExactlyInAnyOrder(
+                        tuple("OrderService.find(String)", 0L),
+                        tuple(MethodLatencyProfiler.OTHER, 1L));
+    }
+
+    @Test
+    void resetClearsStatisticsAndTrees() throws Exception {
+        MethodLatencyProfiler profiler = new MethodLatencyProfiler(2, 1d, 10, 4, 16);
+        profiler.exit(profiler.enter(OrderService.class.getMethod("fail")), true);
+
+        profiler.reset();
+
+        assertThat(profiler.latencies()).singleElement()
+                .satisfies(latency -> {
+                    assertThat(latency.count()).isZero();
+                    assertThat(latency.errors()).isZero();
+                });
+        assertThat(profiler.sampledTrees()).isEmpty();
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThatThrownBy(() -> new MethodLatencyProfiler(2, 1.5d, 10, 4, 16))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MethodLatencyProfiler(0, 0.1d, 10, 4, 16))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void aspectRecordsAutoLoggingMethods() {
+        MethodLatencyProfiler profiler = new MethodLatencyProfiler(2, 1d, 10, 4, 16);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new OrderService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ExceptionLoggingAspect(new LoggingProperties(), profiler, null));
+        OrderService proxy = factory.getProxy();
+
+        proxy.find("o-1");
+        assertThatThrownBy(proxy::fail).isInstanceOf(IllegalStateException.class);
+
+        assertThat(profiler.latencies())
+                .extracting(MethodLatencyProfiler.MethodLatency::signature,
+                        MethodLatencyProfiler.MethodLatency::count,
+                        MethodLatencyProfiler.MethodLatency::errors)
+                .containsExactlyInAnyOrder(
+                        tuple("OrderService.find(String)", 1L, 0L),
+                        tuple("OrderService.fail()", 1L, 1L));
+        assertThat(profiler.sampledTrees()).hasSize(2);
+    }
+
+    @AutoLogging
+    public static class OrderService {
+
+        public String find(String orderId) {
+            return orderId;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("fail");
+        }
+    }
+}
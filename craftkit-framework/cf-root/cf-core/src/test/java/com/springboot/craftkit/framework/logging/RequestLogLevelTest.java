@@ -0,0 +1,115 @@
+package com.springboot.craftkit.framework.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+import com.springboot.craftkit.framework.scope.ScopeStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestLogLevelTest {
+
+    private final ScopeStore store = new ScopeStore();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        logger = context.getLogger("test.request-level.order");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        appender.setContext(context);
+        appender.start();
+        logger.addAppender(appender);
+        RequestLogLevel.configure(true, List.of("admin-console"), List.of());
+        RequestLogLevelTurboFilter.installIfAbsent();
+    }
+
+    @AfterEach
+    void cleanup() {
+        RequestLogLevel.configure(false, List.of(), List.of());
+        store.removeAttributeFromThreadLocal();
+        logger.detachAppender(appender);
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getTurboFilterList()
+                .removeIf(filter -> filter instanceof RequestLogLevelTurboFilter);
+    }
+
+    @Test
+    void withoutOverrideLoggerLevelApplies() throws Exception {
+        store.callWith(attribute("admin-console", null), () -> {
+            logger.debug("hidden");
+            return null;
+        });
+
+        assertThat(RequestLogLevel.current()).isNull();
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void allowedCallerEnablesDebugOnlyWhileScopeIsBound() throws Exception {
+        store.callWith(attribute("admin-console", "DEBUG"), () -> {
+            assertThat(logger.isDebugEnabled()).isTrue();
+            logger.debug("visible");
+            logger.trace("hidden");
+            return null;
+        });
+        logger.debug("after");
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage).containsExactly("visible");
+        assertThat(RequestLogLevel.current()).isNull();
+    }
+
+    @Test
+    void otherCallersAreIgnored() throws Exception {
+        store.callWith(attribute("unknown-client", "TRACE"), () -> {
+            logger.debug("hidden");
+            return null;
+        });
+        store.callWith(attribute(null, "TRACE"), () -> {
+            logger.trace("hidden");
+            return null;
+        });
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void propagatedSnapshotAppliesOnWorkerThread() throws Exception {
+        ScopeAttribute snapshot = attribute("admin-console", "TRACE").snapshot();
+
+        CompletableFuture.runAsync(() -> store.runWith(snapshot, () -> logger.trace("worker"))).get();
+        CompletableFuture.runAsync(() -> logger.trace("other")).get();
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage).containsExactly("worker");
+    }
+
+    @Test
+    void loggerPrefixesLimitTheOverride() throws Exception {
+        RequestLogLevel.configure(true, List.of(RequestLogLevel.ANY_CALLER), List.of("test.request-level.payment"));
+
+        store.callWith(attribute("anyone", "DEBUG"), () -> {
+            logger.debug("hidden");
+            return null;
+        });
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    private static ScopeAttribute attribute(String caller, String logLevel) {
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setApplicationName(caller);
+        attribute.setLogLevel(logLevel);
+        return attribute;
+    }
+}
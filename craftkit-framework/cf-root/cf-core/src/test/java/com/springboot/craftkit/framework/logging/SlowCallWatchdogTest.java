@@ -0,0 +1,141 @@
+package com.springboot.craftkit.framework.logging;
+
+import com.springboot.craftkit.framework.application.annotation.AutoLogging;
+import com.springboot.craftkit.framework.application.setting.LoggingProperties;
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+import com.springboot.craftkit.framework.scope.ScopeStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SlowCallWatchdogTest {
+
+    private static final long THRESHOLD_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // 감시 thread 를 시작하지 않고 sample(now) 를 직접 호출한다
+    private final SlowCallWatchdog watchdog = new SlowCallWatchdog(Duration.ofSeconds(1), Duration.ofMillis(100), 2, 32, 4);
+
+    @Test
+    void fastCallsAreNotReported() {
+        SlowCallWatchdog.Frames outer = watchdog.enter("OrderService.find(String)");
+        SlowCallWatchdog.Frames inner = watchdog.enter("OrderRepository.load(String)");
+        watchdog.sample(System.nanoTime());
+        watchdog.exit(inner, false);
+        watchdog.exit(outer, false);
+
+        watchdog.sample(System.nanoTime() + THRESHOLD_NANOS);
+
+        assertThat(watchdog.recentReports()).isEmpty();
+    }
+
+    @Test
+    void slowCallIsSampledAndReportedWithGtid() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread caller = new Thread(() -> {
+            ScopeStore store = new ScopeStore();
+            ScopeAttribute attribute = new ScopeAttribute();
+            attribute.setGtid("gtid-slow");
+            store.bind(attribute);
+            try {
+                SlowCallWatchdog.Frames outer = watchdog.enter("OrderService.find(String)");
+                SlowCallWatchdog.Frames inner = watchdog.enter("REST GET https://example.org/orders");
+                entered.countDown();
+                await(release);
+                watchdog.exit(inner, false);
+                watchdog.exit(outer, true);
+            } finally {
+                store.removeAttributeFromThreadLocal();
+            }
+        }, "slow-caller");
+        caller.start();
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long now = System.nanoTime();
+        watchdog.sample(now);
+        watchdog.sample(now + THRESHOLD_NANOS);
+        watchdog.sample(now + 2 * THRESHOLD_NANOS);
+        watchdog.sample(now + 3 * THRESHOLD_NANOS);
+        release.countDown();
+        caller.join(5_000);
+
+        assertThat(watchdog.recentReports()).singleElement().satisfies(report -> {
+            assertThat(report.gtid()).isEqualTo("gtid-slow");
+            assertThat(report.thread()).isEqualTo("slow-caller");
+            assertThat(report.method()).isEqualTo("OrderService.find(String)");
+            assertThat(report.failed()).isTrue();
+            assertThat(report.elapsedMillis()).isPositive();
+            // max-samples 까지만
+            assertThat(report.samples()).hasSize(2);
+            SlowCallWatchdog.SlowCallReport.Sample sample = report.samples().get(0);
+            assertThat(sample.elapsedMillis()).isGreaterThanOrEqualTo(1000d);
+            assertThat(sample.calls()).hasSize(2);
+            assertThat(sample.calls().get(1)).startsWith("REST GET https://example.org/orders ");
+            assertThat(sample.stack()).isNotEmpty().hasSizeLessThanOrEqualTo(32)
+                    .anyMatch(frame -> frame.contains("SlowCallWatchdogTest"));
+        });
+    }
+
+    @Test
+    void finishedCallIsNotReportedByLaterCall() {
+        SlowCallWatchdog.Frames first = watchdog.enter("first");
+        watchdog.exit(first, false);
+        SlowCallWatchdog.Frames second = watchdog.enter("second");
+
+        // 두번째 호출은 threshold 전
+        watchdog.sample(System.nanoTime());
+        watchdog.exit(second, false);
+
+        assertThat(watchdog.recentReports()).isEmpty();
+    }
+
+    @Test
+    void aspectRegistersInFlightCalls() throws Exception {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new BlockingService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ExceptionLoggingAspect(new LoggingProperties(), null, watchdog));
+        BlockingService proxy = factory.getProxy();
+
+        Thread caller = new Thread(proxy::call, "aspect-caller");
+        caller.start();
+        assertThat(BlockingService.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        watchdog.sample(System.nanoTime() + THRESHOLD_NANOS);
+        BlockingService.release.countDown();
+        caller.join(5_000);
+
+        assertThat(watchdog.recentReports()).singleElement()
+                .satisfies(report -> assertThat(report.method()).isEqualTo("BlockingService.call()"));
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThatThrownBy(() -> new SlowCallWatchdog(Duration.ZERO, Duration.ofMillis(100), 1, 1, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @AutoLogging
+    public static class BlockingService {
+
+        static final CountDownLatch entered = new CountDownLatch(1);
+        static final CountDownLatch release = new CountDownLatch(1);
+
+        public void call() {
+            entered.countDown();
+            await(release);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CaseInsensitiveAttributeMapTest {
+
+    @Test
+    void keysAreCaseInsensitiveAndKeepInsertionOrder() {
+        Map<String, Object> map = new CaseInsensitiveAttributeMap<>();
+        map.put(RequestScopeAttribute.USER_ID, "user-1");
+        map.put("channel", "web");
+        map.put("Tenant", "acme");
+
+        assertThat(map.get(RequestScopeAttribute.USER_ID.toUpperCase())).isEqualTo("user-1");
+        assertThat(map.containsKey("CHANNEL")).isTrue();
+        assertThat(map.get(null)).isNull();
+        assertThat(map.containsKey(1)).isFalse();
+
+        // 같은 key 는 위치를 유지하고 마지막 대소문자를 사용한다
+        assertThat(map.put("TENANT", "beta")).isEqualTo("acme");
+        assertThat(map).hasSize(3);
+        assertThat(new ArrayList<>(map.keySet())).containsExactly(RequestScopeAttribute.USER_ID, "channel", "TENANT");
+        assertThatThrownBy(() -> map.put(null, "x")).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void foldingMatchesEqualsIgnoreCase() {
+        Map<String, Object> map = new CaseInsensitiveAttributeMap<>();
+        map.put("K-été", 1);
+        map.put("𐐀x", 2);
+
+        assertThat(map.get("K-ÉTÉ")).isEqualTo(1);
+        assertThat(map.get("𐐨X")).isEqualTo(2);
+    }
+
+    @Test
+    void behavesLikeMapUnderRandomOperations() {
+        Random random = new Random(7);
+        Map<String, Integer> expected = new HashMap<>();
+        Map<String, Integer> map = new CaseInsensitiveAttributeMap<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            String key = "key-" + random.nextInt(40);
+            String cased = random.nextBoolean() ? key.toUpperCase() : key;
+            switch (random.nextInt(4)) {
+                case 0, 1 -> assertThat(map.put(cased, i)).isEqualTo(expected.put(key, i));
+                case 2 -> assertThat(map.remove(cased)).isEqualTo(expected.remove(key));
+                default -> assertThat(map.get(cased)).isEqualTo(expected.get(key));
+            }
+            assertThat(map).hasSize(expected.size());
+        }
+        Map<String, Integer> lower = new HashMap<>();
+        map.forEach((k, v) -> lower.put(k.toLowerCase(), v));
+        assertThat(lower).isEqualTo(expected);
+    }
+
+    @Test
+    void iteratorRemoveAndCopy() {
+        Map<String, Object> map = new CaseInsensitiveAttributeMap<>();
+        for (int i = 0; i < 20; i++) {
+            map.put("name-" + i, i);
+        }
+        Iterator<Map.Entry<String, Object>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if ((Integer) iterator.next().getValue() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        assertThat(map).hasSize(10).containsKey("NAME-19").doesNotContainKey("name-18");
+
+        Map<String, Object> copy = new CaseInsensitiveAttributeMap<>(map);
+        copy.put("name-1", "changed");
+        assertThat(map.get("name-1")).isEqualTo(1);
+        assertThat(copy).isEqualTo(new LinkedHashMap<>(copy)).hasSize(10);
+
+        assertThatThrownBy(() -> map.forEach((k, v) -> map.put(k + "-x", v)))
+                .isInstanceOf(ConcurrentModificationException.class);
+        map.clear();
+        assertThat(map).isEmpty();
+        assertThat(map.get("name-1")).isNull();
+    }
+
+    @Test
+    void scopeAttributeMapsAreCaseInsensitive() {
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setCustomAttributes("{\"Channel\":\"web\"}");
+        attribute.setCustomAttribute("TENANT", "acme");
+
+        assertThat(attribute.getCustomAttribute("channel")).isEqualTo("web");
+        assertThat(attribute.getCustomAttributes()).containsOnlyKeys("Channel", "TENANT");
+        assertThat(ScopeAttribute.of(attribute).getCustomAttribute("tenant")).isEqualTo("acme");
+        assertThat(List.copyOf(attribute.getCustomAttributes().keySet())).hasSize(2);
+    }
+}
@@ -0,0 +1,132 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactScopeHeaderCodecTest {
+
+    private final ScopeStore store = new ScopeStore();
+
+    @BeforeEach
+    void setUp() {
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setUserId("user-1");
+        attribute.setGtid("gtid-1");
+        attribute.setProgramId("bff::POST::/orders");
+        attribute.setForwardedService(List.of("gateway", "bff"), "order");
+        attribute.setPrivateClaims(Map.of("tenant", "acme"));
+        attribute.setCustomAttribute("channel", "web");
+        attribute.setCustomAttribute("market", "kr");
+        store.setAttributeIntoThreadLocal(attribute);
+    }
+
+    @AfterEach
+    void cleanup() {
+        store.removeAttributeFromThreadLocal();
+        CompactScopeHeaderCodec.setEnabled(false);
+        ExposedCustomAttributeNames.setAttributes(List.of());
+    }
+
+    @Test
+    void compactHeaderReplacesScopeHeaders() {
+        Map<String, String> legacy = legacyHeaders();
+        CompactScopeHeaderCodec.setEnabled(true);
+        Map<String, String> headers = new HashMap<>();
+        new ScopeAttributeSerializer().setKafkaHeader(headers);
+
+        assertThat(headers).containsOnlyKeys(RequestScopeAttribute.GLOBAL_TRANSACTION_ID, RequestScopeAttribute.SCOPE_CONTEXT);
+
+        Map<String, String> decoded = new LinkedHashMap<>();
+        CompactScopeHeaderCodec.decode(headers.get(RequestScopeAttribute.SCOPE_CONTEXT), decoded::put);
+        assertThat(decoded).isEqualTo(legacy);
+    }
+
+    @Test
+    void consumerReadsBothFormats() {
+        Map<String, String> legacy = new HashMap<>();
+        new ScopeAttributeSerializer().setKafkaHeader(legacy);
+        CompactScopeHeaderCodec.setEnabled(true);
+        Map<String, String> compact = new HashMap<>();
+        new ScopeAttributeSerializer().setKafkaHeader(compact);
+        store.removeAttributeFromThreadLocal();
+
+        assertThat(consume(compact).toString()).isEqualTo(consume(legacy).toString());
+        assertThat(consume(compact).getUserId()).isEqualTo("user-1");
+    }
+
+    @Test
+    void namesOutsideDictionaryAreWrittenLiterally() {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(RequestScopeAttribute.USER_ID, "user-1");
+        headers.put("X-Market-Id", "한국");
+        headers.put(RequestScopeAttribute.LOG_LEVEL, "");
+
+        Map<String, String> decoded = new LinkedHashMap<>();
+        CompactScopeHeaderCodec.decode(CompactScopeHeaderCodec.encode(headers), decoded::put);
+
+        assertThat(decoded).containsExactly(Map.entry(RequestScopeAttribute.USER_ID, "user-1"), Map.entry("X-Market-Id", "한국"));
+    }
+
+    @Test
+    void unsupportedVersionIsRejectedAndIgnoredByConsumer() {
+        byte[] bytes = CompactScopeHeaderCodec.encode(Map.of(RequestScopeAttribute.USER_ID, "user-2"));
+        bytes[0] = (byte) (CompactScopeHeaderCodec.VERSION + 1);
+        String value = Base64.getEncoder().encodeToString(bytes);
+
+        assertThatThrownBy(() -> CompactScopeHeaderCodec.decode(value, (k, v) -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        store.removeAttributeFromThreadLocal();
+        Map<String, String> headers = new HashMap<>(Map.of(RequestScopeAttribute.SCOPE_CONTEXT, value,
+                RequestScopeAttribute.USER_ID, "user-1"));
+        assertThat(consume(headers).getUserId()).isEqualTo("user-1");
+    }
+
+    @Test
+    void compactHeaderIsSmallerOnTheWire() {
+        Map<String, String> legacy = legacyHeaders();
+        CompactScopeHeaderCodec.setEnabled(true);
+        Map<String, String> compact = new HashMap<>();
+        new ScopeAttributeSerializer().setKafkaHeader(compact);
+        compact.remove(RequestScopeAttribute.GLOBAL_TRANSACTION_ID);
+
+        // kafka record header : varint 이름 길이 + 이름 + varint 값 길이 + 값
+        assertThat(recordHeaderBytes(compact)).isLessThan(recordHeaderBytes(legacy));
+    }
+
+    private Map<String, String> legacyHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        new ScopeAttributeSerializer().setKafkaHeader(headers);
+        headers.remove(RequestScopeAttribute.GLOBAL_TRANSACTION_ID);
+        return headers;
+    }
+
+    private ScopeAttribute consume(Map<String, String> headers) {
+        store.setAttributeIntoThreadLocal(new ScopeAttribute());
+        ScopeAttributeDeserializer deserializer = new ScopeAttributeDeserializer();
+        deserializer.setScopeAttributeByKafkaHeader(headers);
+        ScopeAttribute attribute = deserializer.getScopeAttribute();
+        store.removeAttributeFromThreadLocal();
+        return attribute;
+    }
+
+    static int recordHeaderBytes(Map<String, String> headers) {
+        int size = 0;
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            size += 2 + header.getKey().getBytes(StandardCharsets.UTF_8).length
+                    + header.getValue().getBytes(StandardCharsets.UTF_8).length;
+        }
+        return size;
+    }
+}
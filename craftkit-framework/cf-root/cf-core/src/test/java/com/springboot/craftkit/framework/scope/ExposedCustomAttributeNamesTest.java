@@ -0,0 +1,66 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExposedCustomAttributeNamesTest {
+
+    @AfterEach
+    void cleanup() {
+        ExposedCustomAttributeNames.initializeFromEnvironment(new MockEnvironment());
+    }
+
+    @Test
+    void lookupIsCaseInsensitiveAndViewIsShared() {
+        ExposedCustomAttributeNames.setAttributes(List.of("X-Mrkt-Id", "x-mrkt-id"));
+        ExposedCustomAttributeNames.setAdditionalAttributes(List.of("X-Req-Header"));
+
+        assertThat(ExposedCustomAttributeNames.isContains("x-MRKT-id")).isTrue();
+        assertThat(ExposedCustomAttributeNames.isContains("X-REQ-HEADER")).isTrue();
+        assertThat(ExposedCustomAttributeNames.isNotContains("X-Other")).isTrue();
+        assertThat(ExposedCustomAttributeNames.isContains(null)).isFalse();
+
+        Set<String> attributes = ExposedCustomAttributeNames.getAttributes();
+        assertThat(attributes).containsExactly("X-Mrkt-Id", "X-Req-Header");
+        assertThat(ExposedCustomAttributeNames.getAttributes()).isSameAs(attributes);
+        assertThatThrownBy(() -> attributes.add("X-New")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void everyChangeAdvancesGeneration() {
+        int before = ExposedCustomAttributeNames.generation();
+        Set<String> previous = ExposedCustomAttributeNames.getAttributes();
+
+        ExposedCustomAttributeNames.setAdditionalAttributes(List.of("X-Tenant"));
+
+        assertThat(ExposedCustomAttributeNames.generation()).isGreaterThan(before);
+        // 이전 snapshot 은 변경되지 않는다
+        assertThat(previous).doesNotContain("X-Tenant");
+    }
+
+    @Test
+    void environmentChangeRebuildsFromEnvironment() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("sf.custom-attributes.exposed-headers.set[0]", "X-Trace-Id")
+                .withProperty("sf.custom-attributes.exposed-headers.add[0]", "X-User-Id");
+        ExposedCustomAttributeNames.initializeFromEnvironment(environment);
+        assertThat(ExposedCustomAttributeNames.getAttributes()).containsExactly("X-Trace-Id", "X-User-Id");
+
+        environment.setProperty("sf.custom-attributes.exposed-headers.add[0]", "X-Channel");
+        var listener = ExposedCustomAttributeNames.refreshListener(environment);
+
+        listener.onApplicationEvent(new EnvironmentChangeEvent(Set.of("server.port")));
+        assertThat(ExposedCustomAttributeNames.isContains("X-User-Id")).isTrue();
+
+        listener.onApplicationEvent(new EnvironmentChangeEvent(Set.of("sf.custom-attributes.exposed-headers.add[0]")));
+        assertThat(ExposedCustomAttributeNames.getAttributes()).containsExactly("X-Trace-Id", "X-Channel");
+    }
+}
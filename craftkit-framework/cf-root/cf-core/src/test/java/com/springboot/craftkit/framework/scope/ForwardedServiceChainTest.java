@@ -0,0 +1,87 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ForwardedServiceChainTest {
+
+    @AfterEach
+    void cleanup() {
+        ForwardedServiceChain.configure(ForwardedServiceChain.DEFAULT_HEAD, ForwardedServiceChain.DEFAULT_TAIL, Map.of());
+    }
+
+    @Test
+    void adjacentRepeatsAndBlanksAreDropped() {
+        ForwardedServiceChain chain = new ForwardedServiceChain();
+        chain.appendEncoded(" gateway , gateway,, bff ");
+        chain.append("bff");
+        chain.append(null);
+        chain.append("gateway");
+
+        assertThat(chain.view()).containsExactly("gateway", "bff", "gateway");
+        assertThat(chain.encode()).isEqualTo("gateway,bff,gateway");
+    }
+
+    @Test
+    void longChainKeepsHeadAndTailAndCountsSkipped() {
+        ForwardedServiceChain.configure(2, 3, Map.of());
+        ForwardedServiceChain chain = new ForwardedServiceChain();
+        for (int i = 0; i < 10; i++) {
+            chain.append("s" + i);
+        }
+
+        assertThat(chain.view()).containsExactly("s0", "s1", "~5", "s7", "s8", "s9");
+        assertThat(chain.encode()).isEqualTo("s0,s1,~5,s7,s8,s9");
+
+        // 다음 hop : 생략 개수를 이어서 더한다
+        ForwardedServiceChain next = new ForwardedServiceChain();
+        next.appendEncoded(chain.encode());
+        next.append("x");
+        assertThat(next.encode()).isEqualTo("s0,s1,~6,s8,s9,x");
+        assertThat(next.skipped()).isEqualTo(6);
+    }
+
+    @Test
+    void appendExtendsEncodedValueAndViewIsReadOnly() {
+        ForwardedServiceChain chain = new ForwardedServiceChain();
+        chain.appendEncoded("gateway,bff");
+        String before = chain.encode();
+
+        chain.append("order");
+
+        assertThat(chain.encode()).isEqualTo(before + ",order");
+        List<String> view = chain.view();
+        assertThatThrownBy(() -> view.add("x")).isInstanceOf(UnsupportedOperationException.class);
+
+        ForwardedServiceChain copy = new ForwardedServiceChain(chain);
+        copy.append("pay");
+        assertThat(chain.view()).containsExactly("gateway", "bff", "order");
+    }
+
+    @Test
+    void compactIdsAreUsedOnTheWire() {
+        ForwardedServiceChain.configure(4, 12, Map.of("order-service", "os", "payment-service", "ps"));
+        ForwardedServiceChain chain = new ForwardedServiceChain();
+        chain.appendEncoded("gateway,os");
+        chain.append("payment-service");
+
+        assertThat(chain.view()).containsExactly("gateway", "order-service", "payment-service");
+        assertThat(chain.encode()).isEqualTo("gateway,os,ps");
+    }
+
+    @Test
+    void scopeAttributeExposesReadOnlyViewAndHeader() {
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setForwardedService("gateway,bff", "message", "order");
+
+        assertThat(attribute.getForwardedService()).containsExactly("gateway", "bff", "message", "order");
+        assertThat(attribute.getForwardedServiceHeader()).isEqualTo("gateway,bff,message,order");
+        assertThatThrownBy(() -> attribute.getForwardedService().clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,119 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestScopeStoreTest {
+
+    @AfterEach
+    void cleanup() {
+        new ScopeStore().removeAttributeFromThreadLocal();
+        RequestScopeUtil.setScopeStore(new ScopeStore());
+    }
+
+    @Test
+    void storeIsSelectedByProperty() {
+        RequestScopeUtil.initializeFromEnvironment(new MockEnvironment());
+        assertThat(RequestScopeUtil.getStore()).isInstanceOf(ScopeStore.class);
+
+        RequestScopeUtil.initializeFromEnvironment(new MockEnvironment().withProperty("sf.scope.store", "structured"));
+        assertThat(RequestScopeUtil.getStore()).isInstanceOf(StructuredScopeStore.class);
+        assertThat(((StructuredScopeStore) RequestScopeUtil.getStore()).getUnboundStore()).isNotNull();
+
+        RequestScopeUtil.initializeFromEnvironment(new MockEnvironment()
+                .withProperty("sf.scope.store", StructuredScopeStore.class.getName()));
+        assertThat(RequestScopeUtil.getStore()).isInstanceOf(StructuredScopeStore.class);
+
+        MockEnvironment invalid = new MockEnvironment().withProperty("sf.scope.store", "com.example.Missing");
+        assertThatThrownBy(() -> RequestScopeUtil.initializeFromEnvironment(invalid)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void structuredBindingIsRestoredAndLeavesNothingOnThread() throws Exception {
+        StructuredScopeStore store = new StructuredScopeStore();
+        RequestScopeUtil.setScopeStore(store);
+
+        String seen = store.callWith(attribute("outer"), () -> {
+            String inner = store.callWith(attribute("inner"), () -> RequestScopeUtil.getAttribute().getUserId());
+            return inner + "," + RequestScopeUtil.getAttribute().getUserId();
+        });
+
+        assertThat(seen).isEqualTo("inner,outer");
+        assertThat(StructuredScopeStore.isBound()).isFalse();
+    }
+
+    @Test
+    void structuredBindingOfSnapshotIsForkedOnFirstAccess() throws Exception {
+        StructuredScopeStore store = new StructuredScopeStore();
+        ScopeAttribute snapshot = attribute("user-1").snapshot();
+
+        ScopeAttribute current = store.callWith(snapshot, () -> {
+            ScopeAttribute attribute = (ScopeAttribute) store.getAttribute();
+            attribute.setCustomAttribute("step", "worker");
+            assertThat(store.getAttribute()).isSameAs(attribute);
+            return attribute;
+        });
+
+        assertThat(current.isSnapshot()).isFalse();
+        assertThat(current.getCustomAttribute("step")).isEqualTo("worker");
+        assertThat(snapshot.getCustomAttribute("step")).isNull();
+    }
+
+    @Test
+    void structuredBindingOnPooledThreadsDoesNotLeak() throws Exception {
+        StructuredScopeStore store = new StructuredScopeStore();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            pool.submit(() -> store.runWith(attribute("user-1").snapshot(), () -> { })).get();
+
+            assertThat(pool.submit(StructuredScopeStore::isBound).get()).isFalse();
+            assertThat(pool.submit(() -> store.getAttribute().getUserId()).get()).isNull();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void threadLocalCallWithRestoresPreviousAttribute() throws Exception {
+        ScopeStore store = new ScopeStore();
+        store.setAttributeIntoThreadLocal(attribute("caller"));
+
+        String inner = store.callWith(attribute("task"), () -> store.getAttribute().getUserId());
+
+        assertThat(inner).isEqualTo("task");
+        assertThat(store.getAttribute().getUserId()).isEqualTo("caller");
+    }
+
+    @Test
+    void bindIsByReferenceAndRestoresPrevious() {
+        for (RequestScopeStore store : new RequestScopeStore[]{new ScopeStore(), new StructuredScopeStore()}) {
+            assertThat(store.peekAttribute()).isNull();
+
+            ScopeAttribute outer = attribute("outer");
+            ScopeAttribute previous = store.bind(outer);
+            assertThat(previous).isNull();
+            assertThat(store.getAttribute()).isSameAs(outer);
+
+            ScopeAttribute before = store.bind(attribute("inner"));
+            assertThat(before).isSameAs(outer);
+            store.restore(before);
+            assertThat(store.peekAttribute()).isSameAs(outer);
+
+            store.restore(null);
+            assertThat(store.peekAttribute()).isNull();
+        }
+    }
+
+    private static ScopeAttribute attribute(String userId) {
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setUserId(userId);
+        return attribute;
+    }
+}
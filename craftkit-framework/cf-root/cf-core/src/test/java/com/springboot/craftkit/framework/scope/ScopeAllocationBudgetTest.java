@@ -0,0 +1,176 @@
+package com.springboot.craftkit.framework.scope;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.springboot.craftkit.framework.util.StringUtil;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * scope 처리의 요청당 할당량(byte) 상한
+ *
+ * <pre>
+ *  - 현재 thread 의 할당량(com.sun.management.ThreadMXBean)을 warm-up 후 반복 측정한 평균이다.
+ *  - 상한은 측정값의 약 1.5 배이다. 상한을 넘으면 할당이 늘어난 변경이므로 원인을 확인한 후 조정한다.
+ *  - 운영과 같이 framework log 는 INFO 로 측정한다. (DEBUG 로그의 toString 할당 제외)
+ *  - thread 할당량 측정을 지원하지 않는 JVM 에서는 skip 한다.
+ * </pre>
+ */
+class ScopeAllocationBudgetTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 20_000;
+
+    // byte / 요청 (측정값 : http 18.4k, kafka 8.8k, cached 1.3k, hop 128 - JDK 17)
+    private static final long HTTP_ROUND_TRIP_BUDGET = 28_000;
+    private static final long KAFKA_ROUND_TRIP_BUDGET = 13_000;
+    private static final long CACHED_OUTBOUND_BUDGET = 2_000;
+    private static final long SNAPSHOT_HOP_BUDGET = 256;
+
+    private static Logger frameworkLogger;
+    private static Level previousLevel;
+
+    private final ScopeStore store = new ScopeStore();
+
+    @BeforeAll
+    static void quietLogging() {
+        frameworkLogger = (Logger) LoggerFactory.getLogger("com.springboot.craftkit");
+        previousLevel = frameworkLogger.getLevel();
+        frameworkLogger.setLevel(Level.INFO);
+    }
+
+    @AfterAll
+    static void restoreLogging() {
+        frameworkLogger.setLevel(previousLevel);
+    }
+
+    /**
+     * 전체 header 세트 inbound -> outbound 4회 (마지막은 snapshot 으로 thread hop)
+     */
+    @Test
+    void httpRoundTrip() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        Map<String, String> inbound = ScopeRoundTripFixture.inboundHeaders(true, true);
+        inbound.forEach(request::addHeader);
+        Callable<HttpHeaders> roundTrip = () -> {
+            ScopeAttribute previous = store.bind(new ScopeAttribute());
+            try {
+                new ScopeAttributeDeserializer().setScopeAttributeByHttpHeader(request);
+                return ScopeRoundTripFixture.httpCalls(store, 4);
+            } finally {
+                store.restore(previous);
+            }
+        };
+
+        HttpHeaders outbound = call(roundTrip);
+        assertThat(outbound.getFirst(RequestScopeAttribute.PRIVATE_CLAIMS)).isEqualTo(inbound.get(RequestScopeAttribute.PRIVATE_CLAIMS));
+        assertThat(outbound.getFirst(RequestScopeAttribute.CUSTOM_ATTRIBUTES)).isEqualTo(inbound.get(RequestScopeAttribute.CUSTOM_ATTRIBUTES));
+        // inbound 값은 decode 후 보관하고 outbound 에서 한번만 인코딩한다
+        assertThat(outbound.getFirst(RequestScopeAttribute.PROGRAM_ID)).isEqualTo(StringUtil.encodeURIComponent("bff::GET::/orders"));
+
+        assertThat(bytesPerOperation(roundTrip)).isLessThanOrEqualTo(HTTP_ROUND_TRIP_BUDGET);
+    }
+
+    @Test
+    void kafkaRoundTrip() {
+        Map<String, String> message = new HashMap<>(ScopeRoundTripFixture.inboundHeaders(true, false));
+        Callable<Map<String, String>> roundTrip = () -> {
+            ScopeAttribute previous = store.bind(new ScopeAttribute());
+            try {
+                new ScopeAttributeDeserializer().setScopeAttributeByKafkaHeader(message);
+                return ScopeRoundTripFixture.kafkaCalls(store, 4);
+            } finally {
+                store.restore(previous);
+            }
+        };
+
+        Map<String, String> outbound = call(roundTrip);
+        assertThat(outbound.get(RequestScopeAttribute.PRIVATE_CLAIMS)).isEqualTo(ScopeRoundTripFixture.PRIVATE_CLAIMS_JSON);
+        assertThat(outbound.get(RequestScopeAttribute.FORWARDED_SERVICE)).startsWith("gateway,edge-auth,bff,").contains(",message,");
+
+        assertThat(bytesPerOperation(roundTrip)).isLessThanOrEqualTo(KAFKA_ROUND_TRIP_BUDGET);
+    }
+
+    /**
+     * scope 변경이 없는 outbound 호출은 인코딩된 header 를 재사용한다
+     */
+    @Test
+    void cachedOutboundHeaders() {
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setGtid("gtid-1");
+        attribute.setUserId("user-1");
+        attribute.setForwardedService(List.of("gateway"), "bff");
+        attribute.setCustomAttribute("channel", "web");
+        ScopeAttribute previous = store.bind(attribute);
+        try {
+            long bytes = bytesPerOperation(() -> {
+                HttpHeaders headers = new HttpHeaders();
+                new ScopeAttributeSerializer().setHttpHeaders(headers);
+                return headers;
+            });
+            assertThat(bytes).isLessThanOrEqualTo(CACHED_OUTBOUND_BUDGET);
+        } finally {
+            store.restore(previous);
+        }
+    }
+
+    @Test
+    void snapshotThreadHop() {
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setGtid("gtid-1");
+        attribute.setForwardedService(List.of("gateway"), "bff");
+        attribute.setLocalAttribute("step", 1);
+
+        long bytes = bytesPerOperation(() -> {
+            ScopeAttribute previous = store.bind(attribute.snapshot());
+            try {
+                return store.getAttribute();
+            } finally {
+                store.restore(previous);
+            }
+        });
+        assertThat(bytes).isLessThanOrEqualTo(SNAPSHOT_HOP_BUDGET);
+    }
+
+    private static <T> T call(Callable<T> operation) {
+        try {
+            return operation.call();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long bytesPerOperation(Callable<?> operation) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        long threadId = Thread.currentThread().getId();
+        Object sink = null;
+        try {
+            for (int i = 0; i < WARMUP; i++) {
+                sink = operation.call();
+            }
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink = operation.call();
+            }
+            long after = threads.getThreadAllocatedBytes(threadId);
+            assertThat(sink).isNotNull();
+            return (after - before) / ITERATIONS;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScopeAttributeLazyDeserializationTest {
+
+    private final ScopeStore store = new ScopeStore();
+
+    @AfterEach
+    void cleanup() {
+        store.removeAttributeFromThreadLocal();
+    }
+
+    @Test
+    void jsonIsDecodedOnFirstAccess() {
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setPrivateClaims("{\"tenant\":\"acme\",\"level\":3}");
+        attribute.setCustomAttributes("{\"channel\":\"web\"}");
+
+        assertThat(attribute.rawPrivateClaims()).isInstanceOf(String.class);
+        assertThat(attribute.rawCustomAttributes()).isInstanceOf(String.class);
+
+        assertThat(attribute.getPrivateClaim("TENANT")).isEqualTo("acme");
+        assertThat(attribute.getPrivateClaims()).containsEntry("level", 3);
+        assertThat(attribute.rawPrivateClaims()).isInstanceOf(Map.class);
+        assertThat(attribute.rawCustomAttributes()).isInstanceOf(String.class);
+
+        assertThat(attribute.getCustomAttribute("channel")).isEqualTo("web");
+        assertThat(attribute.rawCustomAttributes()).isInstanceOf(Map.class);
+    }
+
+    @Test
+    void writesApplyOnTopOfPendingJson() {
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setCustomAttributes("{\"channel\":\"web\"}");
+        attribute.setCustomAttribute("tenant", "acme");
+
+        assertThat(attribute.getCustomAttributes()).containsOnlyKeys("channel", "tenant");
+
+        // 기존 값이 있으면 대체한다
+        attribute.setCustomAttributes("{\"region\":\"kr\"}");
+        assertThat(attribute.getCustomAttributes()).containsOnlyKeys("region");
+
+        // privateClaims 는 기존 값에 병합한다
+        attribute.setPrivateClaims("{\"a\":1}");
+        attribute.setPrivateClaims("{\"b\":2}");
+        assertThat(attribute.getPrivateClaims()).containsOnlyKeys("a", "b");
+    }
+
+    @Test
+    void invalidJsonIsIgnored() {
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setCustomAttributes("{not-json");
+
+        assertThat(attribute.getCustomAttributes()).isEmpty();
+    }
+
+    @Test
+    void pendingJsonIsDecodedIndependentlyBySnapshotAndSource() throws Exception {
+        ScopeAttribute source = new ScopeAttribute();
+        source.setCustomAttributes("{\"channel\":\"web\"}");
+        ScopeAttribute snapshot = source.snapshot();
+
+        Object fromWorker = CompletableFuture.supplyAsync(() -> snapshot.getCustomAttribute("channel")).get();
+        source.setCustomAttribute("channel", "app");
+
+        assertThat(fromWorker).isEqualTo("web");
+        assertThat(snapshot.getCustomAttribute("channel")).isEqualTo("web");
+        assertThat(source.getCustomAttribute("channel")).isEqualTo("app");
+        assertThat(ScopeAttribute.of(source).getCustomAttribute("channel")).isEqualTo("app");
+    }
+
+    @Test
+    void httpHeadersAreReadWithoutDecodingJson() {
+        store.setAttributeIntoThreadLocal(new ScopeAttribute());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestScopeAttribute.USER_ID.toUpperCase(), "user-1");
+        request.addHeader(RequestScopeAttribute.PRIVATE_CLAIMS, "{\"tenant\":\"acme\"}");
+
+        ScopeAttributeDeserializer deserializer = new ScopeAttributeDeserializer();
+        deserializer.setScopeAttributeByHttpHeader(request);
+        ScopeAttribute attribute = deserializer.getScopeAttribute();
+
+        assertThat(attribute.getUserId()).isEqualTo("user-1");
+        assertThat(attribute.rawPrivateClaims()).isInstanceOf(String.class);
+        assertThat(attribute.rawCustomAttributes()).isInstanceOf(Map.class);
+    }
+
+    @Test
+    void httpHeaderValuesAreUrlDecoded() {
+        store.setAttributeIntoThreadLocal(new ScopeAttribute());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestScopeAttribute.USER_ID.toUpperCase(), "user%2B1%20kr");
+
+        ScopeAttributeDeserializer deserializer = new ScopeAttributeDeserializer();
+        deserializer.setScopeAttributeByHttpHeader(request);
+
+        assertThat(deserializer.getScopeAttribute().getUserId()).isEqualTo("user+1 kr");
+    }
+
+    @Test
+    void kafkaHeaderValuesAreKeptAsIs() {
+        store.setAttributeIntoThreadLocal(new ScopeAttribute());
+
+        ScopeAttributeDeserializer deserializer = new ScopeAttributeDeserializer();
+        deserializer.setScopeAttributeByKafkaHeader(Map.of(
+                RequestScopeAttribute.USER_ID, "user+1 100%20",
+                RequestScopeAttribute.CUSTOM_ATTRIBUTES, "{\"rate\":\"50%\"}"));
+        ScopeAttribute attribute = deserializer.getScopeAttribute();
+
+        assertThat(attribute.getUserId()).isEqualTo("user+1 100%20");
+        assertThat(attribute.getCustomAttribute("rate")).isEqualTo("50%");
+    }
+}
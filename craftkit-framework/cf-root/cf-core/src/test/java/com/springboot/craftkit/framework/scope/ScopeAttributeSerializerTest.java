@@ -0,0 +1,128 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScopeAttributeSerializerTest {
+
+    private final ScopeStore store = new ScopeStore();
+    private ScopeAttribute attribute;
+
+    @BeforeEach
+    void setUp() {
+        ScopeAttribute source = new ScopeAttribute();
+        source.setUserId("user-1");
+        source.setGtid("gtid-1");
+        source.setForwardedService(List.of("gateway"), "bff");
+        source.setCustomAttribute("tenant", "a b");
+        store.setAttributeIntoThreadLocal(source);
+        attribute = (ScopeAttribute) store.getAttribute();
+    }
+
+    @AfterEach
+    void cleanup() {
+        store.removeAttributeFromThreadLocal();
+        ExposedCustomAttributeNames.setAttributes(List.of());
+    }
+
+    @Test
+    void encodedHeadersAreReusedUntilScopeChanges() {
+        ScopeAttributeSerializer serializer = new ScopeAttributeSerializer();
+
+        HttpHeaders first = new HttpHeaders();
+        serializer.setHttpHeaders(first);
+        EncodedScopeHeaders cached = attribute.getEncodedHeaders(true, attribute.headerStamp());
+
+        HttpHeaders second = new HttpHeaders();
+        serializer.setHttpHeaders(second);
+
+        assertThat(cached).isNotNull();
+        assertThat(attribute.getEncodedHeaders(true, attribute.headerStamp())).isSameAs(cached);
+        assertThat(second).isEqualTo(first);
+        assertThat(first.getFirst(RequestScopeAttribute.USER_ID)).isEqualTo("user-1");
+        assertThat(first.getFirst(RequestScopeAttribute.CUSTOM_ATTRIBUTES)).isEqualTo("%7B%22tenant%22%3A%22a%20b%22%7D");
+
+        attribute.setUserId("user-2");
+        attribute.setLocalAttribute("not-a-header", 1);
+        HttpHeaders third = new HttpHeaders();
+        serializer.setHttpHeaders(third);
+
+        assertThat(third.getFirst(RequestScopeAttribute.USER_ID)).isEqualTo("user-2");
+    }
+
+    @Test
+    void customAttributesAreChangedOnlyThroughSetters() {
+        ScopeAttributeSerializer serializer = new ScopeAttributeSerializer();
+        serializer.setHttpHeaders(new HttpHeaders());
+        Map<String, Object> view = attribute.getCustomAttributes();
+
+        // 보관한 map 으로 변경하면 header cache version 을 우회하므로 허용하지 않는다 (MIGRATION.md)
+        assertThatThrownBy(() -> view.put("channel", "web")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> view.remove("tenant")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(view::clear).isInstanceOf(UnsupportedOperationException.class);
+
+        attribute.removeCustomAttribute("tenant");
+        attribute.setCustomAttribute("channel", "web");
+        HttpHeaders headers = new HttpHeaders();
+        serializer.setHttpHeaders(headers);
+
+        assertThat(headers.getFirst(RequestScopeAttribute.CUSTOM_ATTRIBUTES)).isEqualTo("%7B%22channel%22%3A%22web%22%7D");
+        assertThat(view).containsOnlyKeys("channel");
+    }
+
+    @Test
+    void localAttributesAndDeadlineDoNotInvalidateCache() {
+        ScopeAttributeSerializer serializer = new ScopeAttributeSerializer();
+        serializer.setHttpHeaders(new HttpHeaders());
+        long stamp = attribute.headerStamp();
+
+        attribute.setLocalAttribute("step", 1);
+        attribute.setDeadline(System.currentTimeMillis() + 1_000L);
+
+        assertThat(attribute.headerStamp()).isEqualTo(stamp);
+    }
+
+    @Test
+    void kafkaHeadersAreCachedSeparately() {
+        ScopeAttributeSerializer serializer = new ScopeAttributeSerializer();
+
+        Map<String, String> kafka = new HashMap<>();
+        serializer.setKafkaHeader(kafka);
+        HttpHeaders http = new HttpHeaders();
+        serializer.setHttpHeaders(http);
+
+        assertThat(kafka.get(RequestScopeAttribute.CUSTOM_ATTRIBUTES)).isEqualTo("{\"tenant\":\"a b\"}");
+        assertThat(kafka.get(RequestScopeAttribute.FORWARDED_SERVICE)).isEqualTo("gateway,bff");
+        assertThat(kafka.get(RequestScopeAttribute.GLOBAL_TRANSACTION_ID)).isEqualTo("gtid-1");
+        assertThat(http.containsKey(RequestScopeAttribute.FORWARDED_SERVICE)).isFalse();
+
+        attribute.addForwardedService("order");
+        Map<String, String> next = new HashMap<>();
+        serializer.setKafkaHeader(next);
+        assertThat(next.get(RequestScopeAttribute.FORWARDED_SERVICE)).isEqualTo("gateway,bff,order");
+    }
+
+    @Test
+    void exposedAttributeConfigurationChangeInvalidatesCache() {
+        ScopeAttributeSerializer serializer = new ScopeAttributeSerializer();
+        HttpHeaders before = new HttpHeaders();
+        serializer.setHttpHeaders(before);
+
+        ExposedCustomAttributeNames.setAttributes(List.of("tenant"));
+        HttpHeaders after = new HttpHeaders();
+        serializer.setHttpHeaders(after);
+
+        assertThat(before.containsKey("tenant")).isFalse();
+        assertThat(after.getFirst("tenant")).isEqualTo("a%20b");
+        assertThat(after.containsKey(RequestScopeAttribute.CUSTOM_ATTRIBUTES)).isFalse();
+    }
+}
@@ -0,0 +1,134 @@
+package com.springboot.craftkit.framework.scope;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScopeAttributeSnapshotTest {
+
+    private final ScopeStore store = new ScopeStore();
+
+    @AfterEach
+    void cleanup() {
+        store.removeAttributeFromThreadLocal();
+    }
+
+    @Test
+    void snapshotIsReusedUntilSourceChanges() {
+        ScopeAttribute source = attribute();
+
+        ScopeAttribute first = source.snapshot();
+        assertThat(source.snapshot()).isSameAs(first);
+        assertThat(first.isSnapshot()).isTrue();
+
+        source.setCustomAttribute("tenant", "b");
+        ScopeAttribute second = source.snapshot();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(first.getCustomAttribute("tenant")).isEqualTo("a");
+        assertThat(second.getCustomAttribute("tenant")).isEqualTo("b");
+    }
+
+    @Test
+    void writesAfterSnapshotAreIsolated() throws Exception {
+        ScopeAttribute source = attribute();
+        ScopeAttribute snapshot = source.snapshot();
+
+        ScopeAttribute worker = CompletableFuture.supplyAsync(() -> {
+            store.setAttributeIntoThreadLocal(snapshot);
+            ScopeAttribute current = (ScopeAttribute) store.getAttribute();
+            current.setCustomAttribute("tenant", "worker");
+            current.setLocalAttribute("step", 2);
+            current.addForwardedService("worker-service");
+            current.setUserId("worker-user");
+            store.removeAttributeFromThreadLocal();
+            return current;
+        }).get();
+
+        source.setLocalAttribute("step", 1);
+
+        assertThat(worker.getCustomAttribute("tenant")).isEqualTo("worker");
+        assertThat(worker.getForwardedService()).containsExactly("gateway", "bff", "worker-service");
+        assertThat(source.getCustomAttribute("tenant")).isEqualTo("a");
+        assertThat(source.getLocalAttribute("step")).isEqualTo(1);
+        assertThat(source.getForwardedService()).containsExactly("gateway", "bff");
+        assertThat(source.getUserId()).isEqualTo("user-1");
+        assertThat(snapshot.getLocalAttribute("step")).isNull();
+        assertThat(snapshot.getUserId()).isEqualTo("user-1");
+    }
+
+    @Test
+    void snapshotIsReadOnly() {
+        ScopeAttribute snapshot = attribute().snapshot();
+
+        assertThatThrownBy(() -> snapshot.setCustomAttribute("tenant", "x")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> snapshot.getCustomAttributes().put("tenant", "x")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> snapshot.getLocalAttributes().clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void localAttributesAreChangedOnlyThroughSetters() {
+        ScopeAttribute attribute = attribute();
+        Map<String, Object> view = attribute.getLocalAttributes();
+
+        // 반환된 map 은 읽기 전용 view 이다 (MIGRATION.md)
+        assertThatThrownBy(() -> view.put("step", 1)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> view.remove("step")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(view::clear).isInstanceOf(UnsupportedOperationException.class);
+
+        attribute.setLocalAttribute("step", 1);
+        assertThat(attribute.getLocalAttribute("step")).isEqualTo(1);
+        attribute.removeLocalAttribute("step");
+        assertThat(attribute.getLocalAttributes()).isEmpty();
+    }
+
+    @Test
+    void heldMapsCannotChangeSnapshot() {
+        ScopeAttribute source = attribute();
+        source.setLocalAttribute("step", 1);
+        Map<String, Object> custom = source.getCustomAttributes();
+        Map<String, Object> local = source.getLocalAttributes();
+
+        ScopeAttribute snapshot = source.snapshot();
+
+        // snapshot 이후에도 먼저 받아둔 map 으로는 공유 중인 컬렉션을 변경할 수 없다
+        assertThatThrownBy(() -> custom.put("tenant", "x")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> local.put("step", 2)).isInstanceOf(UnsupportedOperationException.class);
+
+        source.setCustomAttribute("tenant", "b");
+        source.removeLocalAttribute("step");
+
+        assertThat(snapshot.getCustomAttribute("tenant")).isEqualTo("a");
+        assertThat(snapshot.getLocalAttribute("step")).isEqualTo(1);
+        assertThat(source.getCustomAttribute("tenant")).isEqualTo("b");
+        assertThat(source.getLocalAttribute("step")).isNull();
+    }
+
+    @Test
+    void snapshotIsHandedOverByReference() {
+        ScopeAttribute snapshot = attribute().snapshot();
+
+        store.setAttributeIntoThreadLocal(snapshot);
+        ScopeAttribute current = (ScopeAttribute) store.getAttribute();
+
+        assertThat(current).isNotSameAs(snapshot);
+        assertThat(current.isSnapshot()).isFalse();
+        assertThat(current.getGtid()).isEqualTo("gtid-1");
+        assertThat(store.getAttribute()).isSameAs(current);
+    }
+
+    private static ScopeAttribute attribute() {
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setUserId("user-1");
+        attribute.setGtid("gtid-1");
+        attribute.setForwardedService(List.of("gateway"), "bff");
+        attribute.setCustomAttribute("tenant", "a");
+        return attribute;
+    }
+}
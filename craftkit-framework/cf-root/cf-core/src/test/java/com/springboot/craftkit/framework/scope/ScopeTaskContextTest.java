@@ -0,0 +1,133 @@
+package com.springboot.craftkit.framework.scope;
+
+import com.springboot.craftkit.config.ScopeTaskExecutionConfig;
+import com.springboot.craftkit.framework.application.constant.CommonConstant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScopeTaskContextTest {
+
+    private final ScopeStore store = new ScopeStore();
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setGtid("gtid-1");
+        attribute.setUserId("user-1");
+        store.setAttributeIntoThreadLocal(attribute);
+        MDC.put("tenant", "acme");
+        pool = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void cleanup() {
+        pool.shutdownNow();
+        MDC.clear();
+        store.removeAttributeFromThreadLocal();
+    }
+
+    @Test
+    void decoratedTaskSeesSubmitterContextAndLeavesNothingBehind() throws Exception {
+        Runnable task = new ScopeTaskDecorator().decorate(() -> {
+            assertThat(RequestScopeUtil.getAttribute().getGtid()).isEqualTo("gtid-1");
+            assertThat(MDC.get(CommonConstant.LOG_MDC_GTID)).isEqualTo("gtid-1");
+            assertThat(MDC.get("tenant")).isEqualTo("acme");
+        });
+        pool.submit(task).get();
+
+        assertThat(pool.submit(() -> MDC.getCopyOfContextMap()).get()).isNullOrEmpty();
+        assertThat(pool.submit(() -> RequestScopeUtil.getAttribute().getGtid()).get()).isEmpty();
+    }
+
+    @Test
+    void contextIsCapturedAtSubmitTime() throws Exception {
+        Runnable task = new ScopeTaskDecorator().decorate(() ->
+                assertThat(RequestScopeUtil.getAttribute().getUserId()).isEqualTo("user-1"));
+
+        // 제출 이후의 변경은 전달되지 않는다
+        ((ScopeAttribute) store.getAttribute()).setUserId("user-2");
+        pool.submit(task).get();
+    }
+
+    @Test
+    void completableFutureOnWrappedExecutor() {
+        String gtid = CompletableFuture
+                .supplyAsync(() -> RequestScopeUtil.getAttribute().getGtid(), ScopeContextExecutors.wrap(pool))
+                .join();
+
+        assertThat(gtid).isEqualTo("gtid-1");
+    }
+
+    @Test
+    void scheduledTaskRunsWithContext() throws Exception {
+        ScheduledExecutorService scheduler = ScopeContextExecutors.wrap(Executors.newSingleThreadScheduledExecutor());
+        try {
+            String gtid = scheduler.schedule(() -> MDC.get(CommonConstant.LOG_MDC_GTID), 10, TimeUnit.MILLISECONDS).get();
+            assertThat(gtid).isEqualTo("gtid-1");
+            assertThat(ScopeContextExecutors.wrap(scheduler)).isSameAs(scheduler);
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void callerRunsKeepsCallerContext() {
+        ScopeTaskContext.capture().run(() -> ((ScopeAttribute) RequestScopeUtil.getAttribute()).setUserId("task"));
+
+        assertThat(store.getAttribute().getUserId()).isEqualTo("user-1");
+        assertThat(MDC.get("tenant")).isEqualTo("acme");
+    }
+
+    @Test
+    void submittingWithoutScopeLeavesNothingBehind() throws Exception {
+        ExecutorService submitter = Executors.newSingleThreadExecutor();
+        try {
+            Runnable task = submitter.submit(() -> {
+                Runnable decorated = new ScopeTaskDecorator().decorate(() ->
+                        ((ScopeAttribute) RequestScopeUtil.getAttribute()).setUserId("task"));
+                // 제출만으로 제출 thread 에 scope 가 생기지 않는다
+                assertThat(RequestScopeUtil.peekAttribute()).isNull();
+                return decorated;
+            }).get();
+
+            pool.submit(task).get();
+
+            assertThat(pool.submit(RequestScopeUtil::peekAttribute).get()).isNull();
+        } finally {
+            submitter.shutdownNow();
+        }
+    }
+
+    @Test
+    void taskExecutorIsDecoratedByAutoConfiguration() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class, ScopeTaskExecutionConfig.class))
+                .run(context -> {
+                    assertThat(context).hasSingleBean(TaskDecorator.class);
+                    ThreadPoolTaskExecutor executor = context.getBean(ThreadPoolTaskExecutor.class);
+                    String gtid = executor.submit(() -> RequestScopeUtil.getAttribute().getGtid()).get();
+                    assertThat(gtid).isEqualTo("gtid-1");
+                });
+
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ScopeTaskExecutionConfig.class))
+                .withPropertyValues("sf.scope.task-propagation.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(TaskDecorator.class));
+    }
+}
@@ -0,0 +1,135 @@
+package com.springboot.craftkit.framework.util;
+
+import com.springboot.craftkit.framework.application.constant.HttpHeaderConstant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClientIpResolverTest {
+
+    @AfterEach
+    void cleanup() {
+        ClientIpResolver.setTrustedProxies(List.of());
+    }
+
+    @Test
+    void cidrTrieMatchesIpv4AndIpv6Prefixes() {
+        CidrTrie trie = new CidrTrie();
+        trie.add("10.0.0.0/8");
+        trie.add("192.168.1.7");
+        trie.add("2001:db8::/32");
+        trie.add("fe80::1/128");
+
+        assertThat(trie.contains("10.255.0.1")).isTrue();
+        assertThat(trie.contains("11.0.0.1")).isFalse();
+        assertThat(trie.contains("192.168.1.7")).isTrue();
+        assertThat(trie.contains("192.168.1.8")).isFalse();
+        assertThat(trie.contains("2001:DB8:0:0:0:0:0:1")).isTrue();
+        assertThat(trie.contains("2001:db9::1")).isFalse();
+        assertThat(trie.contains("fe80::1%eth0")).isTrue();
+        assertThat(trie.contains("::ffff:10.1.2.3")).isTrue();
+        assertThat(trie.contains("unknown")).isFalse();
+        assertThat(trie.contains("10.0.0.256")).isFalse();
+        assertThat(trie.contains("1::2::3")).isFalse();
+
+        CidrTrie all = new CidrTrie();
+        all.add("0.0.0.0/0");
+        assertThat(all.contains("8.8.8.8")).isTrue();
+        assertThatThrownBy(() -> all.add("10.0.0.0/33")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> all.add("example.com")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ipv6ParsingHandlesCompressionAndEmbeddedIpv4() {
+        long[] out = new long[2];
+        assertThat(CidrTrie.parseIpv6("::", 0, 2, out)).isTrue();
+        assertThat(out).containsExactly(0L, 0L);
+        assertThat(CidrTrie.parseIpv6("::1", 0, 3, out)).isTrue();
+        assertThat(out).containsExactly(0L, 1L);
+        assertThat(CidrTrie.parseIpv6("1:2:3:4:5:6:7:8", 0, 15, out)).isTrue();
+        assertThat(out).containsExactly(0x0001000200030004L, 0x0005000600070008L);
+        assertThat(CidrTrie.parseIpv6("::ffff:1.2.3.4", 0, 14, out)).isTrue();
+        assertThat(out).containsExactly(0L, 0x0000FFFF01020304L);
+        assertThat(CidrTrie.parseIpv6("2001:db8::8:800:200c:417a", 0, 25, out)).isTrue();
+        assertThat(out).containsExactly(0x20010DB800000000L, 0x00080800200C417AL);
+        assertThat(CidrTrie.parseIpv6("1:2:3:4:5:1.2.3.4", 0, 17, out)).isFalse();
+        assertThat(CidrTrie.parseIpv6("1:2:3:4:5:6:1.2.3.4", 0, 19, out)).isTrue();
+        assertThat(out).containsExactly(0x0001000200030004L, 0x0005000601020304L);
+        assertThat(CidrTrie.parseIpv6("1:2:3:4:5:6:7:8", 0, 15, null)).isTrue();
+        assertThat(CidrTrie.parseIpv6("1:2:3:4:5:6:7", 0, 13, out)).isFalse();
+        assertThat(CidrTrie.parseIpv6("12345::", 0, 7, out)).isFalse();
+        assertThat(CidrTrie.parseIpv4("1.2.3", 0, 5)).isNegative();
+    }
+
+    @Test
+    void legacyModeKeepsPreviousHeaderPrecedence() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        assertThat(HttpUtil.getClientIp(request)).isEqualTo("10.0.0.1");
+
+        request.addHeader(HttpHeaderConstant.HTTP_HEADER_PROXY_CLIENT_IP, "203.0.113.9");
+        request.addHeader(HttpHeaderConstant.HTTP_HEADER_FORWARDED_FOR, "unknown");
+        assertThat(HttpUtil.getClientIp(request)).isEqualTo("203.0.113.9");
+
+        request.addHeader(HttpHeaderConstant.HTTP_HEADER_XFF, "198.51.100.1 , 10.0.0.2");
+        assertThat(HttpUtil.getClientIp(request)).isEqualTo("198.51.100.1");
+    }
+
+    @Test
+    void trustedModeWalksXForwardedForRightToLeft() {
+        ClientIpResolver.setTrustedProxies(List.of("10.0.0.0/8"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        // 왼쪽 값은 client 가 위조한 값
+        request.addHeader(ClientIpResolver.X_FORWARDED_FOR, "6.6.6.6, 198.51.100.7");
+        request.addHeader(ClientIpResolver.X_FORWARDED_FOR, "10.1.1.1");
+        request.addHeader(HttpHeaderConstant.HTTP_HEADER_XFF, "1.1.1.1");
+
+        assertThat(ClientIpResolver.resolve(request)).isEqualTo("198.51.100.7");
+
+        // 신뢰하지 않는 peer 가 보낸 header 는 무시한다
+        request.setRemoteAddr("203.0.113.50");
+        assertThat(ClientIpResolver.resolve(request)).isEqualTo("203.0.113.50");
+    }
+
+    @Test
+    void trustedModeParsesRfc7239Forwarded() {
+        ClientIpResolver.setTrustedProxies(List.of("10.0.0.0/8", "2001:db8::/32"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("2001:db8::1");
+        request.addHeader(ClientIpResolver.FORWARDED,
+                "for=\"[2001:db8:cafe::17]:4711\";proto=https, For=198.51.100.17:8080;by=10.0.0.9, for=10.0.0.5");
+        request.addHeader(ClientIpResolver.X_FORWARDED_FOR, "1.1.1.1");
+
+        assertThat(ClientIpResolver.resolve(request)).isEqualTo("198.51.100.17");
+
+        request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader(ClientIpResolver.FORWARDED, "for=\"[2001:db8:cafe::17]\", for=_hidden, for=10.0.0.5");
+        // 주소가 아닌 값을 전달한 proxy 까지만 신뢰할 수 있다
+        assertThat(ClientIpResolver.resolve(request)).isEqualTo("10.0.0.5");
+
+        request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader(ClientIpResolver.FORWARDED, "for=10.0.0.7, for=10.0.0.5");
+        assertThat(ClientIpResolver.resolve(request)).isEqualTo("10.0.0.7");
+    }
+
+    @Test
+    void trustedProxiesAreReadFromEnvironment() {
+        ClientIpResolver.initializeFromEnvironment(new MockEnvironment()
+                .withProperty("sf.client-ip.trusted-proxies[0]", "10.0.0.0/8")
+                .withProperty("sf.client-ip.trusted-proxies[1]", "::1"));
+        assertThat(ClientIpResolver.isTrustedProxy("::1")).isTrue();
+        assertThat(ClientIpResolver.isTrustedProxy("127.0.0.1")).isFalse();
+
+        MockEnvironment invalid = new MockEnvironment().withProperty("sf.client-ip.trusted-proxies", "10.0.0.0/40");
+        assertThatThrownBy(() -> ClientIpResolver.initializeFromEnvironment(invalid)).isInstanceOf(IllegalStateException.class);
+    }
+}
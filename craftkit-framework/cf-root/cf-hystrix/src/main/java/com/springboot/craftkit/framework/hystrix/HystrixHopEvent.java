@@ -0,0 +1,43 @@
+package com.springboot.craftkit.framework.hystrix;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Hystrix thread 에서 요청 scope 로 실행한 작업 ({@link RequestScopeHystrixConcurrencyStrategy.RequestContextHolderCallable})
+ *
+ * <pre>
+ *  - duration : Hystrix thread 에서의 실행 시간
+ *  - queueTime : 요청 thread 에서 wrap 한 시점부터 Hystrix thread 에서 실행을 시작할 때까지
+ * </pre>
+ */
+@Name(HystrixHopEvent.NAME)
+@Label("Hystrix Scope Hop")
+@Category({"Craftkit", "Hystrix"})
+@Description("Task executed on a Hystrix thread with the request scope of the calling thread")
+@StackTrace(false)
+@Threshold("10 ms")
+public class HystrixHopEvent extends Event {
+
+    public static final String NAME = "craftkit.HystrixHop";
+
+    @Label("GTID")
+    String gtid;
+
+    @Label("Empty Scope")
+    @Description("No request scope on the calling thread, the task ran with an empty scope")
+    boolean emptyScope;
+
+    @Label("Queue Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long queueTime;
+
+    @Label("Failed")
+    boolean failed;
+}
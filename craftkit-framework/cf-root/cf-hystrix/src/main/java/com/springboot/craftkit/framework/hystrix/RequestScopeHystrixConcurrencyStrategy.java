@@ -14,9 +14,8 @@ import com.netflix.hystrix.strategy.properties.HystrixProperty;
 import com.springboot.craftkit.framework.application.constant.CommonConstant;
 import com.springboot.craftkit.framework.scope.RequestScopeUtil;
 import com.springboot.craftkit.framework.scope.ScopeAttribute;
-import com.springboot.craftkit.framework.scope.ScopeStore;
+import com.springboot.craftkit.framework.scope.ScopeTaskContext;
 import io.micrometer.context.ContextSnapshot;
-import io.micrometer.context.ContextSnapshotFactory;
 import org.slf4j.MDC;
 
 import java.util.concurrent.BlockingQueue;
@@ -113,7 +112,8 @@ public class RequestScopeHystrixConcurrencyStrategy extends HystrixConcurrencySt
      */
     @Override
     public <T> Callable<T> wrapCallable(Callable<T> callable) {
-        RequestContextHolderCallable<T> delegatingCallable = new RequestContextHolderCallable<>(callable, (ScopeAttribute) RequestScopeUtil.getAttribute());
+        // 요청 thread 에서 snapshot 을 만들어 전달한다. worker thread 에서는 복제 없이 참조만 설정된다.
+        RequestContextHolderCallable<T> delegatingCallable = new RequestContextHolderCallable<>(callable, ((ScopeAttribute) RequestScopeUtil.getAttribute()).snapshot());
         return delegate != null ? delegate.wrapCallable(delegatingCallable) : super.wrapCallable(delegatingCallable);
     }
 
@@ -132,11 +132,13 @@ public class RequestScopeHystrixConcurrencyStrategy extends HystrixConcurrencySt
         private final Callable<V> delegate;      // 원본 Callable
         private final ScopeAttribute attribute;     // 요청 스코프에서 가져온 속성
         private final ContextSnapshot contextSnapshot;      // Micrometer의 ContextSnapshot (컨텍스트 전파용)
+        private final long wrappedAt;      // 요청 스레드에서 감싼 시각 (JFR queue time)
 
         public RequestContextHolderCallable(Callable<V> delegate, ScopeAttribute attribute) {
             this.delegate = delegate;
             this.attribute = attribute;
-            this.contextSnapshot = ContextSnapshotFactory.builder().build().captureAll();
+            this.contextSnapshot = ScopeTaskContext.snapshotFactory().captureAll();
+            this.wrappedAt = System.nanoTime();
         }
 
         /**
@@ -147,20 +149,43 @@ public class RequestScopeHystrixConcurrencyStrategy extends HystrixConcurrencySt
          */
         @Override
         public V call() throws Exception {
-            ScopeStore store = RequestScopeUtil.getScopeStore();
-            if (attribute != null) {
-                // MDC (Mapped Diagnostic Context)에 GTID 저장 (로그 추적을 위한 ID)
-                String gtid = attribute.getGtid();
-                MDC.put(CommonConstant.LOG_MDC_GTID, gtid);
-                store.setAttributeIntoThreadLocal(attribute);
+            // JFR event 가 활성화된 경우에만 기록한다
+            HystrixHopEvent event = new HystrixHopEvent();
+            boolean recording = event.isEnabled();
+            if (recording) {
+                event.begin();
             }
+            long startedAt = System.nanoTime();
+            boolean failed = true;
+            // Micrometer Context Snapshot을 활용하여 컨텍스트를 유지한 채로 Callable 실행
+            Callable<V> task = this.contextSnapshot.wrap(delegate);
             try {
-                // Micrometer Context Snapshot을 활용하여 컨텍스트를 유지한 채로 Callable 실행
-                return this.contextSnapshot.wrap(delegate).call();
+                V result;
+                if (attribute == null) {
+                    // 빈 스코프로 실행하여 실행 중 생성된 스코프가 스레드에 남지 않도록 한다
+                    result = RequestScopeUtil.getStore().callWith(new ScopeAttribute(), task);
+                } else {
+                    // MDC (Mapped Diagnostic Context)에 GTID 저장 (로그 추적을 위한 ID)
+                    String gtid = attribute.getGtid();
+                    MDC.put(CommonConstant.LOG_MDC_GTID, gtid);
+                    // 실행 동안만 요청 스코프를 설정하고, 완료 후 이전 상태로 되돌린다
+                    result = RequestScopeUtil.getStore().callWith(attribute, task);
+                }
+                failed = false;
+                return result;
             } finally {
-                // 실행 완료 후 MDC 및 요청 스코프 정리
+                // 실행 완료 후 MDC 정리
                 MDC.clear();
-                store.removeAttributeFromThreadLocal();
+                if (recording) {
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.gtid = attribute == null ? null : attribute.getGtid();
+                        event.emptyScope = attribute == null;
+                        event.queueTime = startedAt - wrappedAt;
+                        event.failed = failed;
+                        event.commit();
+                    }
+                }
             }
         }
     }
@@ -43,6 +43,7 @@ public class CircuitBreakerInterceptor implements ClientHttpRequestInterceptor {
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
         String instanceName = namer.name(request);
         CircuitBreaker cb = getOrCreate(instanceName);
+        DomainApiCallEvent.circuitBreakerState(cb.getState().name());
 
         if (!cb.tryAcquirePermission()) {
             throw CallNotPermittedException.createCallNotPermittedException(cb);
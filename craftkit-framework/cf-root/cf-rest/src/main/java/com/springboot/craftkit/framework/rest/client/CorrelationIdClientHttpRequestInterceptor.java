@@ -1,5 +1,6 @@
 package com.springboot.craftkit.framework.rest.client;
 
+import com.springboot.craftkit.framework.id.IdGenerators;
 import com.springboot.craftkit.framework.rest.setting.CorrelationProperties;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpRequest;
@@ -11,11 +12,10 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.io.IOException;
-import java.util.UUID;
 
 /**
  * Ensures a correlation/transaction header exists on outbound requests. If inbound request has one,
- * it propagates; otherwise, it generates a new UUID value.
+ * it propagates; otherwise, it generates a new time-ordered id via {@link IdGenerators}.
  */
 public class CorrelationIdClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
 
@@ -31,7 +31,7 @@ public class CorrelationIdClientHttpRequestInterceptor implements ClientHttpRequ
             String headerName = properties.getHeaderName();
             String value = findInboundHeader(headerName);
             if (value == null || value.isEmpty()) {
-                value = UUID.randomUUID().toString();
+                value = IdGenerators.nextId();
             }
             if (!request.getHeaders().containsKey(headerName)) {
                 request.getHeaders().add(headerName, value);
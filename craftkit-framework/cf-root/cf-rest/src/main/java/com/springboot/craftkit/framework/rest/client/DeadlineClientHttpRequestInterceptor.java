@@ -0,0 +1,46 @@
+package com.springboot.craftkit.framework.rest.client;
+
+import com.springboot.craftkit.framework.rest.setting.DeadlineProperties;
+import com.springboot.craftkit.framework.scope.RequestDeadline;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Propagates the remaining budget of the inbound request deadline (see {@link RequestDeadline}) as a header
+ * and rejects the call up front when the budget is already exhausted.
+ * Requests without a deadline pass through untouched.
+ */
+public class DeadlineClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private final DeadlineProperties properties;
+
+    public DeadlineClientHttpRequestInterceptor(DeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (!properties.isEnabled()) {
+            return execution.execute(request, body);
+        }
+
+        long remaining = RequestDeadline.remainingMillis();
+        if (remaining == RequestDeadline.NO_DEADLINE) {
+            return execution.execute(request, body);
+        }
+
+        long minRemaining = properties.getMinRemaining() == null ? 0L : properties.getMinRemaining().toMillis();
+        if (remaining <= minRemaining) {
+            throw new DeadlineExceededException("Request deadline exceeded before calling "
+                    + request.getMethod() + " " + request.getURI() + " (remaining " + remaining + "ms)", remaining);
+        }
+
+        // always overwrite: the value must reflect the budget left at the time of this call
+        request.getHeaders().set(properties.getHeaderName(), String.valueOf(remaining));
+        return execution.execute(request, body);
+    }
+}
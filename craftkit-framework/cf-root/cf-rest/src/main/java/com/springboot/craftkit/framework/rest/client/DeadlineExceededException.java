@@ -0,0 +1,20 @@
+package com.springboot.craftkit.framework.rest.client;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Thrown before an outbound call is sent when the remaining budget of the inbound request deadline is exhausted.
+ */
+public class DeadlineExceededException extends RestClientException {
+
+    private final long remainingMillis;
+
+    public DeadlineExceededException(String message, long remainingMillis) {
+        super(message);
+        this.remainingMillis = remainingMillis;
+    }
+
+    public long getRemainingMillis() {
+        return remainingMillis;
+    }
+}
@@ -0,0 +1,41 @@
+package com.springboot.craftkit.framework.rest.client;
+
+import com.springboot.craftkit.framework.scope.RequestDeadline;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpRequestInterceptor;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * HttpClient5 request interceptor that clamps the response timeout of each exchange (including retries)
+ * to the remaining budget of the inbound request deadline.
+ * Runs on the calling thread, before the connection is leased, so the request scope is still available.
+ */
+public class DeadlineResponseTimeoutInterceptor implements HttpRequestInterceptor {
+
+    @Override
+    public void process(HttpRequest request, EntityDetails entity, HttpContext context) throws IOException {
+        long remaining = RequestDeadline.remainingMillis();
+        if (remaining == RequestDeadline.NO_DEADLINE) {
+            return;
+        }
+        if (remaining <= 0) {
+            throw new InterruptedIOException("Request deadline exceeded before " + request.getMethod() + " " + request.getRequestUri());
+        }
+
+        HttpClientContext clientContext = HttpClientContext.adapt(context);
+        RequestConfig config = clientContext.getRequestConfig();
+        Timeout current = config.getResponseTimeout();
+        if (current == null || current.isDisabled() || current.toMilliseconds() > remaining) {
+            clientContext.setRequestConfig(RequestConfig.copy(config)
+                    .setResponseTimeout(Timeout.ofMilliseconds(remaining))
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.springboot.craftkit.framework.rest.client;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for an outbound domain API call, recorded by {@link JfrClientHttpRequestInterceptor}.
+ * <p>
+ * While a call is being recorded the event is reachable from the calling thread, so the retry strategy and the
+ * circuit breaker further down the chain can add their outcome. Nothing is tracked when the event is disabled.
+ */
+@Name(DomainApiCallEvent.NAME)
+@Label("Domain API Call")
+@Category({"Craftkit", "REST"})
+@Description("Outbound REST call made through the craftkit RestTemplate")
+@Threshold("10 ms")
+public class DomainApiCallEvent extends Event {
+
+    public static final String NAME = "craftkit.DomainApiCall";
+
+    private static final ThreadLocal<DomainApiCallEvent> RECORDING = new ThreadLocal<>();
+
+    @Label("Domain API")
+    @Description("'{@domain.api}' id of the call, if any")
+    String domainApi;
+
+    @Label("Domain")
+    String domain;
+
+    @Label("Method")
+    String method;
+
+    @Label("Host")
+    @Description("Resolved host and port of the request URI")
+    String host;
+
+    @Label("Status")
+    @Description("HTTP status code, 0 when no response was received")
+    int status;
+
+    @Label("Request Bytes")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Bytes")
+    @Description("Content-Length of the response, -1 when unknown")
+    @DataAmount
+    long responseBytes;
+
+    @Label("Retries")
+    @Description("Retries performed by the HttpClient5 retry strategy")
+    int retries;
+
+    @Label("Circuit Breaker State")
+    String circuitBreakerState;
+
+    @Label("Exception")
+    String exception;
+
+    /**
+     * Marks this event as the one being recorded on the current thread.
+     *
+     * @return the event recorded by an enclosing call, to be handed back to {@link #detach(DomainApiCallEvent)}
+     */
+    DomainApiCallEvent attach() {
+        DomainApiCallEvent previous = RECORDING.get();
+        RECORDING.set(this);
+        return previous;
+    }
+
+    /**
+     * Restores the event returned by {@link #attach()}, so a nested call does not end the recording of the outer one.
+     */
+    static void detach(DomainApiCallEvent previous) {
+        if (previous == null) {
+            RECORDING.remove();
+        } else {
+            RECORDING.set(previous);
+        }
+    }
+
+    /**
+     * Counts a retry decided on the current thread, if a call is being recorded.
+     */
+    public static void retried() {
+        DomainApiCallEvent event = RECORDING.get();
+        if (event != null) {
+            event.retries++;
+        }
+    }
+
+    /**
+     * Records the circuit breaker state seen by the current call, if a call is being recorded.
+     */
+    public static void circuitBreakerState(String state) {
+        DomainApiCallEvent event = RECORDING.get();
+        if (event != null) {
+            event.circuitBreakerState = state;
+        }
+    }
+}
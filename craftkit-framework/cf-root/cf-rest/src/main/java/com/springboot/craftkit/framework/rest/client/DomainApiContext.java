@@ -1,11 +1,14 @@
 package com.springboot.craftkit.framework.rest.client;
 
 /**
- * Simple holder for the current '{@domain.api}' identifier extracted from the
- * URI template before expansion. Used to derive circuit breaker instance names.
+ * Simple holder for the current '{@domain.api}' identifier and '{@domain}' name extracted from the
+ * URI template before expansion. Used to derive circuit breaker instance names and rate limiters.
+ * The unexpanded URI template is kept as well, for logging without path or query values.
  */
 public final class DomainApiContext {
     private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<String> CURRENT_DOMAIN = new ThreadLocal<>();
+    private static final ThreadLocal<String> CURRENT_URI_TEMPLATE = new ThreadLocal<>();
 
     private DomainApiContext() {}
 
@@ -17,7 +20,25 @@ public final class DomainApiContext {
         return CURRENT.get();
     }
 
+    public static void setCurrentDomain(String domain) {
+        CURRENT_DOMAIN.set(domain);
+    }
+
+    public static String getCurrentDomain() {
+        return CURRENT_DOMAIN.get();
+    }
+
+    public static void setCurrentUriTemplate(String uriTemplate) {
+        CURRENT_URI_TEMPLATE.set(uriTemplate);
+    }
+
+    public static String getCurrentUriTemplate() {
+        return CURRENT_URI_TEMPLATE.get();
+    }
+
     public static void clear() {
         CURRENT.remove();
+        CURRENT_DOMAIN.remove();
+        CURRENT_URI_TEMPLATE.remove();
     }
 }
@@ -0,0 +1,27 @@
+package com.springboot.craftkit.framework.rest.client;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Clears {@link DomainApiContext} once a call is done.
+ * <p>
+ * The context is only set while a URI template is expanded. Calls with a ready-made {@link java.net.URI} skip the
+ * expansion, so without clearing they would see the '{@domain}' / '{@domain.api}' of the previous call on the same
+ * thread (rate limit, token, circuit breaker name). Must be the outermost interceptor.
+ */
+public class DomainApiContextClearingInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        try {
+            return execution.execute(request, body);
+        } finally {
+            DomainApiContext.clear();
+        }
+    }
+}
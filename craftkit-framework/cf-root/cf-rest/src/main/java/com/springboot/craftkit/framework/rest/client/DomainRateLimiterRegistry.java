@@ -0,0 +1,74 @@
+package com.springboot.craftkit.framework.rest.client;
+
+import com.springboot.craftkit.framework.rest.setting.DomainProperties;
+import com.springboot.craftkit.framework.rest.setting.DomainRateLimitProperties;
+import com.springboot.craftkit.framework.rest.setting.RateLimitProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one shared {@link TokenBucketRateLimiter} per '{@domain}' ({@code services.<domain>.rate-limit}) and per
+ * '{@domain.api}' ({@code api-rate-limits.<domain>.<api>}) configured in domain.yml. An API limit takes
+ * precedence over the limit of its domain; calls without a configured limit are not limited.
+ */
+public class DomainRateLimiterRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(DomainRateLimiterRegistry.class);
+
+    private final Map<String, TokenBucketRateLimiter> apiLimiters = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucketRateLimiter> domainLimiters = new ConcurrentHashMap<>();
+
+    public DomainRateLimiterRegistry(@Nullable DomainProperties domains, RateLimitProperties properties) {
+        if (domains != null) {
+            domains.getServices().forEach((name, service) -> {
+                DomainRateLimitProperties limit = service.getRateLimit();
+                if (limit != null && limit.isLimited()) {
+                    domainLimiters.put(name, new TokenBucketRateLimiter(name, withSwitches(limit, properties)));
+                }
+            });
+            domains.getApiRateLimits().forEach((id, limit) -> {
+                if (limit != null && limit.isLimited()) {
+                    apiLimiters.put(id, new TokenBucketRateLimiter(id, withSwitches(limit, properties)));
+                }
+            });
+        }
+        if (!domainLimiters.isEmpty() || !apiLimiters.isEmpty()) {
+            log.info("sf-rest rate limits : domains={}, apis={}", domainLimiters.keySet(), apiLimiters.keySet());
+        }
+    }
+
+    @Nullable
+    public TokenBucketRateLimiter find(@Nullable String domainApi, @Nullable String domain) {
+        if (domainApi != null) {
+            TokenBucketRateLimiter limiter = apiLimiters.get(domainApi);
+            if (limiter != null) {
+                return limiter;
+            }
+        }
+        return domain == null ? null : domainLimiters.get(domain);
+    }
+
+    public boolean isEmpty() {
+        return apiLimiters.isEmpty() && domainLimiters.isEmpty();
+    }
+
+    /**
+     * {@code sf-rest.rate-limit.adaptive=false} turns adaptation off for every limiter.
+     */
+    private static DomainRateLimitProperties withSwitches(DomainRateLimitProperties limit, RateLimitProperties properties) {
+        if (properties.isAdaptive() || !limit.isAdaptive()) {
+            return limit;
+        }
+        DomainRateLimitProperties merged = new DomainRateLimitProperties();
+        merged.setPermitsPerSecond(limit.getPermitsPerSecond());
+        merged.setBurst(limit.getBurst());
+        merged.setMaxWait(limit.getMaxWait());
+        merged.setMaxWaiters(limit.getMaxWaiters());
+        merged.setAdaptive(false);
+        return merged;
+    }
+}
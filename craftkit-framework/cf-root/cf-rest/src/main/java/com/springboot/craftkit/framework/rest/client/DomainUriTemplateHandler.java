@@ -24,6 +24,7 @@ import java.util.regex.Pattern;
 public class DomainUriTemplateHandler extends UriTemplateHandlerInterceptorChain {
 
     private static final Pattern DOMAIN_MATCH_PATTERN = Pattern.compile("(?<=^\\{@)[a-zA-Z0-9-_]+(?=\\})");
+    private static final Pattern DOMAIN_API_PATTERN = Pattern.compile("\\{@([\\w-]+\\.[\\w-]+)\\}");
 
     @Nullable
     private final DomainProperties domains;
@@ -66,6 +67,7 @@ public class DomainUriTemplateHandler extends UriTemplateHandlerInterceptorChain
         final String original = uriTemplateString;
         // Reset context to avoid leaking previous domain.api across calls
         DomainApiContext.clear();
+        DomainApiContext.setCurrentUriTemplate(original);
 
         // If there is no domain info configured at all, return as-is (no auto mapping).
         if (this.domains == null) {
@@ -75,7 +77,7 @@ public class DomainUriTemplateHandler extends UriTemplateHandlerInterceptorChain
 
         // Step 1: capture '{@domain.api}' id for downstream (e.g., circuit breaker naming), then resolve via domain-api.yml
         if (this.domainApis != null) {
-            Matcher m = Pattern.compile("\\{@([\\\\w-]+\\\\.[\\\\w-]+)\\}").matcher(uriTemplateString);
+            Matcher m = DOMAIN_API_PATTERN.matcher(uriTemplateString);
             if (m.find()) {
                 String id = m.group(1); // domain.api
                 DomainApiContext.setCurrentDomainApi(id);
@@ -88,6 +90,7 @@ public class DomainUriTemplateHandler extends UriTemplateHandlerInterceptorChain
         if (domainMatcher.find()) {
             final String targetDomain = domainMatcher.group();
             if (this.domains.hasDomain(targetDomain)) {
+                DomainApiContext.setCurrentDomain(targetDomain);
                 final String uriWithoutDomain = uriTemplateString.replaceFirst("^\\{@" + Pattern.quote(targetDomain) + "\\}", "");
                 final boolean isBulkRequest = isBulkRequest(uriWithoutDomain);
                 final String baseUrl = this.domains.getDomainUrl(targetDomain, isBulkRequest);
@@ -0,0 +1,57 @@
+package com.springboot.craftkit.framework.rest.client;
+
+import org.springframework.web.client.RestOperations;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * A single named call of a fan-out executed by {@link SfRestFanOut}.
+ *
+ * <pre>
+ * FanOutCall.of("customer", rest -> rest.getForObject("{@customer.get}", Customer.class, id))
+ * </pre>
+ *
+ * @param <T> response type
+ */
+public class FanOutCall<T> {
+
+    private final String name;
+    private final Function<RestOperations, T> request;
+    private final Duration timeout;
+
+    private FanOutCall(String name, Function<RestOperations, T> request, Duration timeout) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("fan-out call name must not be empty");
+        }
+        if (request == null) {
+            throw new IllegalArgumentException("fan-out call request must not be null");
+        }
+        this.name = name;
+        this.request = request;
+        this.timeout = timeout;
+    }
+
+    public static <T> FanOutCall<T> of(String name, Function<RestOperations, T> request) {
+        return new FanOutCall<>(name, request, null);
+    }
+
+    /**
+     * Same call with its own timeout instead of {@code sf-rest.fan-out.call-timeout}.
+     */
+    public FanOutCall<T> timeout(Duration timeout) {
+        return new FanOutCall<>(name, request, timeout);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Function<RestOperations, T> getRequest() {
+        return request;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+}
@@ -0,0 +1,61 @@
+package com.springboot.craftkit.framework.rest.client;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Partial results of a fan-out: every call has either a value or an error, keyed by call name
+ * in submission order.
+ */
+public class FanOutResult {
+
+    private final Map<String, Object> values = new LinkedHashMap<>();
+    private final Map<String, Throwable> errors = new LinkedHashMap<>();
+
+    void success(String name, Object value) {
+        values.put(name, value);
+    }
+
+    void failure(String name, Throwable error) {
+        errors.put(name, error);
+    }
+
+    public boolean isSuccess(String name) {
+        return values.containsKey(name);
+    }
+
+    /** true when every call succeeded */
+    public boolean isComplete() {
+        return errors.isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String name) {
+        return (T) values.get(name);
+    }
+
+    public <T> T get(String name, Class<T> type) {
+        return type.cast(values.get(name));
+    }
+
+    public Throwable getError(String name) {
+        return errors.get(name);
+    }
+
+    public Map<String, Object> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Errors per call name. Calls that did not finish in time carry a {@link java.util.concurrent.TimeoutException}.
+     */
+    public Map<String, Throwable> getErrors() {
+        return Collections.unmodifiableMap(errors);
+    }
+
+    @Override
+    public String toString() {
+        return "FanOutResult [values=" + values.keySet() + ", errors=" + errors + "]";
+    }
+}
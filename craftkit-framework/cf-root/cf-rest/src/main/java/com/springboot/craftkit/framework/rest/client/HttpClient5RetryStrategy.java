@@ -1,6 +1,7 @@
 package com.springboot.craftkit.framework.rest.client;
 
 import com.springboot.craftkit.framework.rest.setting.HttpClientRetryProperties;
+import com.springboot.craftkit.framework.scope.RequestDeadline;
 import org.apache.hc.client5.http.HttpRequestRetryStrategy;
 import org.apache.hc.client5.http.protocol.HttpClientContext;
 import org.apache.hc.core5.http.Header;
@@ -59,9 +60,11 @@ public class HttpClient5RetryStrategy implements HttpRequestRetryStrategy {
     public boolean retryRequest(HttpRequest request, IOException exception, int execCount, HttpContext context) {
         if (!retryOnIoExceptions || exception == null) return false;
         if (!isUnderAttemptLimit(execCount)) return false;
+        if (isDeadlineExhausted()) return false;
         if (!isMethodRetryable(request)) return false;
         // Non-idempotent methods are retried only if explicitly allowed
         if (!retrySentNonIdempotent && !isMethodIdempotent(request)) return false;
+        DomainApiCallEvent.retried();
         return true;
     }
 
@@ -69,6 +72,7 @@ public class HttpClient5RetryStrategy implements HttpRequestRetryStrategy {
     public boolean retryRequest(HttpResponse response, int execCount, HttpContext context) {
         if (response == null) return false;
         if (!isUnderAttemptLimit(execCount)) return false;
+        if (isDeadlineExhausted()) return false;
         int code = response.getCode();
         boolean statusRetry;
         if (retryStatuses.isEmpty()) {
@@ -78,7 +82,9 @@ public class HttpClient5RetryStrategy implements HttpRequestRetryStrategy {
         }
         if (!statusRetry) return false;
         HttpRequest request = (HttpRequest) context.getAttribute(HttpClientContext.HTTP_REQUEST);
-        return isMethodRetryable(request);
+        if (!isMethodRetryable(request)) return false;
+        DomainApiCallEvent.retried();
+        return true;
     }
 
     @Override
@@ -112,6 +118,11 @@ public class HttpClient5RetryStrategy implements HttpRequestRetryStrategy {
         return execCount < maxAttempts; // allow retry when we still have remaining attempts
     }
 
+    private boolean isDeadlineExhausted() {
+        // no point in retrying once the inbound request deadline has passed
+        return RequestDeadline.remainingMillis() <= 0;
+    }
+
     private boolean isMethodRetryable(HttpRequest request) {
         if (request == null) return false;
         String method = request.getMethod();
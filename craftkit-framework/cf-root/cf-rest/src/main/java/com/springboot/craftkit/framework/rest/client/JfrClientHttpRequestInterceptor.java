@@ -0,0 +1,58 @@
+package com.springboot.craftkit.framework.rest.client;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Records a {@link DomainApiCallEvent} per outbound call (sf-rest.jfr.enabled, default true).
+ * <p>
+ * Installed as the outermost interceptor so the event spans the whole chain. When the event is not enabled in
+ * any running recording the call proceeds directly; the event fields are filled only when it is committed.
+ * The domain API id is read before the chain runs because the circuit breaker interceptor clears it.
+ */
+public class JfrClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        DomainApiCallEvent event = new DomainApiCallEvent();
+        if (!event.isEnabled()) {
+            return execution.execute(request, body);
+        }
+        String domainApi = DomainApiContext.getCurrentDomainApi();
+        String domain = DomainApiContext.getCurrentDomain();
+        int status = 0;
+        long responseBytes = -1L;
+        Throwable failure = null;
+        DomainApiCallEvent previous = event.attach();
+        event.begin();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            status = response.getStatusCode().value();
+            responseBytes = response.getHeaders().getContentLength();
+            return response;
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.end();
+            DomainApiCallEvent.detach(previous);
+            if (event.shouldCommit()) {
+                URI uri = request.getURI();
+                event.domainApi = domainApi;
+                event.domain = domain;
+                event.method = request.getMethod().name();
+                event.host = uri.getPort() < 0 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+                event.status = status;
+                event.requestBytes = body == null ? 0L : body.length;
+                event.responseBytes = responseBytes;
+                event.exception = failure == null ? null : failure.getClass().getName();
+                event.commit();
+            }
+        }
+    }
+}
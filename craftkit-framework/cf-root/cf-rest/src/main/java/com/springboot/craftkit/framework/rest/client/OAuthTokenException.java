@@ -0,0 +1,17 @@
+package com.springboot.craftkit.framework.rest.client;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Thrown when no valid OAuth2 access token can be obtained for an outbound call.
+ */
+public class OAuthTokenException extends RestClientException {
+
+    public OAuthTokenException(String msg) {
+        super(msg);
+    }
+
+    public OAuthTokenException(String msg, Throwable ex) {
+        super(msg, ex);
+    }
+}
@@ -0,0 +1,297 @@
+package com.springboot.craftkit.framework.rest.client;
+
+import com.springboot.craftkit.framework.rest.setting.OAuthClientProperties;
+import com.springboot.craftkit.framework.rest.setting.OAuthClientProperties.ClientCredentials;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestOperations;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Obtains and caches OAuth2 client-credentials access tokens per '{@domain}' ({@code sf-rest.oauth.clients.<domain>}).
+ *
+ * <ul>
+ *   <li>The hot path is a volatile read of the cached token; no lock is taken while a token is valid.</li>
+ *   <li>Tokens are refreshed in the background {@code refresh-before} (plus a random {@code refresh-jitter}) ahead of
+ *       expiry, so callers normally never wait for the token endpoint.</li>
+ *   <li>Refreshes are single-flight: concurrent callers needing a token share one token endpoint call.</li>
+ *   <li>Domains registered with the same endpoint, client, scope and audience share one token.</li>
+ * </ul>
+ */
+public class OAuthTokenManager implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OAuthTokenManager.class);
+
+    /** used when the token endpoint does not return expires_in */
+    private static final long DEFAULT_EXPIRES_IN_SECONDS = 300L;
+    private static final long RETRY_DELAY_MILLIS = 5_000L;
+
+    private final OAuthClientProperties properties;
+    private final RestOperations tokenClient;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, TokenSlot> slotsByDomain = new HashMap<>();
+
+    public OAuthTokenManager(OAuthClientProperties properties) {
+        this(properties, defaultTokenClient(properties.getTokenEndpointTimeout()));
+    }
+
+    public OAuthTokenManager(OAuthClientProperties properties, RestOperations tokenClient) {
+        this.properties = properties;
+        this.tokenClient = tokenClient;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sf-rest-oauth-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+
+        Map<String, TokenSlot> slots = new HashMap<>();
+        properties.getClients().forEach((domain, client) -> {
+            if (!StringUtils.hasText(client.getTokenUri()) || !StringUtils.hasText(client.getClientId())) {
+                log.warn("sf-rest oauth client '{}' ignored: token-uri and client-id are required", domain);
+                return;
+            }
+            slotsByDomain.put(domain, slots.computeIfAbsent(client.cacheKey(), k -> new TokenSlot(domain, client)));
+        });
+    }
+
+    public boolean supports(@Nullable String domain) {
+        return domain != null && slotsByDomain.containsKey(domain);
+    }
+
+    /**
+     * @return a valid access token for the domain, fetching one only when none is cached
+     * @throws OAuthTokenException when the domain has no registration or the token endpoint fails
+     */
+    public String getToken(String domain) {
+        return slot(domain).get();
+    }
+
+    /**
+     * Called after the upstream rejected {@code rejectedToken} (401): drops it unless another caller already replaced
+     * it, and returns a fresh token.
+     */
+    public String renewToken(String domain, String rejectedToken) {
+        TokenSlot slot = slot(domain);
+        AccessToken current = slot.current.get();
+        if (current != null && current.value.equals(rejectedToken)) {
+            slot.current.compareAndSet(current, null);
+        }
+        return slot.get();
+    }
+
+    private TokenSlot slot(String domain) {
+        TokenSlot slot = domain == null ? null : slotsByDomain.get(domain);
+        if (slot == null) {
+            throw new OAuthTokenException("No OAuth client registered for domain '" + domain + "'");
+        }
+        return slot;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private static RestOperations defaultTokenClient(Duration timeout) {
+        // deliberately a bare RestTemplate: the token call must not pass through the sf-rest interceptors
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        if (timeout != null) {
+            factory.setConnectTimeout((int) timeout.toMillis());
+            factory.setReadTimeout((int) timeout.toMillis());
+        }
+        return new RestTemplate(factory);
+    }
+
+    private static final class AccessToken {
+        final String value;
+        final long expiresAt;
+
+        AccessToken(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final class TokenSlot {
+
+        private final String name;
+        private final ClientCredentials client;
+        private final AtomicReference<AccessToken> current = new AtomicReference<>();
+        private final AtomicReference<CompletableFuture<AccessToken>> inflight = new AtomicReference<>();
+        private final AtomicReference<ScheduledFuture<?>> scheduled = new AtomicReference<>();
+
+        TokenSlot(String name, ClientCredentials client) {
+            this.name = name;
+            this.client = client;
+        }
+
+        String get() {
+            AccessToken token = current.get();
+            if (token != null && System.currentTimeMillis() < token.expiresAt) {
+                return token.value;
+            }
+            return await(refresh()).value;
+        }
+
+        /**
+         * Joins the running token endpoint call or runs one on the calling thread.
+         */
+        CompletableFuture<AccessToken> refresh() {
+            for (;;) {
+                CompletableFuture<AccessToken> running = inflight.get();
+                if (running != null) {
+                    return running;
+                }
+                CompletableFuture<AccessToken> mine = new CompletableFuture<>();
+                if (!inflight.compareAndSet(null, mine)) {
+                    continue;
+                }
+                try {
+                    AccessToken token = fetch();
+                    current.set(token);
+                    scheduleRefresh(token);
+                    mine.complete(token);
+                } catch (RuntimeException e) {
+                    mine.completeExceptionally(e);
+                } finally {
+                    inflight.set(null);
+                }
+                return mine;
+            }
+        }
+
+        private AccessToken await(CompletableFuture<AccessToken> future) {
+            long timeout = properties.getTokenEndpointTimeout() == null ? 10_000L : properties.getTokenEndpointTimeout().toMillis() * 2;
+            try {
+                return future.get(timeout, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof OAuthTokenException ote) {
+                    throw ote;
+                }
+                throw new OAuthTokenException("Failed to obtain OAuth token for '" + name + "'", cause);
+            } catch (TimeoutException e) {
+                throw new OAuthTokenException("Timed out waiting for OAuth token for '" + name + "'", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OAuthTokenException("Interrupted while waiting for OAuth token for '" + name + "'", e);
+            }
+        }
+
+        private void scheduleRefresh(AccessToken token) {
+            long now = System.currentTimeMillis();
+            long lifetime = token.expiresAt - now;
+            long lead = millis(properties.getRefreshBefore());
+            long jitter = millis(properties.getRefreshJitter());
+            if (jitter > 0) {
+                lead += ThreadLocalRandom.current().nextLong(jitter + 1);
+            }
+            // short-lived tokens are refreshed at the latest half way through their lifetime
+            long delay = Math.max(lifetime / 2, lifetime - lead);
+            schedule(delay);
+        }
+
+        private void schedule(long delayMillis) {
+            try {
+                // one pending refresh per token; a refresh after 401 replaces the scheduled one
+                ScheduledFuture<?> previous = scheduled.getAndSet(
+                        scheduler.schedule(this::backgroundRefresh, Math.max(0L, delayMillis), TimeUnit.MILLISECONDS));
+                if (previous != null) {
+                    previous.cancel(false);
+                }
+            } catch (RuntimeException e) {
+                // scheduler shut down
+                log.debug("oauth token refresh for '{}' not scheduled : {}", name, e.toString());
+            }
+        }
+
+        private void backgroundRefresh() {
+            CompletableFuture<AccessToken> future = refresh();
+            if (!future.isCompletedExceptionally()) {
+                return;
+            }
+            AccessToken token = current.get();
+            long remaining = token == null ? 0L : token.expiresAt - System.currentTimeMillis();
+            log.warn("background refresh of oauth token for '{}' failed, {}ms of the current token left", name, remaining);
+            if (remaining > 0) {
+                schedule(Math.min(RETRY_DELAY_MILLIS, remaining / 2));
+            }
+        }
+
+        private AccessToken fetch() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+            headers.setBasicAuth(client.getClientId(), client.getClientSecret() == null ? "" : client.getClientSecret());
+
+            MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+            form.add("grant_type", "client_credentials");
+            if (StringUtils.hasText(client.getScope())) {
+                form.add("scope", client.getScope());
+            }
+            if (StringUtils.hasText(client.getAudience())) {
+                form.add("audience", client.getAudience());
+            }
+
+            long requestedAt = System.currentTimeMillis();
+            Map<String, Object> body;
+            try {
+                body = tokenClient.exchange(client.getTokenUri(), HttpMethod.POST, new HttpEntity<>(form, headers),
+                        new ParameterizedTypeReference<Map<String, Object>>() {}).getBody();
+            } catch (RuntimeException e) {
+                throw new OAuthTokenException("Token endpoint call for '" + name + "' failed", e);
+            }
+
+            Object value = body == null ? null : body.get("access_token");
+            if (value == null || value.toString().isEmpty()) {
+                throw new OAuthTokenException("Token endpoint response for '" + name + "' has no access_token");
+            }
+            long expiresIn = parseExpiresIn(body.get("expires_in"));
+            log.debug("obtained oauth token for '{}' valid for {}s", name, expiresIn);
+            return new AccessToken(value.toString(), requestedAt + TimeUnit.SECONDS.toMillis(expiresIn));
+        }
+    }
+
+    private static long parseExpiresIn(Object value) {
+        if (value instanceof Number n) {
+            return Math.max(1L, n.longValue());
+        }
+        if (value != null) {
+            try {
+                return Math.max(1L, Long.parseLong(value.toString().trim()));
+            } catch (NumberFormatException ignore) {
+                // fall through
+            }
+        }
+        return DEFAULT_EXPIRES_IN_SECONDS;
+    }
+
+    private static long millis(Duration duration) {
+        return duration == null ? 0L : Math.max(0L, duration.toMillis());
+    }
+}
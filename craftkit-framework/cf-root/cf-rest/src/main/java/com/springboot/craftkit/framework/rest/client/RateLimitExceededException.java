@@ -0,0 +1,21 @@
+package com.springboot.craftkit.framework.rest.client;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Thrown when an outbound call does not get a permit from its client-side rate limiter in time.
+ * The call is never sent.
+ */
+public class RateLimitExceededException extends RestClientException {
+
+    private final String limiterName;
+
+    public RateLimitExceededException(String limiterName, String message) {
+        super(message);
+        this.limiterName = limiterName;
+    }
+
+    public String getLimiterName() {
+        return limiterName;
+    }
+}
@@ -0,0 +1,86 @@
+package com.springboot.craftkit.framework.rest.client;
+
+import com.springboot.craftkit.framework.scope.RequestDeadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the '{@domain}' / '{@domain.api}' rate limits of domain.yml to outbound calls.
+ * <p>
+ * A call waits for a permit at most {@code max-wait} and never beyond the remaining request deadline; otherwise it
+ * fails fast with {@link RateLimitExceededException} without reaching the upstream. A 429 response (optionally with
+ * Retry-After) slows the limiter of that call down for every caller of the application.
+ */
+public class RateLimitingInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitingInterceptor.class);
+
+    private final DomainRateLimiterRegistry registry;
+
+    public RateLimitingInterceptor(DomainRateLimiterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (registry.isEmpty()) {
+            return execution.execute(request, body);
+        }
+
+        TokenBucketRateLimiter limiter = registry.find(DomainApiContext.getCurrentDomainApi(), DomainApiContext.getCurrentDomain());
+        if (limiter == null) {
+            return execution.execute(request, body);
+        }
+
+        limiter.acquire(waitBudgetNanos());
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            long retryAfter = retryAfterNanos(response.getHeaders());
+            log.warn("upstream throttled '{}' (Retry-After {}ms), slowing down to {} permits/s",
+                    limiter.getName(), TimeUnit.NANOSECONDS.toMillis(retryAfter), limiter.getCurrentRate());
+            limiter.onThrottled(retryAfter);
+        } else {
+            limiter.onSuccess();
+        }
+        return response;
+    }
+
+    private static long waitBudgetNanos() {
+        long remaining = RequestDeadline.remainingMillis();
+        if (remaining == RequestDeadline.NO_DEADLINE) {
+            return Long.MAX_VALUE;
+        }
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, remaining));
+    }
+
+    /**
+     * Retry-After as delta-seconds or HTTP-date, 0 when absent or malformed.
+     */
+    static long retryAfterNanos(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return 0L;
+        }
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0L, Long.parseLong(value.trim())));
+        } catch (NumberFormatException ignore) {
+            // not delta-seconds, try HTTP-date
+        }
+        try {
+            long date = headers.getFirstDate(HttpHeaders.RETRY_AFTER);
+            return date < 0 ? 0L : TimeUnit.MILLISECONDS.toNanos(Math.max(0L, date - System.currentTimeMillis()));
+        } catch (IllegalArgumentException e) {
+            return 0L;
+        }
+    }
+}
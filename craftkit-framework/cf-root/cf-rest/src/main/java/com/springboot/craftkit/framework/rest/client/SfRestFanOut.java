@@ -0,0 +1,199 @@
+package com.springboot.craftkit.framework.rest.client;
+
+import com.springboot.craftkit.framework.rest.setting.FanOutProperties;
+import com.springboot.craftkit.framework.scope.RequestScopeUtil;
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+import com.springboot.craftkit.framework.scope.ScopeTaskContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.web.client.RestOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scatter-gather helper running several REST calls (typically {@code {@domain.api}} calls) in parallel on top of
+ * {@link SfRestTemplate}, so that the latency of a BFF request is the slowest call rather than the sum of all calls.
+ *
+ * <ul>
+ *   <li>At most {@code max-concurrency} calls of one fan-out run at the same time; the rest wait for a slot.</li>
+ *   <li>Each call has its own timeout and the whole fan-out an overall deadline, clamped to the inbound request
+ *       deadline. The call deadline is also set on the worker's {@link ScopeAttribute}, so the deadline interceptor
+ *       propagates and enforces it on the wire.</li>
+ *   <li>{@link ScopeAttribute}, MDC (with the gtid) and micrometer context of the caller are propagated to the workers
+ *       with {@link ScopeTaskContext} and restored afterwards.</li>
+ *   <li>The result is always returned: failed or timed out calls are reported per call name in {@link FanOutResult}.</li>
+ *   <li>Calls run on virtual threads when the runtime provides them, otherwise on a shared daemon pool.</li>
+ * </ul>
+ */
+public class SfRestFanOut implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SfRestFanOut.class);
+
+    private final RestOperations restOperations;
+    private final FanOutProperties properties;
+    private final ExecutorService executor;
+
+    public SfRestFanOut(RestOperations restOperations, FanOutProperties properties) {
+        this.restOperations = restOperations;
+        this.properties = properties;
+        this.executor = createExecutor(properties);
+    }
+
+    public FanOutResult execute(List<? extends FanOutCall<?>> calls) {
+        return execute(calls, properties.getOverallTimeout());
+    }
+
+    public FanOutResult execute(List<? extends FanOutCall<?>> calls, Duration overallTimeout) {
+
+        FanOutResult result = new FanOutResult();
+        if (calls == null || calls.isEmpty()) {
+            return result;
+        }
+        checkDuplicateNames(calls);
+
+        long start = System.currentTimeMillis();
+        long overallDeadline = start + toMillis(overallTimeout, properties.getOverallTimeout());
+
+        ScopeAttribute current = RequestScopeUtil.peekAttribute();
+        if (current != null && current.hasDeadline()) {
+            overallDeadline = Math.min(overallDeadline, current.getDeadline());
+        }
+        // captured once on the caller thread and shared by all workers (scope snapshot is copy-on-write)
+        ScopeTaskContext context = ScopeTaskContext.capture();
+
+        Semaphore permits = new Semaphore(Math.max(1, properties.getMaxConcurrency()));
+        List<Future<Object>> futures = new ArrayList<>(calls.size());
+        long[] deadlines = new long[calls.size()];
+
+        for (int i = 0; i < calls.size(); i++) {
+            FanOutCall<?> call = calls.get(i);
+            deadlines[i] = Math.min(overallDeadline, start + toMillis(call.getTimeout(), properties.getCallTimeout()));
+            futures.add(submit(call, deadlines[i], context, permits));
+        }
+
+        for (int i = 0; i < calls.size(); i++) {
+            collect(calls.get(i).getName(), futures.get(i), deadlines[i], result);
+        }
+
+        log.debug("fan-out finished in {}ms : {}", System.currentTimeMillis() - start, result);
+        return result;
+    }
+
+    private Future<Object> submit(FanOutCall<?> call, long deadline, ScopeTaskContext context, Semaphore permits) {
+        try {
+            // wait for a slot on the caller thread, never longer than the call may take
+            long wait = deadline - System.currentTimeMillis();
+            if (wait <= 0 || !permits.tryAcquire(wait, TimeUnit.MILLISECONDS)) {
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+
+        try {
+            return executor.submit(worker(call, deadline, context, permits));
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Callable<Object> worker(FanOutCall<?> call, long deadline, ScopeTaskContext context, Semaphore permits) {
+        return () -> {
+            try {
+                // scope, MDC (incl. gtid) and micrometer context are set for the call and restored afterwards
+                return context.call(() -> {
+                    ScopeAttribute attribute = (ScopeAttribute) RequestScopeUtil.getAttribute();
+                    if (!attribute.hasDeadline() || attribute.getDeadline() > deadline) {
+                        attribute.setDeadline(deadline);
+                    }
+
+                    return call.getRequest().apply(restOperations);
+                });
+            } finally {
+                DomainApiContext.clear();
+                permits.release();
+            }
+        };
+    }
+
+    private void collect(String name, Future<Object> future, long deadline, FanOutResult result) {
+
+        if (future == null) {
+            result.failure(name, new TimeoutException("fan-out call '" + name + "' was not started before its deadline"));
+            return;
+        }
+
+        try {
+            long wait = Math.max(0L, deadline - System.currentTimeMillis());
+            result.success(name, future.get(wait, TimeUnit.MILLISECONDS));
+        } catch (ExecutionException e) {
+            result.failure(name, e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            result.failure(name, new TimeoutException("fan-out call '" + name + "' did not complete before its deadline"));
+        } catch (CancellationException e) {
+            result.failure(name, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            result.failure(name, e);
+        }
+    }
+
+    private static void checkDuplicateNames(List<? extends FanOutCall<?>> calls) {
+        Set<String> names = new HashSet<>();
+        for (FanOutCall<?> call : calls) {
+            if (!names.add(call.getName())) {
+                throw new IllegalArgumentException("duplicate fan-out call name: " + call.getName());
+            }
+        }
+    }
+
+    private static long toMillis(Duration duration, Duration defaultDuration) {
+        Duration d = duration != null ? duration : defaultDuration;
+        return d == null ? Long.MAX_VALUE / 2 : Math.max(0L, d.toMillis());
+    }
+
+    private static ExecutorService createExecutor(FanOutProperties properties) {
+        if (properties.isVirtualThreads()) {
+            try {
+                // JDK 21+ only; looked up reflectively since the module is compiled for Java 17
+                ExecutorService virtual = (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                log.debug("sf-rest fan-out runs on virtual threads");
+                return virtual;
+            } catch (ReflectiveOperationException e) {
+                log.debug("virtual threads are not available, sf-rest fan-out uses a platform thread pool");
+            }
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, properties.getPoolSize()), r -> {
+            Thread t = new Thread(r, "sf-rest-fan-out-" + sequence.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,48 @@
+package com.springboot.craftkit.framework.rest.client;
+
+import com.springboot.craftkit.framework.logging.SlowCallWatchdog;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Registers outbound calls with the {@link SlowCallWatchdog} (sample.log.slow-call.enabled), so that a call running
+ * past the threshold is reported with the gtid and sampled stacks of the calling thread.
+ * <p>
+ * Installed as the outermost interceptor so the whole chain (rate limit waits, token fetches, retries) is covered.
+ * The label is rendered only for slow calls and leaves out the query string.
+ */
+public class SlowCallClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private final SlowCallWatchdog watchdog;
+
+    public SlowCallClientHttpRequestInterceptor(SlowCallWatchdog watchdog) {
+        this.watchdog = watchdog;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        SlowCallWatchdog.Frames inFlight = watchdog.enter(new CallLabel(request.getMethod(), request.getURI()));
+        boolean failed = true;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            failed = false;
+            return response;
+        } finally {
+            watchdog.exit(inFlight, failed);
+        }
+    }
+
+    private record CallLabel(HttpMethod method, URI uri) {
+
+        @Override
+        public String toString() {
+            return "REST " + method + " " + uri.getScheme() + "://" + uri.getRawAuthority() + uri.getRawPath();
+        }
+    }
+}
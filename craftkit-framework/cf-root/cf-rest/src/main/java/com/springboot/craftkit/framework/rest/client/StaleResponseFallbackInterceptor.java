@@ -0,0 +1,195 @@
+package com.springboot.craftkit.framework.rest.client;
+
+import com.springboot.craftkit.framework.rest.setting.StaleResponseProperties;
+import com.springboot.craftkit.framework.scope.RequestScopeUtil;
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Keeps the last successful GET response per '{@domain.api}' and request in a {@link StaleResponseStore} and serves it,
+ * marked with a stale header, while the call fails: open circuit ({@code CallNotPermittedException}), I/O error,
+ * exhausted deadline or (optionally) a 5xx status.
+ *
+ * Must be the outermost interceptor so that it also sees the circuit breaker rejecting the call.
+ */
+public class StaleResponseFallbackInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(StaleResponseFallbackInterceptor.class);
+
+    private final StaleResponseStore store;
+    private final StaleResponseProperties properties;
+
+    public StaleResponseFallbackInterceptor(StaleResponseStore store, StaleResponseProperties properties) {
+        this.store = store;
+        this.properties = properties;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (!properties.isEnabled() || request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+
+        // read before execution: the circuit breaker clears the context once the call is done
+        String key = key(request);
+        String label = label(request);
+
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException ex) {
+            ClientHttpResponse stale = staleResponse(key, label, ex);
+            if (stale == null) {
+                throw ex;
+            }
+            return stale;
+        }
+
+        if (response.getStatusCode().is5xxServerError() && properties.isFallbackOnServerError()) {
+            ClientHttpResponse stale = staleResponse(key, label, null);
+            if (stale != null) {
+                response.close();
+                return stale;
+            }
+            return response;
+        }
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+
+        long contentLength = response.getHeaders().getContentLength();
+        if (contentLength > 0 && !store.accepts(contentLength)) {
+            return response;
+        }
+
+        byte[] bytes = readBody(response);
+        if (store.accepts(bytes.length)) {
+            store.put(key, new StaleResponseStore.Entry(response.getStatusCode(), response.getStatusText(),
+                    response.getHeaders(), bytes, System.currentTimeMillis()));
+        }
+        return new BusinessErrorDetectingInterceptor.BufferedClientHttpResponse(response, bytes);
+    }
+
+    private ClientHttpResponse staleResponse(String key, String label, Exception cause) {
+        StaleResponseStore.Entry entry = store.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        long maxStaleness = properties.getMaxStaleness() == null ? Long.MAX_VALUE : properties.getMaxStaleness().toMillis();
+        if (entry.ageMillis(now) > maxStaleness) {
+            return null;
+        }
+
+        // never log the key: it is derived from the request URI and the vary headers
+        log.warn("serving stale response for {} (age {}ms) : {}", label, entry.ageMillis(now),
+                cause == null ? "upstream server error" : cause.toString());
+        return entry.toStaleResponse(properties.getHeaderName(), now);
+    }
+
+    /**
+     * Cache key: '{@domain.api}' id, request URI and a SHA-256 digest of the caller's user id and the vary header
+     * values, so that credentials such as bearer tokens are not kept in memory as part of the key.
+     * The user id comes from the {@link ScopeAttribute}: inner interceptors add the per-user headers only after the key
+     * is computed, and fan-out or async workers have no inbound request to fall back to.
+     */
+    private String key(HttpRequest request) {
+        StringBuilder sb = new StringBuilder(192);
+        String domainApi = DomainApiContext.getCurrentDomainApi();
+        sb.append(domainApi == null ? "-" : domainApi).append('|').append(request.getURI());
+
+        MessageDigest digest = sha256();
+        boolean varied = false;
+
+        ScopeAttribute scope = RequestScopeUtil.peekAttribute();
+        String userId = scope == null ? null : scope.getUserId();
+        if (userId != null) {
+            update(digest, "user", userId);
+            varied = true;
+        }
+
+        List<String> varyHeaders = properties.getVaryHeaders();
+        if (varyHeaders != null && !varyHeaders.isEmpty()) {
+            // outbound headers such as Authorization are usually added by inner interceptors; fall back to the inbound request
+            HttpServletRequest inbound = currentRequest();
+            for (String name : varyHeaders) {
+                String value = request.getHeaders().getFirst(name);
+                if (value == null && inbound != null) {
+                    value = inbound.getHeader(name);
+                }
+                if (value != null) {
+                    update(digest, name, value);
+                    varied = true;
+                }
+            }
+        }
+        if (varied) {
+            sb.append("|vary=").append(HexFormat.of().formatHex(digest.digest()));
+        }
+        return sb.toString();
+    }
+
+    private static void update(MessageDigest digest, String name, String value) {
+        digest.update(name.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '=');
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Log label without credentials or path values: '{@domain.api}' id, method and unexpanded URI template.
+     */
+    private static String label(HttpRequest request) {
+        String domainApi = DomainApiContext.getCurrentDomainApi();
+        String uriTemplate = DomainApiContext.getCurrentUriTemplate();
+        return (domainApi == null ? "-" : domainApi) + " " + request.getMethod() + " " + (uriTemplate == null ? "-" : uriTemplate);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Nullable
+    private HttpServletRequest currentRequest() {
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        if (attrs instanceof ServletRequestAttributes sra) {
+            return sra.getRequest();
+        }
+        return null;
+    }
+
+    private static byte[] readBody(ClientHttpResponse response) throws IOException {
+        InputStream is = response.getBody();
+        if (is == null) {
+            return new byte[0];
+        }
+        try (is) {
+            return is.readAllBytes();
+        }
+    }
+}
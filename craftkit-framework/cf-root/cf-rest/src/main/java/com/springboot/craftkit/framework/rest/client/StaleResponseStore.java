@@ -0,0 +1,164 @@
+package com.springboot.craftkit.framework.rest.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded, size-aware LRU store of the last successful response per key.
+ * The size of an entry is the body plus an estimate of headers and key; entries are evicted least recently used
+ * first once the total exceeds the configured maximum.
+ */
+public class StaleResponseStore {
+
+    private static final long ENTRY_OVERHEAD = 64L;
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    public StaleResponseStore(long maxBytes, long maxEntryBytes) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+    }
+
+    /**
+     * @return true when the response is small enough to be stored
+     */
+    public boolean accepts(long bodyLength) {
+        return bodyLength >= 0 && bodyLength <= maxEntryBytes;
+    }
+
+    public synchronized void put(String key, Entry entry) {
+        long weight = weigh(key, entry);
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            totalBytes -= weigh(key, previous);
+        }
+        if (weight > maxEntryBytes) {
+            return;
+        }
+        entries.put(key, entry);
+        totalBytes += weight;
+
+        var it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            totalBytes -= weigh(eldest.getKey(), eldest.getValue());
+            it.remove();
+        }
+    }
+
+    public synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        totalBytes = 0L;
+    }
+
+    private static long weigh(String key, Entry entry) {
+        long weight = ENTRY_OVERHEAD + 2L * key.length() + entry.body.length;
+        for (Map.Entry<String, List<String>> header : entry.headers.entrySet()) {
+            weight += 2L * header.getKey().length();
+            for (String value : header.getValue()) {
+                weight += 2L * (value == null ? 0 : value.length());
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Immutable copy of a successful response.
+     */
+    public static final class Entry {
+        private final HttpStatusCode status;
+        private final String statusText;
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private final long storedAt;
+
+        public Entry(HttpStatusCode status, String statusText, HttpHeaders headers, byte[] body, long storedAt) {
+            this.status = status;
+            this.statusText = statusText;
+            HttpHeaders copy = new HttpHeaders();
+            copy.putAll(headers);
+            this.headers = HttpHeaders.readOnlyHttpHeaders(copy);
+            this.body = body;
+            this.storedAt = storedAt;
+        }
+
+        public long getStoredAt() {
+            return storedAt;
+        }
+
+        public long ageMillis(long now) {
+            return now - storedAt;
+        }
+
+        /**
+         * A fresh response over the stored body, marked with the given stale header.
+         */
+        public ClientHttpResponse toStaleResponse(String headerName, long now) {
+            HttpHeaders staleHeaders = new HttpHeaders();
+            staleHeaders.putAll(headers);
+            staleHeaders.set(headerName, String.valueOf(Math.max(0L, ageMillis(now)) / 1000L));
+            return new StoredClientHttpResponse(status, statusText, staleHeaders, body);
+        }
+    }
+
+    private static final class StoredClientHttpResponse implements ClientHttpResponse {
+        private final HttpStatusCode status;
+        private final String statusText;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        StoredClientHttpResponse(HttpStatusCode status, String statusText, HttpHeaders headers, byte[] body) {
+            this.status = status;
+            this.statusText = statusText;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+
+        @Override
+        public String getStatusText() {
+            return statusText;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+    }
+}
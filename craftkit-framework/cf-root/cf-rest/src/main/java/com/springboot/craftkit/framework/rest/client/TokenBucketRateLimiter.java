@@ -0,0 +1,136 @@
+package com.springboot.craftkit.framework.rest.client;
+
+import com.springboot.craftkit.framework.rest.setting.DomainRateLimitProperties;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as GCRA (generic cell rate algorithm): the whole bucket state is a single
+ * "theoretical arrival time" updated with CAS, so acquiring a permit never blocks other callers.
+ * <p>
+ * A caller that has to wait reserves its slot first and then sleeps outside of any shared state; the number of
+ * such waiters and their wait time are bounded. With {@code adaptive} the interval doubles on every 429 (up to 16x)
+ * and shrinks back towards the configured rate on success, and a Retry-After pauses the bucket.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final int MAX_SLOWDOWN = 16;
+
+    private final String name;
+    private final long baseIntervalNanos;
+    private final int burst;
+    private final long maxWaitNanos;
+    private final int maxWaiters;
+    private final boolean adaptive;
+
+    private final AtomicLong theoreticalArrival;
+    private final AtomicLong intervalNanos;
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    public TokenBucketRateLimiter(String name, DomainRateLimitProperties properties) {
+        if (!properties.isLimited()) {
+            throw new IllegalArgumentException("rate limit of '" + name + "' requires positive permits-per-second");
+        }
+        this.name = name;
+        this.baseIntervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / properties.getPermitsPerSecond()));
+        this.burst = properties.getBurst() > 0 ? properties.getBurst() : (int) Math.max(1, Math.ceil(properties.getPermitsPerSecond()));
+        this.maxWaitNanos = properties.getMaxWait() == null ? 0L : properties.getMaxWait().toNanos();
+        this.maxWaiters = Math.max(0, properties.getMaxWaiters());
+        this.adaptive = properties.isAdaptive();
+        this.intervalNanos = new AtomicLong(baseIntervalNanos);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Takes a permit, waiting at most {@code max-wait} (further limited by {@code waitBudgetNanos}).
+     *
+     * @throws RateLimitExceededException when no permit is available in time or too many callers are waiting
+     */
+    public void acquire(long waitBudgetNanos) {
+        long wait = reserve(Math.min(maxWaitNanos, Math.max(0L, waitBudgetNanos)));
+        if (wait < 0) {
+            throw new RateLimitExceededException(name, "Outbound rate limit of '" + name + "' exceeded");
+        }
+        if (wait == 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RateLimitExceededException(name, "Interrupted while waiting for rate limit of '" + name + "'");
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return nanos to wait for the reserved permit (a waiter slot is held when positive), or -1 when rejected
+     */
+    long reserve(long allowedWaitNanos) {
+        for (;;) {
+            long interval = intervalNanos.get();
+            long tolerance = (burst - 1L) * interval;
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long start = Math.max(tat, now);
+            long wait = start - now - tolerance;
+
+            if (wait > allowedWaitNanos) {
+                return -1L;
+            }
+            if (wait <= 0) {
+                if (theoreticalArrival.compareAndSet(tat, start + interval)) {
+                    return 0L;
+                }
+                continue;
+            }
+
+            if (waiters.incrementAndGet() > maxWaiters) {
+                waiters.decrementAndGet();
+                return -1L;
+            }
+            if (theoreticalArrival.compareAndSet(tat, start + interval)) {
+                return wait;
+            }
+            waiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * Upstream answered 429. Slows the bucket down and pauses it for Retry-After (or one interval).
+     */
+    public void onThrottled(long retryAfterNanos) {
+        if (!adaptive) {
+            return;
+        }
+        long interval = intervalNanos.updateAndGet(i -> Math.min(i * 2, baseIntervalNanos * MAX_SLOWDOWN));
+        long pause = retryAfterNanos > 0 ? retryAfterNanos : interval;
+        long resumeAt = System.nanoTime() + pause + (burst - 1L) * interval;
+        theoreticalArrival.accumulateAndGet(resumeAt, Math::max);
+    }
+
+    /**
+     * Successful (non-429) response: recover gradually towards the configured rate.
+     */
+    public void onSuccess() {
+        if (adaptive && intervalNanos.get() > baseIntervalNanos) {
+            intervalNanos.updateAndGet(i -> i <= baseIntervalNanos ? i : Math.max(baseIntervalNanos, i - Math.max(1L, (i - baseIntervalNanos) / 8)));
+        }
+    }
+
+    /** current rate in permits per second, lower than configured after 429 responses */
+    public double getCurrentRate() {
+        return (double) TimeUnit.SECONDS.toNanos(1) / intervalNanos.get();
+    }
+
+    public int getWaiters() {
+        return waiters.get();
+    }
+}
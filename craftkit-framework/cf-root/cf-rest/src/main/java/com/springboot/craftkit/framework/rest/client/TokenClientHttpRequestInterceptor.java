@@ -1,29 +1,56 @@
 package com.springboot.craftkit.framework.rest.client;
 
+import com.springboot.craftkit.framework.rest.setting.DomainProperties;
 import com.springboot.craftkit.framework.rest.setting.OAuthClientProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
 
 import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
 
 /**
- * Simple interceptor that adds a static Bearer token when enabled.
- * This is a neutral placeholder to demonstrate token injection without external systems.
+ * Adds a Bearer token to outbound requests when enabled.
+ * <p>
+ * With strategy 'client-credentials', calls to a '{@domain}' registered under {@code sf-rest.oauth.clients} get a
+ * token from {@link OAuthTokenManager}; a 401 response is retried once with a fresh token. The token is only sent when
+ * the request URI has the host and port of the domain's configured url, so a call made with a ready-made URI never
+ * gets the token of the '{@domain}' resolved for an earlier call. The retry is sent directly,
+ * interceptors registered after this one are not applied again. Other calls fall back to the static token.
  */
 public class TokenClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
 
+    private static final Logger log = LoggerFactory.getLogger(TokenClientHttpRequestInterceptor.class);
+
     private final OAuthClientProperties properties;
+    private final OAuthTokenManager tokenManager;
+    private final DomainProperties domainProperties;
 
     public TokenClientHttpRequestInterceptor(OAuthClientProperties properties) {
+        this(properties, null, null);
+    }
+
+    public TokenClientHttpRequestInterceptor(OAuthClientProperties properties, @Nullable OAuthTokenManager tokenManager,
+                                             @Nullable DomainProperties domainProperties) {
         this.properties = properties;
+        this.tokenManager = tokenManager;
+        this.domainProperties = domainProperties;
     }
 
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
         if (properties.isEnabled()) {
+            String domain = DomainApiContext.getCurrentDomain();
+            if (tokenManager != null && tokenManager.supports(domain) && targetsDomain(domain, request.getURI())) {
+                return executeWithManagedToken(domain, request, body, execution);
+            }
             String token = properties.getStaticToken();
             if (token != null && !token.isEmpty()) {
                 request.getHeaders().add(HttpHeaders.AUTHORIZATION, "Bearer " + token);
@@ -31,4 +58,42 @@ public class TokenClientHttpRequestInterceptor implements ClientHttpRequestInter
         }
         return execution.execute(request, body);
     }
+
+    private boolean targetsDomain(String domain, URI uri) {
+        String url = domainProperties == null ? null : domainProperties.getDomainUrl(domain);
+        if (url == null || uri.getHost() == null) {
+            return false;
+        }
+        URI domainUri;
+        try {
+            domainUri = new URI(url);
+        } catch (URISyntaxException e) {
+            log.debug("url of domain '{}' is not a valid URI, no token is sent : {}", domain, url);
+            return false;
+        }
+        return uri.getHost().equalsIgnoreCase(domainUri.getHost()) && port(uri) == port(domainUri);
+    }
+
+    private static int port(URI uri) {
+        if (uri.getPort() != -1) {
+            return uri.getPort();
+        }
+        return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+
+    private ClientHttpResponse executeWithManagedToken(String domain, HttpRequest request, byte[] body,
+                                                       ClientHttpRequestExecution execution) throws IOException {
+        String token = tokenManager.getToken(domain);
+        request.getHeaders().setBearerAuth(token);
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (response.getStatusCode().value() != HttpStatus.UNAUTHORIZED.value()) {
+            return response;
+        }
+
+        // token revoked or rotated before its expiry: retry once with a fresh one
+        response.close();
+        request.getHeaders().setBearerAuth(tokenManager.renewToken(domain, token));
+        return execution.execute(request, body);
+    }
 }
@@ -7,12 +7,14 @@ import com.springboot.craftkit.framework.rest.client.chain.UriTemplateHandlerInt
 import com.springboot.craftkit.framework.rest.client.chain.UriTemplateHandlerInterceptorFinalizer;
 import com.springboot.craftkit.framework.rest.setting.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.craftkit.framework.logging.SlowCallWatchdog;
 import com.springboot.craftkit.framework.rest.setting.*;
 import com.springboot.craftkit.framework.rest.client.*;
 import com.springboot.craftkit.framework.rest.setting.*;
 import org.apache.hc.client5.http.HttpRequestRetryStrategy;
 import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
@@ -27,6 +29,8 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.boot.web.client.RestTemplateCustomizer;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.env.Environment;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
@@ -37,12 +41,23 @@ import java.time.Duration;
  * Auto-configuration for REST client essentials.
  * - Binds {@link HttpClientProperties}, {@link OAuthClientProperties}, {@link ForwardHeadersProperties}, {@link CorrelationProperties}
  * - Provides a {@link RestTemplate} configured with timeouts
- * - Adds optional interceptors (token/header-forwarding/correlation) based on properties
+ * - Adds optional interceptors (token/header-forwarding/correlation/deadline) based on properties
  */
 @AutoConfiguration
-@EnableConfigurationProperties({HttpClientProperties.class, OAuthClientProperties.class, ForwardHeadersProperties.class, CorrelationProperties.class, HmacAuthProperties.class, ErrorHandlerProperties.class, HttpClientRetryProperties.class, HttpClientEvictorProperties.class})
+@EnableConfigurationProperties({HttpClientProperties.class, OAuthClientProperties.class, ForwardHeadersProperties.class, CorrelationProperties.class, HmacAuthProperties.class, ErrorHandlerProperties.class, HttpClientRetryProperties.class, HttpClientEvictorProperties.class, DeadlineProperties.class, StaleResponseProperties.class, RateLimitProperties.class})
 public class RestAutoConfiguration {
 
+    /*
+     * The stale response, slow-call, JFR and DomainApiContext customizers each insert their interceptor at index 0,
+     * so the one applied last ends up outermost. Their order is fixed here rather than left to bean registration:
+     * DomainApiContext clearing > JFR event > slow-call watchdog > stale response fallback > the interceptors added
+     * by restTemplateCustomizer.
+     */
+    static final int STALE_RESPONSE_CUSTOMIZER_ORDER = Ordered.LOWEST_PRECEDENCE - 300;
+    static final int SLOW_CALL_CUSTOMIZER_ORDER = Ordered.LOWEST_PRECEDENCE - 200;
+    static final int JFR_CUSTOMIZER_ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+    static final int DOMAIN_API_CONTEXT_CUSTOMIZER_ORDER = Ordered.LOWEST_PRECEDENCE;
+
     @Bean
     @ConditionalOnMissingBean
     public RestClientErrorHandler restClientErrorHandler() {
@@ -63,8 +78,18 @@ public class RestAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public TokenClientHttpRequestInterceptor tokenClientHttpRequestInterceptor(OAuthClientProperties oAuthClientProperties) {
-        return new TokenClientHttpRequestInterceptor(oAuthClientProperties);
+    @ConditionalOnProperty(prefix = OAuthClientProperties.PREFIX, name = "strategy", havingValue = "client-credentials")
+    public OAuthTokenManager oAuthTokenManager(OAuthClientProperties oAuthClientProperties) {
+        return new OAuthTokenManager(oAuthClientProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenClientHttpRequestInterceptor tokenClientHttpRequestInterceptor(OAuthClientProperties oAuthClientProperties,
+                                                                               ObjectProvider<OAuthTokenManager> tokenManager,
+                                                                               ObjectProvider<DomainProperties> domainProperties) {
+        return new TokenClientHttpRequestInterceptor(oAuthClientProperties, tokenManager.getIfAvailable(),
+                domainProperties.getIfAvailable());
     }
 
     @Bean
@@ -92,6 +117,25 @@ public class RestAutoConfiguration {
         return new BusinessErrorDetectingInterceptor(errorHandlerProperties, objectMapperProvider.getIfAvailable());
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public DeadlineClientHttpRequestInterceptor deadlineClientHttpRequestInterceptor(DeadlineProperties properties) {
+        return new DeadlineClientHttpRequestInterceptor(properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public DomainRateLimiterRegistry domainRateLimiterRegistry(ObjectProvider<DomainProperties> domainProperties,
+                                                               RateLimitProperties properties) {
+        return new DomainRateLimiterRegistry(domainProperties.getIfAvailable(), properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RateLimitingInterceptor rateLimitingInterceptor(DomainRateLimiterRegistry registry) {
+        return new RateLimitingInterceptor(registry);
+    }
+
     @Bean
     public RestTemplateCustomizer restTemplateCustomizer(TokenClientHttpRequestInterceptor tokenInterceptor,
                                                          OAuthClientProperties oAuthClientProperties,
@@ -102,8 +146,19 @@ public class RestAutoConfiguration {
                                                          HmacClientHttpRequestInterceptor hmacInterceptor,
                                                          HmacAuthProperties hmacAuthProperties,
                                                          BusinessErrorDetectingInterceptor businessErrorDetectingInterceptor,
-                                                         ErrorHandlerProperties errorHandlerProperties) {
+                                                         ErrorHandlerProperties errorHandlerProperties,
+                                                         DeadlineClientHttpRequestInterceptor deadlineInterceptor,
+                                                         DeadlineProperties deadlineProperties,
+                                                         RateLimitingInterceptor rateLimitingInterceptor,
+                                                         RateLimitProperties rateLimitProperties) {
         return restTemplate -> {
+            // fail fast before any other work is done for a call that cannot finish in time
+            if (deadlineProperties.isEnabled()) {
+                restTemplate.getInterceptors().add(deadlineInterceptor);
+            }
+            if (rateLimitProperties.isEnabled()) {
+                restTemplate.getInterceptors().add(rateLimitingInterceptor);
+            }
             if (correlationProperties.isEnabled()) {
                 restTemplate.getInterceptors().add(correlationInterceptor);
             }
@@ -122,6 +177,64 @@ public class RestAutoConfiguration {
         };
     }
 
+    // --- Last-known-good response fallback (opt-in) ---
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = StaleResponseProperties.PREFIX, name = "enabled", havingValue = "true")
+    public StaleResponseStore staleResponseStore(StaleResponseProperties properties) {
+        return new StaleResponseStore(properties.getMaxSize().toBytes(), properties.getMaxEntrySize().toBytes());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = StaleResponseProperties.PREFIX, name = "enabled", havingValue = "true")
+    public StaleResponseFallbackInterceptor staleResponseFallbackInterceptor(StaleResponseStore store, StaleResponseProperties properties) {
+        return new StaleResponseFallbackInterceptor(store, properties);
+    }
+
+    @Bean
+    @Order(STALE_RESPONSE_CUSTOMIZER_ORDER)
+    @ConditionalOnProperty(prefix = StaleResponseProperties.PREFIX, name = "enabled", havingValue = "true")
+    public RestTemplateCustomizer staleResponseRestTemplateCustomizer(StaleResponseFallbackInterceptor interceptor) {
+        // outermost, so that an open circuit (CallNotPermittedException) is also served from the store
+        return restTemplate -> restTemplate.getInterceptors().add(0, interceptor);
+    }
+
+    // --- Slow-call watchdog (opt-in, sample.log.slow-call.enabled) ---
+
+    @Bean
+    @Order(SLOW_CALL_CUSTOMIZER_ORDER)
+    @ConditionalOnProperty(name = "sample.log.slow-call.enabled", havingValue = "true")
+    public RestTemplateCustomizer slowCallRestTemplateCustomizer(ObjectProvider<SlowCallWatchdog> watchdog) {
+        return restTemplate -> {
+            SlowCallWatchdog available = watchdog.getIfAvailable();
+            if (available != null) {
+                // outermost, so that the whole interceptor chain is measured
+                restTemplate.getInterceptors().add(0, new SlowCallClientHttpRequestInterceptor(available));
+            }
+        };
+    }
+
+    // --- JFR domain API call events (sf-rest.jfr.enabled, default true; recorded only when the event is enabled) ---
+
+    @Bean
+    @Order(JFR_CUSTOMIZER_ORDER)
+    @ConditionalOnProperty(name = "sf-rest.jfr.enabled", havingValue = "true", matchIfMissing = true)
+    public RestTemplateCustomizer jfrRestTemplateCustomizer() {
+        // outermost, so that the event spans retries and circuit breaker decisions
+        return restTemplate -> restTemplate.getInterceptors().add(0, new JfrClientHttpRequestInterceptor());
+    }
+
+    // --- DomainApiContext is cleared after every call, so that URI calls do not see the previous '{@domain.api}' ---
+
+    @Bean
+    @Order(DOMAIN_API_CONTEXT_CUSTOMIZER_ORDER)
+    public RestTemplateCustomizer domainApiContextRestTemplateCustomizer() {
+        // outermost, applied last
+        return restTemplate -> restTemplate.getInterceptors().add(0, new DomainApiContextClearingInterceptor());
+    }
+
     // --- HttpClient5-based retry wiring (opt-in) ---
 
     @Bean
@@ -146,18 +259,18 @@ public class RestAutoConfiguration {
     @ConditionalOnProperty(prefix = HttpClientRetryProperties.PREFIX, name = "enabled", havingValue = "true")
     public CloseableHttpClient httpClientWithRetry(HttpClientProperties httpProps,
                                                    HttpRequestRetryStrategy retryStrategy,
-                                                   PoolingHttpClientConnectionManager connectionManager) {
-        RequestConfig requestConfig = RequestConfig.custom()
-                .setConnectTimeout(Timeout.ofMilliseconds(httpProps.getConnectTimeout().toMillis()))
-                .setResponseTimeout(Timeout.ofMilliseconds(httpProps.getReadTimeout().toMillis()))
-                .build();
-
-        return HttpClients.custom()
+                                                   PoolingHttpClientConnectionManager connectionManager,
+                                                   DeadlineProperties deadlineProperties) {
+        HttpClientBuilder builder = HttpClients.custom()
                 .setConnectionManager(connectionManager)
                 .setRetryStrategy(retryStrategy)
-                .setDefaultRequestConfig(requestConfig)
-                .evictExpiredConnections()
-                .build();
+                .setDefaultRequestConfig(requestConfig(httpProps))
+                .evictExpiredConnections();
+        if (deadlineProperties.isEnabled()) {
+            // clamps the response timeout of every attempt to the remaining request budget
+            builder.addRequestInterceptorFirst(new DeadlineResponseTimeoutInterceptor());
+        }
+        return builder.build();
     }
 
     @Bean
@@ -167,6 +280,50 @@ public class RestAutoConfiguration {
         return restTemplate -> restTemplate.setRequestFactory(new HttpComponentsClientHttpRequestFactory(httpClient));
     }
 
+    // --- Opt-in HttpClient5 client with the deadline clamp when retry is not enabled (sf-rest.deadline.http-client-enabled) ---
+
+    @Bean
+    @ConditionalOnClass(CloseableHttpClient.class)
+    @ConditionalOnProperty(prefix = DeadlineProperties.PREFIX, name = "http-client-enabled", havingValue = "true")
+    @ConditionalOnMissingBean(PoolingHttpClientConnectionManager.class)
+    public PoolingHttpClientConnectionManager deadlineHttpClientConnectionManager(HttpClientProperties httpProps) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(httpProps.getMaxConnTotal())
+                .setMaxConnPerRoute(httpProps.getMaxConnPerRoute())
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnClass(CloseableHttpClient.class)
+    @ConditionalOnProperty(prefix = DeadlineProperties.PREFIX, name = "http-client-enabled", havingValue = "true")
+    @ConditionalOnMissingBean(CloseableHttpClient.class)
+    public CloseableHttpClient deadlineHttpClient(HttpClientProperties httpProps,
+                                                  PoolingHttpClientConnectionManager connectionManager,
+                                                  DeadlineProperties deadlineProperties) {
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig(httpProps))
+                .evictExpiredConnections();
+        if (deadlineProperties.isEnabled()) {
+            // clamps the response timeout of every call to the remaining request budget
+            builder.addRequestInterceptorFirst(new DeadlineResponseTimeoutInterceptor());
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnBean(name = "deadlineHttpClient")
+    public RestTemplateCustomizer deadlineHttpClientRestTemplateCustomizer(CloseableHttpClient deadlineHttpClient) {
+        return restTemplate -> restTemplate.setRequestFactory(new HttpComponentsClientHttpRequestFactory(deadlineHttpClient));
+    }
+
+    private static RequestConfig requestConfig(HttpClientProperties httpProps) {
+        return RequestConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(httpProps.getConnectTimeout().toMillis()))
+                .setResponseTimeout(Timeout.ofMilliseconds(httpProps.getReadTimeout().toMillis()))
+                .build();
+    }
+
     @Bean
     @ConditionalOnBean(DomainProperties.class)
     @ConditionalOnMissingBean
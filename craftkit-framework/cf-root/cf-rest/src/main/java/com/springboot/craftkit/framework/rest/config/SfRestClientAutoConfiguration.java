@@ -1,15 +1,19 @@
 package com.springboot.craftkit.framework.rest.config;
 
 import com.springboot.craftkit.framework.rest.client.RestClientErrorHandler;
+import com.springboot.craftkit.framework.rest.client.SfRestFanOut;
 import com.springboot.craftkit.framework.rest.client.SfRestTemplate;
 import com.springboot.craftkit.framework.rest.client.SfRestTemplateBuilder;
+import com.springboot.craftkit.framework.rest.setting.FanOutProperties;
 import com.springboot.craftkit.framework.rest.setting.HttpClientProperties;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 
 @AutoConfiguration
+@EnableConfigurationProperties(FanOutProperties.class)
 public class SfRestClientAutoConfiguration {
 
     @Bean
@@ -27,4 +31,10 @@ public class SfRestClientAutoConfiguration {
                 .errorHandler(eh)
                 .build(SfRestTemplate.class);
     }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SfRestFanOut sfRestFanOut(SfRestTemplate sfRestTemplate, FanOutProperties properties) {
+        return new SfRestFanOut(sfRestTemplate, properties);
+    }
 }
@@ -0,0 +1,38 @@
+package com.springboot.craftkit.framework.rest.setting;
+
+import com.springboot.craftkit.framework.application.constant.HeaderConstant;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = DeadlineProperties.PREFIX)
+public class DeadlineProperties {
+    public static final String PREFIX = "sf-rest.deadline";
+
+    /** Propagate the inbound request deadline to outbound calls and fail fast once it is exhausted. */
+    private boolean enabled = true;
+
+    /**
+     * Replace the request factory of every RestTemplate with a pooled HttpClient5 client whose response timeout is
+     * clamped to the remaining budget. Only used when sf-rest does not already manage an HttpClient5 client (retry).
+     */
+    private boolean httpClientEnabled = false;
+
+    /** Header carrying the remaining time budget in milliseconds. */
+    private String headerName = HeaderConstant.HEADER_REMAINING_TIME;
+
+    /** Outbound calls are rejected when the remaining budget is not above this value. */
+    private Duration minRemaining = Duration.ZERO;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public boolean isHttpClientEnabled() { return httpClientEnabled; }
+    public void setHttpClientEnabled(boolean httpClientEnabled) { this.httpClientEnabled = httpClientEnabled; }
+
+    public String getHeaderName() { return headerName; }
+    public void setHeaderName(String headerName) { this.headerName = headerName; }
+
+    public Duration getMinRemaining() { return minRemaining; }
+    public void setMinRemaining(Duration minRemaining) { this.minRemaining = minRemaining; }
+}
@@ -8,6 +8,10 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.core.ResolvableType;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.*;
 import org.springframework.core.io.support.EncodedResource;
@@ -23,6 +27,12 @@ import java.util.Map;
  * services:
  *   demo:
  *     url: http://localhost:8081
+ *     rate-limit:              # 선택, 도메인 전체 호출 제한
+ *       permits-per-second: 20
+ * api-rate-limits:             # 선택, '{@domain.api}' 단위 호출 제한
+ *   demo:
+ *     search:
+ *       permits-per-second: 5
  */
 @Data
 public class DomainProperties {
@@ -44,6 +54,11 @@ public class DomainProperties {
      */
     public static final String SERVICES_KEY = "services";
 
+    /**
+     * YAML 내 '{@domain.api}' 단위 호출 제한 루트 키
+     */
+    public static final String API_RATE_LIMITS_KEY = "api-rate-limits";
+
     /**
      * Environment로부터 주어진 설정 위치(디버깅 및 toString용)
      */
@@ -60,6 +75,11 @@ public class DomainProperties {
      */
     private Map<String, ServiceProperties> services = new LinkedHashMap<>();
 
+    /**
+     * '{@domain.api}' -> 호출 제한
+     */
+    private Map<String, DomainRateLimitProperties> apiRateLimits = new LinkedHashMap<>();
+
     public DomainProperties(Environment environment) {
         this(environment, new DefaultResourceLoader());
     }
@@ -175,6 +195,15 @@ public class DomainProperties {
             }
         }
 
+        // 호출 제한(rate-limit)은 Duration 등 변환이 필요하므로 Binder 로 바인딩한다.
+        Binder binder = new Binder(ConfigurationPropertySources.from(ps));
+        map.forEach((name, sp) ->
+                binder.bind(SERVICES_KEY + "." + name + ".rate-limit", DomainRateLimitProperties.class).ifBound(sp::setRateLimit));
+        Bindable<Map<String, Map<String, DomainRateLimitProperties>>> apiLimits = Bindable.of(ResolvableType.forClassWithGenerics(Map.class,
+                ResolvableType.forClass(String.class), ResolvableType.forClassWithGenerics(Map.class, String.class, DomainRateLimitProperties.class)));
+        binder.bind(API_RATE_LIMITS_KEY, apiLimits).ifBound(domains ->
+                domains.forEach((domain, apis) -> apis.forEach((api, limit) -> this.apiRateLimits.put(domain + "." + api, limit))));
+
         if (!map.isEmpty()) {
             this.services.putAll(map);
         }
@@ -185,6 +214,9 @@ public class DomainProperties {
     public static class ServiceProperties {
         private String url;
 
+        /** 도메인 전체 호출 제한 (없으면 제한 없음) */
+        private DomainRateLimitProperties rateLimit;
+
         @Override
         public String toString() {
             return "{svc=" + this.url + "}";
@@ -0,0 +1,53 @@
+package com.springboot.craftkit.framework.rest.setting;
+
+import java.time.Duration;
+
+/**
+ * Outbound rate limit of one '{@domain}' ({@code services.<domain>.rate-limit.*}) or '{@domain.api}'
+ * ({@code api-rate-limits.<domain>.<api>.*}) in domain.yml.
+ * <p>
+ * The limit applies only when {@code permits-per-second} is positive. The feature switches live in
+ * {@link RateLimitProperties}.
+ */
+public class DomainRateLimitProperties {
+
+    /** Sustained rate. 0 or less means unlimited. */
+    private double permitsPerSecond = 0;
+
+    /** Calls allowed back to back after an idle period. Defaults to one second worth of permits. */
+    private int burst = 0;
+
+    /** Longest time a caller waits for a permit before failing; 0 fails fast. */
+    private Duration maxWait = Duration.ofMillis(500);
+
+    /** Maximum number of callers waiting for a permit at the same time; further callers fail fast. */
+    private int maxWaiters = 64;
+
+    /** Slow down on 429 responses (honoring Retry-After) and recover gradually on success. */
+    private boolean adaptive = true;
+
+    public double getPermitsPerSecond() { return permitsPerSecond; }
+    public void setPermitsPerSecond(double permitsPerSecond) { this.permitsPerSecond = permitsPerSecond; }
+
+    public int getBurst() { return burst; }
+    public void setBurst(int burst) { this.burst = burst; }
+
+    public Duration getMaxWait() { return maxWait; }
+    public void setMaxWait(Duration maxWait) { this.maxWait = maxWait; }
+
+    public int getMaxWaiters() { return maxWaiters; }
+    public void setMaxWaiters(int maxWaiters) { this.maxWaiters = maxWaiters; }
+
+    public boolean isAdaptive() { return adaptive; }
+    public void setAdaptive(boolean adaptive) { this.adaptive = adaptive; }
+
+    public boolean isLimited() {
+        return permitsPerSecond > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "{permitsPerSecond=" + permitsPerSecond + ", burst=" + burst + ", maxWait=" + maxWait
+                + ", maxWaiters=" + maxWaiters + ", adaptive=" + adaptive + "}";
+    }
+}
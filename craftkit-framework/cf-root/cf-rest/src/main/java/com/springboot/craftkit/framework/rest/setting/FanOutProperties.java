@@ -0,0 +1,40 @@
+package com.springboot.craftkit.framework.rest.setting;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = FanOutProperties.PREFIX)
+public class FanOutProperties {
+    public static final String PREFIX = "sf-rest.fan-out";
+
+    /** Maximum number of calls of a single fan-out running at the same time. */
+    private int maxConcurrency = 8;
+
+    /** Default timeout of each call, measured from the start of the fan-out. */
+    private Duration callTimeout = Duration.ofSeconds(5);
+
+    /** Default deadline of the whole fan-out. Clamped to the remaining inbound request deadline, if any. */
+    private Duration overallTimeout = Duration.ofSeconds(10);
+
+    /** Run calls on virtual threads when the runtime supports them (JDK 21+). */
+    private boolean virtualThreads = true;
+
+    /** Size of the shared worker pool used when virtual threads are not available. */
+    private int poolSize = 64;
+
+    public int getMaxConcurrency() { return maxConcurrency; }
+    public void setMaxConcurrency(int maxConcurrency) { this.maxConcurrency = maxConcurrency; }
+
+    public Duration getCallTimeout() { return callTimeout; }
+    public void setCallTimeout(Duration callTimeout) { this.callTimeout = callTimeout; }
+
+    public Duration getOverallTimeout() { return overallTimeout; }
+    public void setOverallTimeout(Duration overallTimeout) { this.overallTimeout = overallTimeout; }
+
+    public boolean isVirtualThreads() { return virtualThreads; }
+    public void setVirtualThreads(boolean virtualThreads) { this.virtualThreads = virtualThreads; }
+
+    public int getPoolSize() { return poolSize; }
+    public void setPoolSize(int poolSize) { this.poolSize = poolSize; }
+}
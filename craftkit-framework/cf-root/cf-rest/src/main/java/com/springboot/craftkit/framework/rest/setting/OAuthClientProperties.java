@@ -2,6 +2,10 @@ package com.springboot.craftkit.framework.rest.setting;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @ConfigurationProperties(prefix = OAuthClientProperties.PREFIX)
 public class OAuthClientProperties {
     public static final String PREFIX = "sf-rest.oauth";
@@ -9,12 +13,24 @@ public class OAuthClientProperties {
     /** Enable adding OAuth token to outbound requests. */
     private boolean enabled = false;
 
-    /** Strategy to obtain a token. For now only 'static' is supported. */
+    /** Strategy to obtain a token: 'static' or 'client-credentials'. */
     private String strategy = "static";
 
     /** A static bearer token for simple scenarios or tests. Do NOT use in production; provide via external secret store. */
     private String staticToken = "";
 
+    /** OAuth2 client-credentials registrations keyed by '{@domain}' name (strategy 'client-credentials'). */
+    private Map<String, ClientCredentials> clients = new LinkedHashMap<>();
+
+    /** Refresh a token this long before it expires. */
+    private Duration refreshBefore = Duration.ofSeconds(60);
+
+    /** Random spread added to the refresh time so that instances do not refresh at the same moment. */
+    private Duration refreshJitter = Duration.ofSeconds(10);
+
+    /** Connect/read timeout of token endpoint calls. */
+    private Duration tokenEndpointTimeout = Duration.ofSeconds(5);
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -38,4 +54,97 @@ public class OAuthClientProperties {
     public void setStaticToken(String staticToken) {
         this.staticToken = staticToken;
     }
+
+    public Map<String, ClientCredentials> getClients() {
+        return clients;
+    }
+
+    public void setClients(Map<String, ClientCredentials> clients) {
+        this.clients = clients;
+    }
+
+    public Duration getRefreshBefore() {
+        return refreshBefore;
+    }
+
+    public void setRefreshBefore(Duration refreshBefore) {
+        this.refreshBefore = refreshBefore;
+    }
+
+    public Duration getRefreshJitter() {
+        return refreshJitter;
+    }
+
+    public void setRefreshJitter(Duration refreshJitter) {
+        this.refreshJitter = refreshJitter;
+    }
+
+    public Duration getTokenEndpointTimeout() {
+        return tokenEndpointTimeout;
+    }
+
+    public void setTokenEndpointTimeout(Duration tokenEndpointTimeout) {
+        this.tokenEndpointTimeout = tokenEndpointTimeout;
+    }
+
+    public static class ClientCredentials {
+
+        /** Token endpoint URL. */
+        private String tokenUri;
+
+        private String clientId;
+
+        private String clientSecret;
+
+        /** Space separated scopes, optional. */
+        private String scope;
+
+        /** Audience (resource) parameter, optional. */
+        private String audience;
+
+        public String getTokenUri() {
+            return tokenUri;
+        }
+
+        public void setTokenUri(String tokenUri) {
+            this.tokenUri = tokenUri;
+        }
+
+        public String getClientId() {
+            return clientId;
+        }
+
+        public void setClientId(String clientId) {
+            this.clientId = clientId;
+        }
+
+        public String getClientSecret() {
+            return clientSecret;
+        }
+
+        public void setClientSecret(String clientSecret) {
+            this.clientSecret = clientSecret;
+        }
+
+        public String getScope() {
+            return scope;
+        }
+
+        public void setScope(String scope) {
+            this.scope = scope;
+        }
+
+        public String getAudience() {
+            return audience;
+        }
+
+        public void setAudience(String audience) {
+            this.audience = audience;
+        }
+
+        /** registrations with the same endpoint, client and audience share one token */
+        public String cacheKey() {
+            return tokenUri + '|' + clientId + '|' + (scope == null ? "" : scope) + '|' + (audience == null ? "" : audience);
+        }
+    }
 }
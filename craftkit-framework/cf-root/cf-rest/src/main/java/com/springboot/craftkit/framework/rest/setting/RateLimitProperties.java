@@ -0,0 +1,25 @@
+package com.springboot.craftkit.framework.rest.setting;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Switches for client-side outbound rate limiting.
+ * <p>
+ * The limits themselves are configured in domain.yml, per domain and per API, as {@link DomainRateLimitProperties}.
+ */
+@ConfigurationProperties(prefix = RateLimitProperties.PREFIX)
+public class RateLimitProperties {
+    public static final String PREFIX = "sf-rest.rate-limit";
+
+    /** Apply the rate limits configured in domain.yml. */
+    private boolean enabled = true;
+
+    /** Honor 429 / Retry-After; false turns adaptation off for every limit. */
+    private boolean adaptive = true;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public boolean isAdaptive() { return adaptive; }
+    public void setAdaptive(boolean adaptive) { this.adaptive = adaptive; }
+}
@@ -0,0 +1,57 @@
+package com.springboot.craftkit.framework.rest.setting;
+
+import com.springboot.craftkit.framework.application.constant.HeaderConstant;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = StaleResponseProperties.PREFIX)
+public class StaleResponseProperties {
+    public static final String PREFIX = "sf-rest.stale-response";
+
+    /** Keep the last successful GET response per domain api and request, and serve it when the call fails. */
+    private boolean enabled = false;
+
+    /** Upper bound of all stored responses (bodies, headers and keys). Least recently used entries are evicted first. */
+    private DataSize maxSize = DataSize.ofMegabytes(16);
+
+    /** Responses larger than this are never stored. */
+    private DataSize maxEntrySize = DataSize.ofKilobytes(256);
+
+    /** Stored responses older than this are not served. */
+    private Duration maxStaleness = Duration.ofMinutes(5);
+
+    /** Also serve the stored response when the upstream answers with a 5xx status. */
+    private boolean fallbackOnServerError = true;
+
+    /** Header added to a served stale response; its value is the age of the response in seconds. */
+    private String headerName = "Stale-Response";
+
+    /** Request headers that are part of the store key, so per-user responses are never shared. */
+    private List<String> varyHeaders = new ArrayList<>(List.of(HttpHeaders.AUTHORIZATION, HeaderConstant.HEADER_USER_ID));
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public DataSize getMaxSize() { return maxSize; }
+    public void setMaxSize(DataSize maxSize) { this.maxSize = maxSize; }
+
+    public DataSize getMaxEntrySize() { return maxEntrySize; }
+    public void setMaxEntrySize(DataSize maxEntrySize) { this.maxEntrySize = maxEntrySize; }
+
+    public Duration getMaxStaleness() { return maxStaleness; }
+    public void setMaxStaleness(Duration maxStaleness) { this.maxStaleness = maxStaleness; }
+
+    public boolean isFallbackOnServerError() { return fallbackOnServerError; }
+    public void setFallbackOnServerError(boolean fallbackOnServerError) { this.fallbackOnServerError = fallbackOnServerError; }
+
+    public String getHeaderName() { return headerName; }
+    public void setHeaderName(String headerName) { this.headerName = headerName; }
+
+    public List<String> getVaryHeaders() { return varyHeaders; }
+    public void setVaryHeaders(List<String> varyHeaders) { this.varyHeaders = varyHeaders; }
+}
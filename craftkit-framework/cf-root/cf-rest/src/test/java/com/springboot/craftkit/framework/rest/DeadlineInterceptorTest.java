@@ -0,0 +1,223 @@
+package com.springboot.craftkit.framework.rest;
+
+import com.springboot.craftkit.framework.application.constant.HeaderConstant;
+import com.springboot.craftkit.framework.rest.client.DeadlineClientHttpRequestInterceptor;
+import com.springboot.craftkit.framework.rest.client.DeadlineExceededException;
+import com.springboot.craftkit.framework.rest.client.DeadlineResponseTimeoutInterceptor;
+import com.springboot.craftkit.framework.rest.config.RestAutoConfiguration;
+import com.springboot.craftkit.framework.rest.setting.DeadlineProperties;
+import com.springboot.craftkit.framework.scope.RequestDeadline;
+import com.springboot.craftkit.framework.scope.RequestScopeUtil;
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.HttpRequestRetryStrategy;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DeadlineInterceptorTest {
+
+    private final DeadlineClientHttpRequestInterceptor interceptor = new DeadlineClientHttpRequestInterceptor(new DeadlineProperties());
+
+    @BeforeEach
+    void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void cleanup() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void noDeadline_passesThroughWithoutHeader() throws IOException {
+        CountingExecution execution = new CountingExecution();
+        StubHttpRequest outbound = new StubHttpRequest(URI.create("https://example.org"));
+
+        interceptor.intercept(outbound, new byte[0], execution);
+
+        assertThat(execution.calls.get()).isEqualTo(1);
+        assertThat(outbound.getHeaders().containsKey(HeaderConstant.HEADER_REMAINING_TIME)).isFalse();
+    }
+
+    @Test
+    void remainingBudget_isPropagatedAsHeader() throws IOException {
+        scope().setDeadline(System.currentTimeMillis() + 2_000L);
+        StubHttpRequest outbound = new StubHttpRequest(URI.create("https://example.org"));
+
+        interceptor.intercept(outbound, new byte[0], new CountingExecution());
+
+        long remaining = Long.parseLong(outbound.getHeaders().getFirst(HeaderConstant.HEADER_REMAINING_TIME));
+        assertThat(remaining).isPositive().isLessThanOrEqualTo(2_000L);
+    }
+
+    @Test
+    void exhaustedBudget_failsFastWithoutCalling() {
+        scope().setDeadline(System.currentTimeMillis() - 1L);
+        CountingExecution execution = new CountingExecution();
+        StubHttpRequest outbound = new StubHttpRequest(URI.create("https://example.org"));
+
+        assertThatThrownBy(() -> interceptor.intercept(outbound, new byte[0], execution))
+                .isInstanceOf(DeadlineExceededException.class);
+        assertThat(execution.calls.get()).isZero();
+    }
+
+    @Test
+    void hugeRemainingTimeHeader_isClampedInsteadOfOverflowing() {
+        long now = System.currentTimeMillis();
+
+        assertThat(RequestDeadline.resolve(String.valueOf(Long.MAX_VALUE - 1L), now)).isEqualTo(Long.MAX_VALUE);
+        assertThat(RequestDeadline.resolve("1000", now)).isEqualTo(now + 1_000L);
+    }
+
+    @Test
+    void remainingMillis_outsideRequest_doesNotCreateScope() throws Exception {
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        try {
+            Future<Long> remaining = worker.submit(RequestDeadline::remainingMillis);
+
+            assertThat(remaining.get()).isEqualTo(RequestDeadline.NO_DEADLINE);
+            assertThat(worker.submit(RequestScopeUtil::peekAttribute).get()).isNull();
+        } finally {
+            worker.shutdownNow();
+        }
+    }
+
+    @Test
+    void httpClientResponseTimeout_isClampedToRemainingBudget() throws Exception {
+        scope().setDeadline(System.currentTimeMillis() + 500L);
+        HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(RequestConfig.custom().setResponseTimeout(Timeout.ofSeconds(30)).build());
+
+        new DeadlineResponseTimeoutInterceptor().process(new HttpGet("https://example.org"), null, context);
+
+        assertThat(context.getRequestConfig().getResponseTimeout().toMilliseconds()).isPositive().isLessThanOrEqualTo(500L);
+    }
+
+    @Test
+    void httpClientResponseTimeout_exhaustedBudgetAborts() {
+        scope().setDeadline(System.currentTimeMillis() - 1L);
+
+        assertThatThrownBy(() -> new DeadlineResponseTimeoutInterceptor()
+                .process(new HttpGet("https://example.org"), null, HttpClientContext.create()))
+                .isInstanceOf(InterruptedIOException.class);
+    }
+
+    @Test
+    void defaultRestTemplate_clampsReadTimeout_withRetryDisabled() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/slow", exchange -> {
+            sleep(3_000L);
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            new ApplicationContextRunner()
+                    .withConfiguration(AutoConfigurations.of(RestAutoConfiguration.class, RestTemplateAutoConfiguration.class))
+                    .withPropertyValues("sf-rest.http-client.read-timeout=10s", "sf-rest.deadline.http-client-enabled=true")
+                    .run(context -> {
+                        assertThat(context).doesNotHaveBean(HttpRequestRetryStrategy.class);
+                        assertThat(context).hasSingleBean(PoolingHttpClientConnectionManager.class);
+                        RestTemplate restTemplate = context.getBean(RestTemplate.class);
+                        scope().setDeadline(System.currentTimeMillis() + 300L);
+
+                        long start = System.nanoTime();
+                        assertThatThrownBy(() -> restTemplate.getForObject(
+                                "http://127.0.0.1:" + server.getAddress().getPort() + "/slow", String.class))
+                                .isInstanceOf(ResourceAccessException.class);
+                        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+                    });
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void defaultRestTemplate_keepsRequestFactory_unlessHttpClientEnabled() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(RestAutoConfiguration.class, RestTemplateAutoConfiguration.class))
+                .run(context -> {
+                    assertThat(context).doesNotHaveBean(CloseableHttpClient.class);
+                    assertThat(context).doesNotHaveBean(PoolingHttpClientConnectionManager.class);
+                });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ScopeAttribute scope() {
+        return (ScopeAttribute) RequestScopeUtil.getAttribute();
+    }
+
+    static class StubHttpRequest implements HttpRequest {
+        private final URI uri;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        StubHttpRequest(URI uri) {
+            this.uri = uri;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return HttpMethod.GET;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    static class CountingExecution implements ClientHttpRequestExecution {
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public MockClientHttpResponse execute(HttpRequest request, byte[] body) {
+            calls.incrementAndGet();
+            return new MockClientHttpResponse(new byte[0], 200);
+        }
+    }
+}
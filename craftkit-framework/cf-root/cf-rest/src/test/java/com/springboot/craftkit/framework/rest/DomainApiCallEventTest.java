@@ -0,0 +1,142 @@
+package com.springboot.craftkit.framework.rest;
+
+import com.springboot.craftkit.framework.rest.client.DomainApiCallEvent;
+import com.springboot.craftkit.framework.rest.client.DomainApiContext;
+import com.springboot.craftkit.framework.rest.client.JfrClientHttpRequestInterceptor;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DomainApiCallEventTest {
+
+    private final JfrClientHttpRequestInterceptor interceptor = new JfrClientHttpRequestInterceptor();
+
+    @AfterEach
+    void cleanup() {
+        DomainApiContext.clear();
+    }
+
+    @Test
+    void callIsRecordedWithRetriesAndBreakerState() throws Exception {
+        DomainApiContext.setCurrentDomainApi("order.find");
+        DomainApiContext.setCurrentDomain("order");
+        byte[] requestBody = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+        List<RecordedEvent> events = record(true, () -> interceptor.intercept(request("https://order.internal:8443/orders/1"),
+                requestBody, (request, body) -> {
+                    // the circuit breaker clears the context, the interceptor must not depend on it afterwards
+                    DomainApiContext.clear();
+                    DomainApiCallEvent.circuitBreakerState("CLOSED");
+                    DomainApiCallEvent.retried();
+                    DomainApiCallEvent.retried();
+                    MockClientHttpResponse response = new MockClientHttpResponse(new byte[5], HttpStatus.OK);
+                    response.getHeaders().setContentLength(5);
+                    return response;
+                }));
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getString("domainApi")).isEqualTo("order.find");
+            assertThat(event.getString("domain")).isEqualTo("order");
+            assertThat(event.getString("method")).isEqualTo("GET");
+            assertThat(event.getString("host")).isEqualTo("order.internal:8443");
+            assertThat(event.getInt("status")).isEqualTo(200);
+            assertThat(event.getLong("requestBytes")).isEqualTo(requestBody.length);
+            assertThat(event.getLong("responseBytes")).isEqualTo(5L);
+            assertThat(event.getInt("retries")).isEqualTo(2);
+            assertThat(event.getString("circuitBreakerState")).isEqualTo("CLOSED");
+            assertThat(event.getString("exception")).isNull();
+        });
+    }
+
+    @Test
+    void failedCallIsRecordedWithException() throws Exception {
+        List<RecordedEvent> events = record(true, () -> assertThatThrownBy(() ->
+                interceptor.intercept(request("https://order.internal/orders"), new byte[0], (request, body) -> {
+                    throw new IOException("reset");
+                })).isInstanceOf(IOException.class));
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getString("host")).isEqualTo("order.internal");
+            assertThat(event.getInt("status")).isZero();
+            assertThat(event.getLong("responseBytes")).isEqualTo(-1L);
+            assertThat(event.getString("exception")).isEqualTo(IOException.class.getName());
+        });
+    }
+
+    @Test
+    void nestedCallKeepsOuterCallRecorded() throws Exception {
+        List<RecordedEvent> events = record(true, () -> interceptor.intercept(request("https://order.internal/orders"), new byte[0],
+                (request, body) -> {
+                    interceptor.intercept(request("https://stock.internal/stocks"), new byte[0],
+                            (inner, innerBody) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+                    // counted on the outer call once the nested call has returned
+                    DomainApiCallEvent.retried();
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+                }));
+
+        assertThat(events).hasSize(2);
+        assertThat(events).filteredOn(event -> event.getString("host").equals("order.internal"))
+                .singleElement().satisfies(event -> assertThat(event.getInt("retries")).isEqualTo(1));
+        assertThat(events).filteredOn(event -> event.getString("host").equals("stock.internal"))
+                .singleElement().satisfies(event -> assertThat(event.getInt("retries")).isZero());
+    }
+
+    @Test
+    void nothingIsTrackedWhenEventIsDisabled() throws Exception {
+        int[] retries = new int[1];
+        ClientHttpRequestExecution execution = (request, body) -> {
+            // no event attached to the thread, so this is a no-op
+            DomainApiCallEvent.retried();
+            retries[0]++;
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        };
+
+        List<RecordedEvent> events = record(false, () -> interceptor.intercept(request("https://order.internal/orders"), new byte[0], execution));
+
+        assertThat(events).isEmpty();
+        assertThat(retries[0]).isEqualTo(1);
+    }
+
+    private static List<RecordedEvent> record(boolean enabled, ThrowingRunnable action) throws Exception {
+        Path file = Files.createTempFile("craftkit-rest", ".jfr");
+        try (Recording recording = new Recording()) {
+            if (enabled) {
+                recording.enable(DomainApiCallEvent.NAME).withoutThreshold();
+            } else {
+                recording.disable(DomainApiCallEvent.NAME);
+            }
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(DomainApiCallEvent.NAME))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static DeadlineInterceptorTest.StubHttpRequest request(String uri) {
+        return new DeadlineInterceptorTest.StubHttpRequest(URI.create(uri));
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,227 @@
+package com.springboot.craftkit.framework.rest;
+
+import com.springboot.craftkit.framework.rest.client.DomainApiContext;
+import com.springboot.craftkit.framework.rest.client.DomainUriTemplateHandler;
+import com.springboot.craftkit.framework.rest.client.OAuthTokenException;
+import com.springboot.craftkit.framework.rest.client.OAuthTokenManager;
+import com.springboot.craftkit.framework.rest.client.TokenClientHttpRequestInterceptor;
+import com.springboot.craftkit.framework.rest.setting.DomainProperties;
+import com.springboot.craftkit.framework.rest.setting.OAuthClientProperties;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class OAuthTokenManagerTest {
+
+    private HttpServer server;
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+    private volatile long expiresIn = 300;
+    private volatile long responseDelayMillis = 0;
+    private volatile int responseStatus = 200;
+    private volatile String lastAuthorization;
+    private volatile String lastForm;
+
+    private OAuthTokenManager manager;
+
+    @BeforeEach
+    void startTokenEndpoint() throws IOException {
+        // local stub of an OAuth2 token endpoint issuing token-1, token-2, ...
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/oauth/token", exchange -> {
+            int n = tokenRequests.incrementAndGet();
+            lastAuthorization = exchange.getRequestHeaders().getFirst("Authorization");
+            lastForm = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            sleep(responseDelayMillis);
+            byte[] json = ("{\"access_token\":\"token-" + n + "\",\"token_type\":\"Bearer\",\"expires_in\":" + expiresIn + "}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(responseStatus, json.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(json);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (manager != null) {
+            manager.destroy();
+        }
+        server.stop(0);
+        DomainApiContext.clear();
+    }
+
+    @Test
+    void tokenIsCachedAndSharedByRegistrationsWithSameClient() {
+        manager = new OAuthTokenManager(properties("partner", "billing"));
+
+        assertThat(manager.getToken("partner")).isEqualTo("token-1");
+        assertThat(manager.getToken("partner")).isEqualTo("token-1");
+        assertThat(manager.getToken("billing")).isEqualTo("token-1");
+        assertThat(tokenRequests.get()).isEqualTo(1);
+
+        assertThat(lastAuthorization).startsWith("Basic ");
+        assertThat(lastForm).contains("grant_type=client_credentials").contains("scope=read");
+        assertThat(manager.supports("other")).isFalse();
+    }
+
+    @Test
+    void concurrentCallersShareOneTokenRequest() throws Exception {
+        responseDelayMillis = 200;
+        manager = new OAuthTokenManager(properties("partner"));
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return manager.getToken("partner");
+            }));
+        }
+        start.countDown();
+
+        Set<String> tokens = ConcurrentHashMap.newKeySet();
+        for (Future<String> f : futures) {
+            tokens.add(f.get());
+        }
+        pool.shutdown();
+
+        assertThat(tokens).containsExactly("token-1");
+        assertThat(tokenRequests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void tokenIsRefreshedInBackgroundBeforeExpiry() {
+        expiresIn = 2;
+        OAuthClientProperties props = properties("partner");
+        props.setRefreshBefore(Duration.ofMillis(1_000));
+        props.setRefreshJitter(Duration.ZERO);
+        manager = new OAuthTokenManager(props);
+
+        assertThat(manager.getToken("partner")).isEqualTo("token-1");
+        // refreshed 1s ahead of the 2s expiry, well before the token expires
+        sleep(1_500);
+
+        assertThat(tokenRequests.get()).isEqualTo(2);
+        long start = System.nanoTime();
+        assertThat(manager.getToken("partner")).isEqualTo("token-2");
+        assertThat(System.nanoTime() - start).isLessThan(Duration.ofMillis(50).toNanos());
+    }
+
+    @Test
+    void unauthorizedResponse_isRetriedOnceWithFreshToken() throws IOException {
+        OAuthClientProperties props = properties("partner");
+        manager = new OAuthTokenManager(props);
+        TokenClientHttpRequestInterceptor interceptor = new TokenClientHttpRequestInterceptor(props, manager, domains("https://partner.example.org"));
+
+        List<String> sentTokens = new ArrayList<>();
+        ClientHttpRequestExecution execution = (request, body) -> {
+            sentTokens.add(request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+            return new MockClientHttpResponse(new byte[0], sentTokens.size() == 1 ? HttpStatus.UNAUTHORIZED : HttpStatus.OK);
+        };
+
+        DomainApiContext.setCurrentDomain("partner");
+        var response = interceptor.intercept(new DeadlineInterceptorTest.StubHttpRequest(URI.create("https://partner.example.org")),
+                new byte[0], execution);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(sentTokens).containsExactly("Bearer token-1", "Bearer token-2");
+        assertThat(manager.getToken("partner")).isEqualTo("token-2");
+    }
+
+    @Test
+    void uriCallAfterDomainCall_getsNoManagedToken() {
+        OAuthClientProperties props = properties("partner");
+        manager = new OAuthTokenManager(props);
+        DomainProperties domains = domains("https://partner.example.org");
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.setUriTemplateHandler(new DomainUriTemplateHandler(domains, null, null));
+        // no DomainApiContext clearing interceptor: the host check alone keeps the token on the partner host
+        restTemplate.setInterceptors(List.of(new TokenClientHttpRequestInterceptor(props, manager, domains)));
+        MockRestServiceServer upstream = MockRestServiceServer.bindTo(restTemplate).build();
+        upstream.expect(requestTo("https://partner.example.org/me"))
+                .andExpect(header(HttpHeaders.AUTHORIZATION, "Bearer token-1"))
+                .andRespond(withSuccess());
+        upstream.expect(requestTo("https://other.example.org/me"))
+                .andExpect(headerDoesNotExist(HttpHeaders.AUTHORIZATION))
+                .andRespond(withSuccess());
+
+        restTemplate.getForObject("{@partner}/me", String.class);
+        restTemplate.getForObject(URI.create("https://other.example.org/me"), String.class);
+
+        upstream.verify();
+    }
+
+    @Test
+    void tokenEndpointFailure_isReported() {
+        responseStatus = 500;
+        manager = new OAuthTokenManager(properties("partner"));
+
+        assertThatThrownBy(() -> manager.getToken("partner")).isInstanceOf(OAuthTokenException.class);
+        assertThatThrownBy(() -> manager.getToken("unknown")).isInstanceOf(OAuthTokenException.class);
+    }
+
+    private static DomainProperties domains(String partnerUrl) {
+        DomainProperties domains = new DomainProperties(null);
+        DomainProperties.ServiceProperties partner = new DomainProperties.ServiceProperties();
+        partner.setUrl(partnerUrl);
+        domains.getServices().put("partner", partner);
+        return domains;
+    }
+
+    private OAuthClientProperties properties(String... domains) {
+        OAuthClientProperties props = new OAuthClientProperties();
+        props.setEnabled(true);
+        props.setStrategy("client-credentials");
+        for (String domain : domains) {
+            OAuthClientProperties.ClientCredentials client = new OAuthClientProperties.ClientCredentials();
+            client.setTokenUri("http://127.0.0.1:" + server.getAddress().getPort() + "/oauth/token");
+            client.setClientId("demo-client");
+            client.setClientSecret("demo-secret");
+            client.setScope("read");
+            props.getClients().put(domain, client);
+        }
+        return props;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
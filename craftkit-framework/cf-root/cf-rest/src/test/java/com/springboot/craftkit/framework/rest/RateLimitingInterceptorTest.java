@@ -0,0 +1,173 @@
+package com.springboot.craftkit.framework.rest;
+
+import com.springboot.craftkit.framework.rest.client.DomainApiContext;
+import com.springboot.craftkit.framework.rest.client.DomainApiContextClearingInterceptor;
+import com.springboot.craftkit.framework.rest.client.DomainRateLimiterRegistry;
+import com.springboot.craftkit.framework.rest.client.RateLimitExceededException;
+import com.springboot.craftkit.framework.rest.client.RateLimitingInterceptor;
+import com.springboot.craftkit.framework.rest.client.TokenBucketRateLimiter;
+import com.springboot.craftkit.framework.rest.setting.DomainProperties;
+import com.springboot.craftkit.framework.rest.setting.DomainRateLimitProperties;
+import com.springboot.craftkit.framework.rest.setting.RateLimitProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.anything;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class RateLimitingInterceptorTest {
+
+    @AfterEach
+    void cleanup() {
+        DomainApiContext.clear();
+    }
+
+    @Test
+    void burstIsAllowed_thenFailsFast() throws IOException {
+        RateLimitingInterceptor interceptor = new RateLimitingInterceptor(registry(limit(1, 3, Duration.ZERO), null));
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            call(interceptor, "demo.search", respond(HttpStatus.OK, calls));
+        }
+
+        assertThatThrownBy(() -> call(interceptor, "demo.search", respond(HttpStatus.OK, calls)))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThat(calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void callerWaitsWithinMaxWait() throws IOException {
+        RateLimitingInterceptor interceptor = new RateLimitingInterceptor(registry(limit(20, 1, Duration.ofMillis(500)), null));
+        AtomicInteger calls = new AtomicInteger();
+
+        long start = System.nanoTime();
+        call(interceptor, "demo.search", respond(HttpStatus.OK, calls));
+        call(interceptor, "demo.search", respond(HttpStatus.OK, calls));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(40L);
+    }
+
+    @Test
+    void apiLimitTakesPrecedenceOverDomainLimit() throws IOException {
+        DomainRateLimiterRegistry registry = registry(limit(1, 1, Duration.ZERO), limit(1000, 100, Duration.ZERO));
+        RateLimitingInterceptor interceptor = new RateLimitingInterceptor(registry);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 10; i++) {
+            call(interceptor, "demo.search", respond(HttpStatus.OK, calls));
+        }
+        call(interceptor, "demo.other", respond(HttpStatus.OK, calls));
+
+        assertThatThrownBy(() -> call(interceptor, "demo.other", respond(HttpStatus.OK, calls)))
+                .isInstanceOf(RateLimitExceededException.class);
+        // calls without configured limit are never limited
+        for (int i = 0; i < 10; i++) {
+            call(interceptor, "other.api", respond(HttpStatus.OK, calls));
+        }
+        assertThat(calls.get()).isEqualTo(21);
+    }
+
+    @Test
+    void tooManyRequests_slowsLimiterDownAndHonoursRetryAfter() throws IOException {
+        DomainRateLimitProperties props = limit(100, 5, Duration.ZERO);
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("demo", props);
+        DomainRateLimiterRegistry registry = registry(props, null);
+        RateLimitingInterceptor interceptor = new RateLimitingInterceptor(registry);
+        TokenBucketRateLimiter used = registry.find(null, "demo");
+
+        ClientHttpRequestExecution throttled = (request, body) -> {
+            MockClientHttpResponse response = new MockClientHttpResponse(new byte[0], HttpStatus.TOO_MANY_REQUESTS);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return response;
+        };
+        call(interceptor, "demo.search", throttled);
+
+        assertThat(used.getCurrentRate()).isLessThan(limiter.getCurrentRate());
+        assertThatThrownBy(() -> call(interceptor, "demo.search", respond(HttpStatus.OK, new AtomicInteger())))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void uriCallAfterDomainApiCall_doesNotReuseItsLimiter() {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.setInterceptors(List.of(new DomainApiContextClearingInterceptor(),
+                new RateLimitingInterceptor(registry(limit(1, 1, Duration.ZERO), null))));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(ExpectedCount.manyTimes(), anything()).andRespond(withSuccess());
+
+        // set while '{@demo.search}' is expanded; the call uses up the burst of 'demo'
+        DomainApiContext.setCurrentDomainApi("demo.search");
+        DomainApiContext.setCurrentDomain("demo");
+        restTemplate.getForObject("https://demo.example.org/search", String.class);
+
+        for (int i = 0; i < 3; i++) {
+            restTemplate.getForObject(URI.create("https://other.example.org/"), String.class);
+        }
+        assertThat(DomainApiContext.getCurrentDomain()).isNull();
+    }
+
+    @Test
+    void domainAndApiLimits_areReadFromDomainYml() {
+        MockEnvironment environment = new MockEnvironment().withProperty(DomainProperties.CONFIG_PATH, "config/domain-rate-limit.yml");
+        DomainProperties domains = new DomainProperties(environment);
+
+        DomainRateLimiterRegistry registry = new DomainRateLimiterRegistry(domains, new RateLimitProperties());
+
+        assertThat(registry.find("demo.search", "demo").getName()).isEqualTo("demo.search");
+        assertThat(registry.find("demo.detail", "demo").getName()).isEqualTo("demo");
+        assertThat(registry.find("plain.api", "plain")).isNull();
+        assertThat(domains.getApiRateLimits().get("demo.search").getBurst()).isEqualTo(2);
+        assertThat(domains.getServices().get("demo").getRateLimit().getMaxWait()).isEqualTo(Duration.ofMillis(200));
+    }
+
+    private static DomainRateLimiterRegistry registry(DomainRateLimitProperties domainLimit, DomainRateLimitProperties apiLimit) {
+        DomainProperties domains = new DomainProperties(null);
+        DomainProperties.ServiceProperties service = new DomainProperties.ServiceProperties();
+        service.setRateLimit(domainLimit);
+        domains.getServices().put("demo", service);
+        if (apiLimit != null) {
+            domains.getApiRateLimits().put("demo.search", apiLimit);
+        }
+        return new DomainRateLimiterRegistry(domains, new RateLimitProperties());
+    }
+
+    private static DomainRateLimitProperties limit(double permitsPerSecond, int burst, Duration maxWait) {
+        DomainRateLimitProperties props = new DomainRateLimitProperties();
+        props.setPermitsPerSecond(permitsPerSecond);
+        props.setBurst(burst);
+        props.setMaxWait(maxWait);
+        return props;
+    }
+
+    private static void call(RateLimitingInterceptor interceptor, String domainApi, ClientHttpRequestExecution execution) throws IOException {
+        DomainApiContext.setCurrentDomainApi(domainApi);
+        DomainApiContext.setCurrentDomain(domainApi.substring(0, domainApi.indexOf('.')));
+        interceptor.intercept(new DeadlineInterceptorTest.StubHttpRequest(URI.create("https://example.org")), new byte[0], execution);
+    }
+
+    private static ClientHttpRequestExecution respond(HttpStatus status, AtomicInteger calls) {
+        return (request, body) -> {
+            calls.incrementAndGet();
+            return new MockClientHttpResponse(new byte[0], status);
+        };
+    }
+}
@@ -1,5 +1,10 @@
 package com.springboot.craftkit.framework.rest;
 
+import com.springboot.craftkit.framework.logging.SlowCallWatchdog;
+import com.springboot.craftkit.framework.rest.client.DomainApiContextClearingInterceptor;
+import com.springboot.craftkit.framework.rest.client.JfrClientHttpRequestInterceptor;
+import com.springboot.craftkit.framework.rest.client.SlowCallClientHttpRequestInterceptor;
+import com.springboot.craftkit.framework.rest.client.StaleResponseFallbackInterceptor;
 import com.springboot.craftkit.framework.rest.client.TokenClientHttpRequestInterceptor;
 import com.springboot.craftkit.framework.rest.config.RestAutoConfiguration;
 import org.junit.jupiter.api.Test;
@@ -8,6 +13,8 @@ import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfigu
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class RestAutoConfigurationTest {
@@ -41,4 +48,22 @@ public class RestAutoConfigurationTest {
                     assertThat(rt.getInterceptors()).anyMatch(i -> i instanceof TokenClientHttpRequestInterceptor);
                 });
     }
+
+    @Test
+    void outermostInterceptorsHaveFixedOrder() {
+        contextRunner
+                .withBean(SlowCallWatchdog.class, () -> new SlowCallWatchdog(Duration.ofSeconds(1), Duration.ofMillis(100), 4, 16, 8))
+                .withPropertyValues(
+                        "sf-rest.stale-response.enabled=true",
+                        "sample.log.slow-call.enabled=true"
+                )
+                .run(context -> {
+                    RestTemplate rt = context.getBean(RestTemplate.class);
+                    assertThat(rt.getInterceptors()).hasSizeGreaterThanOrEqualTo(4);
+                    assertThat(rt.getInterceptors().get(0)).isInstanceOf(DomainApiContextClearingInterceptor.class);
+                    assertThat(rt.getInterceptors().get(1)).isInstanceOf(JfrClientHttpRequestInterceptor.class);
+                    assertThat(rt.getInterceptors().get(2)).isInstanceOf(SlowCallClientHttpRequestInterceptor.class);
+                    assertThat(rt.getInterceptors().get(3)).isInstanceOf(StaleResponseFallbackInterceptor.class);
+                });
+    }
 }
@@ -0,0 +1,140 @@
+package com.springboot.craftkit.framework.rest;
+
+import com.springboot.craftkit.framework.rest.client.FanOutCall;
+import com.springboot.craftkit.framework.rest.client.FanOutResult;
+import com.springboot.craftkit.framework.rest.client.SfRestFanOut;
+import com.springboot.craftkit.framework.rest.setting.FanOutProperties;
+import com.springboot.craftkit.framework.scope.RequestScopeUtil;
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+import com.springboot.craftkit.framework.scope.ScopeStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SfRestFanOutTest {
+
+    private SfRestFanOut fanOut;
+
+    @AfterEach
+    void cleanup() {
+        if (fanOut != null) {
+            fanOut.destroy();
+        }
+        MDC.clear();
+        new ScopeStore().removeAttributeFromThreadLocal();
+    }
+
+    @Test
+    void callsRunInParallel() {
+        fanOut = new SfRestFanOut(new RestTemplate(), new FanOutProperties());
+
+        long start = System.currentTimeMillis();
+        FanOutResult result = fanOut.execute(List.of(
+                FanOutCall.of("a", rest -> sleepAndReturn(300, "A")),
+                FanOutCall.of("b", rest -> sleepAndReturn(300, "B")),
+                FanOutCall.of("c", rest -> sleepAndReturn(300, "C"))));
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertThat(result.isComplete()).isTrue();
+        assertThat(result.get("a", String.class)).isEqualTo("A");
+        assertThat(result.get("c", String.class)).isEqualTo("C");
+        assertThat(elapsed).isLessThan(800L);
+    }
+
+    @Test
+    void failuresAndTimeouts_areReportedPerCall() {
+        fanOut = new SfRestFanOut(new RestTemplate(), new FanOutProperties());
+
+        FanOutResult result = fanOut.execute(List.of(
+                FanOutCall.of("ok", rest -> "fine"),
+                FanOutCall.of("boom", rest -> { throw new IllegalStateException("upstream failed"); }),
+                FanOutCall.<String>of("slow", rest -> sleepAndReturn(3_000, "late")).timeout(Duration.ofMillis(100))));
+
+        assertThat(result.isComplete()).isFalse();
+        assertThat(result.get("ok", String.class)).isEqualTo("fine");
+        assertThat(result.getError("boom")).isInstanceOf(IllegalStateException.class);
+        assertThat(result.getError("slow")).isInstanceOf(TimeoutException.class);
+        assertThat(result.isSuccess("slow")).isFalse();
+    }
+
+    @Test
+    void concurrencyIsBounded() {
+        FanOutProperties props = new FanOutProperties();
+        props.setMaxConcurrency(2);
+        fanOut = new SfRestFanOut(new RestTemplate(), props);
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<FanOutCall<Integer>> calls = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            int n = i;
+            calls.add(FanOutCall.of("call-" + i, rest -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    return sleepAndReturn(50, n);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }));
+        }
+
+        FanOutResult result = fanOut.execute(calls);
+
+        assertThat(result.isComplete()).isTrue();
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void scopeAndMdc_arePropagatedToWorkers() {
+        fanOut = new SfRestFanOut(new RestTemplate(), new FanOutProperties());
+        MDC.put("gtid", "gtid-123");
+        ((ScopeAttribute) RequestScopeUtil.getAttribute()).setUserId("demo-user");
+
+        FanOutResult result = fanOut.execute(List.of(
+                FanOutCall.of("user", rest -> RequestScopeUtil.getAttribute().getUserId()),
+                FanOutCall.of("gtid", rest -> MDC.get("gtid")),
+                FanOutCall.of("deadline", rest -> ((ScopeAttribute) RequestScopeUtil.getAttribute()).hasDeadline())));
+
+        assertThat(result.get("user", String.class)).isEqualTo("demo-user");
+        assertThat(result.get("gtid", String.class)).isEqualTo("gtid-123");
+        assertThat(result.get("deadline", Boolean.class)).isTrue();
+    }
+
+    @Test
+    void scopeGtid_isPutIntoWorkerMdc_andWorkerContextIsRestored() {
+        FanOutProperties props = new FanOutProperties();
+        props.setVirtualThreads(false);
+        props.setPoolSize(1);
+        fanOut = new SfRestFanOut(new RestTemplate(), props);
+        ((ScopeAttribute) RequestScopeUtil.getAttribute()).setGtid("gtid-from-scope");
+
+        FanOutResult first = fanOut.execute(List.of(FanOutCall.of("gtid", rest -> MDC.get("gtid"))));
+        new ScopeStore().removeAttributeFromThreadLocal();
+        FanOutResult second = fanOut.execute(List.of(
+                FanOutCall.of("gtid", rest -> String.valueOf(MDC.get("gtid"))),
+                FanOutCall.of("user", rest -> String.valueOf(RequestScopeUtil.getAttribute().getUserId()))));
+
+        assertThat(first.get("gtid", String.class)).isEqualTo("gtid-from-scope");
+        assertThat(second.get("gtid", String.class)).isEqualTo("null");
+        assertThat(second.get("user", String.class)).isEqualTo("null");
+        assertThat(RequestScopeUtil.peekAttribute()).isNull();
+    }
+
+    private static <T> T sleepAndReturn(long millis, T value) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
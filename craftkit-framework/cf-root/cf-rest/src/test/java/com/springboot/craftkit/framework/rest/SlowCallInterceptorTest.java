@@ -0,0 +1,80 @@
+package com.springboot.craftkit.framework.rest;
+
+import com.springboot.craftkit.framework.logging.SlowCallWatchdog;
+import com.springboot.craftkit.framework.rest.client.SlowCallClientHttpRequestInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SlowCallInterceptorTest {
+
+    private final SlowCallWatchdog watchdog = new SlowCallWatchdog(Duration.ofMillis(50), Duration.ofMillis(10), 3, 16, 4);
+    private final SlowCallClientHttpRequestInterceptor interceptor = new SlowCallClientHttpRequestInterceptor(watchdog);
+
+    @AfterEach
+    void cleanup() {
+        watchdog.close();
+    }
+
+    @Test
+    void fastCall_isNotReported() throws IOException {
+        watchdog.start();
+
+        interceptor.intercept(request("https://example.org/orders"), new byte[0],
+                (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+
+        assertThat(watchdog.recentReports()).isEmpty();
+    }
+
+    @Test
+    void slowCall_isReportedWithoutQueryString() throws IOException {
+        watchdog.start();
+
+        interceptor.intercept(request("https://example.org/orders/1?token=secret"), new byte[0], (request, body) -> {
+            sleep(300);
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        });
+
+        assertThat(watchdog.recentReports()).singleElement().satisfies(report -> {
+            assertThat(report.method()).isEqualTo("REST GET https://example.org/orders/1");
+            assertThat(report.elapsedMillis()).isGreaterThanOrEqualTo(300d);
+            assertThat(report.failed()).isFalse();
+            assertThat(report.samples()).isNotEmpty().hasSizeLessThanOrEqualTo(3);
+            assertThat(report.samples().get(0).stack()).anyMatch(frame -> frame.contains("SlowCallInterceptorTest"));
+        });
+    }
+
+    @Test
+    void failedSlowCall_isMarkedFailed() {
+        watchdog.start();
+
+        assertThatThrownBy(() -> interceptor.intercept(request("https://example.org/orders"), new byte[0], (request, body) -> {
+            sleep(200);
+            throw new IOException("reset");
+        })).isInstanceOf(IOException.class);
+
+        assertThat(watchdog.recentReports()).singleElement()
+                .satisfies(report -> assertThat(report.failed()).isTrue());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static HttpRequest request(String uri) {
+        return new DeadlineInterceptorTest.StubHttpRequest(URI.create(uri));
+    }
+}
@@ -0,0 +1,218 @@
+package com.springboot.craftkit.framework.rest;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.springboot.craftkit.framework.rest.client.DomainApiContext;
+import com.springboot.craftkit.framework.rest.client.StaleResponseFallbackInterceptor;
+import com.springboot.craftkit.framework.rest.client.StaleResponseStore;
+import com.springboot.craftkit.framework.rest.setting.StaleResponseProperties;
+import com.springboot.craftkit.framework.scope.RequestScopeUtil;
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+import com.springboot.craftkit.framework.scope.ScopeStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StaleResponseFallbackInterceptorTest {
+
+    @AfterEach
+    void cleanup() {
+        DomainApiContext.clear();
+        new ScopeStore().removeAttributeFromThreadLocal();
+    }
+
+    @Test
+    void lastGoodResponse_isServedWhenCallFails() throws IOException {
+        StaleResponseProperties props = enabledProperties();
+        StaleResponseFallbackInterceptor interceptor = new StaleResponseFallbackInterceptor(new StaleResponseStore(1024 * 1024, 1024), props);
+
+        DomainApiContext.setCurrentDomainApi("customer.get");
+        ClientHttpResponse fresh = interceptor.intercept(get("https://example.org/customers/1"), new byte[0], respond("{\"id\":1}", HttpStatus.OK));
+        assertThat(body(fresh)).isEqualTo("{\"id\":1}");
+        assertThat(fresh.getHeaders().containsKey(props.getHeaderName())).isFalse();
+
+        DomainApiContext.setCurrentDomainApi("customer.get");
+        ClientHttpResponse stale = interceptor.intercept(get("https://example.org/customers/1"), new byte[0], fail());
+        assertThat(body(stale)).isEqualTo("{\"id\":1}");
+        assertThat(stale.getHeaders().getFirst(props.getHeaderName())).isEqualTo("0");
+    }
+
+    @Test
+    void serverError_isReplacedByLastGoodResponse() throws IOException {
+        StaleResponseFallbackInterceptor interceptor = new StaleResponseFallbackInterceptor(new StaleResponseStore(1024 * 1024, 1024), enabledProperties());
+
+        interceptor.intercept(get("https://example.org/a"), new byte[0], respond("ok", HttpStatus.OK));
+        ClientHttpResponse response = interceptor.intercept(get("https://example.org/a"), new byte[0], respond("down", HttpStatus.SERVICE_UNAVAILABLE));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(body(response)).isEqualTo("ok");
+    }
+
+    @Test
+    void unknownOrTooOldResponse_rethrows() throws IOException {
+        StaleResponseProperties props = enabledProperties();
+        props.setMaxStaleness(Duration.ZERO);
+        StaleResponseFallbackInterceptor interceptor = new StaleResponseFallbackInterceptor(new StaleResponseStore(1024 * 1024, 1024), props);
+
+        assertThatThrownBy(() -> interceptor.intercept(get("https://example.org/other"), new byte[0], fail()))
+                .isInstanceOf(IllegalStateException.class);
+
+        interceptor.intercept(get("https://example.org/a"), new byte[0], respond("ok", HttpStatus.OK));
+        sleep(5);
+        assertThatThrownBy(() -> interceptor.intercept(get("https://example.org/a"), new byte[0], fail()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void responsesAreKeptPerUser() throws IOException {
+        StaleResponseFallbackInterceptor interceptor = new StaleResponseFallbackInterceptor(new StaleResponseStore(1024 * 1024, 1024), enabledProperties());
+
+        HttpRequest userA = get("https://example.org/me");
+        userA.getHeaders().set(HttpHeaders.AUTHORIZATION, "Bearer A");
+        interceptor.intercept(userA, new byte[0], respond("A", HttpStatus.OK));
+
+        HttpRequest userB = get("https://example.org/me");
+        userB.getHeaders().set(HttpHeaders.AUTHORIZATION, "Bearer B");
+        assertThatThrownBy(() -> interceptor.intercept(userB, new byte[0], fail()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void responsesAreKeptPerScopeUser_whenUserHeadersAreAddedByInnerInterceptors() throws IOException {
+        StaleResponseFallbackInterceptor interceptor = new StaleResponseFallbackInterceptor(new StaleResponseStore(1024 * 1024, 1024), enabledProperties());
+        // no inbound request (fan-out / async worker); the User-ID header is only added inside the chain
+        ClientHttpRequestExecution addsUserHeader = (request, b) -> {
+            request.getHeaders().set("User-ID", RequestScopeUtil.getAttribute().getUserId());
+            return new MockClientHttpResponse("A".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        };
+
+        ((ScopeAttribute) RequestScopeUtil.getAttribute()).setUserId("user-a");
+        interceptor.intercept(get("https://example.org/me"), new byte[0], addsUserHeader);
+        assertThat(body(interceptor.intercept(get("https://example.org/me"), new byte[0], fail()))).isEqualTo("A");
+
+        ((ScopeAttribute) RequestScopeUtil.getAttribute()).setUserId("user-b");
+        assertThatThrownBy(() -> interceptor.intercept(get("https://example.org/me"), new byte[0], fail()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void credentialsAreNeitherKeptInKeysNorLogged() throws IOException {
+        List<String> keys = new ArrayList<>();
+        StaleResponseStore store = new StaleResponseStore(1024 * 1024, 1024) {
+            @Override
+            public synchronized void put(String key, Entry entry) {
+                keys.add(key);
+                super.put(key, entry);
+            }
+        };
+        StaleResponseFallbackInterceptor interceptor = new StaleResponseFallbackInterceptor(store, enabledProperties());
+        Logger logger = (Logger) LoggerFactory.getLogger(StaleResponseFallbackInterceptor.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            DomainApiContext.setCurrentDomainApi("customer.me");
+            DomainApiContext.setCurrentUriTemplate("{@customer.me}");
+            HttpRequest first = get("https://example.org/me");
+            first.getHeaders().set(HttpHeaders.AUTHORIZATION, "Bearer secret-token");
+            interceptor.intercept(first, new byte[0], respond("me", HttpStatus.OK));
+
+            DomainApiContext.setCurrentDomainApi("customer.me");
+            DomainApiContext.setCurrentUriTemplate("{@customer.me}");
+            HttpRequest second = get("https://example.org/me");
+            second.getHeaders().set(HttpHeaders.AUTHORIZATION, "Bearer secret-token");
+            assertThat(body(interceptor.intercept(second, new byte[0], fail()))).isEqualTo("me");
+        } finally {
+            logger.detachAppender(appender);
+        }
+
+        assertThat(keys).singleElement().satisfies(key -> assertThat(key).doesNotContain("secret-token"));
+        assertThat(appender.list).singleElement().satisfies(event -> {
+            assertThat(event.getFormattedMessage()).startsWith("serving stale response for customer.me GET {@customer.me}");
+            assertThat(event.getFormattedMessage()).doesNotContain("secret-token").doesNotContain("example.org");
+        });
+    }
+
+    @Test
+    void store_evictsLeastRecentlyUsedBySize() {
+        StaleResponseStore store = new StaleResponseStore(600, 400);
+        byte[] body = new byte[200];
+
+        store.put("a", new StaleResponseStore.Entry(HttpStatus.OK, "OK", new HttpHeaders(), body, 0L));
+        store.put("b", new StaleResponseStore.Entry(HttpStatus.OK, "OK", new HttpHeaders(), body, 0L));
+        store.get("a");
+        store.put("c", new StaleResponseStore.Entry(HttpStatus.OK, "OK", new HttpHeaders(), body, 0L));
+
+        assertThat(store.get("a")).isNotNull();
+        assertThat(store.get("b")).isNull();
+        assertThat(store.get("c")).isNotNull();
+        assertThat(store.getTotalBytes()).isLessThanOrEqualTo(600L);
+        assertThat(store.accepts(401)).isFalse();
+    }
+
+    private static StaleResponseProperties enabledProperties() {
+        StaleResponseProperties props = new StaleResponseProperties();
+        props.setEnabled(true);
+        return props;
+    }
+
+    private static HttpRequest get(String uri) {
+        HttpHeaders headers = new HttpHeaders();
+        return new HttpRequest() {
+            @Override
+            public HttpMethod getMethod() {
+                return HttpMethod.GET;
+            }
+
+            @Override
+            public URI getURI() {
+                return URI.create(uri);
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+
+    private static ClientHttpRequestExecution respond(String body, HttpStatus status) {
+        return (request, b) -> new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), status);
+    }
+
+    private static ClientHttpRequestExecution fail() {
+        return (request, b) -> {
+            throw new IllegalStateException("circuit open");
+        };
+    }
+
+    private static String body(ClientHttpResponse response) throws IOException {
+        return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
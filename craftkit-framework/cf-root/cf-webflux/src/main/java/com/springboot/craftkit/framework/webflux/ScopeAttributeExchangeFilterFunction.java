@@ -0,0 +1,62 @@
+package com.springboot.craftkit.framework.webflux;
+
+import com.springboot.craftkit.framework.scope.RequestScopeAttribute;
+import com.springboot.craftkit.framework.scope.RequestScopeUtil;
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+import com.springboot.craftkit.framework.scope.ScopeAttributeSerializer;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+
+/**
+ * Serializes the current {@link ScopeAttribute} into outbound {@code WebClient} request headers.
+ * <p>
+ * The attribute is read from the subscriber's Reactor {@link ContextView}; when the chain carries none
+ * (e.g. a WebClient call made from a servlet or worker thread) the thread's scope is used instead. Without either,
+ * the request is sent unchanged and no scope is created.
+ * Besides the scope headers written by {@link ScopeAttributeSerializer}, the gtid and {@code Forwarded-Service}
+ * chain are added, which on the servlet side come from the RestTemplate interceptors.
+ * Headers already present on the request are kept.
+ */
+public class ScopeAttributeExchangeFilterFunction implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            ScopeAttribute attribute = resolve(context);
+            return next.exchange(attribute == null ? request : withScopeHeaders(request, attribute));
+        });
+    }
+
+    @Nullable
+    static ScopeAttribute resolve(ContextView context) {
+        ScopeAttribute attribute = context.getOrDefault(RequestScopeAttribute.KEY, null);
+        // getAttribute() would create a scope and leave it on the calling thread
+        return attribute != null ? attribute : RequestScopeUtil.peekAttribute();
+    }
+
+    private static ClientRequest withScopeHeaders(ClientRequest request, ScopeAttribute attribute) {
+        return ClientRequest.from(request)
+                .headers(headers -> {
+                    HttpHeaders scopeHeaders = new HttpHeaders();
+                    new ScopeAttributeSerializer(attribute).setHttpHeaders(scopeHeaders);
+                    // on the servlet side these come from the correlation / forward-header interceptors
+                    if (StringUtils.isNotBlank(attribute.getGtid())) {
+                        scopeHeaders.add(RequestScopeAttribute.GLOBAL_TRANSACTION_ID, attribute.getGtid());
+                    }
+                    String forwardedService = attribute.getForwardedServiceHeader();
+                    if (StringUtils.isNotBlank(forwardedService)) {
+                        scopeHeaders.add(RequestScopeAttribute.FORWARDED_SERVICE, forwardedService);
+                    }
+                    scopeHeaders.forEach(headers::putIfAbsent);
+                })
+                .build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.springboot.craftkit.framework.webflux;
+
+import com.springboot.craftkit.framework.application.constant.CommonConstant;
+import com.springboot.craftkit.framework.scope.RequestScopeAttribute;
+import com.springboot.craftkit.framework.scope.RequestScopeUtil;
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+import io.micrometer.context.ThreadLocalAccessor;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.MDC;
+
+/**
+ * Bridges the Reactor {@code Context} entry {@link RequestScopeAttribute#KEY} to the configured
+ * {@code RequestScopeStore}.
+ * <p>
+ * Reactor calls {@link #setValue} / {@link #restore} around every operator that may hop threads once
+ * {@code Hooks.enableAutomaticContextPropagation()} is active. Binding is by reference and never copies the
+ * attribute, so the cost per hop is two ThreadLocal writes plus the gtid MDC entry.
+ */
+public class ScopeAttributeThreadLocalAccessor implements ThreadLocalAccessor<ScopeAttribute> {
+
+    public static final String KEY = RequestScopeAttribute.KEY;
+
+    @Override
+    public Object key() {
+        return KEY;
+    }
+
+    @Override
+    public ScopeAttribute getValue() {
+        return RequestScopeUtil.getStore().peekAttribute();
+    }
+
+    @Override
+    public void setValue(ScopeAttribute value) {
+        RequestScopeUtil.getStore().bind(value);
+        if (StringUtils.isNotBlank(value.getGtid())) {
+            MDC.put(CommonConstant.LOG_MDC_GTID, value.getGtid());
+        }
+    }
+
+    @Override
+    public void setValue() {
+        RequestScopeUtil.getStore().restore(null);
+        MDC.remove(CommonConstant.LOG_MDC_GTID);
+    }
+
+    @Override
+    public void restore(ScopeAttribute previousValue) {
+        RequestScopeUtil.getStore().restore(previousValue);
+        if (StringUtils.isNotBlank(previousValue.getGtid())) {
+            MDC.put(CommonConstant.LOG_MDC_GTID, previousValue.getGtid());
+        } else {
+            MDC.remove(CommonConstant.LOG_MDC_GTID);
+        }
+    }
+
+    @Override
+    public void restore() {
+        setValue();
+    }
+}
@@ -0,0 +1,73 @@
+package com.springboot.craftkit.framework.webflux;
+
+import com.springboot.craftkit.framework.application.constant.HttpHeaderConstant;
+import com.springboot.craftkit.framework.scope.RequestScopeAttribute;
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+import com.springboot.craftkit.framework.scope.ScopeAttributeDeserializer;
+import com.springboot.craftkit.framework.util.ClientIpResolver;
+import com.springboot.craftkit.framework.util.HttpUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Populates a {@link ScopeAttribute} from the inbound request headers and stores it in the Reactor
+ * {@link Context} under {@link RequestScopeAttribute#KEY}.
+ * <p>
+ * The attribute is never bound to the event-loop thread here; with automatic context propagation enabled
+ * {@link ScopeAttributeThreadLocalAccessor} restores it around each operator, so
+ * {@code RequestScopeUtil.getAttribute()} and the log MDC behave as they do on a servlet request thread.
+ * The attribute is also exposed as an exchange attribute for handlers that prefer not to rely on ThreadLocals.
+ */
+@Slf4j
+public class ScopeAttributeWebFilter implements WebFilter, Ordered {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ScopeAttribute attribute = deserialize(exchange.getRequest());
+        exchange.getAttributes().put(RequestScopeAttribute.KEY, attribute);
+        return chain.filter(exchange)
+                .contextWrite(Context.of(RequestScopeAttribute.KEY, attribute));
+    }
+
+    static ScopeAttribute deserialize(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        ScopeAttribute attribute = new ScopeAttribute();
+
+        // HttpHeaders.getFirst is case-insensitive
+        ScopeAttributeDeserializer deserializer = new ScopeAttributeDeserializer(attribute);
+        deserializer.setScopeAttributeByHttpHeader(headers::getFirst, headers.get(RequestScopeAttribute.FORWARDED_SERVICE));
+
+        if (StringUtils.isBlank(attribute.getGtid())) {
+            attribute.setGtid(HttpUtil.generateNewGtid());
+        }
+        attribute.setClientIp(clientIp(request));
+
+        log.debug("RequestScopeAttribute deserialized by reactive request {}", attribute);
+        return attribute;
+    }
+
+    private static String clientIp(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        String remote = remoteAddress == null || remoteAddress.getAddress() == null
+                ? null : remoteAddress.getAddress().getHostAddress();
+        String ip = ClientIpResolver.resolve(name -> request.getHeaders().getOrEmpty(name).iterator(), remote);
+        return StringUtils.isBlank(ip) ? HttpHeaderConstant.UNDEFINED_IP : ip;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -0,0 +1,80 @@
+package com.springboot.craftkit.framework.webflux.config;
+
+import com.springboot.craftkit.framework.webflux.ScopeAttributeExchangeFilterFunction;
+import com.springboot.craftkit.framework.webflux.ScopeAttributeThreadLocalAccessor;
+import com.springboot.craftkit.framework.webflux.ScopeAttributeWebFilter;
+import io.micrometer.context.ContextRegistry;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Scope propagation for WebFlux services.
+ * <ul>
+ *   <li>{@code sf.webflux.scope.enabled} (default {@code true}) - inbound {@link ScopeAttributeWebFilter}
+ *   and outbound {@link ScopeAttributeExchangeFilterFunction} for every Boot-built {@code WebClient}</li>
+ *   <li>{@code sf.webflux.context-propagation.enabled} (default {@code true}, reactive web applications only) -
+ *   registers {@link ScopeAttributeThreadLocalAccessor} and enables Reactor automatic context propagation so
+ *   blocking-style code (logging, {@code RequestScopeUtil}) sees the request scope on any thread. Both are JVM-wide
+ *   and done once, however many contexts start.</li>
+ * </ul>
+ */
+@AutoConfiguration
+@ConditionalOnClass(Mono.class)
+@ConditionalOnProperty(prefix = "sf.webflux.scope", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ScopeWebFluxAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ScopeAttributeWebFilter scopeAttributeWebFilter() {
+        return new ScopeAttributeWebFilter();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ScopeAttributeExchangeFilterFunction scopeAttributeExchangeFilterFunction() {
+        return new ScopeAttributeExchangeFilterFunction();
+    }
+
+    @Bean
+    public WebClientCustomizer scopeAttributeWebClientCustomizer(ScopeAttributeExchangeFilterFunction filterFunction) {
+        return builder -> builder.filter(filterFunction);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    @ConditionalOnProperty(prefix = "sf.webflux.context-propagation", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class ContextPropagationConfiguration implements InitializingBean {
+
+        private static final AtomicBoolean INITIALIZED = new AtomicBoolean();
+
+        @Override
+        public void afterPropertiesSet() {
+            // global Reactor hook: enabled once per JVM
+            if (INITIALIZED.compareAndSet(false, true)) {
+                registerAccessor();
+                Hooks.enableAutomaticContextPropagation();
+            }
+        }
+
+        static void registerAccessor() {
+            ContextRegistry registry = ContextRegistry.getInstance();
+            boolean registered = registry.getThreadLocalAccessors().stream()
+                    .anyMatch(accessor -> ScopeAttributeThreadLocalAccessor.KEY.equals(accessor.key()));
+            if (!registered) {
+                registry.registerThreadLocalAccessor(new ScopeAttributeThreadLocalAccessor());
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.springboot.craftkit.framework.webflux;
+
+import com.springboot.craftkit.framework.application.constant.CommonConstant;
+import com.springboot.craftkit.framework.scope.RequestScopeAttribute;
+import com.springboot.craftkit.framework.scope.RequestScopeUtil;
+import com.springboot.craftkit.framework.scope.ScopeAttribute;
+import com.springboot.craftkit.framework.scope.ScopeStore;
+import com.springboot.craftkit.framework.scope.StructuredScopeStore;
+import com.springboot.craftkit.framework.webflux.config.ScopeWebFluxAutoConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScopeAttributeWebFluxTest {
+
+    @BeforeAll
+    static void enablePropagation() {
+        new ReactiveWebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ScopeWebFluxAutoConfiguration.class))
+                .run(context -> assertThat(context).hasSingleBean(ScopeAttributeWebFilter.class));
+    }
+
+    @AfterEach
+    void cleanup() {
+        new ScopeStore().removeAttributeFromThreadLocal();
+        RequestScopeUtil.setScopeStore(new ScopeStore());
+        MDC.clear();
+    }
+
+    @Test
+    void webFilterPutsScopeIntoContextAndThreadLocalsAcrossThreadHops() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/orders")
+                .header(RequestScopeAttribute.GLOBAL_TRANSACTION_ID, "gtid-1")
+                .header(RequestScopeAttribute.USER_ID.toLowerCase(), "user-1")
+                .header(RequestScopeAttribute.FORWARDED_SERVICE, "gateway"));
+
+        AtomicReference<String> seen = new AtomicReference<>();
+        WebFilterChain chain = ex -> Mono.just("handler")
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(ignored -> seen.set(RequestScopeUtil.getAttribute().getUserId()
+                        + "," + MDC.get(CommonConstant.LOG_MDC_GTID)))
+                .then(Mono.deferContextual(context -> {
+                    ScopeAttribute attribute = context.get(RequestScopeAttribute.KEY);
+                    assertThat(attribute.getGtid()).isEqualTo("gtid-1");
+                    return Mono.empty();
+                }));
+
+        new ScopeAttributeWebFilter().filter(exchange, chain).block();
+
+        assertThat(seen.get()).isEqualTo("user-1,gtid-1");
+        ScopeAttribute attribute = exchange.getAttribute(RequestScopeAttribute.KEY);
+        assertThat(attribute.getForwardedService()).startsWith("gateway");
+        // nothing is left on the subscribing thread
+        assertThat(RequestScopeUtil.getStore().peekAttribute()).isNull();
+        assertThat(MDC.get(CommonConstant.LOG_MDC_GTID)).isNull();
+    }
+
+    @Test
+    void gtidIsGeneratedWhenMissing() {
+        ScopeAttribute attribute = ScopeAttributeWebFilter.deserialize(MockServerHttpRequest.get("/").build());
+
+        assertThat(attribute.getGtid()).isNotBlank();
+    }
+
+    @Test
+    void webClientSendsScopeFromReactorContext() {
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        WebClient client = WebClient.builder()
+                .filter(new ScopeAttributeExchangeFilterFunction())
+                .exchangeFunction(request -> {
+                    sent.set(request);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                })
+                .build();
+
+        client.get().uri("http://inventory/items")
+                .header(RequestScopeAttribute.USER_ID, "explicit")
+                .retrieve().toBodilessEntity()
+                .contextWrite(Context.of(RequestScopeAttribute.KEY, attribute("user-1", "gtid-1")))
+                .block();
+
+        assertThat(sent.get().headers().getFirst(RequestScopeAttribute.GLOBAL_TRANSACTION_ID)).isEqualTo("gtid-1");
+        assertThat(sent.get().headers().get(RequestScopeAttribute.USER_ID)).containsExactly("explicit");
+    }
+
+    @Test
+    void webClientFallsBackToThreadScope() {
+        new ScopeStore().setAttributeIntoThreadLocal(attribute("user-2", "gtid-2"));
+
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://inventory")).build();
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        new ScopeAttributeExchangeFilterFunction()
+                .filter(request, r -> {
+                    sent.set(r);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                })
+                .block();
+
+        assertThat(sent.get().headers().getFirst(RequestScopeAttribute.USER_ID)).isEqualTo("user-2");
+    }
+
+    @Test
+    void webClientWithoutScope_sendsRequestUnchangedAndCreatesNoScope() {
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://inventory")).build();
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        new ScopeAttributeExchangeFilterFunction()
+                .filter(request, r -> {
+                    sent.set(r);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                })
+                .block();
+
+        assertThat(sent.get()).isSameAs(request);
+        assertThat(RequestScopeUtil.peekAttribute()).isNull();
+    }
+
+    @Test
+    void accessorWorksWithStructuredStore() {
+        RequestScopeUtil.setScopeStore(new StructuredScopeStore());
+
+        String userId = Mono.fromCallable(() -> RequestScopeUtil.getAttribute().getUserId())
+                .subscribeOn(Schedulers.parallel())
+                .contextWrite(Context.of(RequestScopeAttribute.KEY, attribute("user-3", "gtid-3")))
+                .block();
+
+        assertThat(userId).isEqualTo("user-3");
+        assertThat(StructuredScopeStore.isBound()).isFalse();
+    }
+
+    @Test
+    void autoConfigurationIsConditional() {
+        ReactiveWebApplicationContextRunner runner = new ReactiveWebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ScopeWebFluxAutoConfiguration.class));
+
+        runner.run(context -> {
+            assertThat(context).hasSingleBean(ScopeAttributeExchangeFilterFunction.class);
+            assertThat(context).hasSingleBean(WebClientCustomizer.class);
+        });
+        runner.withPropertyValues("sf.webflux.scope.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(ScopeAttributeWebFilter.class));
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ScopeWebFluxAutoConfiguration.class))
+                .run(context -> {
+                    assertThat(context).hasSingleBean(ScopeAttributeExchangeFilterFunction.class);
+                    // the global Reactor hook is only enabled for reactive web applications
+                    assertThat(context.getBeanDefinitionNames()).noneMatch(name -> name.endsWith("ContextPropagationConfiguration"));
+                });
+    }
+
+    private static ScopeAttribute attribute(String userId, String gtid) {
+        ScopeAttribute attribute = new ScopeAttribute();
+        attribute.setUserId(userId);
+        attribute.setGtid(gtid);
+        attribute.setForwardedService(List.of("gateway"), "bff");
+        return attribute;
+    }
+}
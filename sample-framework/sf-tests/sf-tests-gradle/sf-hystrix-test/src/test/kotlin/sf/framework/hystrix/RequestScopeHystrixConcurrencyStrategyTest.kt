@@ -26,12 +26,12 @@ class RequestScopeHystrixConcurrencyStrategyTest: BehaviorSpec({
             gtid = "testGTID-1234"
         }
 
-        RequestScopeUtil.getScopeStore().setAttributeIntoThreadLocal(originalAttribute)
-
         When("RequestScopeHystrixConcurrencyStrategy의 wrapCallable을 사용하여 새로운 Hystrix 스레드에서 실행하면") {
 
-            val callable = Callable { RequestScopeUtil.getAttribute() }
-            val wrappedCallable = strategy.wrapCallable(callable)!!
+            // 요청 thread 의 scope 가 설정된 상태에서 wrap 한다 (RequestScopeStore SPI, 종료 후 원복)
+            val wrappedCallable = RequestScopeUtil.getStore().callWith(originalAttribute) {
+                strategy.wrapCallable(Callable { RequestScopeUtil.getAttribute() })!!
+            }
 
             val executor = Executors.newSingleThreadExecutor()
             val future = executor.submit(wrappedCallable)